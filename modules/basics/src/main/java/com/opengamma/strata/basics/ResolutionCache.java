@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded cache of resolved objects, such as schedules and trades.
+ * <p>
+ * Resolving a large book typically resolves the same definitions many times, such as
+ * schedules that only differ by the trade they belong to, or the same trades on each run.
+ * This cache memoises the result of resolution, keyed by the object being resolved
+ * and the {@link ReferenceData} it was resolved against.
+ * <p>
+ * Caching is opt-in. The cache is enabled by {@linkplain #combinedWith(ReferenceData) combining}
+ * it with the reference data used for resolution. The resolution methods, such as
+ * {@link #resolve(Resolvable, ReferenceData)}, find the cache in the reference data
+ * and perform resolution directly if it is not present.
+ * <p>
+ * A cached result is only used if the reference data is the same instance as that used to create it.
+ * If the reference data changes, a new instance must be created, and the stale result is replaced.
+ * The least recently used results are evicted once the maximum size is reached.
+ * <p>
+ * Objects being resolved are compared using {@code equals}, and must be immutable.
+ * The result of resolution must depend only on the object being resolved and the reference data.
+ * <p>
+ * This class is thread-safe. Two threads may resolve the same object at the same time,
+ * in which case both results are valid and the later one is retained.
+ */
+public final class ResolutionCache {
+
+  /**
+   * The identifier used to find the cache in reference data.
+   */
+  public static final ReferenceDataId<ResolutionCache> ID = CacheId.INSTANCE;
+
+  /**
+   * The maximum number of entries.
+   */
+  private final int maxSize;
+  /**
+   * The entries, in least recently used order.
+   */
+  private final LinkedHashMap<Object, Entry> entries;
+  /**
+   * The number of hits.
+   */
+  private final AtomicLong hitCount = new AtomicLong();
+  /**
+   * The number of misses.
+   */
+  private final AtomicLong missCount = new AtomicLong();
+  /**
+   * The number of evictions.
+   */
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache with the specified maximum size.
+   *
+   * @param maxSize  the maximum number of resolved objects to hold
+   * @return the cache
+   */
+  public static ResolutionCache of(int maxSize) {
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    return new ResolutionCache(maxSize);
+  }
+
+  // creates an instance
+  private ResolutionCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+        if (size() > ResolutionCache.this.maxSize) {
+          evictionCount.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the specified object, using the cache in the reference data if present.
+   * <p>
+   * If the reference data does not contain a cache, the object is resolved directly.
+   *
+   * @param <T>  the type of the resolved form
+   * @param resolvable  the object to resolve
+   * @param refData  the reference data, used to find the cache and to resolve the object
+   * @return the resolved form
+   */
+  public static <T> T resolve(Resolvable<T> resolvable, ReferenceData refData) {
+    return resolve(resolvable, refData, Resolvable::resolve);
+  }
+
+  /**
+   * Resolves the specified key using the function, using the cache in the reference data if present.
+   * <p>
+   * If the reference data does not contain a cache, the function is invoked directly.
+   * The key must uniquely determine the type of the result.
+   *
+   * @param <K>  the type of the key
+   * @param <V>  the type of the resolved form
+   * @param key  the object to resolve
+   * @param refData  the reference data, used to find the cache and to resolve the object
+   * @param resolver  the function used to resolve the key when not cached
+   * @return the resolved form
+   */
+  public static <K, V> V resolve(K key, ReferenceData refData, BiFunction<? super K, ReferenceData, V> resolver) {
+    ResolutionCache cache = refData.queryValueOrNull(ID);
+    if (cache == null) {
+      return resolver.apply(key, refData);
+    }
+    return cache.cached(key, refData, resolver);
+  }
+
+  // finds the value in the cache, resolving if not present
+  // resolution occurs outside the lock, as it may recursively use the cache
+  private <K, V> V cached(K key, ReferenceData refData, BiFunction<? super K, ReferenceData, V> resolver) {
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+    }
+    if (entry != null && entry.refData == refData) {
+      hitCount.incrementAndGet();
+      @SuppressWarnings("unchecked")
+      V value = (V) entry.value;
+      return value;
+    }
+    missCount.incrementAndGet();
+    V value = resolver.apply(key, refData);
+    synchronized (entries) {
+      entries.put(key, new Entry(refData, value));
+    }
+    return value;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Combines this cache with the reference data, enabling caching.
+   * <p>
+   * The result contains the values of the specified reference data and this cache.
+   * Resolution using the result will use the cache.
+   * The result should be retained and reused, as the cache only applies to the same instance.
+   *
+   * @param refData  the reference data
+   * @return the reference data with caching enabled
+   */
+  public ReferenceData combinedWith(ReferenceData refData) {
+    return refData.combinedWith(ImmutableReferenceData.of(ID, this));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of resolved objects held by the cache.
+   *
+   * @return the maximum size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the number of resolved objects currently held by the cache.
+   *
+   * @return the size
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Gets the number of times a resolved object was found in the cache.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Gets the number of times an object had to be resolved.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Gets the number of resolved objects that were evicted to keep within the maximum size.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * Removes all resolved objects from the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ResolutionCache[size=" + size() + ", maxSize=" + maxSize + ", hits=" + getHitCount() +
+        ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + ']';
+  }
+
+  //-------------------------------------------------------------------------
+  // a resolved value and the reference data used to create it
+  private static final class Entry {
+    private final ReferenceData refData;
+    private final Object value;
+
+    private Entry(ReferenceData refData, Object value) {
+      this.refData = refData;
+      this.value = value;
+    }
+  }
+
+  // the identifier of the cache in reference data
+  private enum CacheId implements ReferenceDataId<ResolutionCache> {
+    INSTANCE;
+
+    @Override
+    public Class<ResolutionCache> getReferenceDataType() {
+      return ResolutionCache.class;
+    }
+
+    @Override
+    public String toString() {
+      return "ResolutionCache";
+    }
+  }
+
+}
@@ -92,6 +92,26 @@ public final class BusinessDayAdjustment
     return convention.adjust(date, holCal);
   }
 
+  /**
+   * Adjusts an array of dates as necessary if they are not business days.
+   * <p>
+   * This is equivalent to calling {@link #adjust(LocalDate, ReferenceData)} for each date,
+   * but the holiday calendar is only looked up once.
+   * The input array is not altered.
+   * 
+   * @param dates  the dates to adjust
+   * @param refData  the reference data, used to find the holiday calendar
+   * @return the adjusted dates, in the same order as the input
+   */
+  public LocalDate[] adjust(LocalDate[] dates, ReferenceData refData) {
+    HolidayCalendar holCal = calendar.resolve(refData);
+    LocalDate[] adjusted = new LocalDate[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      adjusted[i] = convention.adjust(dates[i], holCal);
+    }
+    return adjusted;
+  }
+
   /**
    * Resolves this adjustment using the specified reference data, returning an adjuster.
    * <p>
@@ -9,8 +9,10 @@ import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
 import org.joda.convert.FromString;
@@ -91,21 +93,29 @@ public final class HolidayCalendarId
         .sorted(comparing(HolidayCalendarId::getName))
         .collect(toList());
     String normalizedName = Joiner.on('+').join(ids);
+    // the last combined calendar is cached, valid while the underlying calendars are the same instances
+    AtomicReference<CombinedCalendar> cache = new AtomicReference<>();
     BiFunction<HolidayCalendarId, ReferenceData, HolidayCalendar> resolver = (id, refData) -> {
       HolidayCalendar cal = refData.queryValueOrNull(id);
       if (cal != null) {
         return cal;
       }
-      cal = HolidayCalendars.NO_HOLIDAYS;
-      for (HolidayCalendarId splitId : ids) {
-        HolidayCalendar splitCal = refData.queryValueOrNull(splitId);
-        if (splitCal == null) {
+      HolidayCalendar[] splitCals = new HolidayCalendar[ids.size()];
+      for (int i = 0; i < splitCals.length; i++) {
+        HolidayCalendarId splitId = ids.get(i);
+        splitCals[i] = refData.queryValueOrNull(splitId);
+        if (splitCals[i] == null) {
           throw new ReferenceDataNotFoundException(Messages.format(
               "Reference data not found for '{}' of type 'HolidayCalendarId' when finding '{}'", splitId, id));
         }
-        cal = cal.combinedWith(splitCal);
       }
-      return cal;
+      CombinedCalendar cached = cache.get();
+      if (cached != null && cached.matches(splitCals)) {
+        return cached.combined;
+      }
+      CombinedCalendar created = new CombinedCalendar(splitCals);
+      cache.set(created);
+      return created.combined;
     };
     // cache under the normalized and non-normalized names
     HolidayCalendarId id = CACHE.computeIfAbsent(normalizedName, n -> new HolidayCalendarId(normalizedName, resolver));
@@ -113,6 +123,44 @@ public final class HolidayCalendarId
     return id;
   }
 
+  //-------------------------------------------------------------------------
+  // a combined calendar, and the underlying calendars it was created from
+  private static final class CombinedCalendar {
+    private final HolidayCalendar[] calendars;
+    private final HolidayCalendar combined;
+
+    private CombinedCalendar(HolidayCalendar[] calendars) {
+      this.calendars = calendars;
+      this.combined = combine(calendars);
+    }
+
+    // immutable calendars are merged into a single bitmap calendar, which is slow to create but fast to query
+    private static HolidayCalendar combine(HolidayCalendar[] calendars) {
+      if (calendars.length > 0 && Arrays.stream(calendars).allMatch(ImmutableHolidayCalendar.class::isInstance)) {
+        ImmutableHolidayCalendar merged = (ImmutableHolidayCalendar) calendars[0];
+        for (int i = 1; i < calendars.length; i++) {
+          merged = ImmutableHolidayCalendar.combined(merged, (ImmutableHolidayCalendar) calendars[i]);
+        }
+        return merged;
+      }
+      HolidayCalendar cal = HolidayCalendars.NO_HOLIDAYS;
+      for (HolidayCalendar splitCal : calendars) {
+        cal = cal.combinedWith(splitCal);
+      }
+      return cal;
+    }
+
+    // checks if the calendars are the same instances as those used to create the combined calendar
+    private boolean matches(HolidayCalendar[] other) {
+      for (int i = 0; i < calendars.length; i++) {
+        if (calendars[i] != other[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   //-------------------------------------------------------------------------
   // creates an identifier for a single calendar
   private HolidayCalendarId(String normalizedName) {
@@ -60,6 +60,12 @@ public final class ImmutableHolidayCalendar
   // benchmarking showed nextOrSame() and previousOrSame() do not need to be overridden
   // out-of-range and weekend-only (used in testing) are handled using exceptions to fast-path the common case
 
+  /**
+   * The shift amount above which the cumulative counts are searched rather than walking the lookup.
+   * Roughly the number of business days in a month.
+   */
+  private static final int SHIFT_WALK_LIMIT = 20;
+
   /**
    * The identifier, such as 'GBLO'.
    */
@@ -90,6 +96,12 @@ public final class ImmutableHolidayCalendar
    * Trailing bits are set to 0 so they act as holidays, avoiding month length logic.
    */
   private final transient int[] lookup;  // not a property
+  /**
+   * The cumulative number of business days, where each item is the count before the matching month in the lookup.
+   * The array has one more item than the lookup, with the last item holding the total number of business days.
+   * This allows business days to be counted and shifted without walking each month.
+   */
+  private final transient int[] cumulativeBusinessDays;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -172,11 +184,13 @@ public final class ImmutableHolidayCalendar
       // special case where no holiday dates are specified
       this.startYear = 0;
       this.lookup = new int[0];
+      this.cumulativeBusinessDays = new int[1];
     } else {
       // normal case where holidays are specified
       this.startYear = holidays.first().getYear();
       int endYearExclusive = holidays.last().getYear() + 1;
       this.lookup = buildLookupArray(holidays, weekendDays, startYear, endYearExclusive);
+      this.cumulativeBusinessDays = buildCumulativeArray(lookup);
     }
   }
 
@@ -215,6 +229,16 @@ public final class ImmutableHolidayCalendar
     return array;
   }
 
+  // create and populate the cumulative count of business days before each month
+  private static int[] buildCumulativeArray(int[] lookup) {
+    int[] array = new int[lookup.length + 1];
+    for (int i = 0; i < lookup.length; i++) {
+      // use JDK bitCount() method which is mapped to a fast intrinsic
+      array[i + 1] = array[i] + Integer.bitCount(lookup[i]);
+    }
+    return array;
+  }
+
   // ensure standard constructor is invoked
   private Object readResolve() {
     return new ImmutableHolidayCalendar(id, holidays, weekendDays);
@@ -246,7 +270,10 @@ public final class ImmutableHolidayCalendar
   @Override
   public LocalDate shift(LocalDate date, int amount) {
     try {
-      if (amount > 0) {
+      if (amount > SHIFT_WALK_LIMIT || amount < -SHIFT_WALK_LIMIT) {
+        // long shifts use the cumulative counts rather than walking month by month
+        return shiftBySearch(date, amount);
+      } else if (amount > 0) {
         // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
         return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), amount);
       } else if (amount < 0) {
@@ -260,6 +287,34 @@ public final class ImmutableHolidayCalendar
     }
   }
 
+  // shift using the cumulative counts, falling back if the target is out of range
+  private LocalDate shiftBySearch(LocalDate date, int amount) {
+    int before = businessDaysBefore(date);
+    // the target is the business day with the calculated number of business days before it
+    // when shifting forward, the input date is skipped if it is a business day
+    int target = amount > 0 ? before + (isHoliday(date) ? 0 : 1) + amount - 1 : before + amount;
+    if (target < 0 || target >= cumulativeBusinessDays[lookup.length]) {
+      return shiftOutOfRange(date, amount);
+    }
+    // binary search for the last month with no more than the target number of business days before it
+    int low = 0;
+    int high = lookup.length - 1;
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (cumulativeBusinessDays[mid] <= target) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    // remove the earlier business days in the month, leaving the target as the least significant bit
+    int monthData = lookup[low];
+    for (int i = target - cumulativeBusinessDays[low]; i > 0; i--) {
+      monthData &= monthData - 1;
+    }
+    return LocalDate.of(startYear + low / 12, low % 12 + 1, Integer.numberOfTrailingZeros(monthData) + 1);
+  }
+
   // pulled out to aid hotspot inlining
   private LocalDate shiftOutOfRange(LocalDate date, int amount) {
     if (date.getYear() >= 0 && date.getYear() < 10000) {
@@ -433,6 +488,27 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    try {
+      return businessDaysBefore(endExclusive) - businessDaysBefore(startInclusive);
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+    }
+  }
+
+  // the number of business days in the lookup before the specified date
+  private int businessDaysBefore(LocalDate date) {
+    // find data for month
+    int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+    // count the bits before the zero-based day-of-month
+    int earlierDays = lookup[index] & ((1 << (date.getDayOfMonth() - 1)) - 1);
+    return cumulativeBusinessDays[index] + Integer.bitCount(earlierDays);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
@@ -9,6 +9,7 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -32,6 +33,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ResolutionCache;
 import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.collect.ArgChecker;
@@ -403,12 +405,19 @@ public final class PeriodicSchedule
    * <li>applying {@code businessDayAdjustment} to the day-of-month implied by the roll convention
    *  yields the first/last regular date that was specified
    * </ul>
+   * <p>
+   * If the reference data contains a {@link ResolutionCache}, the schedule is cached.
    * 
    * @return the schedule
    * @param refData  the reference data, used to find the holiday calendars
    * @throws ScheduleException if the definition is invalid
    */
   public Schedule createSchedule(ReferenceData refData) {
+    return ResolutionCache.resolve(this, refData, PeriodicSchedule::createScheduleUncached);
+  }
+
+  // creates the schedule, without checking the cache
+  private Schedule createScheduleUncached(ReferenceData refData) {
     LocalDate unadjStart = calculatedUnadjustedStartDate(refData);
     LocalDate regularStart = calculatedFirstRegularStartDate(unadjStart, refData);
     LocalDate regularEnd = calculatedLastRegularEndDate(refData);
@@ -748,9 +757,8 @@ public final class PeriodicSchedule
   private List<LocalDate> applyBusinessDayAdjustment(List<LocalDate> unadj, ReferenceData refData) {
     List<LocalDate> adj = new ArrayList<>(unadj.size());
     adj.add(calculatedStartDate().adjusted(refData));
-    for (int i = 1; i < unadj.size() - 1; i++) {
-      adj.add(businessDayAdjustment.adjust(unadj.get(i), refData));
-    }
+    LocalDate[] regular = unadj.subList(1, unadj.size() - 1).toArray(new LocalDate[unadj.size() - 2]);
+    adj.addAll(Arrays.asList(businessDayAdjustment.adjust(regular, refData)));
     adj.add(calculatedEndDate().adjusted(refData));
     return adj;
   }
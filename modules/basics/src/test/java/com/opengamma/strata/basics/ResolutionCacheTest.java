@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.schedule.StubConvention.SHORT_INITIAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.Schedule;
+
+/**
+ * Test {@link ResolutionCache}.
+ */
+@Test
+public class ResolutionCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final PeriodicSchedule SCHEDULE = PeriodicSchedule.of(
+      date(2017, 1, 5), date(2019, 1, 5), Frequency.P3M, BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO),
+      SHORT_INITIAL, false);
+  private static final PeriodicSchedule SCHEDULE2 = PeriodicSchedule.of(
+      date(2017, 1, 5), date(2018, 1, 5), Frequency.P6M, BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO),
+      SHORT_INITIAL, false);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ResolutionCache test = ResolutionCache.of(10);
+    assertEquals(test.getMaxSize(), 10);
+    assertEquals(test.size(), 0);
+    assertEquals(test.getHitCount(), 0);
+    assertEquals(test.getMissCount(), 0);
+    assertEquals(test.getEvictionCount(), 0);
+    assertEquals(test.toString(), "ResolutionCache[size=0, maxSize=10, hits=0, misses=0, evictions=0]");
+    assertThrowsIllegalArg(() -> ResolutionCache.of(0));
+  }
+
+  public void test_combinedWith() {
+    ResolutionCache test = ResolutionCache.of(10);
+    ReferenceData refData = test.combinedWith(REF_DATA);
+    assertSame(refData.getValue(ResolutionCache.ID), test);
+    assertEquals(refData.getValue(GBLO), REF_DATA.getValue(GBLO));
+    assertEquals(ResolutionCache.ID.toString(), "ResolutionCache");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_resolve_noCache() {
+    AtomicInteger count = new AtomicInteger();
+    Resolvable<String> resolvable = refData -> "Resolved" + count.incrementAndGet();
+    assertEquals(ResolutionCache.resolve(resolvable, REF_DATA), "Resolved1");
+    assertEquals(ResolutionCache.resolve(resolvable, REF_DATA), "Resolved2");
+    assertNotSame(SCHEDULE.createSchedule(REF_DATA), SCHEDULE.createSchedule(REF_DATA));
+  }
+
+  public void test_resolve_cached() {
+    ResolutionCache test = ResolutionCache.of(10);
+    ReferenceData refData = test.combinedWith(REF_DATA);
+    AtomicInteger count = new AtomicInteger();
+    Resolvable<String> resolvable = rd -> "Resolved" + count.incrementAndGet();
+    assertEquals(ResolutionCache.resolve(resolvable, refData), "Resolved1");
+    assertEquals(ResolutionCache.resolve(resolvable, refData), "Resolved1");
+    assertEquals(test.getHitCount(), 1);
+    assertEquals(test.getMissCount(), 1);
+    assertEquals(test.size(), 1);
+
+    // different reference data replaces the cached value
+    ReferenceData refData2 = test.combinedWith(REF_DATA);
+    assertEquals(ResolutionCache.resolve(resolvable, refData2), "Resolved2");
+    assertEquals(ResolutionCache.resolve(resolvable, refData2), "Resolved2");
+    assertEquals(test.getHitCount(), 2);
+    assertEquals(test.getMissCount(), 2);
+    assertEquals(test.size(), 1);
+
+    test.clear();
+    assertEquals(test.size(), 0);
+    assertEquals(ResolutionCache.resolve(resolvable, refData2), "Resolved3");
+    assertEquals(test.getMissCount(), 3);
+  }
+
+  public void test_createSchedule() {
+    ResolutionCache test = ResolutionCache.of(10);
+    ReferenceData refData = test.combinedWith(REF_DATA);
+    Schedule schedule = SCHEDULE.createSchedule(refData);
+    assertEquals(schedule, SCHEDULE.createSchedule(REF_DATA));
+    assertSame(SCHEDULE.createSchedule(refData), schedule);
+    // equal definitions share the same schedule
+    PeriodicSchedule equalDefinition = SCHEDULE.toBuilder().build();
+    assertSame(equalDefinition.createSchedule(refData), schedule);
+    assertEquals(test.getHitCount(), 2);
+    assertEquals(test.getMissCount(), 1);
+  }
+
+  public void test_eviction() {
+    ResolutionCache test = ResolutionCache.of(1);
+    ReferenceData refData = test.combinedWith(REF_DATA);
+    Schedule schedule = SCHEDULE.createSchedule(refData);
+    Schedule schedule2 = SCHEDULE2.createSchedule(refData);
+    assertEquals(test.size(), 1);
+    assertEquals(test.getEvictionCount(), 1);
+    assertSame(SCHEDULE2.createSchedule(refData), schedule2);
+    assertNotSame(SCHEDULE.createSchedule(refData), schedule);
+    assertEquals(test.getEvictionCount(), 2);
+    assertEquals(test.getHitCount(), 1);
+    assertEquals(test.getMissCount(), 3);
+  }
+
+}
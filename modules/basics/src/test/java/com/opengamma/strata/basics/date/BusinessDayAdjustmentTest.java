@@ -10,6 +10,7 @@ import static com.opengamma.strata.basics.date.HolidayCalendarIds.NO_HOLIDAYS;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
@@ -40,6 +41,15 @@ public class BusinessDayAdjustmentTest {
     assertEquals(test.resolve(REF_DATA).adjust(input), expected);
   }
 
+  public void test_adjustDates() {
+    BusinessDayAdjustment test = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, SAT_SUN);
+    LocalDate[] dates = {date(2014, 8, 29), date(2014, 8, 30), date(2014, 8, 31), date(2014, 9, 1), date(2014, 11, 30)};
+    LocalDate[] expected = {date(2014, 8, 29), date(2014, 8, 29), date(2014, 8, 29), date(2014, 9, 1), date(2014, 11, 28)};
+    assertEquals(test.adjust(dates, REF_DATA), expected);
+    assertEquals(dates[1], date(2014, 8, 30));
+    assertEquals(test.adjust(new LocalDate[0], REF_DATA), new LocalDate[0]);
+  }
+
   public void test_noAdjust_constant() {
     BusinessDayAdjustment test = BusinessDayAdjustment.NONE;
     assertEquals(test.getConvention(), BusinessDayConventions.NO_ADJUST);
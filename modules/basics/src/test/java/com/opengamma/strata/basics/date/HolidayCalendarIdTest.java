@@ -9,6 +9,9 @@ import static com.opengamma.strata.basics.date.HolidayCalendarIds.NO_HOLIDAYS;
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
@@ -16,6 +19,7 @@ import java.time.LocalDate;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ImmutableReferenceData;
 import com.opengamma.strata.basics.ReferenceData;
@@ -86,6 +90,29 @@ public class HolidayCalendarIdTest {
     assertEquals(refData.getValue(combined), combinedCal);
   }
 
+  public void test_resolve_combined_cached() {
+    HolidayCalendarId gb = HolidayCalendarId.of("GB");
+    HolidayCalendar gbCal = ImmutableHolidayCalendar.of(gb, ImmutableList.of(date(2016, 8, 29)), SATURDAY, SUNDAY);
+    HolidayCalendarId eu = HolidayCalendarId.of("EU");
+    HolidayCalendar euCal = ImmutableHolidayCalendar.of(eu, ImmutableList.of(date(2016, 8, 15)), SATURDAY, SUNDAY);
+    HolidayCalendarId combined = gb.combinedWith(eu);
+    ReferenceData refData = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal, eu, euCal));
+    HolidayCalendar test = combined.resolve(refData);
+    assertEquals(test.getClass(), ImmutableHolidayCalendar.class);
+    assertEquals(test.getId(), combined);
+    assertEquals(test.isHoliday(date(2016, 8, 29)), true);
+    assertEquals(test.isHoliday(date(2016, 8, 15)), true);
+    assertEquals(test.isHoliday(date(2016, 8, 16)), false);
+    assertSame(combined.resolve(refData), test);
+    // different underlying calendars are not served from the cache
+    HolidayCalendar gbCal2 = ImmutableHolidayCalendar.of(gb, ImmutableList.of(date(2016, 5, 30)), SATURDAY, SUNDAY);
+    ReferenceData refData2 = ImmutableReferenceData.of(ImmutableMap.of(gb, gbCal2, eu, euCal));
+    HolidayCalendar test2 = combined.resolve(refData2);
+    assertEquals(test2.isHoliday(date(2016, 8, 29)), false);
+    assertEquals(test2.isHoliday(date(2016, 5, 30)), true);
+    assertSame(combined.resolve(refData2), test2);
+  }
+
   @Test
   public void testImmutableReferenceDataWithMergedHolidays() {
     HolidayCalendar hc = HolidayCalendars.FRI_SAT.combinedWith(HolidayCalendars.SAT_SUN);
@@ -833,6 +833,43 @@ public class ImmutableHolidayCalendarTest {
     }
   }
 
+  public void test_broadCheck_shiftAndDaysBetween() {
+    LocalDate start = LocalDate.of(2010, 1, 1);
+    LocalDate end = LocalDate.of(2014, 1, 1);
+    Random random = new Random(982341);
+    SortedSet<LocalDate> set = new TreeSet<>();
+    LocalDate date = start;
+    while (date.isBefore(end)) {
+      set.add(date);
+      date = date.plusDays(random.nextInt(10) + 1);
+    }
+    ImmutableHolidayCalendar test = ImmutableHolidayCalendar.of(HolidayCalendarId.of("TestBroadShift"), set, SATURDAY, SUNDAY);
+    // check long shifts against stepping one business day at a time, including shifts out of range
+    for (LocalDate checkDate = start.minusDays(10); checkDate.isBefore(end.plusDays(10)); checkDate = checkDate.plusDays(7)) {
+      for (int amount : new int[] {21, 45, 300, 2000}) {
+        LocalDate expectedNext = checkDate;
+        LocalDate expectedPrevious = checkDate;
+        for (int i = 0; i < amount; i++) {
+          expectedNext = test.next(expectedNext);
+          expectedPrevious = test.previous(expectedPrevious);
+        }
+        assertEquals(test.shift(checkDate, amount), expectedNext);
+        assertEquals(test.shift(checkDate, -amount), expectedPrevious);
+      }
+    }
+    // check business day counts against a simple algorithm, including counts out of range
+    for (int i = 0; i < 500; i++) {
+      LocalDate first = start.plusDays(random.nextInt(1500) - 20);
+      LocalDate second = first.plusDays(random.nextInt(100));
+      int expected = 0;
+      for (LocalDate checkDate = first; checkDate.isBefore(second); checkDate = checkDate.plusDays(1)) {
+        expected += test.isBusinessDay(checkDate) ? 1 : 0;
+      }
+      assertEquals(test.daysBetween(first, second), expected);
+    }
+    assertThrowsIllegalArg(() -> test.daysBetween(end, start));
+  }
+
   //-------------------------------------------------------------------------
   public void test_equals() {
     ImmutableHolidayCalendar a1 = ImmutableHolidayCalendar.of(TEST_ID, Arrays.asList(WED_2014_07_16), SATURDAY, SUNDAY);
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Fixed data shared by the benchmarks.
+ * <p>
+ * The market data and curve configuration are copies of the example calibration data.
+ * They are loaded from the classpath, so the benchmarks are reproducible.
+ * The portfolios are synthetic, generated from fixed parameters.
+ */
+public enum BenchmarkData {
+
+  /**
+   * The USD curve group, with a discount curve and a LIBOR 3M forward curve.
+   */
+  USD(
+      LocalDate.of(2015, 7, 21),
+      "USD-DSCON-LIBOR3M",
+      "groups.csv",
+      "settings.csv",
+      "calibrations.csv",
+      "quotes.csv"),
+  /**
+   * The EUR curve group, with a discount curve and EURIBOR 3M and 6M forward curves.
+   */
+  EUR(
+      LocalDate.of(2015, 11, 20),
+      "EUR-DSCONOIS-EURIBOR3MBS-EURIBOR6MIRS",
+      "groups-eur.csv",
+      "settings-eur.csv",
+      "calibrations-eur.csv",
+      "quotes-eur.csv");
+
+  /**
+   * The location of the data files.
+   */
+  public static final String DATA_PATH = "benchmark-data/";
+  /**
+   * The reference data.
+   */
+  public static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The tenors of the swaps in the synthetic portfolio.
+   */
+  private static final Tenor[] TENORS = {
+      Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y, Tenor.TENOR_10Y, Tenor.TENOR_30Y};
+
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The curve group definition.
+   */
+  private final CurveGroupDefinition curveGroupDefinition;
+  /**
+   * The market quotes.
+   */
+  private final MarketData marketData;
+
+  //-------------------------------------------------------------------------
+  // loads the data
+  private BenchmarkData(
+      LocalDate valuationDate,
+      String groupName,
+      String groupsFile,
+      String settingsFile,
+      String calibrationsFile,
+      String quotesFile) {
+
+    this.valuationDate = valuationDate;
+    this.curveGroupDefinition = RatesCalibrationCsvLoader.load(
+        ResourceLocator.ofClasspath(DATA_PATH + "curves/" + groupsFile),
+        ResourceLocator.ofClasspath(DATA_PATH + "curves/" + settingsFile),
+        ResourceLocator.ofClasspath(DATA_PATH + "curves/" + calibrationsFile))
+        .get(CurveGroupName.of(groupName))
+        .filtered(valuationDate, ReferenceData.standard());
+    this.marketData = ImmutableMarketData.of(
+        valuationDate, QuotesCsvLoader.load(valuationDate, ResourceLocator.ofClasspath(DATA_PATH + "quotes/" + quotesFile)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the valuation date.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Gets the curve group definition, filtered for the valuation date.
+   *
+   * @return the curve group definition
+   */
+  public CurveGroupDefinition getCurveGroupDefinition() {
+    return curveGroupDefinition;
+  }
+
+  /**
+   * Gets the market quotes used to calibrate the curves.
+   *
+   * @return the market quotes
+   */
+  public MarketData getMarketData() {
+    return marketData;
+  }
+
+  /**
+   * Calibrates the curves.
+   *
+   * @return the calibrated curves
+   */
+  public ImmutableRatesProvider calibrate() {
+    return CurveCalibrator.standard().calibrate(curveGroupDefinition, marketData, REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a synthetic portfolio of USD fixed vs LIBOR 3M swaps.
+   * <p>
+   * The swaps cycle through a fixed set of tenors, with the fixed rate and direction varying by trade.
+   *
+   * @param size  the number of trades
+   * @return the trades
+   */
+  public static ImmutableList<SwapTrade> usdSwapPortfolio(int size) {
+    return IntStream.range(0, size)
+        .mapToObj(i -> usdSwap(TENORS[i % TENORS.length], 0.01 + 0.0005 * (i % 20), i % 2 == 0 ? BuySell.BUY : BuySell.SELL))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Creates a USD fixed vs LIBOR 3M swap starting at spot from the USD valuation date.
+   *
+   * @param tenor  the tenor of the swap
+   * @param fixedRate  the fixed rate
+   * @param buySell  whether the fixed rate is paid or received
+   * @return the trade
+   */
+  public static SwapTrade usdSwap(Tenor tenor, double fixedRate, BuySell buySell) {
+    return FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M.createTrade(
+        USD.valuationDate, tenor, buySell, 10_000_000, fixedRate, REF_DATA);
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFilter;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.PerturbationMapping;
+import com.opengamma.strata.calc.marketdata.ScenarioDefinition;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.CurveParallelShifts;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Benchmarks the calculation runner on a grid of trades, measures and scenarios.
+ * <p>
+ * The portfolio is a fixed set of synthetic USD swaps. The scenarios are parallel shifts of the
+ * calibrated USD curves. The scenario market data is built once, so only the calculations are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  private static final int TRADE_COUNT = 100;
+  /**
+   * The size of the shift between scenarios.
+   */
+  private static final double ONE_BP = 1e-4;
+  /**
+   * The columns to calculate.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PV01_CALIBRATED_SUM),
+      Column.of(Measures.PV01_CALIBRATED_BUCKETED));
+
+  /**
+   * The number of scenarios.
+   */
+  @Param({"1", "10", "100"})
+  private int scenarioCount;
+  /**
+   * The runner, either 'multiThreaded' or 'workStealing'.
+   */
+  @Param({"multiThreaded", "workStealing"})
+  private String runnerType;
+
+  /**
+   * The runner.
+   */
+  private CalculationRunner runner;
+  /**
+   * The calculation rules.
+   */
+  private CalculationRules rules;
+  /**
+   * The trades.
+   */
+  private List<SwapTrade> trades;
+  /**
+   * The scenario market data.
+   */
+  private ScenarioMarketData marketData;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the runner and builds the scenario market data.
+   */
+  @Setup
+  public void setup() {
+    runner = runnerType.equals("workStealing") ? CalculationRunner.ofWorkStealing() : CalculationRunner.ofMultiThreaded();
+    CurveGroupDefinition groupDefn = BenchmarkData.USD.getCurveGroupDefinition();
+    rules = CalculationRules.of(StandardComponents.calculationFunctions(), RatesMarketDataLookup.of(groupDefn));
+    trades = BenchmarkData.usdSwapPortfolio(TRADE_COUNT);
+
+    double[] shifts = new double[scenarioCount];
+    for (int i = 0; i < scenarioCount; i++) {
+      shifts[i] = (i - scenarioCount / 2) * ONE_BP;
+    }
+    PerturbationMapping<Curve> mapping = PerturbationMapping.of(
+        Curve.class,
+        MarketDataFilter.ofIdType(CurveId.class),
+        CurveParallelShifts.absolute(shifts));
+    MarketDataConfig config = MarketDataConfig.builder().add(groupDefn.getName(), groupDefn).build();
+    MarketDataRequirements reqs = MarketDataRequirements.of(rules, trades, COLUMNS, REF_DATA);
+    marketData = StandardComponents.marketDataFactory().createMultiScenario(
+        reqs, config, BenchmarkData.USD.getMarketData(), REF_DATA, ScenarioDefinition.ofMappings(mapping));
+  }
+
+  /**
+   * Closes the runner.
+   */
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the grid of results.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return runner.calculateMultiScenario(rules, trades, COLUMNS, marketData, REF_DATA);
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks the calibration of the example curve groups.
+ * <p>
+ * The calibration includes the calculation of the Jacobian matrices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  /**
+   * The calibrator.
+   */
+  private static final CurveCalibrator CALIBRATOR = CurveCalibrator.standard();
+
+  /**
+   * The curve group to calibrate.
+   */
+  @Param({"USD", "EUR"})
+  private BenchmarkData data;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the data.
+   */
+  @Setup
+  public void setup() {
+    // the data is loaded when the enum is initialized
+    data.getCurveGroupDefinition();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curve group.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(data.getCurveGroupDefinition(), data.getMarketData(), REF_DATA);
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+
+/**
+ * Benchmarks the holiday calendar operations used when building schedules.
+ * <p>
+ * Each benchmark applies the operation to every date in a fixed ten year range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayCalendarBenchmark {
+
+  /**
+   * The first date in the range.
+   */
+  private static final LocalDate START = LocalDate.of(2015, 1, 1);
+  /**
+   * The number of dates in the range.
+   */
+  private static final int DAYS = 3653;
+
+  /**
+   * The calendar.
+   */
+  private HolidayCalendar calendar;
+  /**
+   * The dates.
+   */
+  private LocalDate[] dates;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the calendar and creates the dates.
+   */
+  @Setup
+  public void setup() {
+    calendar = HolidayCalendarIds.USNY.resolve(REF_DATA);
+    dates = new LocalDate[DAYS];
+    for (int i = 0; i < DAYS; i++) {
+      dates[i] = START.plusDays(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether each date is a business day.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void isBusinessDay(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(calendar.isBusinessDay(date));
+    }
+  }
+
+  /**
+   * Shifts each date by two business days, as when calculating a spot date.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void shift(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(calendar.shift(date, 2));
+    }
+  }
+
+  /**
+   * Finds the next business day on or after each date, as when adjusting a date.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void nextOrSame(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(calendar.nextOrSame(date));
+    }
+  }
+
+  /**
+   * Counts the business days between the start of the range and each date.
+   *
+   * @param blackhole  the blackhole
+   */
+  @Benchmark
+  public void daysBetween(Blackhole blackhole) {
+    for (LocalDate date : dates) {
+      blackhole.consume(calendar.daysBetween(START, date));
+    }
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.DATA_PATH;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.loader.fpml.FpmlDocumentParser;
+import com.opengamma.strata.loader.fpml.FpmlPartySelector;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.product.Trade;
+
+/**
+ * Benchmarks the loading of market data, curve configuration and trades.
+ * <p>
+ * The files are read into memory during setup, so only the parsing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoaderBenchmark {
+
+  /**
+   * The FpML parser.
+   */
+  private static final FpmlDocumentParser FPML_PARSER = FpmlDocumentParser.of(FpmlPartySelector.matching("Party1"));
+
+  /**
+   * The quotes.
+   */
+  private CharSource quotes;
+  /**
+   * The curve groups.
+   */
+  private CharSource groups;
+  /**
+   * The curve settings.
+   */
+  private CharSource settings;
+  /**
+   * The curve nodes.
+   */
+  private CharSource calibrations;
+  /**
+   * The FpML swap.
+   */
+  private ByteSource fpmlSwap;
+  /**
+   * The FpML FX swap.
+   */
+  private ByteSource fpmlFxSwap;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads the files into memory.
+   */
+  @Setup
+  public void setup() {
+    quotes = chars("quotes/quotes-eur.csv");
+    groups = chars("curves/groups-eur.csv");
+    settings = chars("curves/settings-eur.csv");
+    calibrations = chars("curves/calibrations-eur.csv");
+    fpmlSwap = bytes("fpml/ird-ex01-vanilla-swap.xml");
+    fpmlFxSwap = bytes("fpml/fx-ex08-fx-swap.xml");
+  }
+
+  // reads the file as characters
+  private static CharSource chars(String file) {
+    try {
+      return CharSource.wrap(ResourceLocator.ofClasspath(DATA_PATH + file).getCharSource().read());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads the file as bytes
+  private static ByteSource bytes(String file) {
+    try {
+      return ByteSource.wrap(ResourceLocator.ofClasspath(DATA_PATH + file).getByteSource().read());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the quotes CSV file.
+   *
+   * @return the quotes
+   */
+  @Benchmark
+  public ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> loadQuotes() {
+    return QuotesCsvLoader.parse(date -> true, ImmutableList.of(quotes));
+  }
+
+  /**
+   * Parses the curve calibration CSV files.
+   *
+   * @return the curve group definitions
+   */
+  @Benchmark
+  public ImmutableMap<CurveGroupName, CurveGroupDefinition> loadCurveGroups() {
+    return RatesCalibrationCsvLoader.parse(groups, settings, ImmutableList.of(calibrations));
+  }
+
+  /**
+   * Parses the FpML swap document.
+   *
+   * @return the trades
+   */
+  @Benchmark
+  public List<Trade> parseFpmlSwap() {
+    return FPML_PARSER.parseTrades(fpmlSwap);
+  }
+
+  /**
+   * Parses the FpML FX swap document.
+   *
+   * @return the trades
+   */
+  @Benchmark
+  public List<Trade> parseFpmlFxSwap() {
+    return FPML_PARSER.parseTrades(fpmlFxSwap);
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.trade.TradeReport;
+import com.opengamma.strata.report.trade.TradeReportColumn;
+import com.opengamma.strata.report.trade.TradeReportRunner;
+import com.opengamma.strata.report.trade.TradeReportTemplate;
+
+/**
+ * Benchmarks the creation and formatting of a trade report.
+ * <p>
+ * The results for the synthetic USD swap portfolio are calculated once during setup,
+ * so only the report is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  private static final int TRADE_COUNT = 100;
+  /**
+   * The columns to calculate.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PV01_CALIBRATED_SUM));
+  /**
+   * The report template.
+   */
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Start Date").value("Product.startDate").build(),
+          TradeReportColumn.builder().header("End Date").value("Product.endDate").build(),
+          TradeReportColumn.builder().header("Present Value").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("PV01").value("Measures.PV01CalibratedSum").build())
+      .build();
+
+  /**
+   * The calculation results.
+   */
+  private ReportCalculationResults results;
+  /**
+   * The report.
+   */
+  private TradeReport report;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the results for the portfolio.
+   */
+  @Setup
+  public void setup() {
+    CurveGroupDefinition groupDefn = BenchmarkData.USD.getCurveGroupDefinition();
+    CalculationFunctions functions = StandardComponents.calculationFunctions();
+    CalculationRules rules = CalculationRules.of(functions, RatesMarketDataLookup.of(groupDefn));
+    List<SwapTrade> trades = BenchmarkData.usdSwapPortfolio(TRADE_COUNT);
+
+    MarketDataConfig config = MarketDataConfig.builder().add(groupDefn.getName(), groupDefn).build();
+    MarketDataRequirements reqs = MarketDataRequirements.of(rules, trades, COLUMNS, REF_DATA);
+    MarketData marketData = StandardComponents.marketDataFactory().create(
+        reqs, config, BenchmarkData.USD.getMarketData(), REF_DATA);
+    try (CalculationRunner runner = CalculationRunner.ofMultiThreaded()) {
+      Results calculated = runner.calculate(rules, trades, COLUMNS, marketData, REF_DATA);
+      results = ReportCalculationResults.of(
+          BenchmarkData.USD.getValuationDate(), trades, COLUMNS, calculated, functions, REF_DATA);
+    }
+    report = runReport();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the report from the calculation results.
+   *
+   * @return the report
+   */
+  @Benchmark
+  public TradeReport runReport() {
+    return TradeReportRunner.INSTANCE.runReport(results, TEMPLATE);
+  }
+
+  /**
+   * Formats the report as an ASCII table.
+   *
+   * @return the formatted report
+   */
+  @Benchmark
+  public byte[] writeAsciiTable() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    report.writeAsciiTable(out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Formats the report as CSV.
+   *
+   * @return the formatted report
+   */
+  @Benchmark
+  public byte[] writeCsv() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    report.writeCsv(out);
+    return out.toByteArray();
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkData.REF_DATA;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Benchmarks the pricing of a single swap.
+ * <p>
+ * The swap is a USD fixed vs LIBOR 3M swap, priced with curves calibrated to the USD example data.
+ * The PV01 is the sum of the zero-rate sensitivities, the bucketed sensitivity is to the market quotes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwapPricingBenchmark {
+
+  /**
+   * The trade pricer.
+   */
+  private static final DiscountingSwapTradePricer PRICER = DiscountingSwapTradePricer.DEFAULT;
+  /**
+   * The market quote sensitivity calculator.
+   */
+  private static final MarketQuoteSensitivityCalculator MQC = MarketQuoteSensitivityCalculator.DEFAULT;
+
+  /**
+   * The tenor of the swap.
+   */
+  @Param({"2Y", "10Y", "30Y"})
+  private String tenor;
+  /**
+   * The resolved swap.
+   */
+  private ResolvedSwapTrade trade;
+  /**
+   * The calibrated curves.
+   */
+  private ImmutableRatesProvider provider;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the swap and calibrates the curves.
+   */
+  @Setup
+  public void setup() {
+    trade = BenchmarkData.usdSwap(Tenor.parse(tenor), 0.015, BuySell.BUY).resolve(REF_DATA);
+    provider = BenchmarkData.USD.calibrate();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(trade, provider);
+  }
+
+  /**
+   * Calculates the PV01, the sum of the sensitivities to the curve parameters.
+   *
+   * @return the PV01
+   */
+  @Benchmark
+  public MultiCurrencyAmount pv01() {
+    PointSensitivities pointSens = PRICER.presentValueSensitivity(trade, provider);
+    return provider.parameterSensitivity(pointSens).total();
+  }
+
+  /**
+   * Calculates the bucketed sensitivities to the market quotes.
+   *
+   * @return the sensitivities
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities bucketedMarketQuoteSensitivity() {
+    PointSensitivities pointSens = PRICER.presentValueSensitivity(trade, provider);
+    return MQC.sensitivity(provider.parameterSensitivity(pointSens), provider);
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for pricing, calibration, calculation, loading and reporting.
+ */
+package com.opengamma.strata.benchmark;
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -66,6 +67,38 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation runner that uses work-stealing and cost-aware scheduling.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * The runner learns the cost of each type of calculation function from earlier calculations.
+   * The most expensive calculations are run first and cheap calculations are run in batches.
+   * See {@link CalculationTaskRunner#ofWorkStealing()} for more details.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing() {
+    return DefaultCalculationRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a calculation runner that uses work-stealing and cost-aware scheduling, specifying the pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing(ForkJoinPool pool) {
+    return DefaultCalculationRunner.ofWorkStealing(pool);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
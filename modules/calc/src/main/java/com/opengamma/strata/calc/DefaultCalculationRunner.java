@@ -7,6 +7,7 @@ package com.opengamma.strata.calc;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -59,6 +60,27 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a multi-threaded calculation runner that uses work-stealing and cost-aware scheduling.
+   * 
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkStealing() {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing());
+  }
+
+  /**
+   * Creates a calculation runner that uses work-stealing and cost-aware scheduling, specifying the pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkStealing(ForkJoinPool pool) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkStealing(pool));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
@@ -9,14 +9,23 @@ import static com.opengamma.strata.collect.Guavate.not;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -30,9 +39,18 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * Market data is built in steps, where each step builds the leaves of the dependency tree.
+ * The non-observable items of market data in a step are independent of one another, and are
+ * built using an {@link Executor}. By default they are built in turn on the calling thread,
+ * but a multi-threaded executor can be specified to build them in parallel.
+ * The result is the same regardless of the executor used.
+ * The time taken to build each item is passed to a {@link MarketDataBuildListener}, and logged at debug level.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
+  private static final Logger log = LoggerFactory.getLogger(DefaultMarketDataFactory.class);
+
   /** Builds observable market data. */
   private final ObservableDataProvider observableDataProvider;
 
@@ -42,6 +60,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** Executes the tasks that build the non-observable market data. */
+  private final Executor executor;
+
+  /** Notified of the time taken to build each item of non-observable market data. */
+  private final MarketDataBuildListener listener;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +76,60 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, MoreExecutors.directExecutor(), functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * specifying the executor used to build the market data.
+   * <p>
+   * The market data functions are used to build the market data.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build independent items of market data
+   * @param functions  the functions that create the market data
+   */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(observableDataProvider, timeSeriesProvider, executor, MarketDataBuildListener.none(), functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * specifying the executor used to build the market data and a listener notified of the build times.
+   * <p>
+   * The market data functions are used to build the market data.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build independent items of market data
+   * @param listener  the listener notified of the time taken to build each item of market data
+   * @param functions  the functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      MarketDataBuildListener listener,
       List<MarketDataFunction<?, ?>> functions) {
 
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = ArgChecker.notNull(executor, "executor");
+    this.listener = ArgChecker.notNull(listener, "listener");
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -203,16 +273,18 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
 
   //-------------------------------------------------------------------------
   /**
-   * Builds items of non-observable market data using a market data function.
+   * Returns a task that builds an item of non-observable market data using a market data function.
+   * <p>
+   * The market data function is found immediately, but the market data is only built when the task is invoked.
    *
    * @param id  ID of the market data that should be built
    * @param marketDataConfig  configuration specifying how the market data should be built
    * @param suppliedData  existing set of market data that contains any data required to build the values
    * @param refData  the reference data, used to resolve trades
-   * @return a result containing the market data or details of why it wasn't built
+   * @return a task returning a result containing the market data or details of why it wasn't built
    */
   @SuppressWarnings({"unchecked", "rawtypes"})
-  private Result<MarketDataBox<?>> buildNonObservableData(
+  private Supplier<Result<MarketDataBox<?>>> nonObservableDataTask(
       MarketDataId id,
       MarketDataConfig marketDataConfig,
       BuiltScenarioMarketData suppliedData,
@@ -231,18 +303,39 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    return () -> {
+      long start = System.nanoTime();
+      Result<MarketDataBox<?>> result =
+          Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+      Duration duration = Duration.ofNanos(System.nanoTime() - start);
+      if (log.isDebugEnabled()) {
+        log.debug("Built market data {} in {}ms", id, duration.toNanos() / 1_000_000d);
+      }
+      try {
+        listener.marketDataBuilt(id, result, duration);
+      } catch (RuntimeException e) {
+        log.warn("Exception invoking listener.marketDataBuilt", e);
+      }
+      return result;
+    };
   }
 
-  @SuppressWarnings("unchecked")
+  // builds the non-observable data using the executor, the items are independent so can be built in parallel
+  // the results are returned in the order of the IDs to ensure the market data is built deterministically
   private Map<MarketDataId<?>, Result<MarketDataBox<?>>> buildNonObservableData(
       Set<? extends MarketDataId<?>> ids,
       MarketDataConfig marketDataConfig,
       BuiltScenarioMarketData marketData,
       ReferenceData refData) {
 
-    return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
+    Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures = ids.stream()
+        .collect(toImmutableMap(
+            id -> id,
+            id -> CompletableFuture.supplyAsync(
+                nonObservableDataTask(id, marketDataConfig, marketData, refData), executor)));
+    return MapStream.of(futures)
+        .mapValues(future -> future.join())
+        .toMap();
   }
 
   /**
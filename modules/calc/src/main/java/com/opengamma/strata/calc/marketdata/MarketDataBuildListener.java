@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.time.Duration;
+
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * A listener that is notified when an item of non-observable market data has been built.
+ * <p>
+ * This plugin point allows the time taken to build each node of the market data dependency tree,
+ * such as a curve group or surface, to be captured by the caller of the {@link MarketDataFactory}.
+ * <p>
+ * The factory may build independent items of market data in parallel, thus implementations
+ * must be thread-safe as the listener may be invoked concurrently from multiple threads.
+ */
+@FunctionalInterface
+public interface MarketDataBuildListener {
+
+  /**
+   * Obtains an instance that ignores all notifications.
+   *
+   * @return a listener that does nothing
+   */
+  public static MarketDataBuildListener none() {
+    return (id, result, duration) -> { };
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Invoked when an item of non-observable market data has been built.
+   * <p>
+   * This is invoked whether the market data was built successfully or not.
+   *
+   * @param id  the ID of the market data
+   * @param result  the result containing the market data, or the failure if it could not be built
+   * @param duration  the time taken to build the market data
+   */
+  public abstract void marketDataBuilt(MarketDataId<?> id, Result<MarketDataBox<?>> result, Duration duration);
+
+}
@@ -6,6 +6,7 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -74,6 +75,62 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * specifying the executor used to build market data.
+   * <p>
+   * The market data functions are used to build the market data.
+   * <p>
+   * Market data is built in steps, where each step builds the market data whose dependencies are available.
+   * Within a step, each item of non-observable market data, such as a curve group or surface, is built
+   * by submitting a task to the executor. A multi-threaded executor allows independent items to be built
+   * in parallel. The market data that is built does not depend on the executor used.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build independent items of market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, functions);
+  }
+
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * specifying the executor used to build market data and a listener notified of the build times.
+   * <p>
+   * The market data functions are used to build the market data.
+   * The market data is built as described in {@link #of(ObservableDataProvider, TimeSeriesProvider, Executor, List)}.
+   * Once each item of non-observable market data has been built, the listener is notified of the result
+   * and the time taken to build it. This allows the time taken by each node of the dependency tree to be captured.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build independent items of market data
+   * @param listener  the listener notified of the time taken to build each item of market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      MarketDataBuildListener listener,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, listener, functions);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
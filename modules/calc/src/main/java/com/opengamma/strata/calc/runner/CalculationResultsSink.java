@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Receives the results of calculation tasks as they are completed.
+ * <p>
+ * Implementations must be safe for use by multiple threads.
+ * Each task will pass its results to the sink exactly once.
+ */
+interface CalculationResultsSink extends Consumer<CalculationResults> {
+
+  /**
+   * Accepts the results of a batch of calculation tasks.
+   * <p>
+   * This is equivalent to calling {@link #accept(Object)} for each result,
+   * but implementations may choose to process the batch more efficiently.
+   *
+   * @param results  the results of the calculations
+   */
+  public default void acceptAll(List<CalculationResults> results) {
+    for (CalculationResults result : results) {
+      accept(result);
+    }
+  }
+
+}
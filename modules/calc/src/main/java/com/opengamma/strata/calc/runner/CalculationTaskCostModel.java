@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Model of the cost of executing calculation tasks, learned from earlier runs.
+ * <p>
+ * The cost of a task is estimated from the type of its {@link CalculationFunction}.
+ * Each time a task is executed the elapsed time is recorded, normalized by the number of
+ * cells and scenarios, and blended into a moving average for the function type.
+ * <p>
+ * The estimates are used to schedule the tasks. The most expensive tasks are run first,
+ * which avoids a few slow tasks ending up on a few threads at the end of the run.
+ * Cheap tasks are grouped into batches so that the overhead of submitting a task
+ * and notifying the listener is paid once per batch rather than once per task.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CalculationTaskCostModel {
+
+  /**
+   * The weight given to the latest observation when updating the moving average.
+   */
+  private static final double OBSERVATION_WEIGHT = 0.25d;
+  /**
+   * The maximum estimated cost of a batch, in nanoseconds.
+   */
+  private static final double MAX_BATCH_NANOS = 1_000_000d;
+  /**
+   * The minimum number of batches to create per thread, to allow work to be balanced between threads.
+   */
+  private static final int BATCHES_PER_THREAD = 8;
+
+  /**
+   * The estimated cost, in nanoseconds per cell per scenario, keyed by function type.
+   */
+  private final ConcurrentHashMap<Class<?>, Double> costs = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance with no knowledge of the cost of any function.
+   */
+  CalculationTaskCostModel() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the estimated cost of executing the task, in nanoseconds.
+   * <p>
+   * If the function used by the task has not been seen before, NaN is returned.
+   *
+   * @param task  the task
+   * @param scenarioCount  the number of scenarios
+   * @return the estimated cost, NaN if unknown
+   */
+  double estimate(CalculationTask task, int scenarioCount) {
+    Double cost = costs.get(task.getFunction().getClass());
+    if (cost == null) {
+      return Double.NaN;
+    }
+    return cost * task.getCells().size() * scenarioCount;
+  }
+
+  /**
+   * Records the elapsed time taken to execute a task.
+   *
+   * @param task  the task that was executed
+   * @param scenarioCount  the number of scenarios
+   * @param elapsedNanos  the elapsed time, in nanoseconds
+   */
+  void record(CalculationTask task, int scenarioCount, long elapsedNanos) {
+    double observed = (double) elapsedNanos / (task.getCells().size() * Math.max(scenarioCount, 1));
+    costs.merge(
+        task.getFunction().getClass(),
+        observed,
+        (previous, latest) -> previous + OBSERVATION_WEIGHT * (latest - previous));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Groups the tasks into batches, ordered so that the most expensive batches come first.
+   * <p>
+   * Tasks with an unknown cost are placed into a batch of their own at the start,
+   * ensuring that their cost is learned as early as possible.
+   * Tasks with a known cost are ordered by decreasing cost. Expensive tasks are placed
+   * in a batch of their own, while cheap tasks are grouped until the batch reaches the target cost.
+   * The target cost is chosen to keep enough batches for each thread to be kept busy.
+   *
+   * @param tasks  the tasks to schedule
+   * @param scenarioCount  the number of scenarios
+   * @param parallelism  the number of threads that will execute the tasks
+   * @return the batches of tasks
+   */
+  List<List<CalculationTask>> schedule(List<CalculationTask> tasks, int scenarioCount, int parallelism) {
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    List<CostedTask> known = new ArrayList<>(tasks.size());
+    double totalCost = 0;
+    for (CalculationTask task : tasks) {
+      double cost = estimate(task, scenarioCount);
+      if (Double.isNaN(cost)) {
+        List<CalculationTask> batch = new ArrayList<>(1);
+        batch.add(task);
+        batches.add(batch);
+      } else {
+        known.add(new CostedTask(task, cost));
+        totalCost += cost;
+      }
+    }
+    known.sort(Comparator.comparingDouble((CostedTask costed) -> costed.cost).reversed());
+
+    // group cheap tasks until the target cost of a batch is reached
+    double targetCost = Math.min(MAX_BATCH_NANOS, totalCost / (parallelism * BATCHES_PER_THREAD));
+    List<CalculationTask> batch = new ArrayList<>();
+    double batchCost = 0;
+    for (CostedTask costed : known) {
+      batch.add(costed.task);
+      batchCost += costed.cost;
+      if (batchCost >= targetCost) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        batchCost = 0;
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return batches;
+  }
+
+  //-------------------------------------------------------------------------
+  // a task and its estimated cost
+  private static final class CostedTask {
+    private final CalculationTask task;
+    private final double cost;
+
+    private CostedTask(CalculationTask task, double cost) {
+      this.task = task;
+      this.cost = cost;
+    }
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +80,38 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a multi-threaded calculation task runner that uses work-stealing and cost-aware scheduling.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * The runner learns the cost of each type of {@link CalculationFunction} from earlier calculations.
+   * The most expensive tasks are run first and cheap tasks are run in batches, reducing the per-task overhead.
+   * This is most effective when the same runner is used repeatedly for portfolios of mixed complexity.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing() {
+    return DefaultCalculationTaskRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a calculation task runner that uses work-stealing and cost-aware scheduling, specifying the pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   * 
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return DefaultCalculationTaskRunner.ofWorkStealing(pool);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -7,12 +7,15 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
-import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.CalculationTarget;
@@ -30,6 +33,10 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default, each task is submitted to the executor separately.
+ * Alternatively, a work-stealing mode can be used, where a {@link ForkJoinPool} is used
+ * and the tasks are ordered and batched using a {@link CalculationTaskCostModel}.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
@@ -38,6 +45,10 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The model used to order and batch the tasks by cost, null if each task is submitted separately.
+   */
+  private final CalculationTaskCostModel costModel;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +65,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), null);
   }
 
   /**
@@ -66,7 +77,38 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that uses work-stealing and cost-aware scheduling.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * The cost of each type of {@link CalculationFunction} is learned as tasks are executed.
+   * The most expensive tasks are run first and cheap tasks are run in batches.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (DefaultCalculationTaskRunner runner = DefaultCalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    return ofWorkStealing(createForkJoinPool(Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a calculation task runner that uses work-stealing and cost-aware scheduling, specifying the pool.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the pool.
+   *
+   * @param pool  the fork-join pool to use
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing(ForkJoinPool pool) {
+    return new DefaultCalculationTaskRunner(pool, new CalculationTaskCostModel());
   }
 
   // create an executor with daemon threads
@@ -81,14 +123,27 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a fork-join pool, worker threads are daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      return t;
+    };
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, true);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param costModel  the model used to order and batch the tasks, null to submit each task separately
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, CalculationTaskCostModel costModel) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.costModel = costModel;
   }
 
   //-------------------------------------------------------------------------
@@ -160,9 +215,10 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       ScenarioMarketData marketData,
       ReferenceData refData) {
 
-    ResultsListener listener = new ResultsListener();
-    calculateMultiScenarioAsync(tasks, marketData, refData, listener);
-    return listener.result();
+    // the results are written directly into the grid, avoiding the need for a listener
+    GridResultsSink sink = new GridResultsSink(tasks);
+    runTasks(tasks, marketData, refData, sink);
+    return sink.result();
   }
 
   @Override
@@ -172,15 +228,33 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       ReferenceData refData,
       CalculationListener listener) {
 
-    List<CalculationTask> taskList = tasks.getTasks();
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer =
-        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    ListenerWrapper consumer =
+        new ListenerWrapper(listener, tasks.getTasks().size(), tasks.getTargets(), tasks.getColumns());
+    runTasks(tasks, marketData, refData, consumer);
+  }
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+  // runs the tasks using the executor, passing the results to the consumer
+  private void runTasks(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationResultsSink consumer) {
+
+    List<CalculationTask> taskList = tasks.getTasks();
+    if (costModel == null) {
+      // run each task using the executor
+      taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    } else {
+      // run batches of tasks using the executor, most expensive first
+      int parallelism = executor instanceof ForkJoinPool ?
+          ((ForkJoinPool) executor).getParallelism() :
+          Runtime.getRuntime().availableProcessors();
+      costModel.schedule(taskList, marketData.getScenarioCount(), parallelism)
+          .forEach(batch -> runBatch(batch, marketData, refData, consumer));
+    }
   }
 
   // submits a task to the executor to be run
@@ -188,22 +262,40 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       CalculationTask task,
       ScenarioMarketData marketData,
       ReferenceData refData,
-      Consumer<CalculationResults> consumer) {
+      CalculationResultsSink consumer) {
 
     // the task is executed, with the result passed to the consumer
-    // the consumer wraps the listener to ensure thread-safety
+    // the consumer is safe for use by multiple threads
     Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // submits a batch of tasks to the executor to be run, recording the time taken by each task
+  private void runBatch(
+      List<CalculationTask> batch,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationResultsSink consumer) {
+
+    int scenarioCount = marketData.getScenarioCount();
+    Supplier<List<CalculationResults>> batchExecutor = () -> {
+      List<CalculationResults> results = new ArrayList<>(batch.size());
+      for (CalculationTask task : batch) {
+        long start = System.nanoTime();
+        results.add(task.execute(marketData, refData));
+        costModel.record(task, scenarioCount, System.nanoTime() - start);
+      }
+      return results;
+    };
+    CompletableFuture.supplyAsync(batchExecutor, executor).thenAccept(consumer::acceptAll);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
     executor.shutdown();
   }
 
-  //-------------------------------------------------------------------------
-
   //-------------------------------------------------------------------------
   /**
    * Listener that decorates another listener and unwraps {@link ScenarioArray} instances
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Sink that writes the results of calculations directly into a grid of results.
+ * <p>
+ * The grid is preallocated with a cell for each row and column.
+ * Each result is written to the cell identified by its row and column index, thus no locking is required.
+ * When all the expected tasks have completed, the grid is converted to an instance of {@link Results}.
+ * <p>
+ * This is used in preference to {@link ResultsListener} when the results are not needed until
+ * all calculations are complete, as it avoids the need to deliver each result to a listener in turn.
+ */
+final class GridResultsSink implements CalculationResultsSink {
+
+  /** The column headers. */
+  private final List<ColumnHeader> headers;
+  /** The number of columns. */
+  private final int columnCount;
+  /** The cells of the grid, by row and then column. */
+  private final Result<?>[] cells;
+  /** The number of tasks whose results have not yet been received. */
+  private final AtomicInteger tasksRemaining;
+  /** The future that is completed when all results have been received. */
+  private final CompletableFuture<Results> future = new CompletableFuture<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance that will receive the results of the specified tasks.
+   *
+   * @param tasks  the tasks that will be executed
+   */
+  GridResultsSink(CalculationTasks tasks) {
+    List<Column> columns = tasks.getColumns();
+    this.headers = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    this.columnCount = columns.size();
+    this.cells = new Result<?>[tasks.getTargets().size() * columnCount];
+    this.tasksRemaining = new AtomicInteger(tasks.getTasks().size());
+    if (tasksRemaining.get() == 0) {
+      complete();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void accept(CalculationResults results) {
+    write(results);
+    // the atomic decrement ensures the writes are visible to the thread that completes the grid
+    if (tasksRemaining.decrementAndGet() == 0) {
+      complete();
+    }
+  }
+
+  @Override
+  public void acceptAll(List<CalculationResults> results) {
+    for (CalculationResults result : results) {
+      write(result);
+    }
+    if (tasksRemaining.addAndGet(-results.size()) == 0) {
+      complete();
+    }
+  }
+
+  // writes the results into the grid, each cell is only ever written by one thread
+  private void write(CalculationResults results) {
+    for (CalculationResult cell : results.getCells()) {
+      cells[cell.getRowIndex() * columnCount + cell.getColumnIndex()] = cell.getResult();
+    }
+  }
+
+  // creates the results once all tasks have completed
+  private void complete() {
+    future.complete(Results.of(headers, Arrays.asList(cells)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the results of the calculations, blocking until they are available.
+   *
+   * @return the results of the calculations
+   */
+  Results result() {
+    try {
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException("Exception getting result", e);
+    }
+  }
+
+}
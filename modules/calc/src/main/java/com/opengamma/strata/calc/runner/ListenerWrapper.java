@@ -5,16 +5,14 @@
  */
 package com.opengamma.strata.calc.runner;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,59 +27,64 @@ import com.opengamma.strata.collect.ArgChecker;
  * Calculations may be performed in bulk for a given target.
  * The logic in this class unwraps the {@link CalculationResults}, calling the
  * listener with each individual {@link CalculationResult}.
+ * <p>
+ * No locks are used. The calculation threads publish their results into a multi-producer,
+ * single-consumer buffer that has a slot for every task, thus a producer never has to wait.
+ * Whichever thread finds no other thread delivering results becomes the consumer, and delivers
+ * the results to the listener in the order the slots were claimed.
  */
-final class ListenerWrapper implements Consumer<CalculationResults> {
+final class ListenerWrapper implements CalculationResultsSink {
 
   private static final Logger log = LoggerFactory.getLogger(ListenerWrapper.class);
 
   /** The wrapped listener. */
   private final CalculationListener listener;
 
-  /** Queue of actions to perform on the delegate. */
-  private final Queue<CalculationResults> queue = new LinkedList<>();
-
-  /** Protects the queue and the executing flag. */
-  private final Lock lock = new ReentrantLock();
-
-  /** This lock is never contended; it is used to guarantee the listener state is visible to all threads. */
-  private final Lock listenerLock = new ReentrantLock();
-
   /** The total number of tasks to be executed. */
   private final int tasksExpected;
 
-  // Mutable state -----------------------------------------------------
+  /**
+   * The buffer of results awaiting delivery to the listener.
+   * Each call to {@link #acceptAll} claims one slot, and each slot is cleared once delivered.
+   */
+  private final AtomicReferenceArray<List<CalculationResults>> buffer;
+
+  /** The index of the next slot in the buffer to be claimed by a producer. */
+  private final AtomicInteger claimIndex = new AtomicInteger();
 
   /**
-   * Flags whether a call to the underlying listener is executing.
-   * If this flag is set when {@link #accept} is called, the result is added to
-   * the queue and the calling thread returns. The executing thread will ensure
-   * all queued results are delivered.
+   * The number of outstanding requests to deliver results.
+   * The thread that increments this from zero delivers all available results, including
+   * those published by other threads while it is delivering. The atomic updates also
+   * guarantee the listener state is visible to the next thread that delivers results.
    */
-  private boolean executing;
+  private final AtomicInteger deliveryRequests = new AtomicInteger();
+
+  // Mutable state, only accessed by the thread delivering results ---------
+
+  /** The index of the next slot in the buffer to be delivered. */
+  private int deliverIndex;
 
-  /** The number of task results that have been received. */
+  /** The number of task results that have been delivered. */
   private int tasksReceived;
 
   //-------------------------------------------------------------------------
   /**
    * Creates an instance wrapping the specified listener.
-   *  @param listener  the underlying listener wrapped by this object
+   *
+   * @param listener  the underlying listener wrapped by this object
    * @param tasksExpected  the number of tasks to be executed
+   * @param targets  the targets for which values are being calculated
    * @param columns  the columns for which values are being calculated
    */
   ListenerWrapper(CalculationListener listener, int tasksExpected, List<CalculationTarget> targets, List<Column> columns) {
     this.listener = ArgChecker.notNull(listener, "listener");
     this.tasksExpected = ArgChecker.notNegative(tasksExpected, "tasksExpected");
+    this.buffer = new AtomicReferenceArray<>(tasksExpected);
 
-    listenerLock.lock();
-    try {
-      listener.calculationsStarted(targets, columns);
-
-      if (tasksExpected == 0) {
-        listener.calculationsComplete();
-      }
-    } finally {
-      listenerLock.unlock();
+    listener.calculationsStarted(targets, columns);
+    if (tasksExpected == 0) {
+      listener.calculationsComplete();
     }
   }
 
@@ -94,92 +97,84 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    * it is not accessed concurrently by multiple threads.
    * <p>
    * The other threads do not block while the listener is invoked. They
-   * add their results to a queue and return quickly. Their results are
+   * add their results to the buffer and return quickly. Their results are
    * delivered by the thread invoking the listener.
    *
    * @param result the result of a calculation
    */
   @Override
   public void accept(CalculationResults result) {
-    CalculationResults nextResult;
-
-    // Multiple calculation threads can try to acquire this lock at the same time.
-    // The thread which acquires the lock will set the executing flag and proceed into
-    // the body of the method.
-    // If another thread acquires the lock while the first thread is executing it will
-    // add an item to the queue and return.
-    // The lock also ensures the state of the executing flag and the queue are visible
-    // to any thread acquiring the lock.
-    lock.lock();
-    try {
-      if (executing) {
-        // Another thread is already invoking the listener. Add the result to
-        // the queue and return. The other thread will ensure the queued results
-        // are delivered.
-        queue.add(result);
-        return;
-      } else {
-        // There is no thread invoking the listener. Set the executing flag to
-        // ensure no other thread passes this point and invoke the listener.
-        executing = true;
-        nextResult = result;
-      }
-    } finally {
-      lock.unlock();
+    acceptAll(ImmutableList.of(result));
+  }
+
+  /**
+   * Accepts a batch of calculation results and delivers them to the listener.
+   * <p>
+   * This is equivalent to calling {@link #accept(CalculationResults)} for each result,
+   * but only a single slot in the buffer is used for the whole batch.
+   * This method can be invoked concurrently by multiple threads.
+   *
+   * @param results  the results of the calculations
+   */
+  @Override
+  public void acceptAll(List<CalculationResults> results) {
+    int index = claimIndex.getAndIncrement();
+    if (index >= buffer.length()) {
+      throw new IllegalStateException("Received more results than expected: " + tasksExpected);
     }
+    buffer.set(index, results);
 
-    // The logic in the block above guarantees that there will never be more than one thread in the
-    // rest of the method below this point.
+    // The thread that increments the request count from zero delivers the results.
+    // Any other thread returns immediately, as the delivering thread is guaranteed
+    // to see the results published above before it stops delivering.
+    if (deliveryRequests.getAndIncrement() == 0) {
+      deliver();
+    }
+  }
 
-    // Loop until the nextResult and all the results from the queue have been delivered
+  // delivers all available results to the listener, only ever invoked by one thread at a time
+  private void deliver() {
+    int requests = 1;
     for (;;) {
-      // The logic above means this lock is never contended; the executing flag means
-      // only one thread will ever be in this loop at any given time.
-      // This lock is required to ensure any state changes in the listener are visible to all threads
-      listenerLock.lock();
-      try {
-        // Invoke the listener while not protected by lock. This allows other threads
-        // to queue results while this thread is delivering them to the listener.
-        for (CalculationResult cell : nextResult.getCells()) {
-          listener.resultReceived(nextResult.getTarget(), cell);
+      // Deliver results in slot order until a slot is reached that has been claimed but not yet published.
+      // The producer of that slot will request delivery once it has published its results.
+      while (deliverIndex < buffer.length()) {
+        List<CalculationResults> nextResults = buffer.get(deliverIndex);
+        if (nextResults == null) {
+          break;
         }
-      } catch (RuntimeException e) {
-        log.warn("Exception invoking listener.resultReceived", e);
-      } finally {
-        listenerLock.unlock();
-      }
-
-      // The following code must be executed whilst holding the lock to guarantee any changes
-      // to the executing flag and to the state of the queue are visible to all threads
-      lock.lock();
-      try {
-        if (++tasksReceived == tasksExpected) {
+        buffer.lazySet(deliverIndex++, null);
+        deliver(nextResults);
+        tasksReceived += nextResults.size();
+        if (tasksReceived == tasksExpected) {
           // The expected number of results have been received, inform the listener.
-          // The listener lock must be acquired to ensure any state changes in the listener are
-          // visible to all threads
-          listenerLock.lock();
           try {
             listener.calculationsComplete();
           } catch (RuntimeException e) {
             log.warn("Exception invoking listener.calculationsComplete", e);
-          } finally {
-            listenerLock.unlock();
           }
-          return;
-        } else if (queue.isEmpty()) {
-          // There are no more results to deliver. Unset the executing flag and return.
-          // This allows the next calling thread to deliver results.
-          executing = false;
-          return;
-        } else {
-          // There are results on the queue. This means another thread called accept(),
-          // added a result to the queue and returned while this thread was invoking the listener.
-          // This thread must deliver the results from the queue.
-          nextResult = queue.remove();
         }
-      } finally {
-        lock.unlock();
+      }
+      // Stop delivering if no other thread has requested delivery since the last check.
+      requests = deliveryRequests.addAndGet(-requests);
+      if (requests == 0) {
+        return;
+      }
+    }
+  }
+
+  // delivers a batch of results to the listener
+  // a failure delivering one result in a batch does not prevent the others being delivered
+  private void deliver(List<CalculationResults> results) {
+    for (CalculationResults result : results) {
+      try {
+        for (CalculationResult cell : result.getCells()) {
+          listener.resultReceived(result.getTarget(), cell);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Exception invoking listener.resultReceived", e);
       }
     }
   }
+
 }
@@ -20,7 +20,14 @@ import com.opengamma.strata.collect.result.Result;
 
 /**
  * Calculation listener that receives the results of individual calculations and builds a set of {@link Results}.
+ * <p>
+ * The calculation runner no longer uses this listener to collect results, as the synchronous methods
+ * write the results directly into a grid.
+ * 
+ * @deprecated Use {@link CalculationTaskRunner#calculate} or {@link CalculationTaskRunner#calculateMultiScenario}
+ *   to obtain {@link Results}, or implement {@link CalculationListener} to receive results asynchronously
  */
+@Deprecated
 public final class ResultsListener extends AggregatingCalculationListener<Results> {
 
   /** Comparator for sorting the results by row and then column. */
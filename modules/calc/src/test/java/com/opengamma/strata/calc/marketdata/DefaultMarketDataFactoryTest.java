@@ -10,15 +10,20 @@ import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -355,6 +360,79 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
   }
 
+  /**
+   * Tests building a result in parallel using an executor, including the intermediate values.
+   */
+  public void buildWithExecutor() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"), new TestIdB("3"), new TestIdB("4"))
+        .build();
+
+    ImmutableMap.Builder<TestIdA, LocalDateDoubleTimeSeries> timeSeriesBuilder = ImmutableMap.builder();
+    for (int i = 1; i <= 4; i++) {
+      timeSeriesBuilder.put(new TestIdA(Integer.toString(i)), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), i));
+    }
+    TimeSeriesProvider timeSeriesProvider = new TestTimeSeriesProvider(timeSeriesBuilder.build());
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+
+    BuiltMarketData expected = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        timeSeriesProvider,
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC())
+        .create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    Map<MarketDataId<?>, Duration> timings = new ConcurrentHashMap<>();
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          timeSeriesProvider,
+          executor,
+          (id, result, duration) -> timings.put(id, duration),
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData).isEqualTo(expected);
+      assertThat(marketData.getValue(new TestIdB("4")))
+          .isEqualTo(new TestMarketDataB(4, new TestMarketDataC(LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 4))));
+      assertThat(timings).containsKeys(new TestIdB("1"), new TestIdB("2"), new TestIdB("3"), new TestIdB("4"));
+      assertThat(timings).containsKeys(new TestIdC("1"), new TestIdC("2"), new TestIdC("3"), new TestIdC("4"));
+      assertThat(timings.values()).allMatch(duration -> !duration.isNegative());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that an exception thrown by the build listener does not cause the market data build to fail.
+   */
+  public void buildWithFailingListener() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    TimeSeriesProvider timeSeriesProvider = new TestTimeSeriesProvider(ImmutableMap.of(
+        new TestIdA("1"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1),
+        new TestIdA("2"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 2)));
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        timeSeriesProvider,
+        MoreExecutors.directExecutor(),
+        (id, result, duration) -> {
+          throw new IllegalStateException("Listener failed");
+        },
+        ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+    BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+    assertThat(marketData.getValueFailures()).isEmpty();
+    assertThat(marketData.getValue(new TestIdB("2")))
+        .isEqualTo(new TestMarketDataB(2, new TestMarketDataC(LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 2))));
+  }
+
   /**
    * Tests building multiple observable values for scenarios where the values aren't perturbed.
    */
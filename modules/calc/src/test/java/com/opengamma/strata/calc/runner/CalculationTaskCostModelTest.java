@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link CalculationTaskCostModel}.
+ */
+@Test
+public class CalculationTaskCostModelTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+  private static final CalculationTaskCell CELL = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+  private static final CalculationTask CHEAP = CalculationTask.of(TARGET, new CheapFunction(), CELL);
+  private static final CalculationTask EXPENSIVE = CalculationTask.of(TARGET, new ExpensiveFunction(), CELL);
+
+  //-------------------------------------------------------------------------
+  public void test_estimate() {
+    CalculationTaskCostModel test = new CalculationTaskCostModel();
+    assertThat(test.estimate(CHEAP, 1)).isNaN();
+    test.record(CHEAP, 2, 200);
+    assertThat(test.estimate(CHEAP, 1)).isEqualTo(100d);
+    assertThat(test.estimate(CHEAP, 4)).isEqualTo(400d);
+    test.record(CHEAP, 1, 500);
+    assertThat(test.estimate(CHEAP, 1)).isEqualTo(200d);
+    assertThat(test.estimate(EXPENSIVE, 1)).isNaN();
+  }
+
+  public void test_schedule_unknown() {
+    CalculationTaskCostModel test = new CalculationTaskCostModel();
+    List<List<CalculationTask>> batches = test.schedule(ImmutableList.of(CHEAP, EXPENSIVE, CHEAP), 1, 2);
+    assertThat(batches).containsExactly(
+        ImmutableList.of(CHEAP), ImmutableList.of(EXPENSIVE), ImmutableList.of(CHEAP));
+  }
+
+  public void test_schedule_known() {
+    CalculationTaskCostModel test = new CalculationTaskCostModel();
+    test.record(CHEAP, 1, 10);
+    test.record(EXPENSIVE, 1, 10_000);
+    ImmutableList.Builder<CalculationTask> builder = ImmutableList.builder();
+    builder.add(CHEAP, CHEAP, EXPENSIVE);
+    for (int i = 0; i < 1000; i++) {
+      builder.add(CHEAP);
+    }
+    builder.add(EXPENSIVE);
+    List<List<CalculationTask>> batches = test.schedule(builder.build(), 1, 1);
+    // total cost 30020, target batch cost 3752.5
+    assertThat(batches.get(0)).containsExactly(EXPENSIVE);
+    assertThat(batches.get(1)).containsExactly(EXPENSIVE);
+    assertThat(batches.get(2)).hasSize(376).containsOnly(CHEAP);
+    assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(1004);
+  }
+
+  //-------------------------------------------------------------------------
+  private static class CheapFunction implements CalculationFunction<TestTarget> {
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return ImmutableMap.of();
+    }
+  }
+
+  private static final class ExpensiveFunction extends CheapFunction {
+  }
+
+}
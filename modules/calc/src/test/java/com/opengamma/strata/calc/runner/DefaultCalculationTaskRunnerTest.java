@@ -51,6 +51,7 @@ public class DefaultCalculationTaskRunnerTest {
 
   //-------------------------------------------------------------------------
   // Test that ScenarioArrays containing a single value are unwrapped.
+  @SuppressWarnings("deprecation")
   public void unwrapScenarioResults() throws Exception {
     ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
     ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
@@ -131,6 +132,32 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(result2).hasValue(scenarioResult);
   }
 
+  //-------------------------------------------------------------------------
+  // Test that the work-stealing runner places the results in the correct cells, before and after costs are learned
+  public void workStealing() {
+    int rowCount = 200;
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < rowCount; i++) {
+      ScenarioArray<String> scenarioResult = ScenarioArray.of("foo" + i);
+      ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing()) {
+      for (int run = 0; run < 2; run++) {
+        Results results = test.calculate(tasks, marketData, REF_DATA);
+        assertThat(results.getRowCount()).isEqualTo(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+          assertThat(results.get(i, 0)).hasValue("foo" + i);
+        }
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public static final class TestFunction implements CalculationFunction<TestTarget> {
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link GridResultsSink}.
+ */
+@Test
+public class GridResultsSinkTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+  private static final ImmutableList<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE),
+      Column.of(TestingMeasures.PAR_RATE));
+
+  //-------------------------------------------------------------------------
+  public void test_concurrent() throws Exception {
+    int rowCount = 1000;
+    CalculationTasks tasks = tasks(rowCount);
+    GridResultsSink test = new GridResultsSink(tasks);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      IntStream.range(0, rowCount).forEach(i -> executor.submit(() -> test.accept(results(i))));
+      Results results = test.result();
+      assertThat(results.getRowCount()).isEqualTo(rowCount);
+      assertThat(results.getColumnCount()).isEqualTo(2);
+      for (int i = 0; i < rowCount; i++) {
+        assertThat(results.get(i, 0)).hasValue("PV" + i);
+        assertThat(results.get(i, 1)).hasValue("PR" + i);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_acceptAll() {
+    GridResultsSink test = new GridResultsSink(tasks(3));
+    test.acceptAll(ImmutableList.of(results(2), results(0)));
+    test.accept(results(1));
+    Results results = test.result();
+    assertThat(results.getRowCount()).isEqualTo(3);
+    assertThat(results.get(0, 0)).hasValue("PV0");
+    assertThat(results.get(2, 1)).hasValue("PR2");
+  }
+
+  //-------------------------------------------------------------------------
+  // creates the tasks, one per row, each calculating two columns
+  private static CalculationTasks tasks(int rowCount) {
+    ImmutableList.Builder<CalculationTask> builder = ImmutableList.builder();
+    for (int i = 0; i < rowCount; i++) {
+      CalculationTaskCell cell1 = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      CalculationTaskCell cell2 = CalculationTaskCell.of(i, 1, TestingMeasures.PAR_RATE, NATURAL);
+      builder.add(CalculationTask.of(TARGET, new TestFunction(), cell1, cell2));
+    }
+    return CalculationTasks.of(builder.build(), COLUMNS);
+  }
+
+  // creates the results for a row
+  private static CalculationResults results(int rowIndex) {
+    return CalculationResults.of(TARGET, ImmutableList.of(
+        CalculationResult.of(rowIndex, 1, Result.success("PR" + rowIndex)),
+        CalculationResult.of(rowIndex, 0, Result.success("PV" + rowIndex))));
+  }
+
+}
@@ -6,8 +6,11 @@
 package com.opengamma.strata.calc.runner;
 
 import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -52,6 +55,36 @@ public class ListenerWrapperTest {
     }
   }
 
+  // Tests that batches of results are delivered in full, and that the listener is only completed once
+  public void batches() {
+    CalculationTarget target = new CalculationTarget() {};
+    List<CalculationResult> received = new ArrayList<>();
+    int[] completed = new int[1];
+    CalculationListener listener = new CalculationListener() {
+      @Override
+      public void resultReceived(CalculationTarget target, CalculationResult result) {
+        received.add(result);
+      }
+
+      @Override
+      public void calculationsComplete() {
+        completed[0]++;
+      }
+    };
+    ListenerWrapper wrapper = new ListenerWrapper(listener, 3, ImmutableList.of(), ImmutableList.of());
+    CalculationResult result1 = CalculationResult.of(0, 0, Result.success("A"));
+    CalculationResult result2 = CalculationResult.of(1, 0, Result.success("B"));
+    CalculationResult result3 = CalculationResult.of(2, 0, Result.success("C"));
+    wrapper.acceptAll(ImmutableList.of(
+        CalculationResults.of(target, ImmutableList.of(result1)),
+        CalculationResults.of(target, ImmutableList.of(result2))));
+    assertThat(received).containsExactly(result1, result2);
+    assertThat(completed[0]).isEqualTo(0);
+    wrapper.accept(CalculationResults.of(target, ImmutableList.of(result3)));
+    assertThat(received).containsExactly(result1, result2, result3);
+    assertThat(completed[0]).isEqualTo(1);
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
@@ -9,6 +9,8 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -31,6 +33,11 @@ import com.opengamma.strata.collect.Unchecked;
  * This approach is suitable for XML files where the size of the parsed XML file is
  * known to be manageable in memory.
  * <p>
+ * Larger files can be processed using {@link #parseElements(ByteSource, Function)},
+ * which parses the structure while discarding selected elements, and
+ * {@link #forEachElement(ByteSource, String, String, BiConsumer)}, which parses
+ * selected elements one at a time.
+ * <p>
  * Note that the {@link XmlElement} representation does not express all XML features.
  * No support is provided for processing instructions, comments or mixed content.
  * In addition, it is not possible to determine the difference between empty content and no children.
@@ -101,6 +108,94 @@ public final class XmlFile {
     });
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the element names and structure from the specified XML, filtering to reduce memory usage.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * The filter function is invoked with the name of each element.
+   * It returns the number of levels of children to retain below that element,
+   * {@code Integer.MAX_VALUE} to retain all children, or zero to retain no children.
+   * An element without retained children also has no content.
+   * The limit applied by an element also applies to all its descendants.
+   * <p>
+   * For example, a filter that returns zero for "trade" and {@code Integer.MAX_VALUE}
+   * otherwise will parse the whole file except the children and content of the trade elements.
+   * 
+   * @param source  the XML source data
+   * @param filterFn  the filter function, returning the number of levels of children to retain
+   * @return the parsed root element
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static XmlElement parseElements(ByteSource source, Function<String, Integer> filterFn) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(filterFn, "filterFn");
+    return Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          String rootName = parseElementName(xmlReader);
+          return parseFiltered(xmlReader, filterFn, filterFn.apply(rootName));
+        } catch (XMLStreamException ex) {
+          throw new IllegalArgumentException(ex);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
+  /**
+   * Parses each matching element from the specified XML, passing it to the consumer.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Each element with the specified name is parsed in full and passed to the consumer,
+   * which allows large files to be processed one element at a time.
+   * The rest of the file is read but not retained.
+   * Elements with the same name nested within a matching element are part of the outer element.
+   * <p>
+   * This supports capturing attribute references, such as an id/href pair.
+   * The references within each matching element are passed to the consumer with the element.
+   * 
+   * @param source  the XML source data
+   * @param elementName  the name of the elements to parse
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param consumer  the consumer of each matching element and the references within it
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void forEachElement(
+      ByteSource source,
+      String elementName,
+      String refAttrName,
+      BiConsumer<XmlElement, ImmutableMap<String, XmlElement>> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(elementName, "elementName");
+    ArgChecker.notNull(refAttrName, "refAttrName");
+    ArgChecker.notNull(consumer, "consumer");
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          while (xmlReader.hasNext()) {
+            int event = xmlReader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && xmlReader.getLocalName().equals(elementName)) {
+              HashMap<String, XmlElement> refs = new HashMap<>();
+              XmlElement element = parse(xmlReader, refAttrName, refs);
+              consumer.accept(element, ImmutableMap.copyOf(refs));
+            }
+          }
+        } catch (XMLStreamException ex) {
+          throw new IllegalArgumentException(ex);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
@@ -159,6 +254,55 @@ public final class XmlFile {
     }
   }
 
+  // parses the tree, retaining the specified number of levels of children
+  private static XmlElement parseFiltered(
+      XMLStreamReader reader,
+      Function<String, Integer> filterFn,
+      int depth) throws XMLStreamException {
+
+    String elementName = reader.getLocalName();
+    ImmutableMap<String, String> attrs = parseAttributes(reader);
+    if (depth <= 0) {
+      skipElement(reader);
+      return XmlElement.ofContent(elementName, attrs, "");
+    }
+    ImmutableList.Builder<XmlElement> childBuilder = ImmutableList.builder();
+    String content = "";
+    int event = reader.next();
+    while (event != XMLStreamConstants.END_ELEMENT) {
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT:
+          int childDepth = Math.min(depth - 1, filterFn.apply(reader.getLocalName()));
+          childBuilder.add(parseFiltered(reader, filterFn, childDepth));
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+          content += reader.getText();
+          break;
+        default:
+          break;
+      }
+      event = reader.next();
+    }
+    ImmutableList<XmlElement> children = childBuilder.build();
+    return children.isEmpty() ?
+        XmlElement.ofContent(elementName, attrs, content) :
+        XmlElement.ofChildren(elementName, attrs, children);
+  }
+
+  // skips to the end of the current element
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int nesting = 1;
+    while (nesting > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        nesting++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        nesting--;
+      }
+    }
+  }
+
   // find the start element and parses the name
   private static String parseElementName(XMLStreamReader reader) throws XMLStreamException {
     int event = reader.getEventType();
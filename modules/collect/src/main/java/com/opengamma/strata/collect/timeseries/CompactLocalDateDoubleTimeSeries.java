@@ -0,0 +1,613 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.primitives.Doubles;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * A immutable implementation of {@code LocalDateDoubleTimeSeries} where the
+ * data stored is expected to be relatively sparse, with the dates stored as epoch days.
+ * <p>
+ * A sparse time-series has a relatively low density of dates with values.
+ * For example, a few points spread throughout a year.
+ * If more or less continuous data is being used then {@link DenseLocalDateDoubleTimeSeries}
+ * is likely to be a better choice for the data.
+ * <p>
+ * This implementation uses primitive arrays internally, holding an {@code int} epoch day
+ * and a {@code double} value for each point, rather than a {@code LocalDate} instance per point.
+ * Lookups and sub-series search the epoch days directly.
+ * Dates are only created when they are returned, for example when streaming the points.
+ */
+@BeanDefinition(builderScope = "private", metaScope = "package")
+final class CompactLocalDateDoubleTimeSeries
+    implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
+
+  /**
+   * The dates in the series, as epoch days.
+   * The dates are ordered from earliest to latest.
+   */
+  @PropertyDefinition(get = "manual", validate = "notNull")
+  private final int[] epochDays;
+  /**
+   * The values in the series.
+   * The date for each value is at the matching array index.
+   */
+  @PropertyDefinition(get = "manual", validate = "notNull")
+  private final double[] values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a time-series from matching collections of dates and values.
+   * <p>
+   * The two collections must be the same size and must be sorted from earliest to latest.
+   *
+   * @param dates  the date list
+   * @param values  the value list
+   * @return the time-series
+   */
+  static CompactLocalDateDoubleTimeSeries of(Collection<LocalDate> dates, Collection<Double> values) {
+    ArgChecker.noNulls(dates, "dates");
+    ArgChecker.noNulls(values, "values");
+    int[] epochDaysArray = dates.stream().mapToInt(CompactLocalDateDoubleTimeSeries::toEpochDay).toArray();
+    double[] valuesArray = Doubles.toArray(values);
+    validate(epochDaysArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray);
+  }
+
+  /**
+   * Checks if a date can be stored in this time-series.
+   * <p>
+   * The epoch day of the date must fit in an {@code int}, which covers millions of years.
+   *
+   * @param date  the date to check
+   * @return true if the date is supported
+   */
+  static boolean isSupported(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    return epochDay >= Integer.MIN_VALUE && epochDay <= Integer.MAX_VALUE;
+  }
+
+  // creates time-series by directly assigning the input arrays
+  // must only be called when safe to do so
+  private static CompactLocalDateDoubleTimeSeries createUnsafe(int[] epochDays, double[] values) {
+    return new CompactLocalDateDoubleTimeSeries(epochDays, values, true);
+  }
+
+  // validates the arrays are same length and in order
+  private static void validate(int[] epochDays, double[] values) {
+    ArgChecker.isTrue(epochDays.length == values.length,
+        "Arrays are of different sizes - dates: {}, values: {}", epochDays.length, values.length);
+    for (int i = 1; i < epochDays.length; i++) {
+      if (epochDays[i] <= epochDays[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}",
+            LocalDate.ofEpochDay(epochDays[i]),
+            LocalDate.ofEpochDay(epochDays[i - 1])));
+      }
+    }
+  }
+
+  // converts a date to an epoch day
+  private static int toEpochDay(LocalDate date) {
+    ArgChecker.isTrue(isSupported(date), "Date is outside the supported range: {}", date);
+    return (int) date.toEpochDay();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance, validating the supplied arrays.
+   * <p>
+   * The arrays are cloned as this constructor is called from Joda-Beans.
+   *
+   * @param epochDays  the epoch days
+   * @param values  the values
+   */
+  @ImmutableConstructor
+  private CompactLocalDateDoubleTimeSeries(int[] epochDays, double[] values) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(values, "values");
+    validate(epochDays, values);
+    this.epochDays = epochDays.clone();
+    this.values = values.clone();
+  }
+
+  /**
+   * Creates an instance without validating the supplied arrays.
+   *
+   * @param epochDays  the epoch days
+   * @param values  the values
+   * @param trusted  flag to distinguish constructor
+   */
+  private CompactLocalDateDoubleTimeSeries(int[] epochDays, double[] values, boolean trusted) {
+    // constructor exists to avoid clones where possible
+    // because Joda-Beans owns the main constructor, this one has a weird flag
+    // use createUnsafe() instead of calling this directly
+    this.epochDays = epochDays;
+    this.values = values;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the dates in the series, as epoch days.
+   * The dates are ordered from earliest to latest.
+   * @return the value of the property, not null
+   */
+  private int[] getEpochDays() {
+    return epochDays.clone();
+  }
+
+  /**
+   * Gets the values in the series.
+   * The date for each value is at the matching array index.
+   * @return the value of the property, not null
+   */
+  private double[] getValues() {
+    return values.clone();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return epochDays.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return epochDays.length == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
+  }
+
+  // finds the position of the date, following the conventions of Arrays.binarySearch()
+  private int findDatePosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE) {
+      return -1;
+    } else if (epochDay > Integer.MAX_VALUE) {
+      return -(epochDays.length + 1);
+    }
+    return Arrays.binarySearch(epochDays, (int) epochDay);
+  }
+
+  // finds the position where the date is, or would be inserted
+  private int findInsertionPosition(LocalDate date) {
+    int position = findDatePosition(date);
+    return position >= 0 ? position : -position - 1;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest date, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays[0]);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest value, time-series is empty");
+    }
+    return values[0];
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(epochDays[epochDays.length - 1]);
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return values[values.length - 1];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // where in the array would start/end be (whether or not it's actually in the series)
+    int startPos = findInsertionPosition(startInclusive);
+    int endPos = findInsertionPosition(endExclusive);
+    return subSeries(startPos, endPos);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return subSeries(0, Math.min(numPoints, size()));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return subSeries(Math.max(size() - numPoints, 0), size());
+  }
+
+  // creates the sub-series between the two positions
+  private LocalDateDoubleTimeSeries subSeries(int startPos, int endPos) {
+    if (startPos >= endPos) {
+      return LocalDateDoubleTimeSeries.empty();
+    } else if (startPos == 0 && endPos == size()) {
+      return this;
+    }
+    return createUnsafe(Arrays.copyOfRange(epochDays, startPos, endPos), Arrays.copyOfRange(values, startPos, endPos));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays[i]), values[i]));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.of(epochDays).mapToObj(LocalDate::ofEpochDay);
+  }
+
+  @Override
+  public DoubleStream values() {
+    return DoubleStream.of(values);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size(); i++) {
+      action.accept(LocalDate.ofEpochDay(epochDays[i]), values[i]);
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    int[] mapped = new int[size()];
+    for (int i = 0; i < size(); i++) {
+      LocalDate date = mapper.apply(LocalDate.ofEpochDay(epochDays[i]));
+      mapped[i] = toEpochDay(date);
+      // Check the dates are still in ascending order after the mapping
+      if (i > 0 && mapped[i] <= mapped[i - 1]) {
+        throw new IllegalArgumentException(
+            Messages.format(
+                "Dates must be in ascending order after calling mapDates but {} and {} are not",
+                LocalDate.ofEpochDay(mapped[i - 1]),
+                date));
+      }
+    }
+    return createUnsafe(mapped, values);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    return createUnsafe(epochDays, DoubleStream.of(values).map(mapper).toArray());
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    ArgChecker.notNull(predicate, "predicate");
+    // build up result in arrays keeping track of count of retained dates
+    int[] resEpochDays = new int[size()];
+    double[] resValues = new double[size()];
+    int resCount = 0;
+    for (int i = 0; i < size(); i++) {
+      if (predicate.test(LocalDate.ofEpochDay(epochDays[i]), values[i])) {
+        resEpochDays[resCount] = epochDays[i];
+        resValues[resCount] = values[i];
+        resCount++;
+      }
+    }
+    if (resCount == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    return createUnsafe(Arrays.copyOf(resEpochDays, resCount), Arrays.copyOf(resValues, resCount));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(stream());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof CompactLocalDateDoubleTimeSeries) {
+      CompactLocalDateDoubleTimeSeries other = (CompactLocalDateDoubleTimeSeries) obj;
+      return Arrays.equals(epochDays, other.epochDays) && Arrays.equals(values, other.values);
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(epochDays) + Arrays.hashCode(values);
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   * 
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code CompactLocalDateDoubleTimeSeries}.
+   * @return the meta-bean, not null
+   */
+  public static CompactLocalDateDoubleTimeSeries.Meta meta() {
+    return CompactLocalDateDoubleTimeSeries.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(CompactLocalDateDoubleTimeSeries.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public CompactLocalDateDoubleTimeSeries.Meta metaBean() {
+    return CompactLocalDateDoubleTimeSeries.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code CompactLocalDateDoubleTimeSeries}.
+   */
+  static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code epochDays} property.
+     */
+    private final MetaProperty<int[]> epochDays = DirectMetaProperty.ofImmutable(
+        this, "epochDays", CompactLocalDateDoubleTimeSeries.class, int[].class);
+    /**
+     * The meta-property for the {@code values} property.
+     */
+    private final MetaProperty<double[]> values = DirectMetaProperty.ofImmutable(
+        this, "values", CompactLocalDateDoubleTimeSeries.class, double[].class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "epochDays",
+        "values");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1876896640:  // epochDays
+          return epochDays;
+        case -823812830:  // values
+          return values;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends CompactLocalDateDoubleTimeSeries> builder() {
+      return new CompactLocalDateDoubleTimeSeries.Builder();
+    }
+
+    @Override
+    public Class<? extends CompactLocalDateDoubleTimeSeries> beanType() {
+      return CompactLocalDateDoubleTimeSeries.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code epochDays} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<int[]> epochDays() {
+      return epochDays;
+    }
+
+    /**
+     * The meta-property for the {@code values} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<double[]> values() {
+      return values;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1876896640:  // epochDays
+          return ((CompactLocalDateDoubleTimeSeries) bean).getEpochDays();
+        case -823812830:  // values
+          return ((CompactLocalDateDoubleTimeSeries) bean).getValues();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code CompactLocalDateDoubleTimeSeries}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<CompactLocalDateDoubleTimeSeries> {
+
+    private int[] epochDays;
+    private double[] values;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1876896640:  // epochDays
+          return epochDays;
+        case -823812830:  // values
+          return values;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1876896640:  // epochDays
+          this.epochDays = (int[]) newValue;
+          break;
+        case -823812830:  // values
+          this.values = (double[]) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public CompactLocalDateDoubleTimeSeries build() {
+      return new CompactLocalDateDoubleTimeSeries(
+          epochDays,
+          values);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("CompactLocalDateDoubleTimeSeries.Builder{");
+      buf.append("epochDays").append('=').append(JodaBeanUtils.toString(epochDays)).append(',').append(' ');
+      buf.append("values").append('=').append(JodaBeanUtils.toString(values));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -297,7 +297,12 @@ public final class LocalDateDoubleTimeSeriesBuilder {
         determineCalculation());
   }
 
-  private SparseLocalDateDoubleTimeSeries createSparseSeries() {
+  private LocalDateDoubleTimeSeries createSparseSeries() {
+    // epoch days are used unless the dates are too extreme to be held as an int
+    if (CompactLocalDateDoubleTimeSeries.isSupported(entries.firstKey()) &&
+        CompactLocalDateDoubleTimeSeries.isSupported(entries.lastKey())) {
+      return CompactLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+    }
     return SparseLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
   }
 
@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -130,6 +131,57 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  //-------------------------------------------------------------------------
+  //-------------------------------------------------------------------------
+  public void test_parseElements() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    XmlElement all = XmlFile.parseElements(source, name -> Integer.MAX_VALUE);
+    assertEquals(all, XmlFile.of(source).getRoot());
+
+    XmlElement noLeaf2 = XmlFile.parseElements(source, name -> name.equals("leaf2") ? 0 : Integer.MAX_VALUE);
+    List<XmlElement> children = ImmutableList.of(
+        LEAF1, XmlElement.ofContent("leaf2", ATTR_MAP_EMPTY, ""), XmlElement.ofContent("leaf2", ATTR_MAP_EMPTY, ""));
+    assertEquals(noLeaf2.getChild(0), XmlElement.ofChildren("test", ATTR_MAP, children));
+
+    XmlElement noTest = XmlFile.parseElements(source, name -> name.equals("test") ? 0 : Integer.MAX_VALUE);
+    assertEquals(noTest.getChildren(), ImmutableList.of(XmlElement.ofContent("test", ATTR_MAP, "")));
+
+    XmlElement depth = XmlFile.parseElements(source, name -> name.equals("base") ? 1 : Integer.MAX_VALUE);
+    assertEquals(depth.getChildren(), ImmutableList.of(XmlElement.ofContent("test", ATTR_MAP, "")));
+  }
+
+  public void test_parseElements_invalid() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.parseElements(source, name -> 0));
+    assertThrowsIllegalArg(() -> XmlFile.parseElements(source, name -> Integer.MAX_VALUE));
+    ByteSource missing = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(() -> XmlFile.parseElements(missing, name -> 0), UncheckedIOException.class);
+  }
+
+  public void test_forEachElement() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> found = new ArrayList<>();
+    XmlFile.forEachElement(source, "leaf2", "key", (el, refs) -> {
+      found.add(el);
+      assertEquals(refs, ImmutableMap.of());
+    });
+    assertEquals(found, ImmutableList.of(LEAF2A, LEAF2B));
+
+    found.clear();
+    XmlFile.forEachElement(source, "test", "key", (el, refs) -> {
+      found.add(el);
+      assertEquals(refs, ImmutableMap.of("value", el));
+    });
+    assertEquals(found, ImmutableList.of(XmlElement.ofChildren("test", ATTR_MAP, CHILD_LIST_MULTI)));
+  }
+
+  public void test_forEachElement_invalid() {
+    ByteSource source = ByteSource.wrap(SAMPLE_BAD_END.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.forEachElement(source, "foo", "key", (el, refs) -> {}));
+    ByteSource missing = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(() -> XmlFile.forEachElement(missing, "foo", "key", (el, refs) -> {}), UncheckedIOException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link CompactLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class CompactLocalDateDoubleTimeSeriesTest {
+
+  private static final LocalDate DATE_2010_01_01 = date(2010, 1, 1);
+  private static final LocalDate DATE_2011_01_01 = date(2011, 1, 1);
+  private static final LocalDate DATE_2011_06_01 = date(2011, 6, 1);
+  private static final LocalDate DATE_2012_01_01 = date(2012, 1, 1);
+  private static final LocalDate DATE_2013_01_01 = date(2013, 1, 1);
+  private static final List<LocalDate> DATES = ImmutableList.of(
+      DATE_2010_01_01, DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01);
+  private static final List<Double> VALUES = ImmutableList.of(10d, 11d, 12d, 13d);
+  private static final CompactLocalDateDoubleTimeSeries SERIES = CompactLocalDateDoubleTimeSeries.of(DATES, VALUES);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertEquals(SERIES.size(), 4);
+    assertFalse(SERIES.isEmpty());
+    assertEquals(SERIES.dates().collect(toList()), DATES);
+    assertEquals(SERIES.values().boxed().collect(toList()), VALUES);
+    assertEquals(SERIES.get(DATE_2011_01_01), OptionalDouble.of(11d));
+    assertEquals(SERIES.get(DATE_2011_06_01), OptionalDouble.empty());
+    assertTrue(SERIES.containsDate(DATE_2013_01_01));
+    assertFalse(SERIES.containsDate(DATE_2011_06_01));
+    assertFalse(SERIES.containsDate(LocalDate.MIN));
+    assertFalse(SERIES.containsDate(LocalDate.MAX));
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> CompactLocalDateDoubleTimeSeries.of(
+        ImmutableList.of(DATE_2011_01_01, DATE_2010_01_01), ImmutableList.of(1d, 2d)));
+    assertThrowsIllegalArg(() -> CompactLocalDateDoubleTimeSeries.of(
+        ImmutableList.of(DATE_2010_01_01, DATE_2010_01_01), ImmutableList.of(1d, 2d)));
+    assertThrowsIllegalArg(() -> CompactLocalDateDoubleTimeSeries.of(
+        ImmutableList.of(DATE_2010_01_01), ImmutableList.of(1d, 2d)));
+    assertThrowsIllegalArg(() -> CompactLocalDateDoubleTimeSeries.of(
+        ImmutableList.of(DATE_2010_01_01, LocalDate.MAX), ImmutableList.of(1d, 2d)));
+  }
+
+  public void test_builder() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES, VALUES).build();
+    assertEquals(test, SERIES);
+    assertEquals(test.toBuilder().build(), SERIES);
+  }
+
+  public void test_immutableViaBeanBuilder() {
+    int[] epochDays = {(int) DATE_2010_01_01.toEpochDay(), (int) DATE_2011_01_01.toEpochDay()};
+    double[] values = {6, 5};
+    BeanBuilder<? extends LocalDateDoubleTimeSeries> builder = CompactLocalDateDoubleTimeSeries.meta().builder();
+    builder.set("epochDays", epochDays);
+    builder.set("values", values);
+    LocalDateDoubleTimeSeries test = builder.build();
+    epochDays[0] = (int) DATE_2012_01_01.toEpochDay();
+    values[0] = -1;
+    assertEquals(test.stream().collect(toList()), ImmutableList.of(
+        LocalDateDoublePoint.of(DATE_2010_01_01, 6d), LocalDateDoublePoint.of(DATE_2011_01_01, 5d)));
+    int[] array = (int[]) ((Bean) test).property("epochDays").get();
+    array[0] = 0;
+    assertEquals(test.getEarliestDate(), DATE_2010_01_01);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_earliestLatest() {
+    assertEquals(SERIES.getEarliestDate(), DATE_2010_01_01);
+    assertEquals(SERIES.getEarliestValue(), 10d);
+    assertEquals(SERIES.getLatestDate(), DATE_2013_01_01);
+    assertEquals(SERIES.getLatestValue(), 13d);
+    CompactLocalDateDoubleTimeSeries empty = CompactLocalDateDoubleTimeSeries.of(ImmutableList.of(), ImmutableList.of());
+    assertThrows(() -> empty.getEarliestDate(), NoSuchElementException.class);
+    assertThrows(() -> empty.getEarliestValue(), NoSuchElementException.class);
+    assertThrows(() -> empty.getLatestDate(), NoSuchElementException.class);
+    assertThrows(() -> empty.getLatestValue(), NoSuchElementException.class);
+  }
+
+  public void test_subSeries() {
+    assertEquals(SERIES.subSeries(DATE_2011_01_01, DATE_2013_01_01).dates().collect(toList()),
+        ImmutableList.of(DATE_2011_01_01, DATE_2012_01_01));
+    assertEquals(SERIES.subSeries(DATE_2011_06_01, LocalDate.MAX).dates().collect(toList()),
+        ImmutableList.of(DATE_2012_01_01, DATE_2013_01_01));
+    assertSame(SERIES.subSeries(LocalDate.MIN, LocalDate.MAX), SERIES);
+    assertSame(SERIES.subSeries(DATE_2011_01_01, DATE_2011_06_01).getClass(), CompactLocalDateDoubleTimeSeries.class);
+    assertEquals(SERIES.subSeries(DATE_2011_06_01, DATE_2011_06_01), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> SERIES.subSeries(DATE_2012_01_01, DATE_2011_01_01));
+  }
+
+  public void test_headTailSeries() {
+    assertEquals(SERIES.headSeries(2).values().boxed().collect(toList()), ImmutableList.of(10d, 11d));
+    assertEquals(SERIES.tailSeries(3).values().boxed().collect(toList()), ImmutableList.of(11d, 12d, 13d));
+    assertSame(SERIES.headSeries(5), SERIES);
+    assertSame(SERIES.tailSeries(4), SERIES);
+    assertEquals(SERIES.headSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(SERIES.tailSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> SERIES.headSeries(-1));
+    assertThrowsIllegalArg(() -> SERIES.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_mapDates() {
+    LocalDateDoubleTimeSeries test = SERIES.mapDates(date -> date.plusYears(1));
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(13d));
+    assertEquals(test.size(), 4);
+    assertThrowsIllegalArg(() -> SERIES.mapDates(date -> DATE_2010_01_01));
+    assertThrowsIllegalArg(() -> SERIES.mapDates(date -> LocalDate.MAX));
+  }
+
+  public void test_mapValues() {
+    assertEquals(SERIES.mapValues(v -> v * 2).values().boxed().collect(toList()), ImmutableList.of(20d, 22d, 24d, 26d));
+  }
+
+  public void test_filter() {
+    LocalDateDoubleTimeSeries test = SERIES.filter((date, value) -> date.getYear() != 2011 && value < 13);
+    assertEquals(test.dates().collect(toList()), ImmutableList.of(DATE_2010_01_01, DATE_2012_01_01));
+    assertEquals(SERIES.filter((date, value) -> false), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_forEach() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    SERIES.forEach(builder::put);
+    assertEquals(builder.build(), SERIES);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(SERIES);
+    CompactLocalDateDoubleTimeSeries test2 = CompactLocalDateDoubleTimeSeries.of(
+        ImmutableList.of(DATE_2011_06_01, DATE_2012_01_01), ImmutableList.of(2d, 3d));
+    coverBeanEquals(SERIES, test2);
+    assertEquals(SERIES.toString(), SERIES.stream().map(LocalDateDoublePoint::toString).collect(toList())
+        .toString());
+  }
+
+  public void test_serialization() {
+    assertSerialization(SERIES);
+  }
+
+  private static LocalDate date(int year, int month, int day) {
+    return LocalDate.of(year, month, day);
+  }
+
+}
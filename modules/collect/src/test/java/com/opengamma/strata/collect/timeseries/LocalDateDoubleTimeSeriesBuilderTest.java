@@ -170,7 +170,7 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
         .put(date(2015, 1, 19), 13)
         .build();
 
-    assertEquals(series1.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(series1.getClass(), CompactLocalDateDoubleTimeSeries.class);
 
     // Now add in a week's worth of data
     LocalDateDoubleTimeSeries series2 = series1.toBuilder()
@@ -181,7 +181,7 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
         .build();
 
     // Not yet enough as we have 7/11 populated (i.e. below 70%)
-    assertEquals(series2.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(series2.getClass(), CompactLocalDateDoubleTimeSeries.class);
 
     // Add in 1 more days giving 8/11 populated
     LocalDateDoubleTimeSeries series3 = series2.toBuilder()
@@ -195,7 +195,7 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
         .put(date(2015, 1, 10), 12) // Saturday
         .build();
 
-    assertEquals(series4.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(series4.getClass(), CompactLocalDateDoubleTimeSeries.class);
 
     // Add in 2 new dates giving 11/15
     LocalDateDoubleTimeSeries series5 = series4.toBuilder()
@@ -204,6 +204,15 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
         .build();
 
     assertEquals(series5.getClass(), DenseLocalDateDoubleTimeSeries.class);
+
+    // dates too extreme to be held as epoch days
+    LocalDateDoubleTimeSeries series6 = LocalDateDoubleTimeSeries.builder()
+        .put(date(2015, 1, 5), 14)
+        .put(LocalDate.MAX, 12)
+        .build();
+
+    assertEquals(series6.getClass(), SparseLocalDateDoubleTimeSeries.class);
+    assertEquals(series6.get(LocalDate.MAX), OptionalDouble.of(12d));
   }
 
   //-------------------------------------------------------------------------
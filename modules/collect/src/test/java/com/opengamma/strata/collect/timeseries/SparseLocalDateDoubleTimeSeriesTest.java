@@ -229,7 +229,7 @@ public class SparseLocalDateDoubleTimeSeriesTest {
   }
 
   public void test_immutableDatesViaBeanGet() {
-    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_12, VALUES_10_12).build();
+    LocalDateDoubleTimeSeries test = SparseLocalDateDoubleTimeSeries.of(DATES_2010_12, VALUES_10_12);
     LocalDate[] array = (LocalDate[]) ((Bean) test).property("dates").get();
     array[0] = DATE_2012_01_01;
     LocalDateDoublePoint[] points = test.stream().toArray(LocalDateDoublePoint[]::new);
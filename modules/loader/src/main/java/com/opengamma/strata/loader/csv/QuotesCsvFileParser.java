@@ -0,0 +1,589 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Parser for large quote files in the format of {@link QuotesCsvLoader}.
+ * <p>
+ * The file is mapped into memory and split into chunks at line boundaries, which are parsed in parallel.
+ * Each line is parsed directly from the bytes into a reusable row buffer, with the date filter
+ * applied before any other field is examined. Strings are only created for the identifiers
+ * of accepted rows, and each distinct identifier is only created once per chunk.
+ * <p>
+ * Lines containing a double quote are parsed using {@link CsvFile}, as the fast path does not handle quoting.
+ * The file must be encoded in UTF-8.
+ */
+final class QuotesCsvFileParser {
+
+  /**
+   * The minimum size of a chunk.
+   */
+  private static final int MIN_CHUNK_SIZE = 1 << 20;
+  /**
+   * The maximum size of a chunk, which must fit in a single mapped buffer.
+   */
+  private static final int MAX_CHUNK_SIZE = 1 << 28;
+  /**
+   * Powers of ten that are exactly representable as a double.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /**
+   * The file.
+   */
+  private final Path file;
+  /**
+   * The first date to accept, as an integer of the form yyyymmdd.
+   */
+  private final int startDate;
+  /**
+   * The last date to accept, as an integer of the form yyyymmdd.
+   */
+  private final int endDate;
+  /**
+   * The target size of each chunk, zero to choose based on the file size.
+   */
+  private final int chunkSize;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param file  the file to parse
+   * @param startInclusive  the first date to accept
+   * @param endInclusive  the last date to accept
+   */
+  QuotesCsvFileParser(Path file, LocalDate startInclusive, LocalDate endInclusive) {
+    this(file, startInclusive, endInclusive, 0);
+  }
+
+  /**
+   * Creates an instance with a specific chunk size.
+   *
+   * @param file  the file to parse
+   * @param startInclusive  the first date to accept
+   * @param endInclusive  the last date to accept
+   * @param chunkSize  the target size of each chunk, zero to choose based on the file size
+   */
+  QuotesCsvFileParser(Path file, LocalDate startInclusive, LocalDate endInclusive, int chunkSize) {
+    this.file = file;
+    this.startDate = dateKey(startInclusive);
+    this.endDate = dateKey(endInclusive);
+    this.chunkSize = chunkSize;
+  }
+
+  // converts a date to an integer of the form yyyymmdd, which sorts in date order
+  private static int dateKey(LocalDate date) {
+    return date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the file into quotes by date.
+   *
+   * @return the quotes, mapped by date and quote ID
+   * @throws IllegalArgumentException if the file is invalid or contains a duplicate entry
+   */
+  ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parseByDate() {
+    Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap = new HashMap<>();
+    parseAll().forEach((id, points) -> {
+      for (int i = 0; i < points.size; i++) {
+        // builder ensures keys can only be seen once
+        mutableMap.computeIfAbsent(LocalDate.ofEpochDay(points.epochDays[i]), k -> ImmutableMap.builder())
+            .put(id, points.values[i]);
+      }
+    });
+    ImmutableMap.Builder<LocalDate, ImmutableMap<QuoteId, Double>> builder = ImmutableMap.builder();
+    mutableMap.forEach((date, quotes) -> builder.put(date, quotes.build()));
+    return builder.build();
+  }
+
+  /**
+   * Parses the file into a time-series for each quote.
+   *
+   * @return the time-series, mapped by quote ID
+   * @throws IllegalArgumentException if the file is invalid or contains a duplicate entry
+   */
+  ImmutableMap<QuoteId, LocalDateDoubleTimeSeries> parseTimeSeries() {
+    ImmutableMap.Builder<QuoteId, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
+    parseAll().forEach((id, points) -> {
+      points.sort();
+      LocalDateDoubleTimeSeriesBuilder seriesBuilder = LocalDateDoubleTimeSeries.builder();
+      for (int i = 0; i < points.size; i++) {
+        if (i > 0 && points.epochDays[i] == points.epochDays[i - 1]) {
+          throw new IllegalArgumentException(Messages.format(
+              "Error processing file as CSV: {}, duplicate entry for {} on {}",
+              file, id, LocalDate.ofEpochDay(points.epochDays[i])));
+        }
+        seriesBuilder.put(LocalDate.ofEpochDay(points.epochDays[i]), points.values[i]);
+      }
+      builder.put(id, seriesBuilder.build());
+    });
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // parses all chunks in parallel, merging the points for each quote in file order
+  private Map<QuoteId, Points> parseAll() {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long headerEnd = nextLineStart(channel, 0, size);
+      int[] columns = parseHeader(channel, headerEnd);
+      List<long[]> chunks = splitChunks(channel, headerEnd, size);
+      List<Map<QuoteId, Points>> results = chunks.parallelStream()
+          .map(chunk -> parseChunk(channel, chunk[0], chunk[1], columns))
+          .collect(toImmutableList());
+      Map<QuoteId, Points> merged = new HashMap<>();
+      for (Map<QuoteId, Points> result : results) {
+        result.forEach((id, points) -> merged.merge(id, points, Points::append));
+      }
+      return merged;
+
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(Messages.format("Error processing file as CSV: {}", file), ex);
+    }
+  }
+
+  // finds the start of the next line, or the end of the file
+  private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate(8192);
+    long pos = position;
+    while (pos < size) {
+      buf.clear();
+      int read = channel.read(buf, pos);
+      for (int i = 0; i < read; i++) {
+        if (buf.get(i) == '\n') {
+          return pos + i + 1;
+        }
+      }
+      pos += read;
+    }
+    return size;
+  }
+
+  // parses the header row, returning the column indices of date, symbology, ticker, field name and value
+  private int[] parseHeader(FileChannel channel, long headerEnd) throws IOException {
+    if (headerEnd > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException("Header row is too long");
+    }
+    ByteBuffer buf = ByteBuffer.allocate((int) headerEnd);
+    channel.read(buf, 0);
+    String headerLine = new String(buf.array(), StandardCharsets.UTF_8);
+    if (headerLine.startsWith("\uFEFF")) {
+      headerLine = headerLine.substring(1);
+    }
+    ImmutableList<String> headers = CsvFile.of(CharSource.wrap(headerLine), true).headers();
+    List<String> search = new ArrayList<>();
+    headers.forEach(header -> search.add(header.toLowerCase(Locale.ENGLISH)));
+    return new int[] {
+        column(search, QuotesCsvLoader.DATE_FIELD),
+        column(search, QuotesCsvLoader.SYMBOLOGY_FIELD),
+        column(search, QuotesCsvLoader.TICKER_FIELD),
+        column(search, QuotesCsvLoader.FIELD_NAME_FIELD),
+        column(search, QuotesCsvLoader.VALUE_FIELD)};
+  }
+
+  // finds the first column matching the header, case insensitive
+  private static int column(List<String> search, String header) {
+    int index = search.indexOf(header.toLowerCase(Locale.ENGLISH));
+    if (index < 0) {
+      throw new IllegalArgumentException("Header not found: " + header);
+    }
+    return index;
+  }
+
+  // splits the data into chunks, each ending at a line boundary
+  private List<long[]> splitChunks(FileChannel channel, long start, long size) throws IOException {
+    long parallelism = Runtime.getRuntime().availableProcessors() * 4L;
+    long targetSize = chunkSize > 0 ?
+        chunkSize :
+        Math.min(Math.max((size - start) / parallelism, MIN_CHUNK_SIZE), MAX_CHUNK_SIZE / 2);
+    List<long[]> chunks = new ArrayList<>();
+    long pos = start;
+    while (pos < size) {
+      long end = pos + targetSize >= size ? size : nextLineStart(channel, pos + targetSize, size);
+      if (end - pos > MAX_CHUNK_SIZE) {
+        throw new IllegalArgumentException("Line is too long");
+      }
+      chunks.add(new long[] {pos, end});
+      pos = end;
+    }
+    return chunks;
+  }
+
+  //-------------------------------------------------------------------------
+  // parses a single chunk
+  private Map<QuoteId, Points> parseChunk(FileChannel channel, long start, long end, int[] columns) {
+    MappedByteBuffer buf;
+    try {
+      buf = channel.map(MapMode.READ_ONLY, start, end - start);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    ChunkParser parser = new ChunkParser(buf, columns);
+    int limit = buf.limit();
+    int lineStart = 0;
+    while (lineStart < limit) {
+      int lineEnd = lineStart;
+      while (lineEnd < limit && buf.get(lineEnd) != '\n') {
+        lineEnd++;
+      }
+      parser.parseLine(lineStart, lineEnd);
+      lineStart = lineEnd + 1;
+    }
+    return parser.result;
+  }
+
+  // parses lines within a chunk, reusing buffers between lines
+  private final class ChunkParser {
+    private final ByteBuffer buf;
+    private final int dateColumn;
+    private final int symbologyColumn;
+    private final int tickerColumn;
+    private final int fieldNameColumn;
+    private final int valueColumn;
+    private final int columnCount;
+    // the trimmed start and end of each field on the current line
+    private final int[] fieldStarts;
+    private final int[] fieldEnds;
+    // the quote identifiers seen so far, probed using a reusable key
+    private final Map<IdKey, QuoteId> ids = new HashMap<>();
+    private final IdKey probe = new IdKey();
+    private final Map<QuoteId, Points> result = new HashMap<>();
+
+    private ChunkParser(ByteBuffer buf, int[] columns) {
+      this.buf = buf;
+      this.dateColumn = columns[0];
+      this.symbologyColumn = columns[1];
+      this.tickerColumn = columns[2];
+      this.fieldNameColumn = columns[3];
+      this.valueColumn = columns[4];
+      this.columnCount = Arrays.stream(columns).max().getAsInt() + 1;
+      this.fieldStarts = new int[columnCount];
+      this.fieldEnds = new int[columnCount];
+    }
+
+    // parses the line between the two positions, matching the rules of CsvFile
+    private void parseLine(int lineStart, int lineEnd) {
+      int end = lineEnd > lineStart && buf.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+      if (end == lineStart || buf.get(lineStart) == '#' || buf.get(lineStart) == ';') {
+        return;
+      }
+      // split into fields, stopping once the required fields are found
+      int fieldCount = 0;
+      boolean content = false;
+      int fieldStart = lineStart;
+      for (int i = lineStart; i <= end && fieldCount < columnCount; i++) {
+        byte b = i < end ? buf.get(i) : (byte) ',';
+        if (b == '"') {
+          parseQuotedLine(lineStart, end);
+          return;
+        }
+        if (b == ',') {
+          int trimStart = fieldStart;
+          int trimEnd = i;
+          while (trimStart < trimEnd && isWhitespace(buf.get(trimStart))) {
+            trimStart++;
+          }
+          while (trimEnd > trimStart && isWhitespace(buf.get(trimEnd - 1))) {
+            trimEnd--;
+          }
+          fieldStarts[fieldCount] = trimStart;
+          fieldEnds[fieldCount] = trimEnd;
+          content |= trimEnd > trimStart;
+          fieldCount++;
+          fieldStart = i + 1;
+        }
+      }
+      if (!content && !hasContent(fieldStart, end)) {
+        return;
+      }
+      if (fieldCount < columnCount) {
+        throw new IllegalArgumentException("Missing fields on line: " + decode(lineStart, end));
+      }
+      // filter by date before examining anything else
+      int date = parseDateKey(fieldStarts[dateColumn], fieldEnds[dateColumn]);
+      if (date < startDate || date > endDate) {
+        return;
+      }
+      QuoteId id = quoteId();
+      double value = parseValue(fieldStarts[valueColumn], fieldEnds[valueColumn]);
+      LocalDate localDate = LocalDate.of(date / 10000, (date / 100) % 100, date % 100);
+      result.computeIfAbsent(id, k -> new Points()).add(localDate.toEpochDay(), value);
+    }
+
+    // checks if the remainder of the line has content
+    private boolean hasContent(int start, int end) {
+      for (int i = start; i < end; i++) {
+        if (!isWhitespace(buf.get(i)) && buf.get(i) != ',') {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    // parses the date as an integer of the form yyyymmdd
+    private int parseDateKey(int start, int end) {
+      if (end - start != 10 || buf.get(start + 4) != '-' || buf.get(start + 7) != '-') {
+        return dateKey(LocalDate.parse(decode(start, end)));
+      }
+      int year = digits(start, start + 4);
+      int month = digits(start + 5, start + 7);
+      int day = digits(start + 8, start + 10);
+      if (year < 0 || month < 1 || month > 12 || day < 1 || day > 28) {
+        // invalid or near the end of the month, so validate fully
+        return dateKey(LocalDate.parse(decode(start, end)));
+      }
+      return year * 10000 + month * 100 + day;
+    }
+
+    // parses a sequence of digits, returning -1 if invalid
+    private int digits(int start, int end) {
+      int result = 0;
+      for (int i = start; i < end; i++) {
+        int digit = buf.get(i) - '0';
+        if (digit < 0 || digit > 9) {
+          return -1;
+        }
+        result = result * 10 + digit;
+      }
+      return result;
+    }
+
+    // finds the quote identifier, only creating strings the first time an identifier is seen
+    private QuoteId quoteId() {
+      probe.set(buf, fieldStarts, fieldEnds, symbologyColumn, tickerColumn, fieldNameColumn);
+      QuoteId id = ids.get(probe);
+      if (id == null) {
+        String fieldNameStr = decode(fieldStarts[fieldNameColumn], fieldEnds[fieldNameColumn]);
+        id = QuoteId.of(
+            StandardId.of(
+                decode(fieldStarts[symbologyColumn], fieldEnds[symbologyColumn]),
+                decode(fieldStarts[tickerColumn], fieldEnds[tickerColumn])),
+            fieldNameStr.isEmpty() ? FieldName.MARKET_VALUE : FieldName.of(fieldNameStr));
+        ids.put(probe.copy(), id);
+      }
+      return id;
+    }
+
+    // parses simple decimals directly, falling back to the JDK for anything else
+    // the fast path is exact as both the mantissa and power of ten are exactly representable
+    private double parseValue(int start, int end) {
+      int i = start;
+      boolean negative = false;
+      if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+        negative = buf.get(i) == '-';
+        i++;
+      }
+      long mantissa = 0;
+      int digitCount = 0;
+      int scale = 0;
+      boolean point = false;
+      for (; i < end; i++) {
+        byte b = buf.get(i);
+        if (b >= '0' && b <= '9') {
+          mantissa = mantissa * 10 + (b - '0');
+          digitCount++;
+          scale += point ? 1 : 0;
+        } else if (b == '.' && !point) {
+          point = true;
+        } else {
+          break;
+        }
+      }
+      if (i < end || digitCount == 0 || digitCount > 15 || scale >= POWERS_OF_TEN.length) {
+        return Double.parseDouble(decode(start, end));
+      }
+      double value = mantissa / POWERS_OF_TEN[scale];
+      return negative ? -value : value;
+    }
+
+    // handles a line with quotes using the standard CSV parser
+    private void parseQuotedLine(int start, int end) {
+      String line = decode(start, end);
+      CsvFile csv = CsvFile.of(CharSource.wrap(line), false);
+      if (csv.rowCount() == 0) {
+        return;
+      }
+      ImmutableList<String> fields = csv.row(0).fields();
+      if (fields.size() < columnCount) {
+        throw new IllegalArgumentException("Missing fields on line: " + line);
+      }
+      int date = dateKey(LocalDate.parse(fields.get(dateColumn)));
+      if (date < startDate || date > endDate) {
+        return;
+      }
+      String fieldNameStr = fields.get(fieldNameColumn);
+      QuoteId id = QuoteId.of(
+          StandardId.of(fields.get(symbologyColumn), fields.get(tickerColumn)),
+          fieldNameStr.isEmpty() ? FieldName.MARKET_VALUE : FieldName.of(fieldNameStr));
+      double value = Double.parseDouble(fields.get(valueColumn));
+      LocalDate localDate = LocalDate.of(date / 10000, (date / 100) % 100, date % 100);
+      result.computeIfAbsent(id, k -> new Points()).add(localDate.toEpochDay(), value);
+    }
+
+    // decodes part of the buffer as UTF-8
+    private String decode(int start, int end) {
+      byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = buf.get(start + i);
+      }
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+  // matches the trimming of String.trim()
+  private static boolean isWhitespace(byte b) {
+    return b >= 0 && b <= ' ';
+  }
+
+  //-------------------------------------------------------------------------
+  // the key used to find quote identifiers, formed from the raw bytes of the three identifying fields
+  private static final class IdKey {
+    private byte[] bytes = new byte[64];
+    private int length;
+    private int hash;
+
+    // sets the key from the fields, separating each field with a zero byte
+    private void set(ByteBuffer buf, int[] starts, int[] ends, int col1, int col2, int col3) {
+      int required = ends[col1] - starts[col1] + ends[col2] - starts[col2] + ends[col3] - starts[col3] + 2;
+      if (bytes.length < required) {
+        bytes = new byte[required * 2];
+      }
+      length = 0;
+      append(buf, starts[col1], ends[col1]);
+      bytes[length++] = 0;
+      append(buf, starts[col2], ends[col2]);
+      bytes[length++] = 0;
+      append(buf, starts[col3], ends[col3]);
+      int h = 1;
+      for (int i = 0; i < length; i++) {
+        h = 31 * h + bytes[i];
+      }
+      hash = h;
+    }
+
+    private void append(ByteBuffer buf, int start, int end) {
+      for (int i = start; i < end; i++) {
+        bytes[length++] = buf.get(i);
+      }
+    }
+
+    private IdKey copy() {
+      IdKey copy = new IdKey();
+      copy.bytes = Arrays.copyOf(bytes, length);
+      copy.length = length;
+      copy.hash = hash;
+      return copy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof IdKey) {
+        IdKey other = (IdKey) obj;
+        if (length != other.length) {
+          return false;
+        }
+        for (int i = 0; i < length; i++) {
+          if (bytes[i] != other.bytes[i]) {
+            return false;
+          }
+        }
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the points for a single quote, held as primitive arrays
+  private static final class Points {
+    private long[] epochDays = new long[16];
+    private double[] values = new double[16];
+    private int size;
+
+    private void add(long epochDay, double value) {
+      if (size == epochDays.length) {
+        epochDays = Arrays.copyOf(epochDays, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      epochDays[size] = epochDay;
+      values[size] = value;
+      size++;
+    }
+
+    private Points append(Points other) {
+      for (int i = 0; i < other.size; i++) {
+        add(other.epochDays[i], other.values[i]);
+      }
+      return this;
+    }
+
+    // sorts by date, retaining file order for equal dates
+    private void sort() {
+      boolean sorted = true;
+      for (int i = 1; i < size && sorted; i++) {
+        sorted = epochDays[i - 1] <= epochDays[i];
+      }
+      if (sorted) {
+        return;
+      }
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> Long.compare(epochDays[a], epochDays[b]));
+      long[] sortedDays = new long[size];
+      double[] sortedValues = new double[size];
+      for (int i = 0; i < size; i++) {
+        sortedDays[i] = epochDays[order[i]];
+        sortedValues[i] = values[order[i]];
+      }
+      epochDays = sortedDays;
+      values = sortedValues;
+    }
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.loader.csv;
 
 import static java.util.stream.Collectors.toList;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -20,11 +21,13 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.io.CsvFile;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.io.UnicodeBom;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.market.observable.QuoteId;
 
@@ -60,11 +63,11 @@ import com.opengamma.strata.market.observable.QuoteId;
 public final class QuotesCsvLoader {
 
   // CSV column headers
-  private static final String DATE_FIELD = "Valuation Date";
-  private static final String SYMBOLOGY_FIELD = "Symbology";
-  private static final String TICKER_FIELD = "Ticker";
-  private static final String FIELD_NAME_FIELD = "Field Name";
-  private static final String VALUE_FIELD = "Value";
+  static final String DATE_FIELD = "Valuation Date";
+  static final String SYMBOLOGY_FIELD = "Symbology";
+  static final String TICKER_FIELD = "Ticker";
+  static final String FIELD_NAME_FIELD = "Field Name";
+  static final String VALUE_FIELD = "Value";
 
   //-------------------------------------------------------------------------
   /**
@@ -174,6 +177,61 @@ public final class QuotesCsvLoader {
     return parse(d -> true, charSources);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Loads a large CSV format quote file for a range of dates.
+   * <p>
+   * Only those quotes with a date between the start and end, inclusive, will be loaded.
+   * This is intended for large files, such as a quote history covering many years.
+   * The file is split into chunks at line boundaries that are parsed in parallel,
+   * with the date filter applied before the rest of each line is parsed.
+   * The file must be encoded in UTF-8.
+   * <p>
+   * If the file contains a duplicate entry an exception will be thrown.
+   * 
+   * @param file  the CSV file
+   * @param startInclusive  the first date to load
+   * @param endInclusive  the last date to load
+   * @return the loaded quotes, mapped by {@link LocalDate} and {@linkplain QuoteId quote ID}
+   * @throws IllegalArgumentException if the file is invalid or contains a duplicate entry
+   */
+  public static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> loadDateRange(
+      Path file,
+      LocalDate startInclusive,
+      LocalDate endInclusive) {
+
+    ArgChecker.notNull(file, "file");
+    ArgChecker.inOrderOrEqual(startInclusive, endInclusive, "startInclusive", "endInclusive");
+    return new QuotesCsvFileParser(file, startInclusive, endInclusive).parseByDate();
+  }
+
+  /**
+   * Loads a large CSV format quote file for a range of dates as a time-series for each quote.
+   * <p>
+   * Only those quotes with a date between the start and end, inclusive, will be loaded.
+   * This is intended for large files, such as a quote history covering many years.
+   * The file is split into chunks at line boundaries that are parsed in parallel,
+   * with the date filter applied before the rest of each line is parsed.
+   * The file must be encoded in UTF-8.
+   * <p>
+   * If the file contains a duplicate entry an exception will be thrown.
+   * 
+   * @param file  the CSV file
+   * @param startInclusive  the first date to load
+   * @param endInclusive  the last date to load
+   * @return the loaded time-series, mapped by {@linkplain QuoteId quote ID}
+   * @throws IllegalArgumentException if the file is invalid or contains a duplicate entry
+   */
+  public static ImmutableMap<QuoteId, LocalDateDoubleTimeSeries> loadTimeSeries(
+      Path file,
+      LocalDate startInclusive,
+      LocalDate endInclusive) {
+
+    ArgChecker.notNull(file, "file");
+    ArgChecker.inOrderOrEqual(startInclusive, endInclusive, "startInclusive", "endInclusive");
+    return new QuotesCsvFileParser(file, startInclusive, endInclusive).parseTimeSeries();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses one or more CSV format quote files.
@@ -5,21 +5,32 @@
  */
 package com.opengamma.strata.loader.fpml;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.io.XmlElement;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.product.Trade;
 
 /**
@@ -34,7 +45,16 @@ import com.opengamma.strata.product.Trade;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // The streaming parser therefore reads the file twice, once without the trades
 
+  /**
+   * The number of trades parsed in parallel when streaming.
+   */
+  private static final int STREAMING_BATCH_SIZE = 512;
+  /**
+   * The name of the trade element.
+   */
+  private static final String TRADE = "trade";
   /**
    * The lookup of trade parsers.
    */
@@ -194,6 +214,70 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source, passing each trade to the consumer.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * It is intended for large documents, where parsing the whole document into memory is undesirable.
+   * <p>
+   * The source is read twice. The first pass parses the document without the content of
+   * the {@code <trade>} elements, providing the {@code <party>} elements and the FpML root.
+   * The second pass parses each {@code <trade>} element separately, with the trades
+   * converted in parallel in batches. The consumer is invoked on the calling thread,
+   * with the trades in the same order as the document.
+   * <p>
+   * The FpML root is found in the same way as {@link #parseTrades(ByteSource)}.
+   * References from a trade may refer to elements in the same trade or outside all trades.
+   * References between different trades are not supported.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param consumer  the consumer of the parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void parseTrades(ByteSource source, Consumer<? super Trade> consumer) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(consumer, "consumer");
+    // parse the document, keeping only the name and attributes of each trade
+    XmlElement docRoot = XmlFile.parseElements(source, name -> name.equals(TRADE) ? 0 : Integer.MAX_VALUE);
+    List<XmlElement> tradeEls = new ArrayList<>();
+    Map<String, XmlElement> references = new HashMap<>();
+    findTradesAndReferences(docRoot, tradeEls, references);
+    XmlElement root = findFpmlRoot(docRoot);
+    FpmlDocument document = new FpmlDocument(root, references, ourPartySelector, tradeInfoParser, refData);
+
+    // determine which trades are part of the FpML document, by their index in the file
+    Set<XmlElement> fpmlTradeEls = Collections.newSetFromMap(new IdentityHashMap<>());
+    fpmlTradeEls.addAll(root.getChildren(TRADE));
+    BitSet selected = new BitSet(tradeEls.size());
+    for (int i = 0; i < tradeEls.size(); i++) {
+      selected.set(i, fpmlTradeEls.contains(tradeEls.get(i)));
+    }
+
+    // parse each trade
+    StreamingTradeParser tradeParser = new StreamingTradeParser(document, selected, consumer);
+    XmlFile.forEachElement(source, TRADE, FpmlDocument.ID, tradeParser);
+    tradeParser.flush();
+  }
+
+  // finds the trade elements and the references outside the trades
+  private static void findTradesAndReferences(
+      XmlElement el,
+      List<XmlElement> tradeEls,
+      Map<String, XmlElement> references) {
+
+    if (el.getName().equals(TRADE)) {
+      tradeEls.add(el);
+      return;
+    }
+    String ref = el.getAttributes().get(FpmlDocument.ID);
+    if (ref != null) {
+      references.put(ref, el);
+    }
+    for (XmlElement child : el.getChildren()) {
+      findTradesAndReferences(child, tradeEls, references);
+    }
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     XmlElement fpmlRoot = getFpmlRoot(root);
@@ -223,15 +307,15 @@ public final class FpmlDocumentParser {
   private static XmlElement getFpmlRoot(XmlElement el) {
     if (el.getChildren("party").size() > 0) {
       // party and trade are siblings (the common case)
-      if (el.getChildren("trade").size() > 0) {
+      if (el.getChildren(TRADE).size() > 0) {
         return el;
       }
       // trade is within a child alongside party (the unusual case, within clearingStatus/clearingStatusItem)
       for (XmlElement child : el.getChildren()) {
-        if (child.getChildren("trade").size() > 0) {
+        if (child.getChildren(TRADE).size() > 0) {
           List<XmlElement> fakeChildren = new ArrayList<>();
           fakeChildren.addAll(el.getChildren("party"));
-          fakeChildren.addAll(child.getChildren("trade"));
+          fakeChildren.addAll(child.getChildren(TRADE));
           XmlElement fakeRoot = XmlElement.ofChildren(el.getName(), el.getAttributes(), fakeChildren);
           return fakeRoot;
         }
@@ -239,10 +323,10 @@ public final class FpmlDocumentParser {
       // trade is within a grandchild alongside party (the unusual case, within clearingConfirmed/clearing/cleared)
       for (XmlElement child : el.getChildren()) {
         for (XmlElement grandchild : child.getChildren()) {
-          if (grandchild.getChildren("trade").size() > 0) {
+          if (grandchild.getChildren(TRADE).size() > 0) {
             List<XmlElement> fakeChildren = new ArrayList<>();
             fakeChildren.addAll(el.getChildren("party"));
-            fakeChildren.addAll(grandchild.getChildren("trade"));
+            fakeChildren.addAll(grandchild.getChildren(TRADE));
             XmlElement fakeRoot = XmlElement.ofChildren(el.getName(), el.getAttributes(), fakeChildren);
             return fakeRoot;
           }
@@ -271,7 +355,7 @@ public final class FpmlDocumentParser {
       Map<String, XmlElement> references) {
 
     FpmlDocument document = new FpmlDocument(fpmlRootEl, references, ourPartySelector, tradeInfoParser, refData);
-    List<XmlElement> tradeEls = document.getFpmlRoot().getChildren("trade");
+    List<XmlElement> tradeEls = document.getFpmlRoot().getChildren(TRADE);
     ImmutableList.Builder<Trade> builder = ImmutableList.builder();
     for (XmlElement tradeEl : tradeEls) {
       builder.add(parseTrade(document, tradeEl));
@@ -279,6 +363,40 @@ public final class FpmlDocumentParser {
     return builder.build();
   }
 
+  // parses trades as they are streamed from the file, in parallel batches
+  private final class StreamingTradeParser implements BiConsumer<XmlElement, ImmutableMap<String, XmlElement>> {
+    private final FpmlDocument document;
+    private final BitSet selected;
+    private final Consumer<? super Trade> consumer;
+    private final List<Pair<XmlElement, ImmutableMap<String, XmlElement>>> batch = new ArrayList<>();
+    private int index;
+
+    private StreamingTradeParser(FpmlDocument document, BitSet selected, Consumer<? super Trade> consumer) {
+      this.document = document;
+      this.selected = selected;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(XmlElement tradeEl, ImmutableMap<String, XmlElement> tradeReferences) {
+      if (selected.get(index++)) {
+        batch.add(Pair.of(tradeEl, tradeReferences));
+        if (batch.size() >= STREAMING_BATCH_SIZE) {
+          flush();
+        }
+      }
+    }
+
+    // parses the current batch in parallel, passing the trades to the consumer in order
+    private void flush() {
+      List<Trade> trades = batch.parallelStream()
+          .map(pair -> parseTrade(document.withAdditionalReferences(pair.getSecond()), pair.getFirst()))
+          .collect(toImmutableList());
+      batch.clear();
+      trades.forEach(consumer);
+    }
+  }
+
   // parses one trade element
   private Trade parseTrade(FpmlDocument document, XmlElement tradeEl) {
     // find which trade type it is by comparing children to known parsers
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.mapped;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A store of historical market data, read from a memory-mapped binary file.
+ * <p>
+ * The store holds a time-series for each {@linkplain ObservableId observable ID}.
+ * It can be used directly as a {@link TimeSeriesProvider}, and as an {@link ObservableDataProvider}
+ * for a single date via {@link #observableDataProvider(LocalDate)}, which provides the snapshot
+ * of quotes on that date.
+ * <p>
+ * The file is mapped into memory rather than read onto the heap.
+ * Opening the store only scans the record headers; the points of a series are decoded
+ * when the series is requested, and a single value is found by binary search of the mapped dates.
+ * As a result, many JVMs on the same host can share the operating system page cache.
+ * <p>
+ * Files are written by {@link MappedMarketDataStoreWriter}, which only ever appends records.
+ * The store reflects the content of the file when it was opened.
+ * An identifier may have many records, with points in later records replacing those in earlier records.
+ * <p>
+ * The file consists of a header followed by zero or more records.
+ * The header is the magic number 'OGMD' and the format version, as two 4 byte integers.
+ * Each record consists of:
+ * <ul>
+ * <li>the key, as a 2 byte length followed by the UTF-8 bytes of the key
+ * <li>the number of points, as a 4 byte integer
+ * <li>the dates, as 4 byte epoch-days in ascending order
+ * <li>the values, as 8 byte doubles
+ * </ul>
+ * The key is formed from the standard identifier, field name and observable source of the identifier.
+ * All numbers are big-endian. Files larger than 2Gb are not supported.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MappedMarketDataStore
+    implements TimeSeriesProvider {
+
+  /**
+   * The magic number at the start of the file, 'OGMD'.
+   */
+  static final int MAGIC = 0x4F474D44;
+  /**
+   * The version of the file format.
+   */
+  static final int VERSION = 1;
+  /**
+   * The size of the file header.
+   */
+  static final int HEADER_SIZE = 8;
+
+  /**
+   * The file that was mapped.
+   */
+  private final Path file;
+  /**
+   * The mapped content of the file.
+   * Only absolute get methods are used, thus the buffer can be shared between threads.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The offsets of the records for each key, in the order they were written.
+   * Each offset refers to the point count of the record.
+   */
+  private final ImmutableMap<String, int[]> records;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens the store held in the specified file.
+   * <p>
+   * The file is mapped read-only, and the record headers are scanned.
+   *
+   * @param file  the file to open
+   * @return the store
+   * @throws IllegalArgumentException if the file is not a valid store
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static MappedMarketDataStore of(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException(Messages.format("File is too large to be mapped: {}", file));
+      }
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+      return new MappedMarketDataStore(file, buffer);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // restricted constructor
+  private MappedMarketDataStore(Path file, ByteBuffer buffer) {
+    this.file = file;
+    this.buffer = buffer;
+    this.records = scan(file, buffer);
+  }
+
+  // scans the record headers, without reading the points
+  private static ImmutableMap<String, int[]> scan(Path file, ByteBuffer buffer) {
+    int limit = buffer.limit();
+    if (limit < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException(Messages.format("File is not a market data store: {}", file));
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException(
+          Messages.format("Market data store version {} is not supported: {}", buffer.getInt(4), file));
+    }
+    Map<String, int[]> records = new HashMap<>();
+    int pos = HEADER_SIZE;
+    while (pos < limit) {
+      if (pos + 2 > limit) {
+        throw truncated(file);
+      }
+      int keyLength = buffer.getShort(pos) & 0xFFFF;
+      int countPos = pos + 2 + keyLength;
+      if (countPos + 4 > limit) {
+        throw truncated(file);
+      }
+      int count = buffer.getInt(countPos);
+      long end = countPos + 4 + 12L * count;
+      if (count < 0 || end > limit) {
+        throw truncated(file);
+      }
+      byte[] keyBytes = new byte[keyLength];
+      for (int i = 0; i < keyLength; i++) {
+        keyBytes[i] = buffer.get(pos + 2 + i);
+      }
+      records.merge(new String(keyBytes, UTF_8), new int[] {countPos}, MappedMarketDataStore::concat);
+      pos = (int) end;
+    }
+    return ImmutableMap.copyOf(records);
+  }
+
+  // creates the exception for a truncated file
+  private static IllegalArgumentException truncated(Path file) {
+    return new IllegalArgumentException(Messages.format("Market data store is truncated: {}", file));
+  }
+
+  // concatenates two arrays of offsets
+  private static int[] concat(int[] first, int[] second) {
+    int[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the file that the store was read from.
+   *
+   * @return the file
+   */
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Gets the keys of the time-series in the store.
+   * <p>
+   * Each key is formed from the standard identifier, field name and observable source
+   * of an {@linkplain ObservableId observable ID}.
+   *
+   * @return the keys
+   */
+  public ImmutableSet<String> getKeys() {
+    return records.keySet();
+  }
+
+  /**
+   * Checks if the store contains a time-series for the specified identifier.
+   *
+   * @param id  the identifier to find
+   * @return true if the store contains a time-series for the identifier
+   */
+  public boolean contains(ObservableId id) {
+    return records.containsKey(key(id));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Provides the time-series for the specified identifier.
+   * <p>
+   * The points of the time-series are read from the mapped file.
+   * A failure is returned if the store does not contain the identifier.
+   *
+   * @param id  the market data identifier to find
+   * @return the time-series of market data for the specified identifier
+   */
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId id) {
+    int[] offsets = records.get(key(id));
+    if (offsets == null) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "Market data store does not contain a time-series for '{}'",
+          id);
+    }
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int countPos : offsets) {
+      int count = buffer.getInt(countPos);
+      int datesPos = countPos + 4;
+      int valuesPos = datesPos + 4 * count;
+      for (int i = 0; i < count; i++) {
+        builder.put(LocalDate.ofEpochDay(buffer.getInt(datesPos + 4 * i)), buffer.getDouble(valuesPos + 8 * i));
+      }
+    }
+    return Result.success(builder.build());
+  }
+
+  /**
+   * Returns a provider of the quotes on the specified date.
+   * <p>
+   * Each requested value is found by binary search of the mapped dates of the identifier,
+   * without decoding the time-series. A failure is returned for any identifier
+   * that does not have a value on the date.
+   *
+   * @param date  the date of the quotes
+   * @return the provider of the quotes on the date
+   */
+  public ObservableDataProvider observableDataProvider(LocalDate date) {
+    ArgChecker.notNull(date, "date");
+    int epochDay = Math.toIntExact(date.toEpochDay());
+    return ids -> quotes(ids, date, epochDay);
+  }
+
+  // finds the quotes on the date
+  private Map<ObservableId, Result<Double>> quotes(Set<? extends ObservableId> ids, LocalDate date, int epochDay) {
+    ImmutableMap.Builder<ObservableId, Result<Double>> builder = ImmutableMap.builder();
+    for (ObservableId id : ids) {
+      builder.put(id, quote(id, date, epochDay));
+    }
+    return builder.build();
+  }
+
+  // finds a single quote, searching the latest record first
+  private Result<Double> quote(ObservableId id, LocalDate date, int epochDay) {
+    int[] offsets = records.get(key(id));
+    if (offsets != null) {
+      for (int r = offsets.length - 1; r >= 0; r--) {
+        int countPos = offsets[r];
+        int count = buffer.getInt(countPos);
+        int index = search(countPos + 4, count, epochDay);
+        if (index >= 0) {
+          return Result.success(buffer.getDouble(countPos + 4 + 4 * count + 8 * index));
+        }
+      }
+    }
+    return Result.failure(
+        FailureReason.MISSING_DATA,
+        "Market data store does not contain a value for '{}' on {}",
+        id,
+        date);
+  }
+
+  // binary search of the dates of a record
+  private int search(int datesPos, int count, int epochDay) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midDay = buffer.getInt(datesPos + 4 * mid);
+      if (midDay < epochDay) {
+        low = mid + 1;
+      } else if (midDay > epochDay) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the key used to store the identifier.
+   *
+   * @param id  the identifier
+   * @return the key
+   */
+  static String key(ObservableId id) {
+    return id.getStandardId() + "/" + id.getFieldName() + "/" + id.getObservableSource();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MappedMarketDataStore[" + file + "]";
+  }
+
+}
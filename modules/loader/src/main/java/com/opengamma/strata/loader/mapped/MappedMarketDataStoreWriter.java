@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.mapped;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.loader.csv.FixingSeriesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+
+/**
+ * Writes market data to the binary file format read by {@link MappedMarketDataStore}.
+ * <p>
+ * The file is only ever appended to, with one record added for each time-series.
+ * If the file does not exist it is created.
+ * Points in a record replace those in earlier records for the same identifier,
+ * thus a daily update need only append the new points.
+ * <p>
+ * Methods are provided to convert the CSV formats read by {@link FixingSeriesCsvLoader}
+ * and {@link QuotesCsvLoader}.
+ */
+public final class MappedMarketDataStoreWriter {
+
+  /**
+   * Appends time-series to the file.
+   * <p>
+   * One record is appended for each non-empty time-series.
+   * The records are all validated before the file is written to.
+   * If writing fails, the file is truncated back to its original size, leaving the existing data intact.
+   *
+   * @param file  the file to append to
+   * @param timeSeries  the time-series, keyed by identifier
+   * @throws IllegalArgumentException if the file is not a valid store
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void append(Path file, Map<? extends ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long size = channel.size();
+      checkHeader(file, channel, size);
+      // encode all the records before writing, so that an invalid record does not leave a partial write
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      if (size == 0) {
+        out.writeInt(MappedMarketDataStore.MAGIC);
+        out.writeInt(MappedMarketDataStore.VERSION);
+      }
+      for (Entry<? extends ObservableId, LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+        writeRecord(out, entry.getKey(), entry.getValue());
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+      try {
+        long position = size;
+        while (buffer.hasRemaining()) {
+          position += channel.write(buffer, position);
+        }
+        channel.force(false);
+      } catch (IOException | RuntimeException ex) {
+        // remove the partial write, so that the existing data can still be read
+        channel.truncate(size);
+        throw ex;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Appends quote snapshots to the file.
+   * <p>
+   * The snapshots are stored as one time-series for each identifier,
+   * allowing the quotes on a date to be found using {@link MappedMarketDataStore#observableDataProvider(LocalDate)}.
+   *
+   * @param file  the file to append to
+   * @param quotes  the quotes, keyed by date and identifier
+   * @throws IllegalArgumentException if the file is not a valid store
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void appendQuotes(
+      Path file,
+      Map<LocalDate, ? extends Map<? extends ObservableId, Double>> quotes) {
+
+    ArgChecker.notNull(quotes, "quotes");
+    Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> builders = new HashMap<>();
+    for (Entry<LocalDate, ? extends Map<? extends ObservableId, Double>> dateEntry : quotes.entrySet()) {
+      for (Entry<? extends ObservableId, Double> entry : dateEntry.getValue().entrySet()) {
+        builders.computeIfAbsent(entry.getKey(), k -> LocalDateDoubleTimeSeries.builder())
+            .put(dateEntry.getKey(), entry.getValue());
+      }
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    builders.forEach((id, builder) -> timeSeries.put(id, builder.build()));
+    append(file, timeSeries);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts CSV format fixing series files, appending them to the file.
+   * <p>
+   * The CSV format is that of {@link FixingSeriesCsvLoader}.
+   *
+   * @param file  the file to append to
+   * @param resources  the fixing series CSV resources
+   * @throws IllegalArgumentException if the CSV files are invalid or the file is not a valid store
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void convertFixingSeries(Path file, Collection<ResourceLocator> resources) {
+    append(file, FixingSeriesCsvLoader.load(resources));
+  }
+
+  /**
+   * Converts CSV format quote files, appending them to the file.
+   * <p>
+   * The CSV format is that of {@link QuotesCsvLoader}, and quotes on all dates are converted.
+   *
+   * @param file  the file to append to
+   * @param resources  the quotes CSV resources
+   * @throws IllegalArgumentException if the CSV files are invalid or the file is not a valid store
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public static void convertQuotes(Path file, Collection<ResourceLocator> resources) {
+    appendQuotes(file, QuotesCsvLoader.loadAllDates(resources));
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the header of an existing file
+  private static void checkHeader(Path file, FileChannel channel, long size) throws IOException {
+    if (size == 0) {
+      return;
+    }
+    ByteBuffer header = ByteBuffer.allocate(MappedMarketDataStore.HEADER_SIZE);
+    while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+      // read until full or end of file
+    }
+    if (header.hasRemaining() ||
+        header.getInt(0) != MappedMarketDataStore.MAGIC ||
+        header.getInt(4) != MappedMarketDataStore.VERSION) {
+      throw new IllegalArgumentException(Messages.format("File is not a market data store: {}", file));
+    }
+  }
+
+  // writes a single record
+  private static void writeRecord(DataOutputStream out, ObservableId id, LocalDateDoubleTimeSeries series)
+      throws IOException {
+
+    if (series.isEmpty()) {
+      return;
+    }
+    byte[] key = MappedMarketDataStore.key(id).getBytes(UTF_8);
+    if (key.length > 0xFFFF) {
+      throw new IllegalArgumentException(Messages.format("Identifier is too long to be stored: {}", id));
+    }
+    out.writeShort(key.length);
+    out.write(key);
+    out.writeInt(series.size());
+    int[] epochDays = series.dates().mapToInt(date -> Math.toIntExact(date.toEpochDay())).toArray();
+    for (int epochDay : epochDays) {
+      out.writeInt(epochDay);
+    }
+    double[] values = series.values().toArray();
+    for (double value : values) {
+      out.writeDouble(value);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private MappedMarketDataStoreWriter() {
+  }
+
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Store of historical market data held in memory-mapped binary files.
+ */
+package com.opengamma.strata.loader.mapped;
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FieldName;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Test {@link QuotesCsvFileParser}.
+ */
+@Test
+public class QuotesCsvFileParserTest {
+
+  private static final LocalDate START = date(2014, 1, 1);
+  private static final QuoteId QUOTE_A = QuoteId.of(StandardId.of("OG-Ticker", "A"));
+  private static final QuoteId QUOTE_B = QuoteId.of(StandardId.of("OG-Ticker", "B,C"), FieldName.of("Bid"));
+
+  //-------------------------------------------------------------------------
+  public void test_matchesCsvFile() throws Exception {
+    String content = randomContent(new Random(87234), 2000);
+    Path file = tempFile(content);
+    LocalDate rangeStart = START.plusDays(50);
+    LocalDate rangeEnd = START.plusDays(150);
+    ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> expected = QuotesCsvLoader.parse(
+        d -> !d.isBefore(rangeStart) && !d.isAfter(rangeEnd), ImmutableList.of(CharSource.wrap(content)));
+    // small chunks to check splitting at line boundaries
+    for (int chunkSize : new int[] {0, 1, 64, 1000}) {
+      QuotesCsvFileParser test = new QuotesCsvFileParser(file, rangeStart, rangeEnd, chunkSize);
+      assertEquals(test.parseByDate(), expected);
+      ImmutableMap<QuoteId, LocalDateDoubleTimeSeries> series = test.parseTimeSeries();
+      expected.forEach((date, quotes) -> quotes.forEach(
+          (id, value) -> assertEquals(series.get(id).get(date).getAsDouble(), value.doubleValue())));
+      assertEquals(series.values().stream().mapToInt(LocalDateDoubleTimeSeries::size).sum(),
+          expected.values().stream().mapToInt(Map::size).sum());
+    }
+  }
+
+  public void test_formats() throws Exception {
+    String content = "\uFEFFvaluation date,SYMBOLOGY,Ticker,Value,Field Name\r\n" +
+        "# comment\r\n" +
+        "\r\n" +
+        " , ,\r\n" +
+        " 2014-01-02 , OG-Ticker , A , 1.25 ,\r\n" +
+        "2014-01-02,OG-Ticker,\"B,C\",-0.5e-2,Bid\r\n" +
+        "2014-01-03,OG-Ticker,A,+12,\r\n" +
+        "2014-01-03,OG-Ticker,\"B,C\",0.1234567890123456789,Bid";
+    Path file = tempFile(content);
+    QuotesCsvFileParser test = new QuotesCsvFileParser(file, START, START.plusDays(10), 16);
+    ImmutableMap<QuoteId, LocalDateDoubleTimeSeries> series = test.parseTimeSeries();
+    assertEquals(series.get(QUOTE_A), LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 2), 1.25)
+        .put(date(2014, 1, 3), 12d)
+        .build());
+    assertEquals(series.get(QUOTE_B), LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 2), -0.005)
+        .put(date(2014, 1, 3), 0.1234567890123456789)
+        .build());
+  }
+
+  public void test_invalid() throws Exception {
+    String header = "Valuation Date,Symbology,Ticker,Field Name,Value\n";
+    assertInvalid(header + "2014-01-02,OG-Ticker,A,,1\n2014-01-02,OG-Ticker,A,,2\n");
+    assertInvalid(header + "2014-01-02,OG-Ticker,A,,1\n2014-01-02,OG-Ticker,A,MarketValue,2\n");
+    assertInvalid(header + "2014-01-02,OG-Ticker,A\n");
+    assertInvalid(header + "2014-01-02,OG-Ticker,A,,X\n");
+    assertInvalid(header + "2014-13-02,OG-Ticker,A,,1\n");
+    assertInvalid(header + "2014/01/02,OG-Ticker,A,,1\n");
+    assertInvalid("Valuation Date,Symbology,Ticker,Field Name\n");
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertInvalid(String content) throws Exception {
+    Path file = tempFile(content);
+    assertThrowsIllegalArg(() -> new QuotesCsvFileParser(file, START, START.plusDays(10), 16).parseByDate());
+    assertThrowsIllegalArg(() -> new QuotesCsvFileParser(file, START, START.plusDays(10), 16).parseTimeSeries());
+  }
+
+  // creates a file that CsvFile and the fast parser should agree on
+  private static String randomContent(Random random, int lines) {
+    StringBuilder buf = new StringBuilder("Valuation Date, Symbology, Ticker, Field Name, Value\n");
+    for (int i = 0; i < lines; i++) {
+      String date = START.plusDays(i / 10).toString();
+      String ticker = random.nextInt(10) == 0 ? "\"T,Q" + i % 10 + "\"" : "T" + i % 10;
+      String fieldName = i % 3 == 0 ? "" : "Bid";
+      double raw = (random.nextDouble() - 0.3) * Math.pow(10, random.nextInt(8) - 4);
+      String value;
+      switch (random.nextInt(4)) {
+        case 0:
+          value = Double.toString(raw);
+          break;
+        case 1:
+          value = String.format(Locale.ENGLISH, "%.6f", raw);
+          break;
+        case 2:
+          value = Long.toString(Math.round(raw));
+          break;
+        default:
+          value = String.format(Locale.ENGLISH, "%.17f", raw);
+          break;
+      }
+      buf.append(date).append(",OG-Ticker, ").append(ticker).append(',').append(fieldName).append(',')
+          .append(value).append(random.nextBoolean() ? "\r\n" : "\n");
+      if (random.nextInt(50) == 0) {
+        buf.append("# comment, with, commas\n\n,,,\n");
+      }
+    }
+    return buf.toString();
+  }
+
+  private static Path tempFile(String content) throws Exception {
+    File file = File.createTempFile("TestQuotesCsvFileParser", "csv");
+    file.deleteOnExit();
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return file.toPath();
+  }
+
+}
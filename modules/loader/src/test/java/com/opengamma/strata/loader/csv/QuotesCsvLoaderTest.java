@@ -12,6 +12,8 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -22,6 +24,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.observable.QuoteId;
 
 /**
@@ -102,6 +105,30 @@ public class QuotesCsvLoaderTest {
     assertFile1Date2(map.get(DATE2));
   }
 
+  public void test_loadDateRange_file1() throws Exception {
+    Path file = Paths.get(QuotesCsvLoaderTest.class.getResource("quotes-1.csv").toURI());
+    Map<LocalDate, ImmutableMap<QuoteId, Double>> map = QuotesCsvLoader.loadDateRange(file, DATE1, DATE2);
+    assertEquals(map, QuotesCsvLoader.loadAllDates(QUOTES_1));
+    Map<LocalDate, ImmutableMap<QuoteId, Double>> map2 = QuotesCsvLoader.loadDateRange(file, DATE2, DATE2.plusDays(1));
+    assertEquals(map2.keySet(), ImmutableSet.of(DATE2));
+    assertFile1Date2(map2.get(DATE2));
+    assertThrowsIllegalArg(() -> QuotesCsvLoader.loadDateRange(file, DATE2, DATE1));
+  }
+
+  public void test_loadTimeSeries_file1() throws Exception {
+    Path file = Paths.get(QuotesCsvLoaderTest.class.getResource("quotes-1.csv").toURI());
+    Map<QuoteId, LocalDateDoubleTimeSeries> map = QuotesCsvLoader.loadTimeSeries(file, DATE1, DATE2);
+    assertEquals(map.size(), 2);
+    assertEquals(map.get(FGBL_MAR14), LocalDateDoubleTimeSeries.builder().put(DATE1, 150.43).put(DATE2, 150.50).build());
+    assertEquals(map.get(ED_MAR14), LocalDateDoubleTimeSeries.builder().put(DATE1, 99.62).put(DATE2, 99.63).build());
+  }
+
+  public void test_loadDateRange_invalidDuplicate() throws Exception {
+    Path file = Paths.get(QuotesCsvLoaderTest.class.getResource("quotes-invalid-duplicate.csv").toURI());
+    assertThrowsIllegalArg(() -> QuotesCsvLoader.loadDateRange(file, DATE1, DATE1));
+    assertThrowsIllegalArg(() -> QuotesCsvLoader.loadTimeSeries(file, DATE1, DATE1));
+  }
+
   //-------------------------------------------------------------------------
   private void assertFile1Date1(Map<QuoteId, Double> map) {
     assertTrue(map.containsKey(FGBL_MAR14));
@@ -43,11 +43,13 @@ import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -1346,6 +1348,65 @@ public class FpmlDocumentParserTest {
     assertEquals(trades.size(), 1);
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "streaming")
+  Object[][] data_streaming() {
+    return new Object[][] {
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex01-long-asia-corp-fixreg.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/cdindex-ex01-cdx.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex08-fx-swap.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex02-stub-amort-swap.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-namespace.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper1.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper2.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper-clearing-status.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex10-euro-swaption-relative.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex30-swap-comp-avg-relative-date.xml"},
+        {"classpath:com/opengamma/strata/loader/fpml/td-ex01-simple-term-deposit.xml"},
+    };
+  }
+
+  @Test(dataProvider = "streaming")
+  public void parse_streaming(String location) {
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party2"));
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTrades(resource, trades::add);
+    assertEquals(trades, parser.parseTrades(resource));
+  }
+
+  public void parse_streaming_manyTrades() throws Exception {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read();
+    int tradeStart = xml.indexOf("<trade>");
+    int tradeEnd = xml.indexOf("</trade>") + "</trade>".length();
+    String tradeXml = xml.substring(tradeStart, tradeEnd);
+    StringBuilder buf = new StringBuilder(xml.substring(0, tradeStart));
+    for (int i = 0; i < 1100; i++) {
+      buf.append(tradeXml.replace("MB87623", "MB" + i));
+    }
+    buf.append(xml.substring(tradeEnd));
+    ByteSource resource = ByteSource.wrap(buf.toString().getBytes(StandardCharsets.UTF_8));
+
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party1"));
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTrades(resource, trades::add);
+    assertEquals(trades.size(), 1100);
+    assertEquals(trades, parser.parseTrades(resource));
+    assertEquals(trades.get(1099).getInfo().getId().get().getValue(), "MB1099");
+  }
+
+  public void parse_streaming_notFpml() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/not-fpml.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.parseTrades(resource, trade -> {}),
+        FpmlParseException.class,
+        "Unable to find FpML root element.*");
+  }
+
   //-------------------------------------------------------------------------
   public void noTrades() {
     XmlElement rootEl = XmlElement.ofChildren("dataDocument", ImmutableList.of());
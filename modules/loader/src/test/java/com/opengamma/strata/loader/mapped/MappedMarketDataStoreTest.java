@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.mapped;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.index.IborIndices;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.loader.csv.FixingSeriesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Test {@link MappedMarketDataStore} and {@link MappedMarketDataStoreWriter}.
+ */
+@Test
+public class MappedMarketDataStoreTest {
+
+  private static final ResourceLocator FIXINGS_1_AND_2 =
+      ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/fixings-1-and-2.csv");
+  private static final ResourceLocator QUOTES_1 =
+      ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/quotes-1.csv");
+  private static final ResourceLocator QUOTES_2 =
+      ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/quotes-2.csv");
+
+  private static final IndexQuoteId ID_LIBOR_3M = IndexQuoteId.of(IborIndices.USD_LIBOR_3M);
+  private static final QuoteId ID_FGBL_MAR14 = QuoteId.of(StandardId.of("OG-Future", "Eurex-FGBL-Mar14"));
+  private static final QuoteId ID_FGBL_JUN14 = QuoteId.of(StandardId.of("OG-Future", "Eurex-FGBL-Jun14"));
+  private static final QuoteId ID_UNKNOWN = QuoteId.of(StandardId.of("OG-Future", "Unknown"));
+  private static final LocalDate DATE1 = date(2014, 1, 22);
+  private static final LocalDate DATE2 = date(2014, 1, 23);
+
+  //-------------------------------------------------------------------------
+  public void test_convertFixingSeries() throws Exception {
+    Path file = tempFile();
+    MappedMarketDataStoreWriter.convertFixingSeries(file, ImmutableList.of(FIXINGS_1_AND_2));
+    MappedMarketDataStore test = MappedMarketDataStore.of(file);
+    Map<ObservableId, LocalDateDoubleTimeSeries> expected = FixingSeriesCsvLoader.load(FIXINGS_1_AND_2);
+    assertEquals(test.getFile(), file);
+    assertEquals(test.getKeys().size(), expected.size());
+    for (ObservableId id : expected.keySet()) {
+      assertTrue(test.contains(id));
+      assertEquals(test.provideTimeSeries(id), Result.success(expected.get(id)));
+    }
+    assertFalse(test.contains(ID_UNKNOWN));
+    Result<LocalDateDoubleTimeSeries> missing = test.provideTimeSeries(ID_UNKNOWN);
+    assertTrue(missing.isFailure());
+    assertEquals(missing.getFailure().getReason(), FailureReason.MISSING_DATA);
+    assertTrue(test.toString().contains(file.toString()));
+  }
+
+  public void test_convertQuotes() throws Exception {
+    Path file = tempFile();
+    MappedMarketDataStoreWriter.convertQuotes(file, ImmutableList.of(QUOTES_1, QUOTES_2));
+    MappedMarketDataStore test = MappedMarketDataStore.of(file);
+    ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> expected =
+        QuotesCsvLoader.loadAllDates(QUOTES_1, QUOTES_2);
+    for (LocalDate date : expected.keySet()) {
+      ImmutableMap<QuoteId, Double> quotes = expected.get(date);
+      Map<ObservableId, Result<Double>> provided = test.observableDataProvider(date).provideObservableData(quotes.keySet());
+      assertEquals(provided.size(), quotes.size());
+      quotes.forEach((id, value) -> assertEquals(provided.get(id), Result.success(value)));
+    }
+    ObservableDataProvider provider = test.observableDataProvider(DATE2);
+    Map<ObservableId, Result<Double>> provided = provider.provideObservableData(ImmutableSet.of(ID_FGBL_JUN14, ID_UNKNOWN));
+    assertTrue(provided.get(ID_FGBL_JUN14).isFailure());
+    assertTrue(provided.get(ID_UNKNOWN).isFailure());
+    assertTrue(test.provideTimeSeries(ID_FGBL_MAR14).isSuccess());
+  }
+
+  public void test_append() throws Exception {
+    Path file = tempFile();
+    LocalDateDoubleTimeSeries series1 = LocalDateDoubleTimeSeries.builder()
+        .put(DATE1, 1d)
+        .put(DATE2, 2d)
+        .build();
+    MappedMarketDataStoreWriter.append(file, ImmutableMap.of(ID_FGBL_MAR14, series1, ID_UNKNOWN, LocalDateDoubleTimeSeries.empty()));
+    MappedMarketDataStore before = MappedMarketDataStore.of(file);
+    LocalDateDoubleTimeSeries series2 = LocalDateDoubleTimeSeries.builder()
+        .put(DATE2, 3d)
+        .put(DATE2.plusDays(1), 4d)
+        .build();
+    MappedMarketDataStoreWriter.append(file, ImmutableMap.of(ID_FGBL_MAR14, series2, ID_LIBOR_3M, series1));
+    MappedMarketDataStore test = MappedMarketDataStore.of(file);
+
+    // the earlier store is unaffected by the append
+    assertEquals(before.provideTimeSeries(ID_FGBL_MAR14).getValue(), series1);
+    assertFalse(before.contains(ID_LIBOR_3M));
+    assertFalse(test.contains(ID_UNKNOWN));
+    // later points replace earlier points
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(DATE1, 1d)
+        .put(DATE2, 3d)
+        .put(DATE2.plusDays(1), 4d)
+        .build();
+    assertEquals(test.provideTimeSeries(ID_FGBL_MAR14).getValue(), expected);
+    assertEquals(test.provideTimeSeries(ID_LIBOR_3M).getValue(), series1);
+    ObservableDataProvider provider = test.observableDataProvider(DATE2);
+    assertEquals(provider.provideObservableData(ImmutableSet.of(ID_FGBL_MAR14)).get(ID_FGBL_MAR14), Result.success(3d));
+    assertEquals(
+        test.observableDataProvider(DATE1).provideObservableData(ImmutableSet.of(ID_FGBL_MAR14)).get(ID_FGBL_MAR14),
+        Result.success(1d));
+  }
+
+  public void test_key_observableSource() throws Exception {
+    Path file = tempFile();
+    QuoteId sourced = ID_FGBL_MAR14.withObservableSource(ObservableSource.of("Vendor"));
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.of(DATE1, 1d);
+    MappedMarketDataStoreWriter.append(file, ImmutableMap.of(sourced, series));
+    MappedMarketDataStore test = MappedMarketDataStore.of(file);
+    assertTrue(test.contains(sourced));
+    assertFalse(test.contains(ID_FGBL_MAR14));
+  }
+
+  public void test_append_invalidRecord() throws Exception {
+    Path file = tempFile();
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.of(DATE1, 1d);
+    MappedMarketDataStoreWriter.append(file, ImmutableMap.of(ID_FGBL_MAR14, series));
+    byte[] bytes = Files.readAllBytes(file);
+    // the first series is larger than a typical write buffer, the second series fails
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < 2000; i++) {
+      builder.put(DATE1.plusDays(i), i);
+    }
+    LocalDateDoubleTimeSeries large = builder.build();
+    char[] chars = new char[70_000];
+    Arrays.fill(chars, 'A');
+    QuoteId tooLong = QuoteId.of(StandardId.of("OG-Future", new String(chars)));
+    assertThrowsIllegalArg(
+        () -> MappedMarketDataStoreWriter.append(file, ImmutableMap.of(ID_LIBOR_3M, large, tooLong, series)),
+        "Identifier is too long.*");
+    assertEquals(Files.readAllBytes(file), bytes);
+    MappedMarketDataStore test = MappedMarketDataStore.of(file);
+    assertEquals(test.provideTimeSeries(ID_FGBL_MAR14).getValue(), series);
+    assertFalse(test.contains(ID_LIBOR_3M));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_invalidFile() throws Exception {
+    Path file = tempFile();
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrowsIllegalArg(() -> MappedMarketDataStore.of(file), "File is not a market data store.*");
+    assertThrowsIllegalArg(
+        () -> MappedMarketDataStoreWriter.append(file, ImmutableMap.of()), "File is not a market data store.*");
+  }
+
+  public void test_truncatedFile() throws Exception {
+    Path file = tempFile();
+    MappedMarketDataStoreWriter.append(file, ImmutableMap.of(ID_FGBL_MAR14, LocalDateDoubleTimeSeries.of(DATE1, 1d)));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+    assertThrowsIllegalArg(() -> MappedMarketDataStore.of(file), "Market data store is truncated.*");
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(MappedMarketDataStoreWriter.class);
+  }
+
+  //-------------------------------------------------------------------------
+  private static Path tempFile() throws Exception {
+    File file = File.createTempFile("TestMappedMarketDataStore", "bin");
+    file.deleteOnExit();
+    // the writer creates the file
+    file.delete();
+    return file.toPath();
+  }
+
+}
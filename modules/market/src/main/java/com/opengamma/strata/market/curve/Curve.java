@@ -13,6 +13,7 @@ import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -113,6 +114,53 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double firstDerivative(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #yValue(double)} for each x-value.
+   * Implementations may be faster, particularly when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @return the values at the x-values
+   */
+  public default DoubleArray yValues(DoubleArray xValues) {
+    return xValues.map(x -> yValue(x));
+  }
+
+  /**
+   * Computes the sensitivities of the y-values with respect to the curve parameters.
+   * <p>
+   * This returns a matrix with one row for each x-value and one column for each parameter of the curve.
+   * Each row is equal to the sensitivity returned by {@link #yValueParameterSensitivity(double)}.
+   * Implementations may be faster, particularly when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivities are computed
+   * @return the sensitivities
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default DoubleMatrix yValueParameterSensitivities(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = yValueParameterSensitivity(xValues.get(i)).getSensitivity().toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the first derivatives of the curve at the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #firstDerivative(double)} for each x-value.
+   * Implementations may be faster, particularly when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the derivatives are taken
+   * @return the first derivatives
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default DoubleArray firstDerivatives(DoubleArray xValues) {
+    return xValues.map(x -> firstDerivative(x));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a parameter sensitivity instance for this curve when the sensitivity values are known.
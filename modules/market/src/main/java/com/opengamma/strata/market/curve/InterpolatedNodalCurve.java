@@ -32,6 +32,8 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.interpolator.BoundCurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
@@ -203,6 +205,24 @@ public final class InterpolatedNodalCurve
         .collect(toImmutableList());
   }
 
+  // constructor for a single bumped node, reusing the state of the base curve
+  private InterpolatedNodalCurve(
+      InterpolatedNodalCurve base,
+      DoubleArray yValues,
+      BoundCurveInterpolator interpolatorOnly) {
+
+    this.metadata = base.metadata;
+    this.xValues = base.xValues;
+    this.yValues = yValues;
+    this.extrapolatorLeft = base.extrapolatorLeft;
+    this.interpolator = base.interpolator;
+    this.extrapolatorRight = base.extrapolatorRight;
+    BoundCurveExtrapolator boundLeft = extrapolatorLeft.bind(xValues, yValues, interpolatorOnly);
+    BoundCurveExtrapolator boundRight = extrapolatorRight.bind(xValues, yValues, interpolatorOnly);
+    this.boundInterpolator = interpolatorOnly.bind(boundLeft, boundRight);
+    this.parameterMetadata = base.parameterMetadata;
+  }
+
   @ImmutableDefaults
   private static void applyDefaults(Builder builder) {
     builder.extrapolatorLeft = CurveExtrapolators.FLAT;
@@ -227,7 +247,7 @@ public final class InterpolatedNodalCurve
 
   @Override
   public InterpolatedNodalCurve withParameter(int parameterIndex, double newValue) {
-    return withYValues(yValues.with(parameterIndex, newValue));
+    return withBumpedNode(parameterIndex, newValue);
   }
 
   @Override
@@ -235,7 +255,25 @@ public final class InterpolatedNodalCurve
     int size = yValues.size();
     DoubleArray perturbedValues = DoubleArray.of(
         size, i -> perturbation.perturbParameter(i, yValues.get(i), getParameterMetadata(i)));
-    return withYValues(perturbedValues);
+    // finite difference bumps typically change a single node
+    int changedIndex = -1;
+    for (int i = 0; i < size; i++) {
+      if (perturbedValues.get(i) != yValues.get(i)) {
+        if (changedIndex >= 0) {
+          return withYValues(perturbedValues);
+        }
+        changedIndex = i;
+      }
+    }
+    return changedIndex < 0 ? withYValues(perturbedValues) : withBumpedNode(changedIndex, perturbedValues.get(changedIndex));
+  }
+
+  // changes a single node, avoiding solving the interpolation problem again where the interpolator allows it
+  private InterpolatedNodalCurve withBumpedNode(int parameterIndex, double newValue) {
+    DoubleArray bumpedValues = yValues.with(parameterIndex, newValue);
+    return boundInterpolator.withNodeYValue(parameterIndex, newValue)
+        .map(interpolatorOnly -> new InterpolatedNodalCurve(this, bumpedValues, interpolatorOnly))
+        .orElseGet(() -> withYValues(bumpedValues));
   }
 
   //-------------------------------------------------------------------------
@@ -254,6 +292,21 @@ public final class InterpolatedNodalCurve
     return boundInterpolator.firstDerivative(x);
   }
 
+  @Override
+  public DoubleArray yValues(DoubleArray xValues) {
+    return boundInterpolator.interpolate(xValues);
+  }
+
+  @Override
+  public DoubleMatrix yValueParameterSensitivities(DoubleArray xValues) {
+    return boundInterpolator.parameterSensitivities(xValues);
+  }
+
+  @Override
+  public DoubleArray firstDerivatives(DoubleArray xValues) {
+    return boundInterpolator.firstDerivatives(xValues);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public InterpolatedNodalCurve withMetadata(CurveMetadata metadata) {
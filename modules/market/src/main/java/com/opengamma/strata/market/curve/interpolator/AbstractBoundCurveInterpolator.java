@@ -7,6 +7,7 @@ package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Abstract interpolator implementation.
@@ -27,6 +28,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The right extrapolator.
    */
   private final BoundCurveExtrapolator extrapolatorRight;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
   /**
    * The x-value of the first node.
    */
@@ -54,6 +59,7 @@ public abstract class AbstractBoundCurveInterpolator
     ArgChecker.isTrue(size > 1, "Curve node arrays must have at least two nodes");
     this.extrapolatorLeft = ExceptionCurveExtrapolator.INSTANCE;
     this.extrapolatorRight = ExceptionCurveExtrapolator.INSTANCE;
+    this.nodeXValues = xValues.toArrayUnsafe();
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
@@ -73,6 +79,7 @@ public abstract class AbstractBoundCurveInterpolator
 
     this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
     this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+    this.nodeXValues = base.nodeXValues;
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
@@ -99,6 +106,20 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract double doInterpolate(double xValue);
 
+  /**
+   * Method for subclasses to calculate the interpolated value when the lower bound index is known.
+   * <p>
+   * This is used by the batch methods, which find the index of the node using a cursor.
+   * Subclasses can override this to avoid searching for the index again.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
   @Override
   public final double firstDerivative(double xValue) {
     if (xValue < firstXValue) {
@@ -117,6 +138,20 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract double doFirstDerivative(double xValue);
 
+  /**
+   * Method for subclasses to calculate the first derivative when the lower bound index is known.
+   * <p>
+   * This is used by the batch methods, which find the index of the node using a cursor.
+   * Subclasses can override this to avoid searching for the index again.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @return the first derivative
+   */
+  protected double doFirstDerivative(double xValue, int lowerIndex) {
+    return doFirstDerivative(xValue);
+  }
+
   @Override
   public final DoubleArray parameterSensitivity(double xValue) {
     if (xValue < firstXValue) {
@@ -135,6 +170,91 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  /**
+   * Method for subclasses to calculate parameter sensitivity when the lower bound index is known.
+   * <p>
+   * This is used by the batch methods, which find the index of the node using a cursor.
+   * Subclasses can override this to avoid searching for the index again.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @return the parameter sensitivity
+   */
+  protected DoubleArray doParameterSensitivity(double xValue, int lowerIndex) {
+    return doParameterSensitivity(xValue);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray interpolate(DoubleArray xValues) {
+    double[] result = new double[xValues.size()];
+    int lowerIndex = -1;
+    for (int i = 0; i < result.length; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = cursorIndex(xValue, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  @Override
+  public DoubleArray firstDerivatives(DoubleArray xValues) {
+    double[] result = new double[xValues.size()];
+    int lowerIndex = -1;
+    for (int i = 0; i < result.length; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolateFirstDerivative(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolateFirstDerivative(xValue);
+      } else {
+        lowerIndex = cursorIndex(xValue, lowerIndex);
+        result[i] = doFirstDerivative(xValue, lowerIndex);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  @Override
+  public DoubleMatrix parameterSensitivities(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][];
+    int lowerIndex = -1;
+    for (int i = 0; i < result.length; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue).toArrayUnsafe();
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolateParameterSensitivity(xValue).toArrayUnsafe();
+      } else {
+        lowerIndex = cursorIndex(xValue, lowerIndex);
+        result[i] = doParameterSensitivity(xValue, lowerIndex).toArrayUnsafe();
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  // finds the lower bound index, moving forward from the previous index when the x-values are sorted
+  // the x-value must be between the first and last node
+  private int cursorIndex(double xValue, int previousIndex) {
+    if (previousIndex < 0 || xValue < nodeXValues[previousIndex]) {
+      return lowerBoundIndex(xValue, nodeXValues);
+    }
+    int index = previousIndex;
+    int last = nodeXValues.length - 1;
+    while (index < last && nodeXValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
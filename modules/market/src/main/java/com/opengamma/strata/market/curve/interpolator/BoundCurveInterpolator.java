@@ -5,7 +5,10 @@
  */
 package com.opengamma.strata.market.curve.interpolator;
 
+import java.util.Optional;
+
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * A curve interpolator that has been bound to a specific curve.
@@ -52,6 +55,74 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * This is equivalent to calling {@link #interpolate(double)} for each x-value.
+   * Implementations may be faster when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @return the values at the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default DoubleArray interpolate(DoubleArray xValues) {
+    return xValues.map(x -> interpolate(x));
+  }
+
+  /**
+   * Computes the first derivatives of the y-values for the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #firstDerivative(double)} for each x-value.
+   * Implementations may be faster when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the derivatives are taken
+   * @return the first derivatives
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default DoubleArray firstDerivatives(DoubleArray xValues) {
+    return xValues.map(x -> firstDerivative(x));
+  }
+
+  /**
+   * Computes the sensitivities of the y-values with respect to the curve parameters.
+   * <p>
+   * This returns a matrix with one row for each x-value and one column for each parameter of the curve.
+   * Each row is equal to the result of {@link #parameterSensitivity(double)}.
+   * Implementations may be faster when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivities are computed
+   * @return the sensitivities
+   * @throws RuntimeException if a sensitivity cannot be calculated
+   */
+  public default DoubleMatrix parameterSensitivities(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = parameterSensitivity(xValues.get(i)).toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Returns an interpolator for the same x-values with the y-value of one node changed.
+   * <p>
+   * This allows a single node to be bumped efficiently, for example when computing finite difference sensitivities.
+   * Implementations may reuse the results of binding this interpolator, such as the sensitivity of the
+   * interpolation coefficients to the node values, rather than solving the interpolation problem again.
+   * <p>
+   * The result is not bound to extrapolators, and must be bound using
+   * {@link #bind(BoundCurveExtrapolator, BoundCurveExtrapolator)} in the same way as
+   * {@link CurveInterpolator#bind(DoubleArray, DoubleArray, CurveExtrapolator, CurveExtrapolator)}.
+   * The default implementation returns empty, indicating that the interpolator must be bound from the node values.
+   *
+   * @param nodeIndex  the index of the node
+   * @param yValue  the new y-value of the node
+   * @return the interpolator with the changed node, empty if not supported
+   */
+  public default Optional<BoundCurveInterpolator> withNodeYValue(int nodeIndex, double yValue) {
+    return Optional.empty();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -98,8 +98,12 @@ final class LinearCurveInterpolator
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
       return y1 + (xValue - x1) * gradients[lowerIndex];
@@ -107,7 +111,11 @@ final class LinearCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
@@ -118,8 +126,12 @@ final class LinearCurveInterpolator
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
+      return doParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected DoubleArray doParameterSensitivity(double xValue, int lowerIndex) {
       double[] result = new double[yValues.length];
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Optional;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -107,6 +108,16 @@ final class LogNaturalSplineDiscountFactorCurveInterpolator implements CurveInte
       this.polySens = base.polySens;
     }
 
+    // bumped node, the coefficients are linear in the log y-values so the sensitivity is shared
+    private Bound(Bound base, DoubleArray yValues, double[] logYValues, PiecewisePolynomialResult poly) {
+      super(DoubleArray.ofUnsafe(base.xValues), yValues);
+      this.xValues = base.xValues;
+      this.yValues = yValues.toArrayUnsafe();
+      this.logYValues = logYValues;
+      this.poly = poly;
+      this.polySens = base.polySens;
+    }
+
     //-------------------------------------------------------------------------
     private static double evaluate(
         double xValue,
@@ -231,6 +242,18 @@ final class LogNaturalSplineDiscountFactorCurveInterpolator implements CurveInte
       return DoubleArray.ofUnsafe(res);
     }
 
+    @Override
+    public Optional<BoundCurveInterpolator> withNodeYValue(int nodeIndex, double yValue) {
+      double[] bumpedLogYValues = logYValues.clone();
+      bumpedLogYValues[nodeIndex] = Math.log(yValue);
+      double shift = bumpedLogYValues[nodeIndex] - logYValues[nodeIndex];
+      // the clamped interpolator adds a node at zero, at index 0 of the sensitivity
+      PiecewisePolynomialResult bumped = NaturalSplineCurveInterpolator.Bound.shiftNode(
+          poly, polySens.get(), nodeIndex + 1, shift);
+      DoubleArray bumpedYValues = DoubleArray.ofUnsafe(yValues).with(nodeIndex, yValue);
+      return Optional.of(new Bound(this, bumpedYValues, bumpedLogYValues, bumped));
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
@@ -77,6 +77,7 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
     private final double rightFirstDev;
     private final boolean leftNatural;
     private final boolean rightNatural;
+    private final double[] secondDerivatives;
 
     Bound(DoubleArray xValues, DoubleArray yValues) {
       super(xValues, yValues);
@@ -87,6 +88,8 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
       this.rightFirstDev = 0;
       this.leftNatural = true;
       this.rightNatural = true;
+      this.secondDerivatives = calculateSecondDerivative(
+          this.xValues, this.yValues, dataSize, leftFirstDev, rightFirstDev, leftNatural, rightNatural);
     }
 
     Bound(Bound base, BoundCurveExtrapolator extrapolatorLeft, BoundCurveExtrapolator extrapolatorRight) {
@@ -98,6 +101,7 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
       this.leftNatural = base.leftNatural;
       this.rightNatural = base.rightNatural;
       this.dataSize = xValues.length;
+      this.secondDerivatives = base.secondDerivatives;
     }
 
     //-------------------------------------------------------------------------
@@ -225,8 +229,12 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int low) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int low = lowerBoundIndex(xValue, xValues);
       int high = low + 1;
       int n = dataSize - 1;
       if (low == n) {
@@ -238,14 +246,18 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
       }
       double a = (xValues[high] - xValue) / delta;
       double b = (xValue - xValues[low]) / delta;
-      double[] y2 = calculateSecondDerivative(xValues, yValues, dataSize, leftFirstDev, rightFirstDev, leftNatural, rightNatural);
+      double[] y2 = secondDerivatives;
       return a * yValues[low] + b * yValues[high] + (a * (a * a - 1) * y2[low] + b * (b * b - 1) * y2[high]) * delta * delta / 6.;
     }
 
     @Override
     protected double doFirstDerivative(double xValue) {
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int low) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int low = lowerBoundIndex(xValue, xValues);
       int high = low + 1;
       int n = dataSize - 1;
       if (low == n) {
@@ -258,14 +270,18 @@ final class NaturalCubicSplineCurveInterpolator implements CurveInterpolator, Se
       }
       double a = (xValues[high] - xValue) / delta;
       double b = (xValue - xValues[low]) / delta;
-      double[] y2 = calculateSecondDerivative(xValues, yValues, dataSize, leftFirstDev, rightFirstDev, leftNatural, rightNatural);
+      double[] y2 = secondDerivatives;
       return (yValues[high] - yValues[low]) / delta + ((-3. * a * a + 1.) * y2[low] + (3. * b * b - 1.) * y2[high]) * delta / 6.;
     }
 
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
+      return doParameterSensitivity(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected DoubleArray doParameterSensitivity(double xValue, int low) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int low = lowerBoundIndex(xValue, xValues);
       double[] result = new double[dataSize];
       if (low == dataSize - 1) {
         result[dataSize - 1] = 1.0;
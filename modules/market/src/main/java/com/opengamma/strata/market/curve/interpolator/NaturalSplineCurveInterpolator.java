@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import java.io.Serializable;
+import java.util.Optional;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -98,6 +99,15 @@ final class NaturalSplineCurveInterpolator
       this.polySens = base.polySens;
     }
 
+    // bumped node, the coefficients are linear in the y-values so the sensitivity is shared
+    private Bound(Bound base, DoubleArray yValues, PiecewisePolynomialResult poly) {
+      super(DoubleArray.ofUnsafe(base.xValues), yValues);
+      this.xValues = base.xValues;
+      this.yValues = yValues.toArrayUnsafe();
+      this.poly = poly;
+      this.polySens = base.polySens;
+    }
+
     //-------------------------------------------------------------------------
     private static double evaluate(
         double xValue,
@@ -146,6 +156,35 @@ final class NaturalSplineCurveInterpolator
       return res;
     }
 
+    /**
+     * Shifts the coefficients of a piecewise polynomial by a multiple of their sensitivity to one node.
+     * <p>
+     * For splines whose coefficients are linear in the node values, this is exact.
+     *
+     * @param poly  the piecewise polynomial
+     * @param polySens  the sensitivity of the coefficients to the node values
+     * @param node  the index of the node in the sensitivity matrices
+     * @param shift  the shift of the node value
+     * @return the shifted piecewise polynomial
+     */
+    static PiecewisePolynomialResult shiftNode(
+        PiecewisePolynomialResult poly,
+        PiecewisePolynomialResultsWithSensitivity polySens,
+        int node,
+        double shift) {
+
+      double[][] coefs = poly.getCoefMatrix().toArray();
+      for (int interval = 0; interval < coefs.length; interval++) {
+        DoubleMatrix coefficientSensitivity = polySens.getCoefficientSensitivity(interval);
+        double[] row = coefs[interval];
+        for (int i = 0; i < row.length; i++) {
+          row[i] += shift * coefficientSensitivity.get(i, node);
+        }
+      }
+      return new PiecewisePolynomialResult(
+          poly.getKnots(), DoubleMatrix.ofUnsafe(coefs), poly.getOrder(), poly.getDimensions());
+    }
+
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
@@ -176,6 +215,13 @@ final class NaturalSplineCurveInterpolator
       return res;
     }
 
+    @Override
+    public Optional<BoundCurveInterpolator> withNodeYValue(int nodeIndex, double yValue) {
+      double shift = yValue - yValues[nodeIndex];
+      PiecewisePolynomialResult bumped = shiftNode(poly, polySens.get(), nodeIndex, shift);
+      return Optional.of(new Bound(this, DoubleArray.ofUnsafe(yValues).with(nodeIndex, yValue), bumped));
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
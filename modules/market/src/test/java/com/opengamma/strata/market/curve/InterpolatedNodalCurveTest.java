@@ -12,14 +12,17 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
@@ -52,6 +55,7 @@ public class InterpolatedNodalCurveTest {
   private static final DoubleArray XVALUES2 = DoubleArray.of(0d, 2d, 3d);
   private static final DoubleArray YVALUES = DoubleArray.of(5d, 7d, 8d);
   private static final DoubleArray YVALUES_BUMPED = DoubleArray.of(3d, 5d, 6d);
+  private static final double TOL = 1e-12;
   private static final CurveInterpolator INTERPOLATOR = CurveInterpolators.LOG_LINEAR;
   private static final CurveExtrapolator FLAT_EXTRAPOLATOR = CurveExtrapolators.FLAT;
   private static final CurveExtrapolator LINEAR_EXTRAPOLATOR = CurveExtrapolators.LINEAR;
@@ -125,6 +129,66 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_lookup_batch() {
+    DoubleArray xValues = DoubleArray.of(0.25, 0.5, 1d, 2d, 5d, 10d, 30d);
+    DoubleArray yValues = DoubleArray.of(0.010, 0.012, 0.011, 0.015, 0.020, 0.022, 0.021);
+    DoubleArray sorted = DoubleArray.of(-0d, 0.1, 0.25, 0.3, 0.4, 1d, 1.5, 4d, 7d, 10d, 12d, 30d, 40d);
+    DoubleArray unsorted = DoubleArray.of(7d, 0.3, 30d, 0.1, 12d, 1.5, 1.5, 0.25, 40d);
+    List<CurveInterpolator> interpolators = ImmutableList.of(
+        CurveInterpolators.LINEAR,
+        CurveInterpolators.LOG_LINEAR,
+        CurveInterpolators.DOUBLE_QUADRATIC,
+        CurveInterpolators.NATURAL_CUBIC_SPLINE,
+        CurveInterpolators.NATURAL_SPLINE,
+        CurveInterpolators.PCHIP,
+        CurveInterpolators.TIME_SQUARE);
+    for (CurveInterpolator interpolator : interpolators) {
+      InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, xValues, yValues, interpolator);
+      for (DoubleArray x : ImmutableList.of(sorted, unsorted)) {
+        assertThat(test.yValues(x)).isEqualTo(x.map(test::yValue));
+        assertThat(test.firstDerivatives(x)).isEqualTo(x.map(test::firstDerivative));
+        DoubleMatrix sensitivities = test.yValueParameterSensitivities(x);
+        assertThat(sensitivities.rowCount()).isEqualTo(x.size());
+        for (int i = 0; i < x.size(); i++) {
+          assertThat(sensitivities.row(i)).isEqualTo(test.yValueParameterSensitivity(x.get(i)).getSensitivity());
+        }
+      }
+      assertThat(test.yValues(DoubleArray.EMPTY)).isEqualTo(DoubleArray.EMPTY);
+    }
+  }
+
+  public void test_withParameter_bumpedNode() {
+    DoubleArray xValues = DoubleArray.of(0.25, 0.5, 1d, 2d, 5d, 10d, 30d);
+    DoubleArray yValues = DoubleArray.of(0.99, 0.98, 0.97, 0.94, 0.88, 0.80, 0.55);
+    DoubleArray x = DoubleArray.of(0.1, 0.3, 0.75, 3d, 7d, 20d, 40d);
+    List<CurveInterpolator> interpolators = ImmutableList.of(
+        CurveInterpolators.NATURAL_SPLINE,
+        CurveInterpolators.LOG_NATURAL_SPLINE_DISCOUNT_FACTOR,
+        CurveInterpolators.PCHIP);
+    for (CurveInterpolator interpolator : interpolators) {
+      InterpolatedNodalCurve base = InterpolatedNodalCurve.of(
+          METADATA, xValues, yValues, interpolator, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+      for (int i = 0; i < xValues.size(); i++) {
+        int node = i;
+        double bumpedValue = yValues.get(i) + 1e-4;
+        InterpolatedNodalCurve test = base.withParameter(i, bumpedValue).withParameter(0, 0.995);
+        InterpolatedNodalCurve perturbed = base.withPerturbation((index, value, meta) -> index == node ? bumpedValue : value);
+        InterpolatedNodalCurve expected = base.withYValues(yValues.with(i, bumpedValue).with(0, 0.995));
+        InterpolatedNodalCurve expectedPerturbed = base.withYValues(yValues.with(i, bumpedValue));
+        assertThat(test).isEqualTo(expected);
+        assertThat(perturbed).isEqualTo(expectedPerturbed);
+        for (int j = 0; j < x.size(); j++) {
+          double xj = x.get(j);
+          assertThat(test.yValue(xj)).isCloseTo(expected.yValue(xj), offset(TOL));
+          assertThat(test.firstDerivative(xj)).isCloseTo(expected.firstDerivative(xj), offset(TOL));
+          assertThat(test.yValueParameterSensitivity(xj).getSensitivity().equalWithTolerance(
+              expected.yValueParameterSensitivity(xj).getSensitivity(), TOL)).isTrue();
+          assertThat(perturbed.yValue(xj)).isCloseTo(expectedPerturbed.yValue(xj), offset(TOL));
+        }
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -7,6 +7,7 @@ package com.opengamma.strata.market.curve.interpolator;
 
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
 
@@ -74,6 +75,26 @@ public class NaturalSplineCurveInterpolatorTest {
     assertEquals(bci.parameterSensitivity(5.0).get(X_DATA.size() - 1), 1d, TOL);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_withNodeYValue() {
+    BoundCurveInterpolator bci = NATURAL_SPLINE_INTERPOLATOR.bind(X_DATA, Y_DATA, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    DoubleArray yBumped = Y_DATA.with(2, 3.5).with(4, 6.5);
+    BoundCurveInterpolator interpolatorOnly = bci.withNodeYValue(2, 3.5).get().withNodeYValue(4, 6.5).get();
+    BoundCurveInterpolator bumped = interpolatorOnly.bind(
+        FLAT_EXTRAPOLATOR.bind(X_DATA, yBumped, interpolatorOnly),
+        FLAT_EXTRAPOLATOR.bind(X_DATA, yBumped, interpolatorOnly));
+    BoundCurveInterpolator expected = NATURAL_SPLINE_INTERPOLATOR.bind(X_DATA, yBumped, FLAT_EXTRAPOLATOR, FLAT_EXTRAPOLATOR);
+    for (int i = 0; i < X_TEST.size(); i++) {
+      double x = X_TEST.get(i);
+      assertEquals(bumped.interpolate(x), expected.interpolate(x), TOL);
+      assertEquals(bumped.firstDerivative(x), expected.firstDerivative(x), TOL);
+      assertTrue(bumped.parameterSensitivity(x).equalWithTolerance(expected.parameterSensitivity(x), TOL));
+    }
+    for (int i = 0; i < X_DATA.size(); i++) {
+      assertEquals(bumped.interpolate(X_DATA.get(i)), yBumped.get(i), TOL);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(NATURAL_SPLINE_INTERPOLATOR);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.integration.TrapezoidIntegrator;
@@ -16,7 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
-import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * The trapezoid integration rule is a two-point Newton-Cotes formula that
@@ -47,12 +48,25 @@ public class ExtendedTrapezoidIntegrator1D extends Integrator1D<Double, Double>
     ArgChecker.notNull(f, "f");
     ArgChecker.notNull(lower, "lower");
     ArgChecker.notNull(upper, "upper");
+    return integratePrimitive(DoubleFunction1D.from(f), lower.doubleValue(), upper.doubleValue());
+  }
+
+  /**
+   * Integrates the function between the bounds, using primitive doubles.
+   * 
+   * @param f The function to integrate, not null
+   * @param lower The lower bound
+   * @param upper The upper bound
+   * @return The result of the integration
+   */
+  public double integratePrimitive(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
     try {
       if (lower < upper) {
-        return INTEGRATOR.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+        return INTEGRATOR.integrate(MAX_EVAL, f::applyAsDouble, lower, upper);
       }
       log.info("Upper bound was less than lower bound; swapping bounds and negating result");
-      return -INTEGRATOR.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), upper, lower);
+      return -INTEGRATOR.integrate(MAX_EVAL, f::applyAsDouble, upper, lower);
     } catch (MaxCountExceededException |
         MathIllegalArgumentException e) {
       throw new MathException(e);
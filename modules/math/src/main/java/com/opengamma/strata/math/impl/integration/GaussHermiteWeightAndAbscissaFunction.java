@@ -46,7 +46,7 @@ public class GaussHermiteWeightAndAbscissaFunction implements QuadratureWeightAn
 
     for (int i = 0; i < m; i++) {
       root = getInitialRootGuess(root, i, n, x);
-      root = ROOT_FINDER.getRoot(function, derivative, root);
+      root = ROOT_FINDER.getRootPrimitive(function, derivative, root);
       double dp = derivative.applyAsDouble(root);
       x[i] = -root;
       x[n - 1 - i] = root;
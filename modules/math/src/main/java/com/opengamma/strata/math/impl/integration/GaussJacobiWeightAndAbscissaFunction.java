@@ -75,7 +75,7 @@ public class GaussJacobiWeightAndAbscissaFunction implements QuadratureWeightAnd
     for (int i = 0; i < n; i++) {
       double d = 2 * n + _c;
       root = getInitialRootGuess(root, i, n, x);
-      root = ROOT_FINDER.getRoot(function, derivative, root);
+      root = ROOT_FINDER.getRootPrimitive(function, derivative, root);
       x[i] = root;
       w[i] =
           GAMMA_FUNCTION.applyAsDouble(_alpha + n) * GAMMA_FUNCTION.applyAsDouble(_beta + n) /
@@ -67,7 +67,7 @@ public class GaussLaguerreWeightAndAbscissaFunction implements QuadratureWeightA
     double[] w = new double[n];
     double root = 0;
     for (int i = 0; i < n; i++) {
-      root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(root, i, n, x));
+      root = ROOT_FINDER.getRootPrimitive(function, derivative, getInitialRootGuess(root, i, n, x));
       x[i] = root;
       w[i] =
           -GAMMA_FUNCTION.applyAsDouble(_alpha + n) / CombinatoricsUtils.factorialDouble(n) /
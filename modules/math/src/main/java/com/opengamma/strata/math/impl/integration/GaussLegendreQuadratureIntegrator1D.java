@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -63,4 +64,12 @@ public class GaussLegendreQuadratureIntegrator1D extends GaussianQuadratureInteg
     };
   }
 
+  @Override
+  public double integratePrimitive(DoubleUnaryOperator function, double lower, double upper) {
+    ArgChecker.notNull(function, "function");
+    double m = (upper - lower) / 2;
+    double c = (upper + lower) / 2;
+    return sumAtAbscissas(x -> m * function.applyAsDouble(m * x + c));
+  }
+
 }
@@ -6,9 +6,11 @@
 package com.opengamma.strata.math.impl.integration;
 
 import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 import com.opengamma.strata.math.impl.function.special.OrthogonalPolynomialFunctionGenerator;
 
 /**
@@ -61,6 +63,23 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
     return integrateFromPolyFunc(integral);
   }
 
+  /**
+   * Integrates the function between the bounds, using primitive doubles.
+   * <p>
+   * The default implementation adapts the function and uses {@link #getIntegralFunction(Function, Double, Double)}.
+   * Subclasses should override this method to avoid boxing.
+   * 
+   * @param function The function to integrate, not null
+   * @param lower The lower bound
+   * @param upper The upper bound
+   * @return The result of the integration
+   */
+  public double integratePrimitive(DoubleUnaryOperator function, double lower, double upper) {
+    ArgChecker.notNull(function, "function");
+    Function<Double, Double> boxed = function::applyAsDouble;
+    return sumAtAbscissas(DoubleFunction1D.from(getIntegralFunction(boxed, lower, upper)));
+  }
+
   /**
    * If a function $g(x)$ can be written as $W(x)f(x)$, where the weight function $W(x)$ corresponds
    * to one of the Gaussian quadrature forms, then we may approximate the integral of $g(x)$ over
@@ -73,13 +92,27 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
    * @return The integral 
    */
   public double integrateFromPolyFunc(Function<Double, Double> polyFunction) {
+    ArgChecker.notNull(polyFunction, "polyFunction");
+    return sumAtAbscissas(DoubleFunction1D.from(polyFunction));
+  }
+
+  /**
+   * Integrates the polynomial part of a function, using primitive doubles.
+   * <p>
+   * This is the primitive form of {@link #integrateFromPolyFunc(Function)}.
+   * 
+   * @param polyFunction The function $f(x)$ rather than the full function $g(x) = W(x)f(x)$
+   *   This should be well approximated by a polynomial.
+   * @return The integral 
+   */
+  protected double sumAtAbscissas(DoubleUnaryOperator polyFunction) {
     ArgChecker.notNull(polyFunction, "polyFunction");
     double[] abscissas = quadrature.getAbscissas();
     int n = abscissas.length;
     double[] weights = quadrature.getWeights();
     double sum = 0;
     for (int i = 0; i < n; i++) {
-      sum += polyFunction.apply(abscissas[i]) * weights[i];
+      sum += polyFunction.applyAsDouble(abscissas[i]) * weights[i];
     }
     return sum;
   }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.integration.SimpsonIntegrator;
@@ -16,7 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
-import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Simpson's integration rule is a Newton-Cotes formula that approximates the
@@ -55,12 +56,25 @@ public class SimpsonIntegrator1D extends Integrator1D<Double, Double> {
     ArgChecker.notNull(f, "function");
     ArgChecker.notNull(lower, "lower bound");
     ArgChecker.notNull(upper, "upper bound");
+    return integratePrimitive(DoubleFunction1D.from(f), lower.doubleValue(), upper.doubleValue());
+  }
+
+  /**
+   * Integrates the function between the bounds, using primitive doubles.
+   * 
+   * @param f The function to integrate, not null
+   * @param lower The lower bound
+   * @param upper The upper bound
+   * @return The result of the integration
+   */
+  public double integratePrimitive(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "function");
     try {
       if (lower < upper) {
-        return integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+        return integrator.integrate(MAX_EVAL, f::applyAsDouble, lower, upper);
       }
       log.info("Upper bound was less than lower bound; swapping bounds and negating result");
-      return -integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), upper, lower);
+      return -integrator.integrate(MAX_EVAL, f::applyAsDouble, upper, lower);
     } catch (NumberIsTooSmallException | NumberIsTooLargeException e) {
       throw new MathException(e);
     }
@@ -5,9 +5,12 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Finds a single root of a function using the bisection method.
@@ -48,9 +51,21 @@ public class BisectionSingleRootFinder extends RealSingleRootFinder {
    */
   @Override
   public Double getRoot(Function<Double, Double> function, Double x1, Double x2) {
-    checkInputs(function, x1, x2);
-    double y1 = function.apply(x1);
-    double y = function.apply(x2);
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(x1, "x1");
+    ArgChecker.notNull(x2, "x2");
+    return getRootPrimitive(DoubleFunction1D.from(function), x1.doubleValue(), x2.doubleValue());
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws MathException If the root is not found to the required accuracy in 100 attempts
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    checkInputsPrimitive(function, x1, x2);
+    double y1 = function.applyAsDouble(x1);
+    double y = function.applyAsDouble(x2);
     if (Math.abs(y) < _accuracy) {
       return x2;
     }
@@ -68,7 +83,7 @@ public class BisectionSingleRootFinder extends RealSingleRootFinder {
     for (int i = 0; i < MAX_ITER; i++) {
       dx *= 0.5;
       xMid = xRoot + dx;
-      y = function.apply(xMid);
+      y = function.applyAsDouble(xMid);
       if (y <= 0) {
         xRoot = xMid;
       }
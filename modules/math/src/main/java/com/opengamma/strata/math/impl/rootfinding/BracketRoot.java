@@ -5,10 +5,12 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Class that brackets single root of a function. For a 1-D function ({@link Function}) $f(x)$,
@@ -18,6 +20,8 @@ import com.opengamma.strata.math.MathException;
  * $|f(x_1)| < |f(x_2)|$, in which case the lower value $x_1$ is shifted in the negative $x$ direction, or
  * the upper value $x_2$ is shifted in the positive $x$ direction. The amount by which to shift is the difference between
  * the two $x$ values multiplied by a constant ratio (1.6). If a root is not bracketed after 50 attempts, an exception is thrown.
+ * <p>
+ * The methods taking {@link DoubleUnaryOperator} avoid boxing on each function evaluation.
  */
 public class BracketRoot {
 
@@ -34,13 +38,27 @@ public class BracketRoot {
    * @throws MathException If a root is not bracketed in 50 attempts.
    */
   public double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper) {
+    ArgChecker.notNull(f, "f");
+    return getBracketedPointsPrimitive(DoubleFunction1D.from(f), xLower, xUpper);
+  }
+
+  /**
+   * Gets the bracketed roots, using primitive doubles.
+   * 
+   * @param f The function, not null
+   * @param xLower Initial value of lower bracket
+   * @param xUpper Initial value of upper bracket
+   * @return The bracketed points as an array, where the first element is the lower bracket and the second the upper bracket.
+   * @throws MathException If a root is not bracketed in 50 attempts.
+   */
+  public double[] getBracketedPointsPrimitive(DoubleUnaryOperator f, double xLower, double xUpper) {
     ArgChecker.notNull(f, "f");
     double x1 = xLower;
     double x2 = xUpper;
     double f1 = 0;
     double f2 = 0;
-    f1 = f.apply(x1);
-    f2 = f.apply(x2);
+    f1 = f.applyAsDouble(x1);
+    f2 = f.applyAsDouble(x2);
     if (Double.isNaN(f1)) {
       throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
     }
@@ -54,13 +72,13 @@ public class BracketRoot {
       }
       if (Math.abs(f1) < Math.abs(f2)) {
         x1 += RATIO * (x1 - x2);
-        f1 = f.apply(x1);
+        f1 = f.applyAsDouble(x1);
         if (Double.isNaN(f1)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
         }
       } else {
         x2 += RATIO * (x2 - x1);
-        f2 = f.apply(x2);
+        f2 = f.applyAsDouble(x2);
         if (Double.isNaN(f2)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x2 + " f(x) = " + f2);
         }
@@ -81,6 +99,22 @@ public class BracketRoot {
    * @throws MathException If a root is not bracketed in 50 attempts.
    */
   public double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper, double minX, double maxX) {
+    ArgChecker.notNull(f, "f");
+    return getBracketedPointsPrimitive(DoubleFunction1D.from(f), xLower, xUpper, minX, maxX);
+  }
+
+  /**
+   * Gets the bracketed roots, using primitive doubles.
+   * 
+   * @param f The function, not null
+   * @param xLower Initial value of lower bracket
+   * @param xUpper Initial value of upper bracket
+   * @param minX  the minimum x
+   * @param maxX  the maximum x
+   * @return The bracketed points as an array, where the first element is the lower bracket and the second the upper bracket.
+   * @throws MathException If a root is not bracketed in 50 attempts.
+   */
+  public double[] getBracketedPointsPrimitive(DoubleUnaryOperator f, double xLower, double xUpper, double minX, double maxX) {
     ArgChecker.notNull(f, "f");
     ArgChecker.isTrue(xLower >= minX, "xLower < minX");
     ArgChecker.isTrue(xUpper <= maxX, "xUpper < maxX");
@@ -90,8 +124,8 @@ public class BracketRoot {
     double f2 = 0;
     boolean lowerLimitReached = false;
     boolean upperLimitReached = false;
-    f1 = f.apply(x1);
-    f2 = f.apply(x2);
+    f1 = f.applyAsDouble(x1);
+    f2 = f.applyAsDouble(x2);
     if (Double.isNaN(f1)) {
       throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
     }
@@ -111,7 +145,7 @@ public class BracketRoot {
           x1 = minX;
           lowerLimitReached = true;
         }
-        f1 = f.apply(x1);
+        f1 = f.applyAsDouble(x1);
         if (Double.isNaN(f1)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
         }
@@ -121,7 +155,7 @@ public class BracketRoot {
           x2 = maxX;
           upperLimitReached = true;
         }
-        f2 = f.apply(x2);
+        f2 = f.applyAsDouble(x2);
         if (Double.isNaN(f2)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x2 + " f(x) = " + f2);
         }
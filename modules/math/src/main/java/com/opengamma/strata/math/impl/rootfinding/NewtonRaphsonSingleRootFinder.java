@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -73,6 +74,43 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
     return getRoot(DoubleFunction1D.from(function), x1, x2);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * If the function is a {@link DoubleFunction1D}, the {@link DoubleFunction1D#derivative()} method is used.
+   * @throws MathException If the root is not found in 1000 attempts; if the Newton
+   *   step takes the estimate for the root outside the original bounds.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    DoubleFunction1D f = toFunction1D(function);
+    return getRootPrimitive(f, f.derivative(), x1, x2);
+  }
+
+  /**
+   * Uses an initial guess for the root, rather than bounds, using primitive doubles.
+   * <p>
+   * If the function is a {@link DoubleFunction1D}, the {@link DoubleFunction1D#derivative()} method is used.
+   * 
+   * @param function The function, not null
+   * @param x The initial guess for the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, double x) {
+    DoubleFunction1D f = toFunction1D(function);
+    return getRootPrimitive(f, f.derivative(), x);
+  }
+
+  // obtains the function in a form that can be differentiated
+  private static DoubleFunction1D toFunction1D(DoubleUnaryOperator function) {
+    ArgChecker.notNull(function, "function");
+    if (function instanceof DoubleFunction1D) {
+      return (DoubleFunction1D) function;
+    }
+    return function::applyAsDouble;
+  }
+
   //-------------------------------------------------------------------------
   public Double getRoot(Function<Double, Double> function, Double x) {
     ArgChecker.notNull(function, "function");
@@ -150,7 +188,23 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
    *   step takes the estimate for the root outside the original bounds.
    */
   public Double getRoot(DoubleFunction1D function, DoubleFunction1D derivative, Double x1, Double x2) {
-    checkInputs(function, x1, x2);
+    ArgChecker.notNull(x1, "x1");
+    ArgChecker.notNull(x2, "x2");
+    return getRootPrimitive(function, derivative, x1.doubleValue(), x2.doubleValue());
+  }
+
+  /**
+   * Uses the function and its derivative, using primitive doubles.
+   * @param function The function, not null
+   * @param derivative The derivative, not null
+   * @param x1 The first bound of the root
+   * @param x2 The second bound of the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts; if the Newton
+   *   step takes the estimate for the root outside the original bounds.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x1, double x2) {
+    checkInputsPrimitive(function, x1, x2);
     ArgChecker.notNull(derivative, "derivative function");
     double y1 = function.applyAsDouble(x1);
     if (Math.abs(y1) < _accuracy) {
@@ -195,9 +249,22 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
    * @throws MathException If the root is not found in 1000 attempts.
    */
   public Double getRoot(DoubleFunction1D function, DoubleFunction1D derivative, Double x) {
+    ArgChecker.notNull(x, "x");
+    return getRootPrimitive(function, derivative, x.doubleValue());
+  }
+
+  /**
+   * Uses the function and its derivative, using primitive doubles.
+   * This method uses an initial guess for the root, rather than bounds.
+   * @param function The function, not null
+   * @param derivative The derivative, not null
+   * @param x The initial guess for the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x) {
     ArgChecker.notNull(function, "function");
     ArgChecker.notNull(derivative, "derivative function");
-    ArgChecker.notNull(x, "x");
     double root = x;
     for (int i = 0; i < MAX_ITER; i++) {
       double y = function.applyAsDouble(root);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -12,6 +13,9 @@ import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Parent class for root-finders that find a single real root $x$ for a function $f(x)$.  
+ * <p>
+ * The methods taking {@link DoubleUnaryOperator} operate on primitive doubles.
+ * They avoid boxing on each function evaluation and should be preferred when solving repeatedly.
  */
 //CSOFF: JavadocMethod
 public abstract class RealSingleRootFinder implements SingleRootFinder<Double, Double> {
@@ -25,6 +29,24 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
 
   public abstract Double getRoot(Function<Double, Double> function, Double x1, Double x2);
 
+  /**
+   * Finds the root of the function between the bounds, using primitive doubles.
+   * <p>
+   * The default implementation adapts the function and calls {@link #getRoot(Function, Double, Double)}.
+   * Subclasses should override this method to avoid boxing.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound
+   * @param x2 The second bound
+   * @return The root
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    Function<Double, Double> boxed = function::applyAsDouble;
+    return getRoot(boxed, x1, x2);
+  }
+
   /**
    * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
    * 
@@ -57,4 +79,18 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
   }
 
+  /**
+   * Tests that the function is not null, and that a root is bracketed by the bounding values.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound
+   * @param x2 The second bound, must be greater than x1
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  protected void checkInputsPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.isTrue(x1 <= x2, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
+  }
+
 }
@@ -5,15 +5,16 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
-import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.solvers.RiddersSolver;
 import org.apache.commons.math3.exception.NoBracketingException;
 import org.apache.commons.math3.exception.TooManyEvaluationsException;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
-import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
+import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Finds a single root of a function using Ridder's method. This class is a wrapper for the
@@ -54,10 +55,22 @@ public class RidderSingleRootFinder extends RealSingleRootFinder {
    */
   @Override
   public Double getRoot(Function<Double, Double> function, Double xLow, Double xHigh) {
-    checkInputs(function, xLow, xHigh);
-    UnivariateFunction wrapped = CommonsMathWrapper.wrapUnivariate(function);
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(xLow, "xLow");
+    ArgChecker.notNull(xHigh, "xHigh");
+    return getRootPrimitive(DoubleFunction1D.from(function), xLow.doubleValue(), xHigh.doubleValue());
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws MathException If the Commons method could not evaluate the function;
+   *   if the Commons method could not converge.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double xLow, double xHigh) {
+    checkInputsPrimitive(function, xLow, xHigh);
     try {
-      return _ridder.solve(MAX_ITER, wrapped, xLow, xHigh);
+      return _ridder.solve(MAX_ITER, function::applyAsDouble, xLow, xHigh);
     } catch (TooManyEvaluationsException | NoBracketingException e) {
       throw new MathException(e);
     }
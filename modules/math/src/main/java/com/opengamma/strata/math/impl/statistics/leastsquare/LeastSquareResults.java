@@ -22,9 +22,10 @@ public class LeastSquareResults {
   private final DoubleArray _parameters;
   private final DoubleMatrix _covariance;
   private final DoubleMatrix _inverseJacobian;
+  private final int _iterations;
 
   public LeastSquareResults(LeastSquareResults from) {
-    this(from._chiSq, from._parameters, from._covariance, from._inverseJacobian);
+    this(from._chiSq, from._parameters, from._covariance, from._inverseJacobian, from._iterations);
   }
 
   public LeastSquareResults(double chiSq, DoubleArray parameters, DoubleMatrix covariance) {
@@ -37,7 +38,18 @@ public class LeastSquareResults {
       DoubleMatrix covariance,
       DoubleMatrix inverseJacobian) {
 
+    this(chiSq, parameters, covariance, inverseJacobian, 0);
+  }
+
+  public LeastSquareResults(
+      double chiSq,
+      DoubleArray parameters,
+      DoubleMatrix covariance,
+      DoubleMatrix inverseJacobian,
+      int iterations) {
+
     ArgChecker.isTrue(chiSq >= 0, "chi square < 0");
+    ArgChecker.notNegative(iterations, "iterations");
     ArgChecker.notNull(parameters, "parameters");
     ArgChecker.notNull(covariance, "covariance");
     int n = parameters.size();
@@ -48,6 +60,7 @@ public class LeastSquareResults {
     _parameters = parameters;
     _covariance = covariance;
     _inverseJacobian = inverseJacobian;
+    _iterations = iterations;
   }
 
   /**
@@ -91,6 +104,16 @@ public class LeastSquareResults {
     return _inverseJacobian;
   }
 
+  /**
+   * Gets the number of iterations taken by the solver to find the fit.
+   * <p>
+   * This is zero if the number of iterations is not known.
+   * @return the number of iterations
+   */
+  public int getIterations() {
+    return _iterations;
+  }
+
   @Override
   public int hashCode() {
     int prime = 31;
@@ -131,7 +154,7 @@ public class LeastSquareResults {
   @Override
   public String toString() {
     return "LeastSquareResults [chiSq=" + _chiSq + ", fit parameters=" + _parameters.toString() +
-        ", covariance=" + _covariance.toString() + "]";
+        ", covariance=" + _covariance.toString() + ", iterations=" + _iterations + "]";
   }
 
 }
@@ -112,7 +112,7 @@ public class LeastSquareResultsWithTransform extends LeastSquareResults {
   public String toString() {
     return "LeastSquareResults [chiSq=" + getChiSq() + ", fit parameters=" + getFitParameters().toString() +
         ", model parameters= " + getModelParameters().toString() + ", covariance="
-        + getCovariance().toString() + "]";
+        + getCovariance().toString() + ", iterations=" + getIterations() + "]";
   }
 
 }
@@ -380,6 +380,36 @@ public class NonLinearLeastSquare {
       Function<DoubleArray, Boolean> constraints,
       DoubleArray maxJumps) {
 
+    return solve(observedValues, sigma, func, jac, startPos, constraints, maxJumps, true);
+  }
+
+  /**
+   * Use this when the model is given as a function of its parameters only (i.e. a function that takes a set of
+   * parameters and return a set of model values,
+   * so the measurement points are already known to the function), and analytic parameter sensitivity is available
+   * @param observedValues Set of measurement values
+   * @param sigma Set of measurement errors
+   * @param func The model as a function of its parameters only
+   * @param jac The model sensitivity to its parameters (i.e. the Jacobian matrix) as a function of its parameters only
+   * @param startPos Initial value of the parameters
+   * @param constraints A function that returns true if the trial point is within the constraints of the model
+   * @param maxJumps A vector containing the maximum absolute allowed step in a particular direction in each iteration.
+   *   Can be null, in which case on constant
+   *   on the step size is applied.
+   * @param computeSensitivity true to compute the sensitivity of the fitting parameters to the data.
+   *   If false, the inverse Jacobian is not computed and is not available in the results.
+   * @return value of the fitted parameters
+   */
+  public LeastSquareResults solve(
+      DoubleArray observedValues,
+      DoubleArray sigma,
+      Function<DoubleArray, DoubleArray> func,
+      Function<DoubleArray, DoubleMatrix> jac,
+      DoubleArray startPos,
+      Function<DoubleArray, Boolean> constraints,
+      DoubleArray maxJumps,
+      boolean computeSensitivity) {
+
     ArgChecker.notNull(observedValues, "observedValues");
     ArgChecker.notNull(sigma, " sigma");
     ArgChecker.notNull(func, " func");
@@ -406,7 +436,7 @@ public class NonLinearLeastSquare {
 
     // If we start at the solution we are done
     if (oldChiSqr == 0.0) {
-      return finish(oldChiSqr, jacobian, theta, sigma);
+      return finish(oldChiSqr, jacobian, theta, sigma, 0, computeSensitivity);
     }
 
     DoubleArray beta = getChiSqrGrad(error, jacobian);
@@ -443,7 +473,7 @@ public class NonLinearLeastSquare {
           if (lambda > 0.0) {
             decmp = _decomposition.apply(alpha0);
           }
-          return finish(alpha0, decmp, newChiSqr, jacobian, trialTheta, sigma);
+          return finish(alpha0, decmp, newChiSqr, jacobian, trialTheta, sigma, count + 1, computeSensitivity);
         }
 
         SVDecompositionCommons svd = (SVDecompositionCommons) DecompositionFactory.SV_COMMONS;
@@ -522,7 +552,7 @@ public class NonLinearLeastSquare {
             if (counter > 10 || Math.abs(newChiSqr - oldChiSqr) / (1 + oldChiSqr) < _eps) {
               LOGGER.warn("Saddle point detected, but no improvement to chi^2 possible by moving away. " +
                   "It is recommended that a different starting point is used.");
-              return finish(newAlpha, decmp, oldChiSqr, jacobian, theta, sigma);
+              return finish(newAlpha, decmp, oldChiSqr, jacobian, theta, sigma, count + 1, computeSensitivity);
             }
             scale /= 2.0;
             deltaTheta = (DoubleArray) _algebra.scale(direction, scale);
@@ -534,7 +564,7 @@ public class NonLinearLeastSquare {
         } else {
           // this should be the normal finish - i.e. no improvement in chiSqr and at a true minimum (although there is
           // no guarantee it is not a local minimum)
-          return finish(newAlpha, decmp, newChiSqr, jacobian, trialTheta, sigma);
+          return finish(newAlpha, decmp, newChiSqr, jacobian, trialTheta, sigma, count + 1, computeSensitivity);
         }
       }
 
@@ -603,11 +633,13 @@ public class NonLinearLeastSquare {
       double newChiSqr,
       DoubleMatrix jacobian,
       DoubleArray newTheta,
-      DoubleArray sigma) {
+      DoubleArray sigma,
+      int iterations,
+      boolean computeSensitivity) {
 
     DoubleMatrix alpha = getModifiedCurvatureMatrix(jacobian, 0.0);
     DecompositionResult decmp = _decomposition.apply(alpha);
-    return finish(alpha, decmp, newChiSqr, jacobian, newTheta, sigma);
+    return finish(alpha, decmp, newChiSqr, jacobian, newTheta, sigma, iterations, computeSensitivity);
   }
 
   private LeastSquareResults finish(
@@ -616,12 +648,17 @@ public class NonLinearLeastSquare {
       double newChiSqr,
       DoubleMatrix jacobian,
       DoubleArray newTheta,
-      DoubleArray sigma) {
+      DoubleArray sigma,
+      int iterations,
+      boolean computeSensitivity) {
 
     DoubleMatrix covariance = decmp.solve(DoubleMatrix.identity(alpha.rowCount()));
+    if (!computeSensitivity) {
+      return new LeastSquareResults(newChiSqr, newTheta, covariance, null, iterations);
+    }
     DoubleMatrix bT = getBTranspose(jacobian, sigma);
     DoubleMatrix inverseJacobian = decmp.solve(bT);
-    return new LeastSquareResults(newChiSqr, newTheta, covariance, inverseJacobian);
+    return new LeastSquareResults(newChiSqr, newTheta, covariance, inverseJacobian, iterations);
   }
 
   private DoubleArray getError(final Function<DoubleArray, DoubleArray> func, final DoubleArray observedValues, final DoubleArray sigma, final DoubleArray theta) {
@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.integration;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -86,6 +87,25 @@ public class GaussianQuadratureIntegrator1DTest {
     assertEquals(F1.apply(upper) - F1.apply(lower), integrator.integrate(DF1, lower, upper), EPS);
   }
 
+  @Test
+  public void testPrimitive() {
+    DoubleUnaryOperator df1 = x -> x * x * x * (x - 4);
+    double lower = -0.56;
+    double upper = 1.4;
+    GaussLegendreQuadratureIntegrator1D legendre = new GaussLegendreQuadratureIntegrator1D(6);
+    assertEquals(legendre.integrate(DF1, lower, upper), legendre.integratePrimitive(df1, lower, upper), 1e-15);
+    GaussJacobiQuadratureIntegrator1D jacobi = new GaussJacobiQuadratureIntegrator1D(7);
+    assertEquals(jacobi.integrate(DF1, lower, upper), jacobi.integratePrimitive(df1, lower, upper), 0d);
+    RungeKuttaIntegrator1D rungeKutta = new RungeKuttaIntegrator1D();
+    assertEquals(rungeKutta.integrate(DF1, lower, upper), rungeKutta.integratePrimitive(df1, lower, upper), 0d);
+    SimpsonIntegrator1D simpson = new SimpsonIntegrator1D();
+    assertEquals(simpson.integrate(DF1, upper, lower), simpson.integratePrimitive(df1, upper, lower), 0d);
+    RombergIntegrator1D romberg = new RombergIntegrator1D();
+    assertEquals(romberg.integrate(DF1, lower, upper), romberg.integratePrimitive(df1, lower, upper), 0d);
+    ExtendedTrapezoidIntegrator1D trapezoid = new ExtendedTrapezoidIntegrator1D();
+    assertEquals(trapezoid.integrate(DF1, lower, upper), trapezoid.integratePrimitive(df1, lower, upper), 0d);
+  }
+
   @Test
   public void testGaussLaguerre() {
     final double upper = Double.POSITIVE_INFINITY;
@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.rootfinding;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -48,6 +49,8 @@ public class NewtonRaphsonSingleRootFinderTest {
     }
 
   };
+  private static final DoubleUnaryOperator F3 = x -> x * x * x - 6 * x * x + 11 * x - 106;
+  private static final DoubleUnaryOperator DF3 = x -> 3 * x * x - 12 * x + 11;
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
   private static final double X1 = 4;
   private static final double X2 = 10;
@@ -192,4 +195,15 @@ public class NewtonRaphsonSingleRootFinderTest {
     assertEquals(ROOT_FINDER.getRoot(F2, X), ROOT, EPS);
     assertEquals(ROOT_FINDER.getRoot(F2, DF2, X), ROOT, EPS);
   }
+
+  @Test
+  public void test_primitive() {
+    assertEquals(ROOT_FINDER.getRootPrimitive(F3, DF3, ROOT, X2), ROOT, 0);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F3, X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F3, DF3, X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F3, X), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F3, DF3, X), ROOT, EPS);
+    // derivative of DoubleFunction1D is used
+    assertEquals(ROOT_FINDER.getRootPrimitive(F1, X), (double) ROOT_FINDER.getRoot(F1, DF1, (Double) X), 0);
+  }
 }
@@ -92,6 +92,15 @@ public class LeastSquareResultsTest {
         assertEquals(INV_JAC.get(i, j), res.getFittingParameterSensitivityToData().get(i, j), 0);
       }
     }
+    assertEquals(0, res.getIterations());
+    res = new LeastSquareResults(chiSq, PARAMS, COVAR, INV_JAC, 7);
+    assertEquals(7, res.getIterations());
+    assertEquals(7, new LeastSquareResults(res).getIterations());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNegativeIterations() {
+    new LeastSquareResults(1, PARAMS, COVAR, INV_JAC, -1);
   }
 
   @Test
@@ -132,6 +141,10 @@ public class LeastSquareResultsTest {
     ls1 = new LeastSquareResults(1, PARAMS, COVAR, INV_JAC);
     ls2 = new LeastSquareResults(1, PARAMS, COVAR, COVAR);
     assertFalse(ls1.equals(ls2));
+    // the number of iterations is not part of the fit
+    ls2 = new LeastSquareResults(1, PARAMS, COVAR, INV_JAC, 3);
+    assertEquals(ls1, ls2);
+    assertEquals(ls1.hashCode(), ls2.hashCode());
   }
 
 }
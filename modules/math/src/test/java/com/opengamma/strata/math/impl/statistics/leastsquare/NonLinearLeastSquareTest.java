@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.statistics.leastsquare;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -124,6 +125,7 @@ public class NonLinearLeastSquareTest {
     final DoubleArray start = DoubleArray.of(1.2, 0.8, -0.2, -0.3);
     LeastSquareResults result = LS.solve(X, Y, SIGMA, PARAM_FUNCTION, PARAM_GRAD, start);
     assertEquals(0.0, result.getChiSq(), 1e-8);
+    assertTrue(result.getIterations() > 0);
     assertEquals(1.0, result.getFitParameters().get(0), 1e-8);
     assertEquals(1.0, result.getFitParameters().get(1), 1e-8);
     assertEquals(0.0, result.getFitParameters().get(2), 1e-8);
@@ -142,6 +144,17 @@ public class NonLinearLeastSquareTest {
     assertEquals(0.0, result.getFitParameters().get(3), 1e-8);
   }
 
+  public void solveWithoutSensitivityTest() {
+    final DoubleArray start = DoubleArray.of(1.2, 0.8, -0.2, -0.3);
+    final LeastSquareResults expected = LS.solve(Y, SIGMA, FUNCTION, GRAD, start, null);
+    final LeastSquareResults result = LS.solve(Y, SIGMA, FUNCTION, GRAD, start, x -> true, null, false);
+    assertEquals(expected.getChiSq(), result.getChiSq(), 0);
+    assertEquals(expected.getFitParameters(), result.getFitParameters());
+    assertEquals(expected.getCovariance(), result.getCovariance());
+    assertEquals(expected.getIterations(), result.getIterations());
+    assertThrows(() -> result.getFittingParameterSensitivityToData(), UnsupportedOperationException.class);
+  }
+
   public void solveExactTest2() {
     final DoubleArray start = DoubleArray.of(0.2, 1.8, 0.2, 0.3);
     final LeastSquareResults result = LS.solve(Y, SIGMA, FUNCTION, start);
@@ -19,6 +19,8 @@ import com.opengamma.strata.measure.bond.FixedCouponBondTradeCalculationFunction
 import com.opengamma.strata.measure.capfloor.IborCapFloorTradeCalculationFunction;
 import com.opengamma.strata.measure.credit.CdsIndexTradeCalculationFunction;
 import com.opengamma.strata.measure.credit.CdsTradeCalculationFunction;
+import com.opengamma.strata.measure.credit.CreditCurveGroupMarketDataFunction;
+import com.opengamma.strata.measure.credit.LegalEntitySurvivalProbabilitiesMarketDataFunction;
 import com.opengamma.strata.measure.curve.CurveGroupMarketDataFunction;
 import com.opengamma.strata.measure.curve.CurveInputsMarketDataFunction;
 import com.opengamma.strata.measure.curve.CurveMarketDataFunction;
@@ -146,6 +148,8 @@ public final class StandardComponents {
    *  <li>Curve groups from par rates
    *  <li>Curves from curve groups
    *  <li>Discount factors and index rates from curves
+   *  <li>Credit curve groups from CDS quotes
+   *  <li>Survival probabilities from credit curve groups
    * </ul>
    *
    * @return the standard market data functions
@@ -155,7 +159,9 @@ public final class StandardComponents {
         new CurveMarketDataFunction(),
         new CurveGroupMarketDataFunction(),
         new CurveInputsMarketDataFunction(),
-        new FxRateMarketDataFunction());
+        new FxRateMarketDataFunction(),
+        new CreditCurveGroupMarketDataFunction(),
+        new LegalEntitySurvivalProbabilitiesMarketDataFunction());
   }
 
   /**
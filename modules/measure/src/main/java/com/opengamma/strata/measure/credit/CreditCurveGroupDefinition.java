@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+
+/**
+ * The definition of a group of ISDA compliant credit curves.
+ * <p>
+ * This defines the credit curves of many legal entities that are calibrated together,
+ * for example the constituents of a CDS index.
+ * The discount curves and the recovery rate curves used in the calibration are identified by {@link CurveId}.
+ * <p>
+ * The definition is stored in {@code MarketDataConfig} under the group name,
+ * and is used by {@link CreditCurveGroupMarketDataFunction}.
+ */
+@BeanDefinition(builderScope = "private")
+public final class CreditCurveGroupDefinition
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The name of the credit curve group.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurveGroupName name;
+  /**
+   * The credit curve definitions, one for each legal entity and currency.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<IsdaCreditCurveDefinition> curveDefinitions;
+  /**
+   * The discount curve identifiers, keyed by currency.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<Currency, CurveId> discountCurveIds;
+  /**
+   * The recovery rate curve identifiers, keyed by legal entity.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<StandardId, CurveId> recoveryRateCurveIds;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param name  the name of the credit curve group
+   * @param curveDefinitions  the credit curve definitions
+   * @param discountCurveIds  the discount curve identifiers, keyed by currency
+   * @param recoveryRateCurveIds  the recovery rate curve identifiers, keyed by legal entity
+   * @return the definition
+   */
+  public static CreditCurveGroupDefinition of(
+      CurveGroupName name,
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      Map<Currency, CurveId> discountCurveIds,
+      Map<StandardId, CurveId> recoveryRateCurveIds) {
+
+    return new CreditCurveGroupDefinition(name, curveDefinitions, discountCurveIds, recoveryRateCurveIds);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the identifiers of the quotes of the curve nodes.
+   *
+   * @return the quote identifiers
+   */
+  public ImmutableSet<ObservableId> getNodeObservableIds() {
+    return curveDefinitions.stream()
+        .flatMap(defn -> defn.getCurveNodes().stream())
+        .filter(node -> node instanceof CdsIsdaCreditCurveNode)
+        .map(node -> ((CdsIsdaCreditCurveNode) node).getObservableId())
+        .collect(toImmutableSet());
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code CreditCurveGroupDefinition}.
+   * @return the meta-bean, not null
+   */
+  public static CreditCurveGroupDefinition.Meta meta() {
+    return CreditCurveGroupDefinition.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(CreditCurveGroupDefinition.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private CreditCurveGroupDefinition(
+      CurveGroupName name,
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      Map<Currency, CurveId> discountCurveIds,
+      Map<StandardId, CurveId> recoveryRateCurveIds) {
+    JodaBeanUtils.notNull(name, "name");
+    JodaBeanUtils.notNull(curveDefinitions, "curveDefinitions");
+    JodaBeanUtils.notNull(discountCurveIds, "discountCurveIds");
+    JodaBeanUtils.notNull(recoveryRateCurveIds, "recoveryRateCurveIds");
+    this.name = name;
+    this.curveDefinitions = ImmutableList.copyOf(curveDefinitions);
+    this.discountCurveIds = ImmutableMap.copyOf(discountCurveIds);
+    this.recoveryRateCurveIds = ImmutableMap.copyOf(recoveryRateCurveIds);
+  }
+
+  @Override
+  public CreditCurveGroupDefinition.Meta metaBean() {
+    return CreditCurveGroupDefinition.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the name of the credit curve group.
+   * @return the value of the property, not null
+   */
+  public CurveGroupName getName() {
+    return name;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the credit curve definitions, one for each legal entity and currency.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<IsdaCreditCurveDefinition> getCurveDefinitions() {
+    return curveDefinitions;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the discount curve identifiers, keyed by currency.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<Currency, CurveId> getDiscountCurveIds() {
+    return discountCurveIds;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the recovery rate curve identifiers, keyed by legal entity.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<StandardId, CurveId> getRecoveryRateCurveIds() {
+    return recoveryRateCurveIds;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CreditCurveGroupDefinition other = (CreditCurveGroupDefinition) obj;
+      return JodaBeanUtils.equal(name, other.name) &&
+          JodaBeanUtils.equal(curveDefinitions, other.curveDefinitions) &&
+          JodaBeanUtils.equal(discountCurveIds, other.discountCurveIds) &&
+          JodaBeanUtils.equal(recoveryRateCurveIds, other.recoveryRateCurveIds);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(name);
+    hash = hash * 31 + JodaBeanUtils.hashCode(curveDefinitions);
+    hash = hash * 31 + JodaBeanUtils.hashCode(discountCurveIds);
+    hash = hash * 31 + JodaBeanUtils.hashCode(recoveryRateCurveIds);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("CreditCurveGroupDefinition{");
+    buf.append("name").append('=').append(name).append(',').append(' ');
+    buf.append("curveDefinitions").append('=').append(curveDefinitions).append(',').append(' ');
+    buf.append("discountCurveIds").append('=').append(discountCurveIds).append(',').append(' ');
+    buf.append("recoveryRateCurveIds").append('=').append(JodaBeanUtils.toString(recoveryRateCurveIds));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code CreditCurveGroupDefinition}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code name} property.
+     */
+    private final MetaProperty<CurveGroupName> name = DirectMetaProperty.ofImmutable(
+        this, "name", CreditCurveGroupDefinition.class, CurveGroupName.class);
+    /**
+     * The meta-property for the {@code curveDefinitions} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<IsdaCreditCurveDefinition>> curveDefinitions = DirectMetaProperty.ofImmutable(
+        this, "curveDefinitions", CreditCurveGroupDefinition.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code discountCurveIds} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<Currency, CurveId>> discountCurveIds = DirectMetaProperty.ofImmutable(
+        this, "discountCurveIds", CreditCurveGroupDefinition.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-property for the {@code recoveryRateCurveIds} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<StandardId, CurveId>> recoveryRateCurveIds = DirectMetaProperty.ofImmutable(
+        this, "recoveryRateCurveIds", CreditCurveGroupDefinition.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "name",
+        "curveDefinitions",
+        "discountCurveIds",
+        "recoveryRateCurveIds");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 3373707:  // name
+          return name;
+        case -336166639:  // curveDefinitions
+          return curveDefinitions;
+        case 1522650026:  // discountCurveIds
+          return discountCurveIds;
+        case 1041150078:  // recoveryRateCurveIds
+          return recoveryRateCurveIds;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends CreditCurveGroupDefinition> builder() {
+      return new CreditCurveGroupDefinition.Builder();
+    }
+
+    @Override
+    public Class<? extends CreditCurveGroupDefinition> beanType() {
+      return CreditCurveGroupDefinition.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code name} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurveGroupName> name() {
+      return name;
+    }
+
+    /**
+     * The meta-property for the {@code curveDefinitions} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<IsdaCreditCurveDefinition>> curveDefinitions() {
+      return curveDefinitions;
+    }
+
+    /**
+     * The meta-property for the {@code discountCurveIds} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<Currency, CurveId>> discountCurveIds() {
+      return discountCurveIds;
+    }
+
+    /**
+     * The meta-property for the {@code recoveryRateCurveIds} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<StandardId, CurveId>> recoveryRateCurveIds() {
+      return recoveryRateCurveIds;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 3373707:  // name
+          return ((CreditCurveGroupDefinition) bean).getName();
+        case -336166639:  // curveDefinitions
+          return ((CreditCurveGroupDefinition) bean).getCurveDefinitions();
+        case 1522650026:  // discountCurveIds
+          return ((CreditCurveGroupDefinition) bean).getDiscountCurveIds();
+        case 1041150078:  // recoveryRateCurveIds
+          return ((CreditCurveGroupDefinition) bean).getRecoveryRateCurveIds();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code CreditCurveGroupDefinition}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<CreditCurveGroupDefinition> {
+
+    private CurveGroupName name;
+    private List<IsdaCreditCurveDefinition> curveDefinitions = ImmutableList.of();
+    private Map<Currency, CurveId> discountCurveIds = ImmutableMap.of();
+    private Map<StandardId, CurveId> recoveryRateCurveIds = ImmutableMap.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 3373707:  // name
+          return name;
+        case -336166639:  // curveDefinitions
+          return curveDefinitions;
+        case 1522650026:  // discountCurveIds
+          return discountCurveIds;
+        case 1041150078:  // recoveryRateCurveIds
+          return recoveryRateCurveIds;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 3373707:  // name
+          this.name = (CurveGroupName) newValue;
+          break;
+        case -336166639:  // curveDefinitions
+          this.curveDefinitions = (List<IsdaCreditCurveDefinition>) newValue;
+          break;
+        case 1522650026:  // discountCurveIds
+          this.discountCurveIds = (Map<Currency, CurveId>) newValue;
+          break;
+        case 1041150078:  // recoveryRateCurveIds
+          this.recoveryRateCurveIds = (Map<StandardId, CurveId>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public CreditCurveGroupDefinition build() {
+      return new CreditCurveGroupDefinition(
+          name,
+          curveDefinitions,
+          discountCurveIds,
+          recoveryRateCurveIds);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("CreditCurveGroupDefinition.Builder{");
+      buf.append("name").append('=').append(JodaBeanUtils.toString(name)).append(',').append(' ');
+      buf.append("curveDefinitions").append('=').append(JodaBeanUtils.toString(curveDefinitions)).append(',').append(' ');
+      buf.append("discountCurveIds").append('=').append(JodaBeanUtils.toString(discountCurveIds)).append(',').append(' ');
+      buf.append("recoveryRateCurveIds").append('=').append(JodaBeanUtils.toString(recoveryRateCurveIds));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.pricer.credit.BulkCreditCurveCalibrator;
+import com.opengamma.strata.pricer.credit.CreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.pricer.credit.RecoveryRates;
+
+/**
+ * Market data function that builds a group of credit curves.
+ * <p>
+ * This function calibrates the credit curves of many legal entities at once,
+ * turning a {@link CreditCurveGroupDefinition} into an {@link ImmutableCreditRatesProvider}
+ * containing the credit curves, the discount curves and the recovery rate curves.
+ * The calibration is performed by {@link BulkCreditCurveCalibrator}.
+ * <p>
+ * The discount curves and the recovery rate curves must be available in the market data.
+ */
+public class CreditCurveGroupMarketDataFunction
+    implements MarketDataFunction<ImmutableCreditRatesProvider, CreditCurveGroupId> {
+
+  /**
+   * The calibrator.
+   */
+  private final BulkCreditCurveCalibrator calibrator;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a new function for building credit curve groups using the standard calibrator.
+   */
+  public CreditCurveGroupMarketDataFunction() {
+    this(BulkCreditCurveCalibrator.standard());
+  }
+
+  /**
+   * Creates a new function for building credit curve groups.
+   *
+   * @param calibrator  the calibrator
+   */
+  public CreditCurveGroupMarketDataFunction(BulkCreditCurveCalibrator calibrator) {
+    this.calibrator = ArgChecker.notNull(calibrator, "calibrator");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataRequirements requirements(CreditCurveGroupId id, MarketDataConfig marketDataConfig) {
+    CreditCurveGroupDefinition groupDefn = marketDataConfig.get(CreditCurveGroupDefinition.class, id.getCurveGroupName());
+    return MarketDataRequirements.builder()
+        .addValues(nodeIds(groupDefn, id.getObservableSource()))
+        .addValues(groupDefn.getDiscountCurveIds().values())
+        .addValues(groupDefn.getRecoveryRateCurveIds().values())
+        .build();
+  }
+
+  @Override
+  public MarketDataBox<ImmutableCreditRatesProvider> build(
+      CreditCurveGroupId id,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    CreditCurveGroupDefinition groupDefn = marketDataConfig.get(CreditCurveGroupDefinition.class, id.getCurveGroupName());
+    ObservableSource obsSource = id.getObservableSource();
+    int scenarioCount = marketData.getScenarioCount();
+    if (scenarioCount == 1) {
+      return MarketDataBox.ofSingleValue(buildGroup(groupDefn, marketData, obsSource, 0, refData));
+    }
+    List<ImmutableCreditRatesProvider> providers = IntStream.range(0, scenarioCount)
+        .mapToObj(i -> buildGroup(groupDefn, marketData, obsSource, i, refData))
+        .collect(toImmutableList());
+    return MarketDataBox.ofScenarioValues(providers);
+  }
+
+  @Override
+  public Class<CreditCurveGroupId> getMarketDataIdType() {
+    return CreditCurveGroupId.class;
+  }
+
+  //-------------------------------------------------------------------------
+  // calibrates the credit curves for a single scenario
+  private ImmutableCreditRatesProvider buildGroup(
+      CreditCurveGroupDefinition groupDefn,
+      ScenarioMarketData marketData,
+      ObservableSource obsSource,
+      int scenarioIndex,
+      ReferenceData refData) {
+
+    LocalDate valuationDate = marketData.getValuationDate().getValue(scenarioIndex);
+    // the quotes are keyed by the identifiers in the curve nodes
+    ImmutableMarketDataBuilder quotesBuilder = ImmutableMarketData.builder(valuationDate);
+    for (ObservableId nodeId : groupDefn.getNodeObservableIds()) {
+      quotesBuilder.addValue(nodeId, marketData.getValue(nodeId.withObservableSource(obsSource)).getValue(scenarioIndex));
+    }
+    Map<Currency, CreditDiscountFactors> discountCurves = MapStream.of(groupDefn.getDiscountCurveIds())
+        .mapValues((currency, curveId) -> CreditDiscountFactors.of(
+            currency, valuationDate, marketData.getValue(curveId).getValue(scenarioIndex)))
+        .toMap();
+    Map<StandardId, RecoveryRates> recoveryRateCurves = MapStream.of(groupDefn.getRecoveryRateCurveIds())
+        .mapValues((legalEntityId, curveId) -> RecoveryRates.of(
+            legalEntityId, valuationDate, marketData.getValue(curveId).getValue(scenarioIndex)))
+        .toMap();
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(discountCurves)
+        .recoveryRateCurves(recoveryRateCurves)
+        .creditCurves(ImmutableMap.of())
+        .build();
+
+    List<LegalEntitySurvivalProbabilities> creditCurves =
+        calibrator.calibrate(groupDefn.getCurveDefinitions(), quotesBuilder.build(), ratesProvider, refData);
+    return ratesProvider.toBuilder()
+        .creditCurves(creditCurves.stream()
+            .collect(toImmutableMap(cc -> Pair.of(cc.getLegalEntityId(), cc.getCurrency()), cc -> cc)))
+        .build();
+  }
+
+  // the identifiers of the quotes, using the observable source
+  private static Set<ObservableId> nodeIds(CreditCurveGroupDefinition groupDefn, ObservableSource obsSource) {
+    return groupDefn.getNodeObservableIds().stream()
+        .map(nodeId -> nodeId.withObservableSource(obsSource))
+        .collect(toImmutableSet());
+  }
+
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+
+/**
+ * An identifier used to access the survival probabilities of a legal entity.
+ * <p>
+ * This is used when there is a need to obtain an instance of {@link LegalEntitySurvivalProbabilities}.
+ * The survival probabilities are extracted from the credit curve group with the same name,
+ * see {@link CreditCurveGroupId}.
+ */
+@BeanDefinition(builderScope = "private", cacheHashCode = true)
+public final class LegalEntitySurvivalProbabilitiesId
+    implements MarketDataId<LegalEntitySurvivalProbabilities>, ImmutableBean, Serializable {
+
+  /**
+   * The credit curve group name.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurveGroupName curveGroupName;
+  /**
+   * The legal entity identifier.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final StandardId legalEntityId;
+  /**
+   * The currency of the credit curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+  /**
+   * The source of observable market data.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ObservableSource observableSource;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance used to obtain the survival probabilities of a legal entity.
+   *
+   * @param groupName  the credit curve group name
+   * @param legalEntityId  the legal entity identifier
+   * @param currency  the currency of the credit curve
+   * @return the identifier
+   */
+  public static LegalEntitySurvivalProbabilitiesId of(CurveGroupName groupName, StandardId legalEntityId, Currency currency) {
+    return new LegalEntitySurvivalProbabilitiesId(groupName, legalEntityId, currency, ObservableSource.NONE);
+  }
+
+  /**
+   * Obtains an instance used to obtain the survival probabilities of a legal entity,
+   * specifying the source of observable market data.
+   *
+   * @param groupName  the credit curve group name
+   * @param legalEntityId  the legal entity identifier
+   * @param currency  the currency of the credit curve
+   * @param obsSource  source of observable market data
+   * @return the identifier
+   */
+  public static LegalEntitySurvivalProbabilitiesId of(
+      CurveGroupName groupName,
+      StandardId legalEntityId,
+      Currency currency,
+      ObservableSource obsSource) {
+
+    return new LegalEntitySurvivalProbabilitiesId(groupName, legalEntityId, currency, obsSource);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Class<LegalEntitySurvivalProbabilities> getMarketDataType() {
+    return LegalEntitySurvivalProbabilities.class;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code LegalEntitySurvivalProbabilitiesId}.
+   * @return the meta-bean, not null
+   */
+  public static LegalEntitySurvivalProbabilitiesId.Meta meta() {
+    return LegalEntitySurvivalProbabilitiesId.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(LegalEntitySurvivalProbabilitiesId.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The cached hash code, using the racy single-check idiom.
+   */
+  private int cachedHashCode;
+
+  private LegalEntitySurvivalProbabilitiesId(
+      CurveGroupName curveGroupName,
+      StandardId legalEntityId,
+      Currency currency,
+      ObservableSource observableSource) {
+    JodaBeanUtils.notNull(curveGroupName, "curveGroupName");
+    JodaBeanUtils.notNull(legalEntityId, "legalEntityId");
+    JodaBeanUtils.notNull(currency, "currency");
+    JodaBeanUtils.notNull(observableSource, "observableSource");
+    this.curveGroupName = curveGroupName;
+    this.legalEntityId = legalEntityId;
+    this.currency = currency;
+    this.observableSource = observableSource;
+  }
+
+  @Override
+  public LegalEntitySurvivalProbabilitiesId.Meta metaBean() {
+    return LegalEntitySurvivalProbabilitiesId.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the credit curve group name.
+   * @return the value of the property, not null
+   */
+  public CurveGroupName getCurveGroupName() {
+    return curveGroupName;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the legal entity identifier.
+   * @return the value of the property, not null
+   */
+  public StandardId getLegalEntityId() {
+    return legalEntityId;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the credit curve.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the source of observable market data.
+   * @return the value of the property, not null
+   */
+  public ObservableSource getObservableSource() {
+    return observableSource;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      LegalEntitySurvivalProbabilitiesId other = (LegalEntitySurvivalProbabilitiesId) obj;
+      return JodaBeanUtils.equal(curveGroupName, other.curveGroupName) &&
+          JodaBeanUtils.equal(legalEntityId, other.legalEntityId) &&
+          JodaBeanUtils.equal(currency, other.currency) &&
+          JodaBeanUtils.equal(observableSource, other.observableSource);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = cachedHashCode;
+    if (hash == 0) {
+      hash = getClass().hashCode();
+      hash = hash * 31 + JodaBeanUtils.hashCode(curveGroupName);
+      hash = hash * 31 + JodaBeanUtils.hashCode(legalEntityId);
+      hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+      hash = hash * 31 + JodaBeanUtils.hashCode(observableSource);
+      cachedHashCode = hash;
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("LegalEntitySurvivalProbabilitiesId{");
+    buf.append("curveGroupName").append('=').append(curveGroupName).append(',').append(' ');
+    buf.append("legalEntityId").append('=').append(legalEntityId).append(',').append(' ');
+    buf.append("currency").append('=').append(currency).append(',').append(' ');
+    buf.append("observableSource").append('=').append(JodaBeanUtils.toString(observableSource));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code LegalEntitySurvivalProbabilitiesId}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code curveGroupName} property.
+     */
+    private final MetaProperty<CurveGroupName> curveGroupName = DirectMetaProperty.ofImmutable(
+        this, "curveGroupName", LegalEntitySurvivalProbabilitiesId.class, CurveGroupName.class);
+    /**
+     * The meta-property for the {@code legalEntityId} property.
+     */
+    private final MetaProperty<StandardId> legalEntityId = DirectMetaProperty.ofImmutable(
+        this, "legalEntityId", LegalEntitySurvivalProbabilitiesId.class, StandardId.class);
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", LegalEntitySurvivalProbabilitiesId.class, Currency.class);
+    /**
+     * The meta-property for the {@code observableSource} property.
+     */
+    private final MetaProperty<ObservableSource> observableSource = DirectMetaProperty.ofImmutable(
+        this, "observableSource", LegalEntitySurvivalProbabilitiesId.class, ObservableSource.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "curveGroupName",
+        "legalEntityId",
+        "currency",
+        "observableSource");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -382645893:  // curveGroupName
+          return curveGroupName;
+        case 866287159:  // legalEntityId
+          return legalEntityId;
+        case 575402001:  // currency
+          return currency;
+        case 1793526590:  // observableSource
+          return observableSource;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends LegalEntitySurvivalProbabilitiesId> builder() {
+      return new LegalEntitySurvivalProbabilitiesId.Builder();
+    }
+
+    @Override
+    public Class<? extends LegalEntitySurvivalProbabilitiesId> beanType() {
+      return LegalEntitySurvivalProbabilitiesId.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code curveGroupName} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurveGroupName> curveGroupName() {
+      return curveGroupName;
+    }
+
+    /**
+     * The meta-property for the {@code legalEntityId} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<StandardId> legalEntityId() {
+      return legalEntityId;
+    }
+
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    /**
+     * The meta-property for the {@code observableSource} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ObservableSource> observableSource() {
+      return observableSource;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -382645893:  // curveGroupName
+          return ((LegalEntitySurvivalProbabilitiesId) bean).getCurveGroupName();
+        case 866287159:  // legalEntityId
+          return ((LegalEntitySurvivalProbabilitiesId) bean).getLegalEntityId();
+        case 575402001:  // currency
+          return ((LegalEntitySurvivalProbabilitiesId) bean).getCurrency();
+        case 1793526590:  // observableSource
+          return ((LegalEntitySurvivalProbabilitiesId) bean).getObservableSource();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code LegalEntitySurvivalProbabilitiesId}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<LegalEntitySurvivalProbabilitiesId> {
+
+    private CurveGroupName curveGroupName;
+    private StandardId legalEntityId;
+    private Currency currency;
+    private ObservableSource observableSource;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -382645893:  // curveGroupName
+          return curveGroupName;
+        case 866287159:  // legalEntityId
+          return legalEntityId;
+        case 575402001:  // currency
+          return currency;
+        case 1793526590:  // observableSource
+          return observableSource;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -382645893:  // curveGroupName
+          this.curveGroupName = (CurveGroupName) newValue;
+          break;
+        case 866287159:  // legalEntityId
+          this.legalEntityId = (StandardId) newValue;
+          break;
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        case 1793526590:  // observableSource
+          this.observableSource = (ObservableSource) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public LegalEntitySurvivalProbabilitiesId build() {
+      return new LegalEntitySurvivalProbabilitiesId(
+          curveGroupName,
+          legalEntityId,
+          currency,
+          observableSource);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("LegalEntitySurvivalProbabilitiesId.Builder{");
+      buf.append("curveGroupName").append('=').append(JodaBeanUtils.toString(curveGroupName)).append(',').append(' ');
+      buf.append("legalEntityId").append('=').append(JodaBeanUtils.toString(legalEntityId)).append(',').append(' ');
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+      buf.append("observableSource").append('=').append(JodaBeanUtils.toString(observableSource));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
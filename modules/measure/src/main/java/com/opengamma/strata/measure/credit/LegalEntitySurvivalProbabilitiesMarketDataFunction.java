@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+
+/**
+ * Market data function that locates the survival probabilities of a legal entity.
+ * <p>
+ * This function finds an instance of {@link LegalEntitySurvivalProbabilities} using the legal entity
+ * and currency held in {@link LegalEntitySurvivalProbabilitiesId}.
+ * <p>
+ * The credit curve is not actually calibrated in this class, it is extracted from the credit curve group
+ * identified by {@link CreditCurveGroupId}, which calibrates all the legal entities of the group at once.
+ */
+public class LegalEntitySurvivalProbabilitiesMarketDataFunction
+    implements MarketDataFunction<LegalEntitySurvivalProbabilities, LegalEntitySurvivalProbabilitiesId> {
+
+  @Override
+  public MarketDataRequirements requirements(LegalEntitySurvivalProbabilitiesId id, MarketDataConfig config) {
+    CreditCurveGroupId groupId = CreditCurveGroupId.of(id.getCurveGroupName(), id.getObservableSource());
+    return MarketDataRequirements.builder()
+        .addValues(groupId)
+        .build();
+  }
+
+  @Override
+  public MarketDataBox<LegalEntitySurvivalProbabilities> build(
+      LegalEntitySurvivalProbabilitiesId id,
+      MarketDataConfig config,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    CreditCurveGroupId groupId = CreditCurveGroupId.of(id.getCurveGroupName(), id.getObservableSource());
+    MarketDataBox<ImmutableCreditRatesProvider> groupBox = marketData.getValue(groupId);
+    return groupBox.map(group -> group.survivalProbabilities(id.getLegalEntityId(), id.getCurrency()));
+  }
+
+  @Override
+  public Class<LegalEntitySurvivalProbabilitiesId> getMarketDataIdType() {
+    return LegalEntitySurvivalProbabilitiesId.class;
+  }
+
+}
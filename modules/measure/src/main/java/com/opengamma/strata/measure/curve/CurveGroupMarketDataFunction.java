@@ -6,19 +6,23 @@
 package com.opengamma.strata.measure.curve;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.marketdata.MarketDataConfig;
 import com.opengamma.strata.calc.marketdata.MarketDataFunction;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketData;
@@ -34,6 +38,7 @@ import com.opengamma.strata.market.curve.CurveGroupId;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveInputs;
 import com.opengamma.strata.market.curve.CurveInputsId;
+import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.CurveCalibrator;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -56,7 +61,8 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
    * <p>
    * This will use the standard {@linkplain CalibrationMeasures#PAR_SPREAD par spread} measures
    * for calibration. The {@link MarketDataConfig} may contain a {@link RootFinderConfig}
-   * to define the tolerances.
+   * to define the tolerances, and a {@link ScenarioCalibrationConfig} to define how
+   * multiple scenarios are calibrated.
    */
   public CurveGroupMarketDataFunction() {
     this(CalibrationMeasures.PAR_SPREAD);
@@ -66,7 +72,8 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
    * Creates a new function for building curve groups.
    * <p>
    * The default calibrator is specified. The {@link MarketDataConfig} may contain a
-   * {@link RootFinderConfig} that alters the tolerances used in calibration.
+   * {@link RootFinderConfig} that alters the tolerances used in calibration, and a
+   * {@link ScenarioCalibrationConfig} that defines how multiple scenarios are calibrated.
    *
    * @param calibrationMeasures  the calibration measures to be used in the calibrator
    */
@@ -101,11 +108,13 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     RootFinderConfig rfc = marketDataConfig.find(RootFinderConfig.class).orElse(RootFinderConfig.standard());
     CurveCalibrator calibrator = CurveCalibrator.of(
         rfc.getAbsoluteTolerance(), rfc.getRelativeTolerance(), rfc.getMaximumSteps(), calibrationMeasures);
+    ScenarioCalibrationConfig scc =
+        marketDataConfig.find(ScenarioCalibrationConfig.class).orElse(ScenarioCalibrationConfig.standard());
 
     // calibrate
     CurveGroupName groupName = id.getCurveGroupName();
     CurveGroupDefinition configuredDefn = marketDataConfig.get(CurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    return buildCurveGroup(configuredDefn, calibrator, scc, marketData, refData, id.getObservableSource());
   }
 
   @Override
@@ -131,6 +140,29 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(
+        configuredGroup, calibrator, ScenarioCalibrationConfig.standard(), marketData, refData, obsSource);
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param scenarioConfig  the configuration defining how multiple scenarios are calibrated
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<CurveGroup> buildCurveGroup(
+      CurveGroupDefinition configuredGroup,
+      CurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -145,7 +177,8 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
     return multipleValues || multipleValuationDates ?
-        buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
+        buildMultipleCurveGroups(
+            configuredGroup, calibrator, scenarioConfig, valuationDates, inputBoxes, fixings, refData) :
         buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
   }
 
@@ -159,28 +192,62 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
   }
 
   // calibrates when there are multiple groups
+  // if configured, the first scenario is calibrated first, and its solution used as the starting point of the others
   private MarketDataBox<CurveGroup> buildMultipleCurveGroups(
       CurveGroupDefinition configuredGroup,
       CurveCalibrator calibrator,
+      ScenarioCalibrationConfig scenarioConfig,
       MarketDataBox<LocalDate> valuationDateBox,
       List<MarketDataBox<CurveInputs>> inputBoxes,
       Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
       ReferenceData refData) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
-    ImmutableList.Builder<CurveGroup> builder = ImmutableList.builder();
-
-    for (int i = 0; i < scenarioCount; i++) {
-      LocalDate valuationDate = valuationDateBox.getValue(scenarioCount);
-      CurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
-      List<CurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
-      MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
+    CurveGroup firstGroup = null;
+    Map<CurveName, DoubleArray> startingParameters = ImmutableMap.of();
+    if (scenarioConfig.isWarmStart()) {
+      firstGroup = buildScenarioGroup(
+          configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, 0, startingParameters);
+      startingParameters = firstGroup.stream()
+          .distinct()
+          .collect(toImmutableMap(
+              curve -> curve.getName(),
+              curve -> DoubleArray.of(curve.getParameterCount(), curve::getParameter)));
     }
-    ImmutableList<CurveGroup> curveGroups = builder.build();
+    int firstIndex = firstGroup == null ? 0 : 1;
+    Map<CurveName, DoubleArray> scenarioStartingParameters = startingParameters;
+    IntStream indices = IntStream.range(firstIndex, scenarioCount);
+    if (scenarioConfig.isParallel()) {
+      indices = indices.parallel();
+    }
+    List<CurveGroup> otherGroups = indices
+        .mapToObj(i -> buildScenarioGroup(
+            configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, i, scenarioStartingParameters))
+        .collect(toImmutableList());
+    List<CurveGroup> curveGroups = firstGroup == null ?
+        otherGroups :
+        ImmutableList.<CurveGroup>builder().add(firstGroup).addAll(otherGroups).build();
     return MarketDataBox.ofScenarioValues(curveGroups);
   }
 
+  // calibrates the curve group for a single scenario
+  private CurveGroup buildScenarioGroup(
+      CurveGroupDefinition configuredGroup,
+      CurveCalibrator calibrator,
+      MarketDataBox<LocalDate> valuationDateBox,
+      List<MarketDataBox<CurveInputs>> inputBoxes,
+      Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
+      ReferenceData refData,
+      int scenarioIndex,
+      Map<CurveName, DoubleArray> startingParameters) {
+
+    LocalDate valuationDate = valuationDateBox.getValue(scenarioIndex);
+    CurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
+    List<CurveInputs> curveInputsList = inputsForScenario(inputBoxes, scenarioIndex);
+    MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
+    return buildGroup(filteredGroup, calibrator, inputs, refData, startingParameters);
+  }
+
   private static List<CurveInputs> inputsForScenario(List<MarketDataBox<CurveInputs>> boxes, int scenarioIndex) {
     return boxes.stream()
         .map(box -> box.getValue(scenarioIndex))
@@ -199,7 +266,7 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     CurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
     List<CurveInputs> inputs = inputBoxes.stream().map(MarketDataBox::getSingleValue).collect(toImmutableList());
     MarketData inputValues = inputsByKey(valuationDate, inputs, fixings);
-    CurveGroup curveGroup = buildGroup(filteredGroup, calibrator, inputValues, refData);
+    CurveGroup curveGroup = buildGroup(filteredGroup, calibrator, inputValues, refData, ImmutableMap.of());
     return MarketDataBox.ofSingleValue(curveGroup);
   }
 
@@ -244,13 +311,15 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
       CurveGroupDefinition groupDefn,
       CurveCalibrator calibrator,
       MarketData marketData,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Map<CurveName, DoubleArray> startingParameters) {
 
     // perform the calibration
     ImmutableRatesProvider calibratedProvider = calibrator.calibrate(
         groupDefn,
         marketData,
-        refData);
+        refData,
+        startingParameters);
 
     return CurveGroup.of(
         groupDefn.getName(),
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import static java.util.stream.Collectors.toList;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -102,6 +103,13 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
+    // the flattened cash flows are only valid for the default pricer
+    if (marketData.getScenarioCount() > 1 && tradePricer == DiscountingSwapTradePricer.DEFAULT) {
+      Optional<SwapScenarioCashFlows> cashFlows = SwapScenarioCashFlows.of(trade.getProduct());
+      if (cashFlows.isPresent()) {
+        return cashFlows.get().presentValue(marketData);
+      }
+    }
     return MultiCurrencyScenarioArray.of(
         marketData.getScenarioCount(),
         i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
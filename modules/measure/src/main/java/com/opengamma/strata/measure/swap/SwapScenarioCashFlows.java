@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.swap.SwapTerms;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * The cash flows of a swap, flattened for pricing many scenarios at once.
+ * <p>
+ * Pricing each scenario with {@link com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer} walks
+ * the whole swap again, and looks up the curves for every payment period.
+ * Instead, this class walks the swap once using {@link SwapTerms}, reducing it to a set of terms,
+ * each of which is a notional, an optional Ibor observation and a payment date.
+ * The present value in each scenario is then found by looking up the curves once,
+ * evaluating the discount factor of each distinct payment date and the rate of each distinct
+ * observation, and summing the terms.
+ * <p>
+ * Only the common swap features are supported: fixed and Ibor rates without compounding or FX reset,
+ * known amounts and notional exchanges. Other swaps are priced using the standard pricer.
+ * The results match those of {@link com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer#DEFAULT}.
+ */
+final class SwapScenarioCashFlows {
+
+  /**
+   * The cash flows of the swap, flattened into terms.
+   */
+  private final SwapTerms terms;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the cash flows of a swap, if the swap is supported.
+   *
+   * @param swap  the swap
+   * @return the cash flows, empty if the swap has a feature that is not supported
+   */
+  static Optional<SwapScenarioCashFlows> of(ResolvedSwap swap) {
+    return SwapTerms.of(swap).map(SwapScenarioCashFlows::new);
+  }
+
+  // restricted constructor
+  private SwapScenarioCashFlows(SwapTerms terms) {
+    this.terms = terms;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap in each scenario.
+   * <p>
+   * The result is expressed using the payment currency of each leg.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value for each scenario
+   */
+  MultiCurrencyScenarioArray presentValue(RatesScenarioMarketData marketData) {
+    int scenarioCount = marketData.getScenarioCount();
+    int currencyCount = terms.getCurrencyCount();
+    double[][] pv = new double[currencyCount][scenarioCount];
+    // the arrays are reused for each scenario
+    double[] discountFactors = new double[terms.getDateCount()];
+    double[] rates = new double[terms.getObservationCount()];
+    DiscountFactors[] curves = new DiscountFactors[currencyCount];
+    IborIndexRates[] indexRates = new IborIndexRates[terms.getIndexCount()];
+    for (int scenario = 0; scenario < scenarioCount; scenario++) {
+      RatesProvider provider = marketData.scenario(scenario).ratesProvider();
+      LocalDate valuationDate = provider.getValuationDate();
+      // curves are only looked up if needed, as the standard pricer does not need them for past payments
+      Arrays.fill(curves, null);
+      Arrays.fill(indexRates, null);
+      for (int i = 0; i < discountFactors.length; i++) {
+        LocalDate date = terms.getDate(i);
+        if (date.isBefore(valuationDate)) {
+          discountFactors[i] = 0d;
+        } else {
+          int currency = terms.getDateCurrency(i);
+          if (curves[currency] == null) {
+            curves[currency] = provider.discountFactors(terms.getCurrency(currency));
+          }
+          discountFactors[i] = curves[currency].discountFactor(date);
+        }
+      }
+      for (int i = 0; i < rates.length; i++) {
+        if (!terms.getObservationLastDate(i).isBefore(valuationDate)) {
+          int index = terms.getObservationIndex(i);
+          if (indexRates[index] == null) {
+            indexRates[index] = provider.iborIndexRates(terms.getIndex(index));
+          }
+          rates[i] = indexRates[index].rate(terms.getObservation(i));
+        }
+      }
+      for (int i = 0; i < terms.getTermCount(); i++) {
+        int date = terms.getTermDate(i);
+        double discountFactor = discountFactors[date];
+        if (discountFactor != 0d) {
+          pv[terms.getDateCurrency(date)][scenario] += terms.termValue(i, rates) * discountFactor;
+        }
+      }
+    }
+    Map<Currency, DoubleArray> values = new HashMap<>();
+    for (int i = 0; i < currencyCount; i++) {
+      values.put(terms.getCurrency(i), DoubleArray.ofUnsafe(pv[i]));
+    }
+    return MultiCurrencyScenarioArray.of(values);
+  }
+
+}
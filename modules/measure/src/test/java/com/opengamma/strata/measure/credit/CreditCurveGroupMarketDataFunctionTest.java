@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketDataBuilder;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.FastCreditCurveCalibrator;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.pricer.credit.RecoveryRates;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.DatesCdsTemplate;
+import com.opengamma.strata.product.credit.type.ImmutableCdsConvention;
+
+/**
+ * Test {@link CreditCurveGroupMarketDataFunction}.
+ */
+@Test
+public class CreditCurveGroupMarketDataFunctionTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = LocalDate.of(2013, 1, 3);
+  private static final CurveGroupName GROUP_NAME = CurveGroupName.of("Credit");
+  private static final ObservableSource OBS_SOURCE = ObservableSource.of("Vendor");
+  private static final CdsConvention CONVENTION = ImmutableCdsConvention.builder()
+      .businessDayAdjustment(BusinessDayAdjustment.of(FOLLOWING, SAT_SUN))
+      .startDateBusinessDayAdjustment(BusinessDayAdjustment.NONE)
+      .currency(USD)
+      .dayCount(ACT_360)
+      .name("sat_sun_conv")
+      .paymentFrequency(Frequency.P3M)
+      .settlementDateOffset(DaysAdjustment.ofBusinessDays(3, SAT_SUN))
+      .build();
+  private static final LocalDate[] PILLAR_DATES = new LocalDate[] {
+      LocalDate.of(2013, 6, 20), LocalDate.of(2014, 3, 20), LocalDate.of(2015, 3, 20), LocalDate.of(2018, 3, 20),
+      LocalDate.of(2023, 3, 20)};
+  private static final double[] PAR_SPREADS = new double[] {0.005, 0.007, 0.008, 0.0095, 0.01};
+  private static final int N_ENTITIES = 5;
+  private static final CurveId DSC_CURVE_ID = CurveId.of("Default", "Dsc-USD");
+  private static final NodalCurve DSC_CURVE = IsdaCreditDiscountFactors.of(
+      USD, VAL_DATE, CurveName.of("discount"), DoubleArray.of(20d), DoubleArray.of(0.05), ACT_365F).getCurve();
+
+  private static final List<StandardId> LEGAL_ENTITIES = new ArrayList<>();
+  private static final List<IsdaCreditCurveDefinition> CURVE_DEFINITIONS = new ArrayList<>();
+  private static final Map<StandardId, CurveId> RECOVERY_CURVE_IDS = new HashMap<>();
+  private static final Map<QuoteId, Double> QUOTES = new HashMap<>();
+  static {
+    for (int i = 0; i < N_ENTITIES; i++) {
+      StandardId legalEntityId = StandardId.of("OG", "ENTITY" + i);
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int j = 0; j < PILLAR_DATES.length; j++) {
+        QuoteId quoteId = QuoteId.of(StandardId.of("OG", legalEntityId.getValue() + "_" + PILLAR_DATES[j]));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(
+            DatesCdsTemplate.of(VAL_DATE, PILLAR_DATES[j], CONVENTION), quoteId, legalEntityId));
+        QUOTES.put(quoteId, PAR_SPREADS[j] * (1d + 0.1 * i));
+      }
+      LEGAL_ENTITIES.add(legalEntityId);
+      CURVE_DEFINITIONS.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("Credit-" + legalEntityId.getValue()), USD, VAL_DATE, ACT_365F, nodes, true, false));
+      RECOVERY_CURVE_IDS.put(legalEntityId, CurveId.of("Default", "Recovery-" + legalEntityId.getValue()));
+    }
+  }
+  private static final CreditCurveGroupDefinition GROUP_DEFN = CreditCurveGroupDefinition.of(
+      GROUP_NAME, CURVE_DEFINITIONS, ImmutableMap.of(USD, DSC_CURVE_ID), RECOVERY_CURVE_IDS);
+  private static final MarketDataConfig CONFIG = MarketDataConfig.builder().add(GROUP_NAME, GROUP_DEFN).build();
+
+  //-------------------------------------------------------------------------
+  public void test_requirements() {
+    CreditCurveGroupMarketDataFunction test = new CreditCurveGroupMarketDataFunction();
+    MarketDataRequirements reqs = test.requirements(CreditCurveGroupId.of(GROUP_NAME, OBS_SOURCE), CONFIG);
+    assertEquals(reqs.getObservables().size(), N_ENTITIES * PILLAR_DATES.length);
+    assertEquals(reqs.getObservables().stream().allMatch(id -> id.getObservableSource().equals(OBS_SOURCE)), true);
+    assertEquals(reqs.getNonObservables().size(), 1 + N_ENTITIES);
+    assertEquals(reqs.getNonObservables().contains(DSC_CURVE_ID), true);
+    assertEquals(test.getMarketDataIdType(), CreditCurveGroupId.class);
+  }
+
+  public void test_build() {
+    ImmutableScenarioMarketDataBuilder builder = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(DSC_CURVE_ID, DSC_CURVE);
+    QUOTES.forEach((id, value) -> builder.addValue(id.withObservableSource(OBS_SOURCE), value));
+    RECOVERY_CURVE_IDS.forEach((entity, id) -> builder.addValue(id, recoveryCurve(entity)));
+    CreditCurveGroupMarketDataFunction test = new CreditCurveGroupMarketDataFunction();
+    MarketDataBox<ImmutableCreditRatesProvider> result =
+        test.build(CreditCurveGroupId.of(GROUP_NAME, OBS_SOURCE), CONFIG, builder.build(), REF_DATA);
+    ImmutableCreditRatesProvider computed = result.getSingleValue();
+    ImmutableCreditRatesProvider ratesProvider = ratesProvider();
+    ImmutableMarketDataBuilder quotes = ImmutableMarketData.builder(VAL_DATE);
+    QUOTES.forEach((id, value) -> quotes.addValue(id, value));
+    for (int i = 0; i < N_ENTITIES; i++) {
+      LegalEntitySurvivalProbabilities expected = FastCreditCurveCalibrator.standard()
+          .calibrate(CURVE_DEFINITIONS.get(i), quotes.build(), ratesProvider, REF_DATA);
+      assertEquals(computed.survivalProbabilities(LEGAL_ENTITIES.get(i), USD), expected);
+      assertEquals(computed.recoveryRates(LEGAL_ENTITIES.get(i)), ratesProvider.recoveryRates(LEGAL_ENTITIES.get(i)));
+    }
+    assertEquals(computed.discountFactors(USD), ratesProvider.discountFactors(USD));
+  }
+
+  public void test_build_scenarios() {
+    ImmutableScenarioMarketDataBuilder builder = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(DSC_CURVE_ID, DSC_CURVE);
+    QUOTES.forEach((id, value) -> builder.addScenarioValue(id, ImmutableList.of(value, value * 1.1)));
+    RECOVERY_CURVE_IDS.forEach((entity, id) -> builder.addValue(id, recoveryCurve(entity)));
+    CreditCurveGroupMarketDataFunction test = new CreditCurveGroupMarketDataFunction();
+    MarketDataBox<ImmutableCreditRatesProvider> result =
+        test.build(CreditCurveGroupId.of(GROUP_NAME), CONFIG, builder.build(), REF_DATA);
+    assertEquals(result.getScenarioCount(), 2);
+    ImmutableMarketDataBuilder bumpedQuotes = ImmutableMarketData.builder(VAL_DATE);
+    QUOTES.forEach((id, value) -> bumpedQuotes.addValue(id, value * 1.1));
+    LegalEntitySurvivalProbabilities expected = FastCreditCurveCalibrator.standard()
+        .calibrate(CURVE_DEFINITIONS.get(2), bumpedQuotes.build(), ratesProvider(), REF_DATA);
+    assertEquals(result.getValue(1).survivalProbabilities(LEGAL_ENTITIES.get(2), USD), expected);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    CreditCurveGroupId id = CreditCurveGroupId.of(GROUP_NAME);
+    coverImmutableBean(id);
+    coverBeanEquals(id, CreditCurveGroupId.of(CurveGroupName.of("Other"), OBS_SOURCE));
+    assertSerialization(id);
+    coverImmutableBean(GROUP_DEFN);
+    CreditCurveGroupDefinition other = CreditCurveGroupDefinition.of(
+        CurveGroupName.of("Other"),
+        CURVE_DEFINITIONS.subList(0, 1),
+        ImmutableMap.of(USD, CurveId.of("Other", "Dsc-USD")),
+        ImmutableMap.of(LEGAL_ENTITIES.get(0), RECOVERY_CURVE_IDS.get(LEGAL_ENTITIES.get(0))));
+    coverBeanEquals(GROUP_DEFN, other);
+    assertSerialization(GROUP_DEFN);
+  }
+
+  //-------------------------------------------------------------------------
+  private static ConstantCurve recoveryCurve(StandardId legalEntityId) {
+    return ConstantCurve.of(Curves.recoveryRates("Recovery-" + legalEntityId.getValue(), ACT_365F), 0.4);
+  }
+
+  private static ImmutableCreditRatesProvider ratesProvider() {
+    Map<StandardId, RecoveryRates> recoveryRates = new HashMap<>();
+    for (StandardId legalEntityId : LEGAL_ENTITIES) {
+      recoveryRates.put(legalEntityId, ConstantRecoveryRates.of(legalEntityId, VAL_DATE, 0.4));
+    }
+    return ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .discountCurves(ImmutableMap.of(USD, IsdaCreditDiscountFactors.of(USD, VAL_DATE, DSC_CURVE)))
+        .recoveryRateCurves(recoveryRates)
+        .creditCurves(ImmutableMap.of())
+        .build();
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+
+/**
+ * Test {@link LegalEntitySurvivalProbabilitiesMarketDataFunction}.
+ */
+@Test
+public class LegalEntitySurvivalProbabilitiesMarketDataFunctionTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = LocalDate.of(2013, 1, 3);
+  private static final CurveGroupName GROUP_NAME = CurveGroupName.of("Credit");
+  private static final ObservableSource OBS_SOURCE = ObservableSource.of("Vendor");
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final StandardId LEGAL_ENTITY2 = StandardId.of("OG", "DEF");
+
+  //-------------------------------------------------------------------------
+  public void test_build() {
+    LegalEntitySurvivalProbabilities survivalProbabilities1 = survivalProbabilities(LEGAL_ENTITY, 0.01);
+    LegalEntitySurvivalProbabilities survivalProbabilities2 = survivalProbabilities(LEGAL_ENTITY, 0.02);
+    CreditCurveGroupId groupId = CreditCurveGroupId.of(GROUP_NAME, OBS_SOURCE);
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addBox(groupId, MarketDataBox.ofScenarioValues(ImmutableList.of(
+            ratesProvider(survivalProbabilities1), ratesProvider(survivalProbabilities2))))
+        .build();
+    LegalEntitySurvivalProbabilitiesId id =
+        LegalEntitySurvivalProbabilitiesId.of(GROUP_NAME, LEGAL_ENTITY, USD, OBS_SOURCE);
+
+    LegalEntitySurvivalProbabilitiesMarketDataFunction test = new LegalEntitySurvivalProbabilitiesMarketDataFunction();
+    MarketDataRequirements reqs = test.requirements(id, MarketDataConfig.empty());
+    assertEquals(reqs.getNonObservables(), ImmutableSet.of(groupId));
+    MarketDataBox<LegalEntitySurvivalProbabilities> result = test.build(id, MarketDataConfig.empty(), marketData, REF_DATA);
+    assertEquals(result, MarketDataBox.ofScenarioValues(ImmutableList.of(survivalProbabilities1, survivalProbabilities2)));
+    assertEquals(test.getMarketDataIdType(), LegalEntitySurvivalProbabilitiesId.class);
+    // not in the group
+    assertThrowsIllegalArg(() -> test.build(
+        LegalEntitySurvivalProbabilitiesId.of(GROUP_NAME, LEGAL_ENTITY2, USD, OBS_SOURCE),
+        MarketDataConfig.empty(),
+        marketData,
+        REF_DATA));
+    assertThrowsIllegalArg(() -> test.build(
+        LegalEntitySurvivalProbabilitiesId.of(GROUP_NAME, LEGAL_ENTITY, EUR, OBS_SOURCE),
+        MarketDataConfig.empty(),
+        marketData,
+        REF_DATA));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    LegalEntitySurvivalProbabilitiesId test = LegalEntitySurvivalProbabilitiesId.of(GROUP_NAME, LEGAL_ENTITY, USD);
+    assertEquals(test.getObservableSource(), ObservableSource.NONE);
+    assertEquals(test.getMarketDataType(), LegalEntitySurvivalProbabilities.class);
+    coverImmutableBean(test);
+    LegalEntitySurvivalProbabilitiesId test2 =
+        LegalEntitySurvivalProbabilitiesId.of(CurveGroupName.of("Other"), LEGAL_ENTITY2, EUR, OBS_SOURCE);
+    coverBeanEquals(test, test2);
+    assertSerialization(test);
+  }
+
+  //-------------------------------------------------------------------------
+  private static LegalEntitySurvivalProbabilities survivalProbabilities(StandardId legalEntityId, double rate) {
+    return LegalEntitySurvivalProbabilities.of(legalEntityId, IsdaCreditDiscountFactors.of(
+        USD, VAL_DATE, CurveName.of("Credit"), DoubleArray.of(5d), DoubleArray.of(rate), ACT_365F));
+  }
+
+  private static ImmutableCreditRatesProvider ratesProvider(LegalEntitySurvivalProbabilities survivalProbabilities) {
+    return ImmutableCreditRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .discountCurves(ImmutableMap.of(USD, IsdaCreditDiscountFactors.of(
+            USD, VAL_DATE, CurveName.of("Discount"), DoubleArray.of(5d), DoubleArray.of(0.03), ACT_365F)))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, VAL_DATE, 0.4)))
+        .creditCurves(ImmutableMap.of(Pair.of(LEGAL_ENTITY, USD), survivalProbabilities))
+        .build();
+  }
+
+}
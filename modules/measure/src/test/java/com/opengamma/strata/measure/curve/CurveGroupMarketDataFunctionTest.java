@@ -183,6 +183,50 @@ public class CurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  public void multipleScenarios_parallelWarmStart() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraSwapCurveDefinition();
+    CurveName curveName = curveDefn.getName();
+    List<CurveNode> nodes = curveDefn.getNodes();
+
+    CurveGroupDefinition groupDefn = CurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    double[] rates = {0.0037, 0.0054, 0.005, 0.0087, 0.012};
+    List<CurveInputs> scenarioInputs = ImmutableList.of(0d, 0.0001, -0.0002, 0.0005).stream()
+        .map(shift -> {
+          ImmutableMap.Builder<MarketDataId<?>, Double> builder = ImmutableMap.builder();
+          for (int i = 0; i < nodes.size(); i++) {
+            builder.put(CurveTestUtils.key(nodes.get(i)), rates[i] + shift);
+          }
+          return CurveInputs.of(builder.build(), DefaultCurveMetadata.of(curveName));
+        })
+        .collect(toImmutableList());
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(CurveInputsId.of(groupName, curveName, ObservableSource.NONE), scenarioInputs)
+        .build();
+
+    CurveGroupMarketDataFunction function = new CurveGroupMarketDataFunction();
+    MarketDataBox<CurveGroup> expected =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    MarketDataBox<CurveGroup> test = function.buildCurveGroup(
+        groupDefn, CALIBRATOR, ScenarioCalibrationConfig.of(true, true), inputMarketData, REF_DATA, ObservableSource.NONE);
+
+    assertThat(test.getScenarioCount()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      Curve expectedCurve = expected.getValue(i).findDiscountCurve(Currency.USD).get();
+      Curve testCurve = test.getValue(i).findDiscountCurve(Currency.USD).get();
+      for (int j = 0; j < expectedCurve.getParameterCount(); j++) {
+        assertThat(testCurve.getParameter(j)).isCloseTo(expectedCurve.getParameter(j), offset(1e-9));
+      }
+    }
+    // each scenario is calibrated to its own inputs
+    assertThat(test.getValue(3).findDiscountCurve(Currency.USD).get().getParameter(0))
+        .isGreaterThan(test.getValue(0).findDiscountCurve(Currency.USD).get().getParameter(0));
+  }
+
   /**
    * Tests that par rates are required for curves.
    */
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions;
+
+/**
+ * Test {@link SwapScenarioCashFlows}.
+ */
+@Test
+public class SwapScenarioCashFlowsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingSwapTradePricer PRICER = DiscountingSwapTradePricer.DEFAULT;
+  private static final ResolvedSwapTrade TRADE = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_10Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+      .resolve(REF_DATA);
+  private static final CurveId DISCOUNT_CURVE_ID = CurveId.of("Default", "Discount");
+  private static final CurveId FORWARD_CURVE_ID = CurveId.of("Default", "Forward");
+  private static final RatesMarketDataLookup RATES_LOOKUP = RatesMarketDataLookup.of(
+      ImmutableMap.of(GBP, DISCOUNT_CURVE_ID),
+      ImmutableMap.of(GBP_LIBOR_6M, FORWARD_CURVE_ID));
+  private static final double TOLERANCE_PV = 1e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_forward() {
+    RatesScenarioMarketData marketData = marketData(date(2016, 6, 23));
+    MultiCurrencyScenarioArray computed = SwapScenarioCashFlows.of(TRADE.getProduct()).get().presentValue(marketData);
+    assertPresentValue(computed, marketData);
+  }
+
+  public void test_presentValue_midLife() {
+    RatesScenarioMarketData marketData = marketData(date(2019, 2, 11));
+    MultiCurrencyScenarioArray computed = SwapScenarioCashFlows.of(TRADE.getProduct()).get().presentValue(marketData);
+    assertPresentValue(computed, marketData);
+  }
+
+  public void test_presentValue_measureCalculations() {
+    RatesScenarioMarketData marketData = marketData(date(2019, 2, 11));
+    MultiCurrencyScenarioArray computed = SwapMeasureCalculations.DEFAULT.presentValue(TRADE, marketData);
+    assertPresentValue(computed, marketData);
+  }
+
+  public void test_of_notSupported() {
+    ResolvedSwapTrade trade = FixedOvernightSwapConventions.GBP_FIXED_1Y_SONIA_OIS
+        .createTrade(date(2016, 6, 30), Tenor.TENOR_2Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+        .resolve(REF_DATA);
+    assertFalse(SwapScenarioCashFlows.of(trade.getProduct()).isPresent());
+    assertTrue(SwapScenarioCashFlows.of(TRADE.getProduct()).isPresent());
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the result against the standard pricer in each scenario
+  private static void assertPresentValue(MultiCurrencyScenarioArray computed, RatesScenarioMarketData marketData) {
+    assertEquals(computed.getScenarioCount(), marketData.getScenarioCount());
+    for (int i = 0; i < marketData.getScenarioCount(); i++) {
+      MultiCurrencyAmount expected = PRICER.presentValue(TRADE, marketData.scenario(i).ratesProvider());
+      assertEquals(computed.get(i).getCurrencies(), expected.getCurrencies());
+      assertEquals(computed.get(i).getAmount(GBP).getAmount(), expected.getAmount(GBP).getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  // three scenarios with different curves, and a fixing for the current period
+  private static RatesScenarioMarketData marketData(LocalDate valuationDate) {
+    ResolvedSwapLeg iborLeg = TRADE.getProduct().getLegs(SwapLegType.IBOR).get(0);
+    LocalDateDoubleTimeSeriesBuilder fixings = LocalDateDoubleTimeSeries.builder();
+    for (SwapPaymentPeriod period : iborLeg.getPaymentPeriods()) {
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+      IborRateComputation computation = (IborRateComputation) ratePeriod.getAccrualPeriods().get(0).getRateComputation();
+      if (computation.getFixingDate().isBefore(valuationDate)) {
+        fixings.put(computation.getFixingDate(), 0.0125);
+      }
+    }
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(valuationDate)
+        .addBox(DISCOUNT_CURVE_ID, MarketDataBox.ofScenarioValues(
+            curve("Discount", 0.010, 0.020), curve("Discount", 0.015, 0.018), curve("Discount", -0.002, 0.010)))
+        .addBox(FORWARD_CURVE_ID, MarketDataBox.ofScenarioValues(
+            curve("Forward", 0.012, 0.025), curve("Forward", 0.016, 0.021), curve("Forward", 0.001, 0.011)))
+        .addTimeSeries(IndexQuoteId.of(GBP_LIBOR_6M), fixings.build())
+        .build();
+    return RATES_LOOKUP.marketDataView(marketData);
+  }
+
+  // a zero rate curve
+  private static Curve curve(String name, double shortRate, double longRate) {
+    return InterpolatedNodalCurve.of(
+        Curves.zeroRates(name, ACT_365F),
+        DoubleArray.of(0.25, 1, 5, 10, 20),
+        DoubleArray.of(shortRate, (shortRate * 3 + longRate) / 4, (shortRate + longRate) / 2, longRate, longRate),
+        CurveInterpolators.NATURAL_CUBIC_SPLINE);
+  }
+
+}
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.Test;
@@ -18,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ResolutionCache;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.Tenor;
@@ -123,6 +125,22 @@ public class SwapTradeCalculationFunctionTest {
             Measures.RESOLVED_TARGET, Result.success(RTRADE));
   }
 
+  public void test_resolutionCache() {
+    SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    ResolutionCache cache = ResolutionCache.of(100);
+    ReferenceData refData = cache.combinedWith(REF_DATA);
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE, Measures.RESOLVED_TARGET);
+    Map<Measure, Result<?>> first = function.calculate(TRADE, measures, PARAMS, md, refData);
+    long missCount = cache.getMissCount();
+    Map<Measure, Result<?>> second = function.calculate(TRADE, measures, PARAMS, md, refData);
+    assertThat(first).containsEntry(Measures.RESOLVED_TARGET, Result.success(RTRADE));
+    assertThat(second).isEqualTo(first);
+    assertThat(second.get(Measures.RESOLVED_TARGET).getValue()).isSameAs(first.get(Measures.RESOLVED_TARGET).getValue());
+    // the second calculation finds the resolved trade without resolving the schedules
+    assertThat(cache.getMissCount()).isEqualTo(missCount);
+  }
+
   public void test_pv01() {
     SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
     ScenarioMarketData md = marketData();
@@ -120,6 +120,20 @@ public interface DiscountFactors
    * @throws RuntimeException if the value cannot be obtained
    */
   public abstract double discountFactor(double yearFraction);
+
+  /**
+   * Gets the discount factors for the specified year fractions.
+   * <p>
+   * This is equivalent to calling {@link #discountFactor(double)} for each year fraction.
+   * Implementations may be faster, particularly when the year fractions are sorted from low to high.
+   * 
+   * @param yearFractions  the year fractions
+   * @return the discount factors
+   * @throws RuntimeException if a value cannot be obtained
+   */
+  public default DoubleArray discountFactors(DoubleArray yearFractions) {
+    return yearFractions.map(yearFraction -> discountFactor(yearFraction));
+  }
   
   /**
    * Returns the discount factor derivative with respect to the year fraction or time.
@@ -170,6 +170,11 @@ public final class SimpleDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public DoubleArray discountFactors(DoubleArray yearFractions) {
+    return curve.yValues(yearFractions);
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     return curve.firstDerivative(yearFraction);
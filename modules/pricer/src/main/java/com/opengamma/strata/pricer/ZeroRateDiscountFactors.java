@@ -166,6 +166,12 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public DoubleArray discountFactors(DoubleArray yearFractions) {
+    DoubleArray zeroRates = curve.yValues(yearFractions);
+    return yearFractions.mapWithIndex((i, yearFraction) -> Math.exp(-yearFraction * zeroRates.get(i)));
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);    
@@ -178,6 +178,13 @@ public final class ZeroRatePeriodicDiscountFactors
     return Math.pow(1d + curve.yValue(relativeYearFraction) / frequency, -relativeYearFraction * frequency);
   }
 
+  @Override
+  public DoubleArray discountFactors(DoubleArray yearFractions) {
+    DoubleArray zeroRates = curve.yValues(yearFractions);
+    return yearFractions.mapWithIndex(
+        (i, yearFraction) -> Math.pow(1d + zeroRates.get(i) / frequency, -yearFraction * frequency));
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);
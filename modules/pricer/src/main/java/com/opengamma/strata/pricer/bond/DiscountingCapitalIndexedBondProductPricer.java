@@ -10,7 +10,7 @@ import static java.time.temporal.ChronoUnit.MONTHS;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
@@ -729,14 +729,14 @@ public class DiscountingCapitalIndexedBondProductPricer {
       LocalDate settlementDate,
       double dirtyPrice) {
 
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
+    final DoubleUnaryOperator priceResidual = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double y) {
+      public double applyAsDouble(double y) {
         return dirtyPriceFromRealYield(bond, ratesProvider, settlementDate, y) - dirtyPrice;
       }
     };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, -0.05, 0.10);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(priceResidual, -0.05, 0.10);
+    double yield = ROOT_FINDER.getRootPrimitive(priceResidual, range[0], range[1]);
     return yield;
   }
 
@@ -1098,9 +1098,9 @@ public class DiscountingCapitalIndexedBondProductPricer {
 
     validate(ratesProvider, discountingProvider);
     LocalDate settlementDate = bond.calculateSettlementDateFromValuation(ratesProvider.getValuationDate(), refData);
-    final Function<Double, Double> residual = new Function<Double, Double>() {
+    final DoubleUnaryOperator residual = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double z) {
+      public double applyAsDouble(double z) {
         double dirtyPrice = dirtyNominalPriceFromCurvesWithZSpread(
             bond,
             ratesProvider,
@@ -1116,8 +1116,8 @@ public class DiscountingCapitalIndexedBondProductPricer {
         return cleanRealPriceFromDirtyRealPrice(bond, settlementDate, dirtyRealPrice) - cleanPrice;
       }
     };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.5, 0.5); // Starting range is [-1%, 1%]
-    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(residual, -0.5, 0.5); // Starting range is [-1%, 1%]
+    return ROOT_FINDER.getRootPrimitive(residual, range[0], range[1]);
   }
 
   /**
@@ -1180,15 +1180,15 @@ public class DiscountingCapitalIndexedBondProductPricer {
 
     validate(ratesProvider, discountingProvider);
     LocalDate settlementDate = bond.calculateSettlementDateFromValuation(ratesProvider.getValuationDate(), refData);
-    final Function<Double, Double> residual = new Function<Double, Double>() {
+    final DoubleUnaryOperator residual = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double z) {
+      public double applyAsDouble(double z) {
         return presentValueWithZSpread(bond, ratesProvider, discountingProvider, settlementDate,
             z, compoundedRateType, periodsPerYear).getAmount() - presentValue.getAmount();
       }
     };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.5, 0.5); // Starting range is [-1%, 1%]
-    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(residual, -0.5, 0.5); // Starting range is [-1%, 1%]
+    return ROOT_FINDER.getRootPrimitive(residual, range[0], range[1]);
   }
 
   //-------------------------------------------------------------------------
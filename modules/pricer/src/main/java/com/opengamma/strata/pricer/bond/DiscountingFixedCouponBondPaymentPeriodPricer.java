@@ -6,15 +6,19 @@
 package com.opengamma.strata.pricer.bond;
 
 import static java.time.temporal.ChronoUnit.DAYS;
+import static java.util.stream.Collectors.toList;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
 
@@ -60,6 +64,34 @@ public class DiscountingFixedCouponBondPaymentPeriodPricer {
     return period.getFixedRate() * period.getNotional() * period.getYearFraction() * df;
   }
 
+  /**
+   * Calculates the total present value of a list of fixed coupon payment periods.
+   * <p>
+   * The amount is expressed in the currency of the periods.
+   * This is equivalent to the sum of {@link #presentValue(FixedCouponBondPaymentPeriod, IssuerCurveDiscountFactors)}
+   * for each period, but the discount factors are obtained from the curve in one batch.
+   * 
+   * @param periods  the periods to price, in order of payment date
+   * @param discountFactors  the discount factor provider
+   * @return the total present value of the periods
+   */
+  public double presentValue(List<FixedCouponBondPaymentPeriod> periods, IssuerCurveDiscountFactors discountFactors) {
+    LocalDate valuationDate = discountFactors.getValuationDate();
+    List<FixedCouponBondPaymentPeriod> livePeriods = periods.stream()
+        .filter(period -> !period.getPaymentDate().isBefore(valuationDate))
+        .collect(toList());
+    DiscountFactors curve = discountFactors.getDiscountFactors();
+    DoubleArray yearFractions = DoubleArray.of(
+        livePeriods.size(), i -> curve.relativeYearFraction(livePeriods.get(i).getPaymentDate()));
+    DoubleArray dfs = curve.discountFactors(yearFractions);
+    double total = 0d;
+    for (int i = 0; i < livePeriods.size(); i++) {
+      FixedCouponBondPaymentPeriod period = livePeriods.get(i);
+      total += period.getFixedRate() * period.getNotional() * period.getYearFraction() * dfs.get(i);
+    }
+    return total;
+  }
+
   /**
    * Calculates the present value of a single fixed coupon payment period with z-spread.
    * <p>
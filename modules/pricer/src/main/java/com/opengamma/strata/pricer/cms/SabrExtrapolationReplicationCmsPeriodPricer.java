@@ -13,7 +13,7 @@ import static com.opengamma.strata.market.model.SabrParameterType.RHO;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.OptionalDouble;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -206,13 +206,13 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double strikePart = factor * intProv.k(strikeCpn) * intProv.bs(strikeCpn);
     RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
+    DoubleUnaryOperator integrant = intProv.integrant();
     try {
       if (intProv.getPutCall().isCall()) {
         integralPart = dfPayment *
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
-        integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        integralPart = -dfPayment * integrator.integratePrimitive(integrant, -shift + ZERO_SHIFT, strikeCpn);
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -330,8 +330,8 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double strikePartPrice = intProv.k(strikeCpn) * n[0] * bs[0];
     double integralPartPrice = 0d;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    Function<Double, Double> integrantDelta = intProv.integrantDelta();
+    DoubleUnaryOperator integrant = intProv.integrant();
+    DoubleUnaryOperator integrantDelta = intProv.integrantDelta();
     try {
       if (intProv.getPutCall().isCall()) {
         integralPartPrice =
@@ -339,8 +339,8 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         integralPart = dfPayment *
             integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
-        integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        integralPartPrice = -integrator.integratePrimitive(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        integralPart = -dfPayment * integrator.integratePrimitive(integrantDelta, -shift, strikeCpn);
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -408,13 +408,13 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] totalSensi = new double[4];
     for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
       double integralPart = 0d;
-      Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
+      DoubleUnaryOperator integrant = intProv.integrantVega(loopparameter);
       try {
         if (intProv.getPutCall().isCall()) {
           integralPart = dfPayment *
               integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
         } else {
-          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          integralPart = -dfPayment * integrator.integratePrimitive(integrant, -shift + ZERO_SHIFT, strikeCpn);
         }
       } catch (Exception e) {
         throw new RuntimeException(e);
@@ -490,13 +490,13 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] kpkpp = intProv.kpkpp(strike);
     double firstPart;
     double thirdPart;
-    Function<Double, Double> integrant = intProv.integrantDualDelta();
+    DoubleUnaryOperator integrant = intProv.integrantDualDelta();
     if (intProv.getPutCall().isCall()) {
       firstPart = -kpkpp[0] * intProv.bs(strike);
       thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
     } else {
       firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      thirdPart = -integrator.integratePrimitive(integrant, -shift + ZERO_SHIFT, strike);
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -523,7 +523,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
 
   private double integrateCall(
       RungeKuttaIntegrator1D integrator,
-      Function<Double, Double> integrant,
+      DoubleUnaryOperator integrant,
       SabrSwaptionVolatilities swaptionVolatilities,
       double forward,
       double strike,
@@ -536,14 +536,14 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
         Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
     double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
-    res = integrator.integrate(integrant, strike, upper);
-    double reminder = integrant.apply(upper) * upper;
+    res = integrator.integratePrimitive(integrant, strike, upper);
+    double reminder = integrant.applyAsDouble(upper) * upper;
     double error = reminder / res;
     int count = 0;
     while (Math.abs(error) > integrator.getRelativeTolerance() && count < MAX_COUNT) {
-      res += integrator.integrate(integrant, upper, 2d * upper);
+      res += integrator.integratePrimitive(integrant, upper, 2d * upper);
       upper *= 2d;
-      reminder = integrant.apply(upper) * upper;
+      reminder = integrant.applyAsDouble(upper) * upper;
       error = reminder / res;
       ++count;
       if (count == MAX_COUNT) {
@@ -699,10 +699,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
      * 
      * @return the integrant
      */
-    Function<Double, Double> integrant() {
-      return new Function<Double, Double>() {
+    DoubleUnaryOperator integrant() {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           double[] kD = kpkpp(x);
           // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
           return factor * (kD[1] * (x - strike) + 2d * kD[0]) * bs(x);
@@ -716,10 +716,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
      * @param i  the index of SABR parameters
      * @return the vega integrant
      */
-    Function<Double, Double> integrantVega(int i) {
-      return new Function<Double, Double>() {
+    DoubleUnaryOperator integrantVega(int i) {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           double[] kD = kpkpp(x);
           // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
           double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
@@ -734,10 +734,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
      * 
      * @return the dual delta integrant
      */
-    Function<Double, Double> integrantDualDelta() {
-      return new Function<Double, Double>() {
+    DoubleUnaryOperator integrantDualDelta() {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           double[] kD = kpkpp(x);
           // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
           return -kD[1] * bs(x);
@@ -876,10 +876,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
      * 
      * @return the delta integrant
      */
-    Function<Double, Double> integrantDelta() {
-      return new Function<Double, Double>() {
+    DoubleUnaryOperator integrantDelta() {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           double[] kD = kpkpp(x);
           // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
           double[] bs = bsbsp(x);
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.product.credit.CdsQuote;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsTrade;
+import com.opengamma.strata.product.credit.type.CdsQuoteConvention;
+import com.opengamma.strata.product.credit.type.CdsTemplate;
+
+/**
+ * Bulk credit curve calibrator.
+ * <p>
+ * This calibrates the ISDA compliant credit curves of many legal entities at once,
+ * for example the constituents of a CDS index.
+ * Each curve is identical to the curve produced by {@link FastCreditCurveCalibrator}.
+ * <p>
+ * Legal entities whose curve nodes are based on the same list of CDS templates share their calibration trades.
+ * The premium and protection leg schedules of these trades, and the discount factors on the schedules,
+ * are computed once and reused for every such legal entity.
+ * The curves are then calibrated in parallel.
+ * <p>
+ * Relevant discount curves and recovery rate curves are required to complete the calibration.
+ */
+public final class BulkCreditCurveCalibrator {
+
+  /**
+   * Default implementation.
+   */
+  private static final BulkCreditCurveCalibrator STANDARD =
+      new BulkCreditCurveCalibrator(FastCreditCurveCalibrator.standard());
+
+  /**
+   * The underlying credit curve calibrator.
+   */
+  private final FastCreditCurveCalibrator creditCurveCalibrator;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the standard calibrator.
+   * <p>
+   * The underlying calibrator is {@link FastCreditCurveCalibrator#standard()}.
+   *
+   * @return the standard calibrator
+   */
+  public static BulkCreditCurveCalibrator standard() {
+    return BulkCreditCurveCalibrator.STANDARD;
+  }
+
+  /**
+   * Constructor with the underlying credit curve calibrator specified.
+   *
+   * @param creditCurveCalibrator  the credit curve calibrator
+   */
+  public BulkCreditCurveCalibrator(FastCreditCurveCalibrator creditCurveCalibrator) {
+    this.creditCurveCalibrator = ArgChecker.notNull(creditCurveCalibrator, "creditCurveCalibrator");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the ISDA compliant credit curves to the market data.
+   * <p>
+   * This creates a single credit curve for each curve definition.
+   * The curve nodes in each {@code IsdaCreditCurveDefinition} should be single-name credit default swaps
+   * on a single legal entity.
+   * <p>
+   * The relevant discount curves and recovery rate curves must be stored in {@code ratesProvider}.
+   * The day count convention for the resulting credit curves is the same as that of the discount curves.
+   *
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curves, in the order of the curve definitions
+   */
+  public ImmutableList<LegalEntitySurvivalProbabilities> calibrate(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    int nCurves = curveDefinitions.size();
+    List<List<CdsIsdaCreditCurveNode>> curveNodes = new ArrayList<>(nCurves);
+    List<StandardId> legalEntityIds = new ArrayList<>(nCurves);
+    Map<List<CdsTemplate>, NodeSchedules> schedules = new HashMap<>();
+    for (IsdaCreditCurveDefinition curveDefinition : curveDefinitions) {
+      ArgChecker.isTrue(curveDefinition.getCurveValuationDate().equals(ratesProvider.getValuationDate()),
+          "ratesProvider and curveDefinition must be based on the same valuation date");
+      List<CdsIsdaCreditCurveNode> nodes = curveDefinition.getCurveNodes().stream()
+          .filter(n -> n instanceof CdsIsdaCreditCurveNode)
+          .map(n -> (CdsIsdaCreditCurveNode) n)
+          .collect(toImmutableList());
+      legalEntityIds.add(IsdaCompliantCreditCurveCalibrator.validateCurveNodes(nodes, curveDefinition.getCurrency()));
+      ArgChecker.isTrue(
+          curveDefinition.getDayCount().equals(ratesProvider.discountFactors(curveDefinition.getCurrency()).getDayCount()),
+          "credit curve and discount curve must be based on the same day count convention");
+      curveNodes.add(nodes);
+      schedules.computeIfAbsent(templates(nodes), templates -> new NodeSchedules(nodes, marketData, ratesProvider, refData));
+    }
+    return IntStream.range(0, nCurves)
+        .parallel()
+        .mapToObj(i -> calibrate(
+            curveDefinitions.get(i),
+            curveNodes.get(i),
+            legalEntityIds.get(i),
+            schedules.get(templates(curveNodes.get(i))),
+            marketData,
+            ratesProvider,
+            refData))
+        .collect(toImmutableList());
+  }
+
+  // calibrates a single curve using the shared schedules
+  private LegalEntitySurvivalProbabilities calibrate(
+      IsdaCreditCurveDefinition curveDefinition,
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      StandardId legalEntityId,
+      NodeSchedules schedules,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
+    int nNodes = curveNodes.size();
+    double[] lgd = new double[nNodes];
+    ImmutableList.Builder<ResolvedCdsTrade> tradesBuilder = ImmutableList.builder();
+    ImmutableList.Builder<CdsQuote> quotesBuilder = ImmutableList.builder();
+    for (int i = 0; i < nNodes; i++) {
+      CdsIsdaCreditCurveNode node = curveNodes.get(i);
+      double quoteValue = marketData.getValue(node.getObservableId());
+      double coupon = node.getQuoteConvention().equals(CdsQuoteConvention.PAR_SPREAD) ?
+          quoteValue :
+          node.getFixedRate().getAsDouble();
+      ResolvedCdsTrade trade = schedules.trade(i, legalEntityId, coupon);
+      lgd[i] = 1d - recoveryRates.recoveryRate(trade.getProduct().getProtectionEndDate());
+      tradesBuilder.add(trade);
+      quotesBuilder.add(CdsQuote.of(node.getQuoteConvention(), quoteValue));
+    }
+    return creditCurveCalibrator.calibrate(
+        curveNodes,
+        tradesBuilder.build(),
+        quotesBuilder.build(),
+        curveDefinition.getName(),
+        legalEntityId,
+        curveDefinition.getCurrency(),
+        marketData.getValuationDate(),
+        ratesProvider,
+        curveDefinition.isComputeJacobian(),
+        curveDefinition.isStoreNodeTrade(),
+        (coupons, pufs) -> creditCurveCalibrator.calibrate(
+            schedules.pricers, schedules.times, coupons, pufs, lgd, curveDefinition.getName(), schedules.discountFactors),
+        refData);
+  }
+
+  // the templates of the curve nodes, which determine the schedules
+  private static List<CdsTemplate> templates(List<CdsIsdaCreditCurveNode> curveNodes) {
+    return curveNodes.stream()
+        .map(CdsIsdaCreditCurveNode::getTemplate)
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The calibration trades, schedules and discount factors shared by curves with the same node templates.
+   */
+  private final class NodeSchedules {
+
+    /**
+     * The resolved node trades, for the first legal entity using the templates.
+     */
+    private final ImmutableList<ResolvedCdsTrade> trades;
+    /**
+     * The discount factors.
+     */
+    private final CreditDiscountFactors discountFactors;
+    /**
+     * The credit curve knots.
+     */
+    private final DoubleArray times;
+    /**
+     * The pricers, holding the leg schedules and the discount factors on them.
+     */
+    private final FastCreditCurveCalibrator.Pricer[] pricers;
+
+    private NodeSchedules(
+        List<CdsIsdaCreditCurveNode> curveNodes,
+        MarketData marketData,
+        ImmutableCreditRatesProvider ratesProvider,
+        ReferenceData refData) {
+
+      Currency currency = curveNodes.get(0).getTemplate().getConvention().getCurrency();
+      trades = curveNodes.stream()
+          .map(node -> node.trade(1d, marketData, refData).getUnderlyingTrade().resolve(refData))
+          .collect(toImmutableList());
+      discountFactors = ratesProvider.discountFactors(currency);
+      times = creditCurveCalibrator.nodeTimes(trades, discountFactors);
+      pricers = creditCurveCalibrator.pricers(trades, times, marketData.getValuationDate(), discountFactors, refData);
+    }
+
+    // the node trade for the legal entity, reusing the resolved schedule
+    private ResolvedCdsTrade trade(int index, StandardId legalEntityId, double coupon) {
+      ResolvedCdsTrade trade = trades.get(index);
+      ResolvedCds product = trade.getProduct();
+      if (product.getLegalEntityId().equals(legalEntityId) && product.getFixedRate() == coupon) {
+        return trade;
+      }
+      ImmutableList<CreditCouponPaymentPeriod> paymentPeriods = product.getPaymentPeriods().stream()
+          .map(period -> period.toBuilder().fixedRate(coupon).build())
+          .collect(toImmutableList());
+      return trade.toBuilder()
+          .product(product.toBuilder().legalEntityId(legalEntityId).paymentPeriods(paymentPeriods).build())
+          .build();
+    }
+  }
+
+}
@@ -10,7 +10,7 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -112,16 +112,91 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       ReferenceData refData) {
 
     int n = calibrationCDSs.size();
-    double[] guess = new double[n];
-    double[] t = new double[n];
     double[] lgd = new double[n];
+    DoubleArray times = nodeTimes(calibrationCDSs, discountFactors);
+    for (int i = 0; i < n; i++) {
+      lgd[i] = 1d - recoveryRates.recoveryRate(calibrationCDSs.get(i).getProduct().getProtectionEndDate());
+    }
+    Pricer[] pricers = pricers(calibrationCDSs, times, valuationDate, discountFactors, refData);
+    return calibrate(pricers, times, flactionalSpreads, pointsUpfront, lgd, name, discountFactors);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the credit curve knots from the protection end dates of the calibration CDSs.
+   * 
+   * @param calibrationCDSs  the calibration CDS
+   * @param discountFactors  the discount factors
+   * @return the knots
+   */
+  DoubleArray nodeTimes(List<ResolvedCdsTrade> calibrationCDSs, CreditDiscountFactors discountFactors) {
+    return DoubleArray.of(
+        calibrationCDSs.size(),
+        i -> discountFactors.relativeYearFraction(calibrationCDSs.get(i).getProduct().getProtectionEndDate()));
+  }
+
+  /**
+   * Creates the pricers of the calibration CDSs.
+   * <p>
+   * The pricers hold the premium and protection leg schedules and the discount factors on them.
+   * They only depend on the CDS schedules, the credit curve knots and the discount curve,
+   * thus can be shared between legal entities with the same calibration CDS schedules.
+   * 
+   * @param calibrationCDSs  the calibration CDS
+   * @param times  the credit curve knots
+   * @param valuationDate  the valuation date
+   * @param discountFactors  the discount factors
+   * @param refData  the reference data
+   * @return the pricers
+   */
+  Pricer[] pricers(
+      List<ResolvedCdsTrade> calibrationCDSs,
+      DoubleArray times,
+      LocalDate valuationDate,
+      CreditDiscountFactors discountFactors,
+      ReferenceData refData) {
+
+    int n = calibrationCDSs.size();
+    Pricer[] pricers = new Pricer[n];
+    for (int i = 0; i < n; i++) {
+      ResolvedCds cds = calibrationCDSs.get(i).getProduct();
+      LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+      LocalDate settlementDate = calibrationCDSs.get(i).getInfo().getSettlementDate()
+          .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
+      double accrued = cds.accruedYearFraction(stepinDate);
+      pricers[i] = new Pricer(cds, discountFactors, times, stepinDate, effectiveStartDate, settlementDate, accrued);
+    }
+    return pricers;
+  }
+
+  /**
+   * Calibrates the credit curve using pricers created by {@link #pricers}.
+   * 
+   * @param pricers  the pricers of the calibration CDSs
+   * @param times  the credit curve knots
+   * @param flactionalSpreads  the fractional spreads
+   * @param pointsUpfront  the points upfront values
+   * @param lgd  the loss given default at the protection end date of each calibration CDS
+   * @param name  the curve name
+   * @param discountFactors  the discount factors
+   * @return the credit curve
+   */
+  NodalCurve calibrate(
+      Pricer[] pricers,
+      DoubleArray times,
+      DoubleArray flactionalSpreads,
+      DoubleArray pointsUpfront,
+      double[] lgd,
+      CurveName name,
+      CreditDiscountFactors discountFactors) {
+
+    int n = pricers.length;
+    double[] guess = new double[n];
+    double[] t = times.toArrayUnsafe();
     for (int i = 0; i < n; i++) {
-      LocalDate endDate = calibrationCDSs.get(i).getProduct().getProtectionEndDate();
-      t[i] = discountFactors.relativeYearFraction(endDate);
-      lgd[i] = 1d - recoveryRates.recoveryRate(endDate);
       guess[i] = (flactionalSpreads.get(i) + pointsUpfront.get(i) / t[i]) / lgd[i];
     }
-    DoubleArray times = DoubleArray.ofUnsafe(t);
     CurveMetadata baseMetadata = DefaultCurveMetadata.builder()
         .xValueType(ValueType.YEAR_FRACTION)
         .yValueType(ValueType.ZERO_RATE)
@@ -137,28 +212,20 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
         CurveExtrapolators.PRODUCT_LINEAR);
 
     for (int i = 0; i < n; i++) {
-      ResolvedCds cds = calibrationCDSs.get(i).getProduct();
-      LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
-      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
-      LocalDate settlementDate = calibrationCDSs.get(i).getInfo().getSettlementDate()
-          .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
-      double accrued = cds.accruedYearFraction(stepinDate);
-
-      Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
-          effectiveStartDate, settlementDate, accrued);
-      Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
+      DoubleUnaryOperator func =
+          pricers[i].getPointFunction(i, creditCurve, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i]);
 
       switch (getArbitrageHandling()) {
         case IGNORE: {
           try {
-            double[] bracket = BRACKETER.getBracketedPoints(
+            double[] bracket = BRACKETER.getBracketedPointsPrimitive(
                 func, 0.8 * guess[i], 1.25 * guess[i], Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
             double zeroRate = bracket[0] > bracket[1] ?
-                ROOTFINDER.getRoot(func, bracket[1], bracket[0]) :
-                ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
+                ROOTFINDER.getRootPrimitive(func, bracket[1], bracket[0]) :
+                ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]); //Negative guess handled
             creditCurve = creditCurve.withParameter(i, zeroRate);
           } catch (final MathException e) { //handling bracketing failure due to small survival probability
-            if (Math.abs(func.apply(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
+            if (Math.abs(func.applyAsDouble(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
               creditCurve = creditCurve.withParameter(i, creditCurve.getYValues().get(i - 1));
             } else {
               throw new MathException(e);
@@ -170,7 +237,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0d :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             final StringBuilder msg = new StringBuilder();
             if (pointsUpfront.get(i) == 0.0) {
               msg.append("The par spread of " + flactionalSpreads.get(i) + " at index " + i);
@@ -183,8 +250,8 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
             throw new IllegalArgumentException(msg.toString());
           }
           guess[i] = Math.max(minValue, guess[i]);
-          double[] bracket = BRACKETER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-          double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+          double[] bracket = BRACKETER.getBracketedPointsPrimitive(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+          double zeroRate = ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]);
           creditCurve = creditCurve.withParameter(i, zeroRate);
           break;
         }
@@ -192,13 +259,13 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0.0 :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             creditCurve = creditCurve.withParameter(i, minValue);
           } else {
             guess[i] = Math.max(minValue, guess[i]);
             final double[] bracket =
-                BRACKETER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-            final double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+                BRACKETER.getBracketedPointsPrimitive(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+            final double zeroRate = ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]);
             creditCurve = creditCurve.withParameter(i, zeroRate);
           }
           break;
@@ -214,10 +281,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
   final class Pricer {
 
     private final ResolvedCds cds;
-    private final double lgdDF;
     private final double valuationDF;
-    private final double fracSpread;
-    private final double puf;
     // protection leg
     private final int nProPoints;
     private final double[] proLegIntPoints;
@@ -238,14 +302,11 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
-        double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
-        double accruedYearFraction) {
+    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots,
+        LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate, double accruedYearFraction) {
 
       accYearFraction = accruedYearFraction;
       cds = nodeCds;
-      fracSpread = fractionalSpread;
-      puf = pointsUpfront;
       productEffectiveStart = yieldCurve.relativeYearFraction(effectiveStartDate);
       double protectionEnd = yieldCurve.relativeYearFraction(cds.getProtectionEndDate());
       // protection leg
@@ -255,7 +316,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           yieldCurve.getParameterKeys(), creditCurveKnots).toArray();
       nProPoints = proLegIntPoints.length;
       valuationDF = yieldCurve.discountFactor(settlementDate);
-      lgdDF = lgd / valuationDF;
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
@@ -329,13 +389,20 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
     }
 
-    public Function<Double, Double> getPointFunction(int index, NodalCurve creditCurve) {
-      return new Function<Double, Double>() {
+    public DoubleUnaryOperator getPointFunction(
+        int index,
+        NodalCurve creditCurve,
+        double fracSpread,
+        double puf,
+        double lgd) {
+
+      double lgdDF = lgd / valuationDF;
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           NodalCurve cc = creditCurve.withParameter(index, x);
           double rpv01 = rpv01(cc, PriceType.CLEAN);
-          double pro = protectionLeg(cc);
+          double pro = protectionLeg(cc, lgdDF);
           return pro - fracSpread * rpv01 - puf;
         }
       };
@@ -414,7 +481,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       return accRateCurrent * pv;
     }
 
-    public double protectionLeg(NodalCurve creditCurve) {
+    public double protectionLeg(NodalCurve creditCurve, double lgdDF) {
       double ht0 = creditCurve.yValue(proLegIntPoints[0]) * proLegIntPoints[0];
       double rt0 = proYieldCurveRT[0];
       double b0 = proDF[0] * Math.exp(-ht0);
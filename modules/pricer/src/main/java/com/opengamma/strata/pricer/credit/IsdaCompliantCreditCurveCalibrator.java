@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.credit;
 import java.time.LocalDate;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -183,40 +184,86 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       boolean storeTrade,
       ReferenceData refData) {
 
-    Iterator<StandardId> legalEntities =
-        curveNodes.stream().map(CdsIsdaCreditCurveNode::getLegalEntityId).collect(Collectors.toSet()).iterator();
-    StandardId legalEntityId = legalEntities.next();
-    ArgChecker.isFalse(legalEntities.hasNext(), "legal entity must be common to curve nodes");
-    Iterator<Currency> currencies =
-        curveNodes.stream().map(n -> n.getTemplate().getConvention().getCurrency()).collect(Collectors.toSet()).iterator();
-    Currency currency = currencies.next();
-    ArgChecker.isFalse(currencies.hasNext(), "currency must be common to curve nodes");
-    ArgChecker.isTrue(definitionCurrency.equals(currency),
-        "curve definition currency must be the same as the currency of CDS");
-    Iterator<CdsQuoteConvention> quoteConventions =
-        curveNodes.stream().map(n -> n.getQuoteConvention()).collect(Collectors.toSet()).iterator();
-    CdsQuoteConvention quoteConvention = quoteConventions.next();
-    ArgChecker.isFalse(quoteConventions.hasNext(), "quote convention must be common to curve nodes");
+    StandardId legalEntityId = validateCurveNodes(curveNodes, definitionCurrency);
     LocalDate valuationDate = marketData.getValuationDate();
     ArgChecker.isTrue(valuationDate.equals(marketData.getValuationDate()),
         "ratesProvider and marketDate must be based on the same valuation date");
-    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(definitionCurrency);
     ArgChecker.isTrue(definitionDayCount.equals(discountFactors.getDayCount()),
         "credit curve and discount curve must be based on the same day count convention");
     RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
 
+    Builder<ResolvedCdsTrade> tradesBuilder = ImmutableList.builder();
+    Builder<CdsQuote> quotesBuilder = ImmutableList.builder();
+    for (CdsIsdaCreditCurveNode node : curveNodes) {
+      CdsCalibrationTrade tradeCalibration = node.trade(1d, marketData, refData);
+      tradesBuilder.add(tradeCalibration.getUnderlyingTrade().resolve(refData));
+      quotesBuilder.add(tradeCalibration.getQuote());
+    }
+    ImmutableList<ResolvedCdsTrade> trades = tradesBuilder.build();
+    return calibrate(
+        curveNodes,
+        trades,
+        quotesBuilder.build(),
+        name,
+        legalEntityId,
+        definitionCurrency,
+        valuationDate,
+        ratesProvider,
+        computeJacobian,
+        storeTrade,
+        (coupons, pufs) -> calibrate(
+            trades, coupons, pufs, name, valuationDate, discountFactors, recoveryRates, refData),
+        refData);
+  }
+
+  /**
+   * Calibrates the credit curve of a legal entity from resolved node trades and quotes.
+   * <p>
+   * The quotes are converted to the standard form, then the curve is fitted using {@code curveFunction},
+   * which takes the fractional spreads and the points upfront values of the nodes.
+   * The Jacobian and the parameter metadata are added to the fitted curve.
+   * 
+   * @param curveNodes  the curve nodes
+   * @param trades  the resolved node trades
+   * @param quotes  the node quotes
+   * @param name  the curve name
+   * @param legalEntityId  the legal entity
+   * @param currency  the currency
+   * @param valuationDate  the valuation date
+   * @param ratesProvider  the rates provider
+   * @param computeJacobian  whether to compute the Jacobian
+   * @param storeTrade  whether to store the node trades in the parameter metadata
+   * @param curveFunction  the function fitting the curve to fractional spreads and points upfront
+   * @param refData  the reference data
+   * @return the credit curve
+   */
+  LegalEntitySurvivalProbabilities calibrate(
+      List<CdsIsdaCreditCurveNode> curveNodes,
+      List<ResolvedCdsTrade> trades,
+      List<CdsQuote> quotes,
+      CurveName name,
+      StandardId legalEntityId,
+      Currency currency,
+      LocalDate valuationDate,
+      ImmutableCreditRatesProvider ratesProvider,
+      boolean computeJacobian,
+      boolean storeTrade,
+      BiFunction<DoubleArray, DoubleArray, NodalCurve> curveFunction,
+      ReferenceData refData) {
+
+    CdsQuoteConvention quoteConvention = curveNodes.get(0).getQuoteConvention();
+    CreditDiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+    RecoveryRates recoveryRates = ratesProvider.recoveryRates(legalEntityId);
+
     int nNodes = curveNodes.size();
     double[] coupons = new double[nNodes];
     double[] pufs = new double[nNodes];
     double[][] diag = new double[nNodes][nNodes];
-    Builder<ResolvedCdsTrade> tradesBuilder = ImmutableList.builder();
     for (int i = 0; i < nNodes; i++) {
-      CdsCalibrationTrade tradeCalibration = curveNodes.get(i).trade(1d, marketData, refData);
-      ResolvedCdsTrade trade = tradeCalibration.getUnderlyingTrade().resolve(refData);
-      tradesBuilder.add(trade);
       double[] temp = getStandardQuoteForm(
-          trade,
-          tradeCalibration.getQuote(),
+          trades.get(i),
+          quotes.get(i),
           valuationDate,
           discountFactors,
           recoveryRates,
@@ -226,16 +273,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
       pufs[i] = temp[1];
       diag[i][i] = temp[2];
     }
-    ImmutableList<ResolvedCdsTrade> trades = tradesBuilder.build();
-    NodalCurve nodalCurve = calibrate(
-        trades,
-        DoubleArray.ofUnsafe(coupons),
-        DoubleArray.ofUnsafe(pufs),
-        name,
-        valuationDate,
-        discountFactors,
-        recoveryRates,
-        refData);
+    NodalCurve nodalCurve = curveFunction.apply(DoubleArray.ofUnsafe(coupons), DoubleArray.ofUnsafe(pufs));
 
     if (computeJacobian) {
       LegalEntitySurvivalProbabilities creditCurve = LegalEntitySurvivalProbabilities.of(
@@ -269,6 +307,33 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         legalEntityId, IsdaCreditDiscountFactors.of(currency, valuationDate, nodalCurve));
   }
 
+  /**
+   * Validates the curve nodes of a single credit curve.
+   * <p>
+   * The legal entity, the currency and the quote convention must be common to the curve nodes.
+   * 
+   * @param curveNodes  the curve nodes
+   * @param definitionCurrency  the currency of the curve definition
+   * @return the legal entity of the curve nodes
+   */
+  static StandardId validateCurveNodes(List<CdsIsdaCreditCurveNode> curveNodes, Currency definitionCurrency) {
+    Iterator<StandardId> legalEntities =
+        curveNodes.stream().map(CdsIsdaCreditCurveNode::getLegalEntityId).collect(Collectors.toSet()).iterator();
+    StandardId legalEntityId = legalEntities.next();
+    ArgChecker.isFalse(legalEntities.hasNext(), "legal entity must be common to curve nodes");
+    Iterator<Currency> currencies =
+        curveNodes.stream().map(n -> n.getTemplate().getConvention().getCurrency()).collect(Collectors.toSet()).iterator();
+    Currency currency = currencies.next();
+    ArgChecker.isFalse(currencies.hasNext(), "currency must be common to curve nodes");
+    ArgChecker.isTrue(definitionCurrency.equals(currency),
+        "curve definition currency must be the same as the currency of CDS");
+    Iterator<CdsQuoteConvention> quoteConventions =
+        curveNodes.stream().map(n -> n.getQuoteConvention()).collect(Collectors.toSet()).iterator();
+    quoteConventions.next();
+    ArgChecker.isFalse(quoteConventions.hasNext(), "quote convention must be common to curve nodes");
+    return legalEntityId;
+  }
+
   private Function<ResolvedCdsTrade, DoubleArray> getPointsUpfrontSensitivityFunction(
       CreditRatesProvider ratesProvider,
       ReferenceData refData) {
@@ -10,6 +10,8 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -23,7 +25,11 @@ import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
@@ -60,10 +66,15 @@ public final class CurveCalibrator {
   private static final CurveCalibrator STANDARD =
       CurveCalibrator.of(1e-9, 1e-9, 1000, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE);
   /**
-   * The matrix algebra used for matrix inversion.
+   * The matrix algebra used to measure the residual of a linear update.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
 
+  /**
+   * The absolute tolerance of the root finder.
+   * This is used to accept the result of a linear update when recalibrating.
+   */
+  private final double toleranceAbs;
   /**
    * The root finder used for curve calibration.
    */
@@ -158,6 +169,7 @@ public final class CurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
+    this.toleranceAbs = toleranceAbs;
     this.rootFinder = new BroydenVectorRootFinder(
         toleranceAbs,
         toleranceRel,
@@ -197,15 +209,69 @@ public final class CurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
-    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
-        .filter(IndexQuoteId.class::isInstance)
-        .map(IndexQuoteId.class::cast)
-        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
-        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
-        .timeSeries(timeSeries)
-        .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
+    return calibrate(curveGroupDefn, marketData, refData, ImmutableMap.of());
+  }
+
+  /**
+   * Calibrates a single curve group, starting the root finder from the specified curve parameters.
+   * <p>
+   * This is the same as {@link #calibrate(CurveGroupDefinition, MarketData, ReferenceData)}, except that
+   * the parameters of a previously calibrated curve can be used as the starting point of the root finder,
+   * rather than the initial guess of each node. For example, the parameters of the curves calibrated
+   * to a base scenario can be used when calibrating to a slightly different scenario,
+   * which typically reduces the number of iterations needed.
+   * <p>
+   * The starting parameters are keyed by curve name. If a curve is not in the map, or the number of
+   * parameters does not match the curve definition, the initial guesses of the nodes are used.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param startingParameters  the parameters to start the calibration from, keyed by curve name
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      CurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      Map<CurveName, DoubleArray> startingParameters) {
+
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData, startingParameters, null, null);
+  }
+
+  /**
+   * Recalibrates a single curve group following a change in the market data.
+   * <p>
+   * This is the same as {@link #calibrate(CurveGroupDefinition, MarketData, ReferenceData)}, except that
+   * the result of a previous calibration of the same group is used to reduce the work performed.
+   * The identifiers of the market data that has changed since the previous calibration must be specified.
+   * <p>
+   * If none of the curve nodes depend on the changed market data, the previous curve parameters are reused.
+   * Otherwise, the calibration starts from the previous curve parameters. If the previous curves contain
+   * their {@linkplain CurveInfoType#JACOBIAN Jacobian}, a first-order update is applied using the Jacobian.
+   * If the update meets the absolute tolerance of this calibrator, no further iterations are needed.
+   * This is typically the case for a small change in a few quotes. If not, the root finder continues from
+   * the updated parameters.
+   * <p>
+   * If the valuation date has changed, the whole group is recalibrated, starting from the previous curve parameters.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param previous  the rates provider resulting from the previous calibration of the group
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param changedIds  the identifiers of the market data that has changed since the previous calibration
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      CurveGroupDefinition curveGroupDefn,
+      ImmutableRatesProvider previous,
+      MarketData marketData,
+      Set<? extends MarketDataId<?>> changedIds,
+      ReferenceData refData) {
+
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return recalibrate(ImmutableList.of(curveGroupDefn), knownData, previous, marketData, changedIds, refData);
   }
 
   /**
@@ -227,6 +293,52 @@ public final class CurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupsDefn, knownData, marketData, refData, ImmutableMap.of(), null, null);
+  }
+
+  /**
+   * Recalibrates a list of curve groups following a change in the market data.
+   * <p>
+   * The groups are processed in order. The previous curve parameters of a group are reused if none of its
+   * curve nodes depend on the changed market data, and no earlier group has been recalibrated.
+   * Otherwise the group is recalibrated, starting from the previous curve parameters.
+   *
+   * @param allGroupsDefn  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param previous  the rates provider resulting from the previous calibration of the groups
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param changedIds  the identifiers of the market data that has changed since the previous calibration
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates provider resulting from the calibration
+   */
+  ImmutableRatesProvider recalibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      ImmutableRatesProvider previous,
+      MarketData marketData,
+      Set<? extends MarketDataId<?>> changedIds,
+      ReferenceData refData) {
+
+    Map<CurveName, DoubleArray> startingParameters = allGroupsDefn.stream()
+        .flatMap(groupDefn -> groupDefn.getCurveDefinitions().stream())
+        .map(curveDefn -> previous.findData(curveDefn.getName()))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(toImmutableMap(curve -> curve.getName(), curve -> curveParameters(curve)));
+    return calibrate(allGroupsDefn, knownData, marketData, refData, startingParameters, previous, changedIds);
+  }
+
+  // calibrates a list of curve groups, starting from the specified parameters where available
+  // if the previous provider is specified, groups that are not affected by the changed market data are not solved
+  private ImmutableRatesProvider calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Map<CurveName, DoubleArray> startingParameters,
+      ImmutableRatesProvider previous,
+      Set<? extends MarketDataId<?>> changedIds) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -234,6 +346,8 @@ public final class CurveCalibrator {
       throw new IllegalArgumentException(Messages.format(
           "Valuation dates do not match: {} and {}", knownData.getValuationDate(), marketData.getValuationDate()));
     }
+    // once a group has been solved, all later groups must also be solved
+    boolean solve = previous == null || !previous.getValuationDate().equals(marketData.getValuationDate());
     // perform calibration one group at a time, building up the result by mutating these variables
     ImmutableRatesProvider providerCombined = knownData;
     ImmutableList<CurveParameterSize> orderPrev = ImmutableList.of();
@@ -242,16 +356,24 @@ public final class CurveCalibrator {
       CurveGroupDefinition groupDefnBound = groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
       // combine all data in the group into flat lists
       ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
+      DoubleArray initialGuesses = initialGuesses(groupDefnBound, marketData, startingParameters);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
           .addAll(orderGroup)
           .build();
 
-      // calibrate
+      // calibrate, unless the group can reuse the previous parameters
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams;
+      if (previous == null) {
+        calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      } else {
+        solve = solve || isAffected(groupDefnBound, startingParameters, changedIds);
+        calibratedGroupParams = solve ?
+            recalibrateGroup(providerGenerator, trades, initialGuesses, orderGroup, previousJacobian(previous, orderGroup)) :
+            initialGuesses;
+      }
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -273,6 +395,70 @@ public final class CurveCalibrator {
     return providerCombined;
   }
 
+  // creates the known data from the market data, containing the FX rates and index time-series
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
+        .filter(IndexQuoteId.class::isInstance)
+        .map(IndexQuoteId.class::cast)
+        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .timeSeries(timeSeries)
+        .build();
+  }
+
+  // checks if the group must be solved, true if the group depends on the changed data or a curve has no previous value
+  private static boolean isAffected(
+      CurveGroupDefinition groupDefn,
+      Map<CurveName, DoubleArray> previousParameters,
+      Set<? extends MarketDataId<?>> changedIds) {
+
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      DoubleArray curveParams = previousParameters.get(curveDefn.getName());
+      if (curveParams == null || curveParams.size() != curveDefn.getParameterCount()) {
+        return true;
+      }
+      for (CurveNode node : curveDefn.getNodes()) {
+        for (MarketDataId<?> id : node.requirements()) {
+          if (changedIds.contains(id)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  // the parameters of a curve
+  private static DoubleArray curveParameters(Curve curve) {
+    return DoubleArray.of(curve.getParameterCount(), curve::getParameter);
+  }
+
+  // the initial guesses for the group, using the starting parameters of a curve where available
+  private static DoubleArray initialGuesses(
+      CurveGroupDefinition groupDefn,
+      MarketData marketData,
+      Map<CurveName, DoubleArray> startingParameters) {
+
+    ImmutableList<Double> nodeGuesses = groupDefn.initialGuesses(marketData);
+    if (startingParameters.isEmpty()) {
+      return DoubleArray.copyOf(nodeGuesses);
+    }
+    double[] guesses = new double[nodeGuesses.size()];
+    int startIndex = 0;
+    for (CurveDefinition curveDefn : groupDefn.getCurveDefinitions()) {
+      int paramCount = curveDefn.getParameterCount();
+      DoubleArray curveParams = startingParameters.get(curveDefn.getName());
+      for (int i = 0; i < paramCount; i++) {
+        guesses[startIndex + i] = curveParams != null && curveParams.size() == paramCount ?
+            curveParams.get(i) :
+            nodeGuesses.get(startIndex + i);
+      }
+      startIndex += paramCount;
+    }
+    return DoubleArray.ofUnsafe(guesses);
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(CurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
@@ -283,7 +469,7 @@ public final class CurveCalibrator {
   private DoubleArray calibrateGroup(
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
-      ImmutableList<Double> initialGuesses,
+      DoubleArray initialGuesses,
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
@@ -292,8 +478,78 @@ public final class CurveCalibrator {
         new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
 
     // calibrate
-    DoubleArray initGuessMatrix = DoubleArray.copyOf(initialGuesses);
-    return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
+    return rootFinder.getRoot(valueCalculator, derivativeCalculator, initialGuesses);
+  }
+
+  // recalibrates a single group, starting from the previous parameters
+  // if the previous Jacobian is available, a Newton step is taken before using the root finder
+  private DoubleArray recalibrateGroup(
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      DoubleArray previousParams,
+      ImmutableList<CurveParameterSize> curveOrder,
+      DoubleMatrix previousJacobian) {
+
+    if (previousJacobian == null) {
+      return calibrateGroup(providerGenerator, trades, previousParams, curveOrder);
+    }
+    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    DoubleArray previousValue = valueCalculator.apply(previousParams);
+    double previousNorm = Math.sqrt(MATRIX_ALGEBRA.getInnerProduct(previousValue, previousValue));
+    if (previousNorm < toleranceAbs) {
+      return previousParams;
+    }
+    // the Jacobian is the inverse of the derivative of the calibration measures with respect to the parameters
+    DoubleArray step = DoubleArray.of(
+        previousParams.size(), i -> previousJacobian.row(i).multipliedBy(previousValue).sum());
+    DoubleArray updatedParams = previousParams.minus(step);
+    DoubleArray updatedValue = valueCalculator.apply(updatedParams);
+    double updatedNorm = Math.sqrt(MATRIX_ALGEBRA.getInnerProduct(updatedValue, updatedValue));
+    if (updatedNorm < toleranceAbs) {
+      return updatedParams;
+    }
+    DoubleArray startParams = updatedNorm < previousNorm ? updatedParams : previousParams;
+    return calibrateGroup(providerGenerator, trades, startParams, curveOrder);
+  }
+
+  // extracts the Jacobian of the group from the previous curves, with respect to the market quotes of the group
+  // null is returned if the Jacobian is not available for every curve in the group
+  private static DoubleMatrix previousJacobian(ImmutableRatesProvider previous, ImmutableList<CurveParameterSize> orderGroup) {
+    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[][] jacobian = new double[totalParamsGroup][totalParamsGroup];
+    int rowIndex = 0;
+    for (CurveParameterSize rowOrder : orderGroup) {
+      Optional<JacobianCalibrationMatrix> jacobianInfo = previous.findData(rowOrder.getName())
+          .flatMap(curve -> curve.getMetadata().findInfo(CurveInfoType.JACOBIAN));
+      if (!jacobianInfo.isPresent()) {
+        return null;
+      }
+      DoubleMatrix curveMatrix = jacobianInfo.get().getJacobianMatrix();
+      ImmutableList<CurveParameterSize> curveOrder = jacobianInfo.get().getOrder();
+      if (curveMatrix.rowCount() != rowOrder.getParameterCount()) {
+        return null;
+      }
+      // copy the columns of each curve in the group
+      int columnIndex = 0;
+      for (CurveParameterSize columnOrder : orderGroup) {
+        int matrixColumn = 0;
+        int orderIndex = 0;
+        while (orderIndex < curveOrder.size() && !curveOrder.get(orderIndex).equals(columnOrder)) {
+          matrixColumn += curveOrder.get(orderIndex).getParameterCount();
+          orderIndex++;
+        }
+        if (orderIndex == curveOrder.size()) {
+          return null;
+        }
+        for (int p = 0; p < rowOrder.getParameterCount(); p++) {
+          System.arraycopy(
+              curveMatrix.rowArray(p), matrixColumn, jacobian[rowIndex + p], columnIndex, columnOrder.getParameterCount());
+        }
+        columnIndex += columnOrder.getParameterCount();
+      }
+      rowIndex += rowOrder.getParameterCount();
+    }
+    return DoubleMatrix.ofUnsafe(jacobian);
   }
 
   //-------------------------------------------------------------------------
@@ -315,7 +571,7 @@ public final class CurveCalibrator {
     int nbTrades = trades.size();
     int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
     int totalParamsPrevious = totalParamsAll - totalParamsGroup;
-    DoubleMatrix pDmCurrentMatrix = jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious);
+    DoubleMatrix pDmCurrentMatrix = jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious, orderGroup);
 
     // jacobian indirect: when totalParamsPrevious > 0
     DoubleMatrix pDmPrevious = jacobianIndirect(
@@ -380,20 +636,24 @@ public final class CurveCalibrator {
   }
 
   // jacobian direct, for the current group
+  // the inverse takes advantage of any block-triangular structure between the curves of the group
   private static DoubleMatrix jacobianDirect(
       DoubleMatrix res,
       int nbTrades,
       int totalParamsGroup,
-      int totalParamsPrevious) {
+      int totalParamsPrevious,
+      ImmutableList<CurveParameterSize> orderGroup) {
 
     double[][] direct = new double[totalParamsGroup][totalParamsGroup];
     for (int i = 0; i < nbTrades; i++) {
       System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
     }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    return JacobianBlockSolver.inverse(direct, orderGroup);
   }
 
   // jacobian indirect, merging groups
+  // the transition matrix has one block of rows for each previous curve, containing the Jacobian of that curve
+  // the product is formed one block at a time, skipping previous curves that the trades of the group do not depend on
   private static DoubleMatrix jacobianIndirect(
       DoubleMatrix res,
       DoubleMatrix pDmCurrentMatrix,
@@ -406,41 +666,45 @@ public final class CurveCalibrator {
     if (totalParamsPrevious == 0) {
       return DoubleMatrix.EMPTY;
     }
-    double[][] nonDirect = new double[totalParamsGroup][totalParamsPrevious];
-    for (int i = 0; i < nbTrades; i++) {
-      System.arraycopy(res.rowArray(i), 0, nonDirect[i], 0, totalParamsPrevious);
-    }
-    DoubleMatrix pDpPreviousMatrix = (DoubleMatrix) MATRIX_ALGEBRA.scale(
-        MATRIX_ALGEBRA.multiply(pDmCurrentMatrix, DoubleMatrix.copyOf(nonDirect)), -1d);
-    // all curves: order and size
-    int[] startIndexBefore = new int[orderPrevious.size()];
-    for (int i = 1; i < orderPrevious.size(); i++) {
-      startIndexBefore[i] = startIndexBefore[i - 1] + orderPrevious.get(i - 1).getParameterCount();
-    }
-    // transition Matrix: all curves from previous groups
-    double[][] transition = new double[totalParamsPrevious][totalParamsPrevious];
-    for (int i = 0; i < orderPrevious.size(); i++) {
-      int paramCountOuter = orderPrevious.get(i).getParameterCount();
-      JacobianCalibrationMatrix thisInfo = jacobiansPrevious.get(orderPrevious.get(i).getName());
-      DoubleMatrix thisMatrix = thisInfo.getJacobianMatrix();
-      int startIndexInner = 0;
-      for (int j = 0; j < orderPrevious.size(); j++) {
-        int paramCountInner = orderPrevious.get(j).getParameterCount();
-        if (thisInfo.containsCurve(orderPrevious.get(j).getName())) { // If not, the matrix stay with 0
-          for (int k = 0; k < paramCountOuter; k++) {
-            System.arraycopy(
-                thisMatrix.rowArray(k),
-                startIndexInner,
-                transition[startIndexBefore[i] + k],
-                startIndexBefore[j],
-                paramCountInner);
+    double[][] pDmCurrent = pDmCurrentMatrix.toArrayUnsafe();
+    double[][] result = new double[totalParamsGroup][totalParamsPrevious];
+    int startIndexBefore = 0;
+    for (CurveParameterSize order : orderPrevious) {
+      int paramCount = order.getParameterCount();
+      // sensitivity of the group parameters to the parameters of the previous curve
+      double[][] pDpPrevious = new double[totalParamsGroup][paramCount];
+      boolean nonZero = false;
+      for (int i = 0; i < nbTrades; i++) {
+        double[] resRow = res.rowArray(i);
+        for (int p = 0; p < paramCount; p++) {
+          double value = resRow[startIndexBefore + p];
+          if (value != 0d) {
+            nonZero = true;
+            for (int g = 0; g < totalParamsGroup; g++) {
+              pDpPrevious[g][p] -= pDmCurrent[g][i] * value;
+            }
+          }
+        }
+      }
+      // multiply by the Jacobian of the previous curve, whose columns are a prefix of the previous curves
+      if (nonZero) {
+        double[][] jacobian = jacobiansPrevious.get(order.getName()).getJacobianMatrix().toArrayUnsafe();
+        for (int g = 0; g < totalParamsGroup; g++) {
+          double[] resultRow = result[g];
+          for (int p = 0; p < paramCount; p++) {
+            double value = pDpPrevious[g][p];
+            if (value != 0d) {
+              double[] jacobianRow = jacobian[p];
+              for (int c = 0; c < jacobianRow.length; c++) {
+                resultRow[c] += value * jacobianRow[c];
+              }
+            }
           }
         }
-        startIndexInner += paramCountInner;
       }
+      startIndexBefore += paramCount;
     }
-    DoubleMatrix transitionMatrix = DoubleMatrix.copyOf(transition);
-    return (DoubleMatrix) MATRIX_ALGEBRA.multiply(pDpPreviousMatrix, transitionMatrix);
+    return DoubleMatrix.ofUnsafe(result);
   }
 
   //-------------------------------------------------------------------------
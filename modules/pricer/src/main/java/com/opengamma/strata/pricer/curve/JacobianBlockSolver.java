@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import java.util.List;
+
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Inverts the derivative matrix of a curve group, taking advantage of its block structure.
+ * <p>
+ * The derivative matrix of a curve group has one block of rows for the trades of each curve,
+ * and one block of columns for the parameters of each curve. A block is zero when the trades
+ * of one curve do not depend on the parameters of another curve. For example, the OIS trades
+ * used to calibrate a discount curve do not depend on the parameters of a forward curve.
+ * <p>
+ * If the curves can be ordered such that the trades of each curve only depend on the curve itself
+ * and the earlier curves, the matrix is block lower-triangular in that order.
+ * The inverse is then found by inverting the diagonal blocks and applying block forward substitution,
+ * which is much cheaper than inverting the whole matrix. If no such order exists, the whole matrix is inverted.
+ */
+final class JacobianBlockSolver {
+
+  /**
+   * The matrix algebra used for matrix inversion.
+   */
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+
+  /**
+   * Restricted constructor.
+   */
+  private JacobianBlockSolver() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Inverts the square derivative matrix of a curve group.
+   * <p>
+   * The rows are the trades and the columns are the parameters, both in the order of the curves.
+   * Each curve has one trade for each parameter.
+   *
+   * @param matrix  the derivative matrix of the trades with respect to the parameters
+   * @param curveOrder  the order of the curves
+   * @return the inverse matrix
+   */
+  static DoubleMatrix inverse(double[][] matrix, List<CurveParameterSize> curveOrder) {
+    int blockCount = curveOrder.size();
+    if (blockCount > 1) {
+      int[] sizes = new int[blockCount];
+      int[] starts = new int[blockCount];
+      for (int i = 0; i < blockCount; i++) {
+        sizes[i] = curveOrder.get(i).getParameterCount();
+        starts[i] = i == 0 ? 0 : starts[i - 1] + sizes[i - 1];
+      }
+      boolean[][] nonZero = nonZeroBlocks(matrix, starts, sizes);
+      int[] order = triangularOrder(nonZero);
+      if (order != null) {
+        return triangularInverse(matrix, starts, sizes, nonZero, order);
+      }
+    }
+    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(matrix));
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the blocks that contain at least one non-zero element
+  private static boolean[][] nonZeroBlocks(double[][] matrix, int[] starts, int[] sizes) {
+    int blockCount = starts.length;
+    boolean[][] nonZero = new boolean[blockCount][blockCount];
+    for (int i = 0; i < blockCount; i++) {
+      for (int r = starts[i]; r < starts[i] + sizes[i]; r++) {
+        double[] row = matrix[r];
+        for (int j = 0; j < blockCount; j++) {
+          if (!nonZero[i][j]) {
+            for (int c = starts[j]; c < starts[j] + sizes[j]; c++) {
+              if (row[c] != 0d) {
+                nonZero[i][j] = true;
+                break;
+              }
+            }
+          }
+        }
+      }
+    }
+    return nonZero;
+  }
+
+  // finds an order of the blocks in which each block only depends on itself and earlier blocks
+  // null is returned if there is no such order, or if a diagonal block is zero
+  private static int[] triangularOrder(boolean[][] nonZero) {
+    int blockCount = nonZero.length;
+    int[] order = new int[blockCount];
+    boolean[] placed = new boolean[blockCount];
+    for (int position = 0; position < blockCount; position++) {
+      int next = -1;
+      for (int i = 0; i < blockCount && next < 0; i++) {
+        if (!placed[i] && nonZero[i][i] && dependsOnlyOnPlaced(nonZero[i], i, placed)) {
+          next = i;
+        }
+      }
+      if (next < 0) {
+        return null;
+      }
+      order[position] = next;
+      placed[next] = true;
+    }
+    return order;
+  }
+
+  // checks if the block only depends on itself and the blocks already placed
+  private static boolean dependsOnlyOnPlaced(boolean[] nonZeroRow, int block, boolean[] placed) {
+    for (int j = 0; j < nonZeroRow.length; j++) {
+      if (j != block && nonZeroRow[j] && !placed[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // inverts a block lower-triangular matrix using block forward substitution
+  // with blocks i and j in triangular order, the inverse blocks are:
+  // X(i,i) = M(i,i)^-1
+  // X(i,j) = -M(i,i)^-1 * sum over k between j and i of M(i,k) * X(k,j)
+  private static DoubleMatrix triangularInverse(
+      double[][] matrix,
+      int[] starts,
+      int[] sizes,
+      boolean[][] nonZero,
+      int[] order) {
+
+    int size = matrix.length;
+    double[][] inverse = new double[size][size];
+    for (int a = 0; a < order.length; a++) {
+      int i = order[a];
+      double[][] diagonalInverse = MATRIX_ALGEBRA.getInverse(block(matrix, starts[i], sizes[i], starts[i], sizes[i]))
+          .toArrayUnsafe();
+      setBlock(inverse, starts[i], starts[i], diagonalInverse);
+      for (int b = 0; b < a; b++) {
+        int j = order[b];
+        double[][] sum = new double[sizes[i]][sizes[j]];
+        boolean sumNonZero = false;
+        for (int c = b; c < a; c++) {
+          int k = order[c];
+          if (nonZero[i][k]) {
+            multiplyAdd(matrix, starts[i], sizes[i], starts[k], inverse, starts[k], starts[j], sizes[j], sizes[k], sum);
+            sumNonZero = true;
+          }
+        }
+        if (sumNonZero) {
+          double[][] product = new double[sizes[i]][sizes[j]];
+          multiplyAdd(diagonalInverse, 0, sizes[i], 0, sum, 0, 0, sizes[j], sizes[i], product);
+          for (int r = 0; r < sizes[i]; r++) {
+            for (int c = 0; c < sizes[j]; c++) {
+              inverse[starts[i] + r][starts[j] + c] = -product[r][c];
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(inverse);
+  }
+
+  // extracts a block from the matrix
+  private static DoubleMatrix block(double[][] matrix, int rowStart, int rowCount, int columnStart, int columnCount) {
+    return DoubleMatrix.of(rowCount, columnCount, (r, c) -> matrix[rowStart + r][columnStart + c]);
+  }
+
+  // sets a block in the matrix
+  private static void setBlock(double[][] matrix, int rowStart, int columnStart, double[][] block) {
+    for (int r = 0; r < block.length; r++) {
+      System.arraycopy(block[r], 0, matrix[rowStart + r], columnStart, block[r].length);
+    }
+  }
+
+  // adds the product of a block of 'left' and a block of 'right' to 'result', skipping zero elements of 'left'
+  private static void multiplyAdd(
+      double[][] left,
+      int leftRowStart,
+      int rowCount,
+      int leftColumnStart,
+      double[][] right,
+      int rightRowStart,
+      int rightColumnStart,
+      int columnCount,
+      int innerCount,
+      double[][] result) {
+
+    for (int r = 0; r < rowCount; r++) {
+      double[] leftRow = left[leftRowStart + r];
+      double[] resultRow = result[r];
+      for (int n = 0; n < innerCount; n++) {
+        double value = leftRow[leftColumnStart + n];
+        if (value != 0d) {
+          double[] rightRow = right[rightRowStart + n];
+          for (int c = 0; c < columnCount; c++) {
+            resultRow[c] += value * rightRow[rightColumnStart + c];
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -18,13 +21,28 @@ import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
 
 /**
  * Utilities to calibrate implied trinomial tree to Black volatilities of FX options.
+ * <p>
+ * The calibrated trees are cached, keyed by the inputs the calibration reads: the currency pair,
+ * the time to expiry, the FX rate, the discount factors of the two currencies and the volatilities.
+ * Thus options with the same underlying and expiry, priced with the same market data, share the same tree.
+ * The cache does not refer to the rates provider, so the rest of the market data is not retained.
+ * The least recently used trees are evicted once the maximum size is reached.
  */
 public class ImpliedTrinomialTreeFxOptionCalibrator {
 
+  /**
+   * The default maximum number of trees in the cache.
+   */
+  private static final int DEFAULT_CACHE_SIZE = 100;
+
   /**
    * Number of time steps.
    */
   private final int nSteps;
+  /**
+   * The cache of calibrated trees, in least recently used order.
+   */
+  private final Map<CacheKey, RecombiningTrinomialTreeData> cache;
 
   /**
    * Calibrator with the specified number of time steps.
@@ -32,8 +50,27 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
    * @param nSteps  number of time steps
    */
   public ImpliedTrinomialTreeFxOptionCalibrator(int nSteps) {
+    this(nSteps, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Calibrator with the specified number of time steps and maximum number of cached trees.
+   * 
+   * @param nSteps  number of time steps
+   * @param cacheSize  the maximum number of calibrated trees to cache
+   */
+  ImpliedTrinomialTreeFxOptionCalibrator(int nSteps, int cacheSize) {
     ArgChecker.isTrue(nSteps > 1, "the number of steps should be greater than 1");
+    ArgChecker.notNegativeOrZero(cacheSize, "cacheSize");
     this.nSteps = nSteps;
+    this.cache = new LinkedHashMap<CacheKey, RecombiningTrinomialTreeData>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, RecombiningTrinomialTreeData> eldest) {
+        return size() > cacheSize;
+      }
+    };
   }
 
   //-------------------------------------------------------------------------
@@ -86,15 +123,83 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
       RatesProvider ratesProvider,
       BlackFxOptionVolatilities volatilities) {
 
+    validate(ratesProvider, volatilities);
+    if (timeToExpiry <= 0d) {
+      throw new IllegalArgumentException("option expired");
+    }
+    CacheKey key = new CacheKey(
+        currencyPair,
+        timeToExpiry,
+        ratesProvider.fxRate(currencyPair),
+        ratesProvider.discountFactors(currencyPair.getBase()),
+        ratesProvider.discountFactors(currencyPair.getCounter()),
+        volatilities);
+    RecombiningTrinomialTreeData cached;
+    synchronized (cache) {
+      cached = cache.get(key);
+    }
+    if (cached != null) {
+      return cached;
+    }
+    // calibration occurs outside the lock, two threads calibrating the same tree obtain equal results
+    RecombiningTrinomialTreeData treeData = calibrate(
+        timeToExpiry, currencyPair, key.fxRate, key.baseDiscountFactors, key.counterDiscountFactors, volatilities);
+    synchronized (cache) {
+      cache.put(key, treeData);
+    }
+    return treeData;
+  }
+
+  /**
+   * Calibrate trinomial tree to Black volatilities, bypassing the cache.
+   * <p>
+   * This is used for market data that is not expected to be shared, such as bumped market data.
+   * 
+   * @param timeToExpiry  the time to expiry
+   * @param currencyPair  the currency pair
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the trinomial tree data
+   */
+  RecombiningTrinomialTreeData calibrateUncached(
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
     validate(ratesProvider, volatilities);
     if (timeToExpiry <= 0d) {
       throw new IllegalArgumentException("option expired");
     }
     Currency ccyBase = currencyPair.getBase();
     Currency ccyCounter = currencyPair.getCounter();
-    double todayFx = ratesProvider.fxRate(currencyPair);
-    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
-    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+    return calibrate(
+        timeToExpiry,
+        currencyPair,
+        ratesProvider.fxRate(currencyPair),
+        ratesProvider.discountFactors(ccyBase),
+        ratesProvider.discountFactors(ccyCounter),
+        volatilities);
+  }
+
+  //-------------------------------------------------------------------------
+  // the number of trees in the cache
+  int cacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // calibrates the tree
+  private RecombiningTrinomialTreeData calibrate(
+      double timeToExpiry,
+      CurrencyPair currencyPair,
+      double todayFx,
+      DiscountFactors baseDiscountFactors,
+      DiscountFactors counterDiscountFactors,
+      BlackFxOptionVolatilities volatilities) {
+
     Function<Double, Double> interestRate = new Function<Double, Double>() {
       @Override
       public Double apply(Double t) {
@@ -131,4 +236,74 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
         "Volatility and rate data must be for the same date");
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The key of a calibrated tree, consisting of the inputs to the calibration.
+   */
+  private static final class CacheKey {
+
+    /**
+     * The currency pair.
+     */
+    private final CurrencyPair currencyPair;
+    /**
+     * The time to expiry.
+     */
+    private final double timeToExpiry;
+    /**
+     * The FX rate.
+     */
+    private final double fxRate;
+    /**
+     * The discount factors of the base currency.
+     */
+    private final DiscountFactors baseDiscountFactors;
+    /**
+     * The discount factors of the counter currency.
+     */
+    private final DiscountFactors counterDiscountFactors;
+    /**
+     * The Black volatility provider.
+     */
+    private final BlackFxOptionVolatilities volatilities;
+
+    private CacheKey(
+        CurrencyPair currencyPair,
+        double timeToExpiry,
+        double fxRate,
+        DiscountFactors baseDiscountFactors,
+        DiscountFactors counterDiscountFactors,
+        BlackFxOptionVolatilities volatilities) {
+
+      this.currencyPair = currencyPair;
+      this.timeToExpiry = timeToExpiry;
+      this.fxRate = fxRate;
+      this.baseDiscountFactors = baseDiscountFactors;
+      this.counterDiscountFactors = counterDiscountFactors;
+      this.volatilities = volatilities;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof CacheKey) {
+        CacheKey other = (CacheKey) obj;
+        return currencyPair.equals(other.currencyPair) &&
+            Double.doubleToLongBits(timeToExpiry) == Double.doubleToLongBits(other.timeToExpiry) &&
+            Double.doubleToLongBits(fxRate) == Double.doubleToLongBits(other.fxRate) &&
+            baseDiscountFactors.equals(other.baseDiscountFactors) &&
+            counterDiscountFactors.equals(other.counterDiscountFactors) &&
+            volatilities.equals(other.volatilities);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(currencyPair, timeToExpiry, fxRate, baseDiscountFactors, counterDiscountFactors, volatilities);
+    }
+  }
+
 }
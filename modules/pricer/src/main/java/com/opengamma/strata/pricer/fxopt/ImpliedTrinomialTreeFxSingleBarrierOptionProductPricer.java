@@ -5,10 +5,14 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
@@ -21,6 +25,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
@@ -296,6 +302,7 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
     CurrencyPair currencyPair = underlyingFx.getCurrencyPair();
+    double timeToExpiry = volatilities.relativeTime(underlyingOption.getExpiry());
     ImmutableRatesProvider immRatesProvider = ratesProvider.toImmutableRatesProvider();
     ImmutableMap<Currency, Curve> baseCurves = immRatesProvider.getDiscountCurves();
     CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
@@ -309,7 +316,9 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
           Map<Currency, Curve> mapBumped = new HashMap<>(baseCurves);
           mapBumped.put(entry.getKey(), dscBumped);
           ImmutableRatesProvider providerDscBumped = immRatesProvider.toBuilder().discountCurves(mapBumped).build();
-          double pvBumped = presentValue(option, providerDscBumped, volatilities).getAmount();
+          RecombiningTrinomialTreeData treeDataBumped =
+              calibrator.calibrateUncached(timeToExpiry, currencyPair, providerDscBumped, volatilities);
+          double pvBumped = presentValue(option, providerDscBumped, volatilities, treeDataBumped).getAmount();
           return (pvBumped - pvBase.getAmount()) / shift;
         });
         result = result.combinedWith(curve.createParameterSensitivity(pvBase.getCurrency(), sensitivity));
@@ -318,6 +327,72 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the FX barrier option product to the Black volatility parameters.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of {@link #presentValue} to
+   * the parameters of the Black volatilities, bucketed by parameter.
+   * <p>
+   * The sensitivity is computed by bump and re-price, where the trinomial tree is recalibrated for each bump.
+   * 
+   * @param option  the option product
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present value volatility sensitivity of the product
+   */
+  public CurrencyParameterSensitivities presentValueSensitivityModelParamsVolatility(
+      ResolvedFxSingleBarrierOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    RecombiningTrinomialTreeData baseTreeData =
+        calibrator.calibrateTrinomialTree(option.getUnderlyingOption(), ratesProvider, volatilities);
+    return presentValueSensitivityModelParamsVolatility(option, ratesProvider, volatilities, baseTreeData);
+  }
+
+  /**
+   * Calculates the present value sensitivity of the FX barrier option product to the Black volatility parameters.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of {@link #presentValue} to
+   * the parameters of the Black volatilities, bucketed by parameter.
+   * <p>
+   * The sensitivity is computed by bump and re-price, where the trinomial tree is recalibrated for each bump.
+   * 
+   * @param option  the option product
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param baseTreeData  the trinomial tree data
+   * @return the present value volatility sensitivity of the product
+   */
+  public CurrencyParameterSensitivities presentValueSensitivityModelParamsVolatility(
+      ResolvedFxSingleBarrierOption option,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData baseTreeData) {
+
+    ArgChecker.isTrue(baseTreeData.getNumberOfSteps() == calibrator.getNumberOfSteps(),
+        "the number of steps mismatch between pricer and trinomial tree data");
+    double shift = 1.0e-5;
+    CurrencyAmount pvBase = presentValue(option, ratesProvider, volatilities, baseTreeData);
+    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+    CurrencyPair currencyPair = underlyingOption.getUnderlying().getCurrencyPair();
+    double timeToExpiry = volatilities.relativeTime(underlyingOption.getExpiry());
+    int nParams = volatilities.getParameterCount();
+    DoubleArray sensitivity = DoubleArray.of(nParams, i -> {
+      BlackFxOptionVolatilities volBumped = volatilities.withParameter(i, volatilities.getParameter(i) + shift);
+      RecombiningTrinomialTreeData treeDataBumped =
+          calibrator.calibrateUncached(timeToExpiry, currencyPair, ratesProvider, volBumped);
+      double pvBumped = presentValue(option, ratesProvider, volBumped, treeDataBumped).getAmount();
+      return (pvBumped - pvBase.getAmount()) / shift;
+    });
+    List<ParameterMetadata> metadata = IntStream.range(0, nParams)
+        .mapToObj(volatilities::getParameterMetadata)
+        .collect(toImmutableList());
+    return CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(volatilities.getName(), metadata, pvBase.getCurrency(), sensitivity));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the currency exposure of the FX barrier option product.
@@ -114,6 +114,26 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionTradePricer {
     return sensProduct.combinedWith(sensPremium);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the FX barrier option trade to the Black volatility parameters.
+   * <p>
+   * The sensitivity is computed by bump and re-price, returning {@link CurrencyParameterSensitivities}.
+   * The trinomial tree is recalibrated for each bumped parameter.
+   * 
+   * @param trade  the option trade
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present value volatility sensitivity of the trade
+   */
+  public CurrencyParameterSensitivities presentValueSensitivityModelParamsVolatility(
+      ResolvedFxSingleBarrierOptionTrade trade,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    return productPricer.presentValueSensitivityModelParamsVolatility(trade.getProduct(), ratesProvider, volatilities);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the currency exposure of the FX barrier option trade.
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -1361,14 +1362,14 @@ public final class BlackFormulaRepository {
     // initial guess
     double guess = impliedVolatilityFromNormalApproximated2(forward, strike, timeToExpiry, normalVolatility);
     // Newton-Raphson method
-    final Function<Double, Double> func = new Function<Double, Double>() {
+    final DoubleUnaryOperator func = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double volatility) {
+      public double applyAsDouble(double volatility) {
         return NormalFormulaRepository
             .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
       }
     };
-    return ROOT_FINDER.getRoot(func, guess);
+    return ROOT_FINDER.getRootPrimitive(func, guess);
   }
 
   /**
@@ -1395,14 +1396,14 @@ public final class BlackFormulaRepository {
     // initial guess
     double guess = impliedVolatilityFromNormalApproximated2(forward, strike, timeToExpiry, normalVolatility);
     // Newton-Raphson method
-    final Function<Double, Double> func = new Function<Double, Double>() {
+    final DoubleUnaryOperator func = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double volatility) {
+      public double applyAsDouble(double volatility) {
         return NormalFormulaRepository
             .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
       }
     };
-    double impliedVolatilityBlack = ROOT_FINDER.getRoot(func, guess);
+    double impliedVolatilityBlack = ROOT_FINDER.getRootPrimitive(func, guess);
     double derivativeInverse = NormalFormulaRepository
         .impliedVolatilityFromBlackApproximatedAdjoint(forward, strike, timeToExpiry, impliedVolatilityBlack).getDerivative(0);
     double derivative = 1.0 / derivativeInverse;
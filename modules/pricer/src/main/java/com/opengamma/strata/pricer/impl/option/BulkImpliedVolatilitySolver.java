@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Computes implied volatilities for large sets of option prices.
+ * <p>
+ * This is intended for building volatility surfaces from many quoted prices.
+ * The Black, shifted Black and normal (Bachelier) models are supported.
+ * All prices, input/output, are <b>forward</b> prices, i.e. (spot price)/numeraire.
+ * <p>
+ * Each price is converted to the price of the out-of-the-money option and normalized.
+ * An initial guess is derived in closed form from the branch of the normalized price curve
+ * the price falls in, following Jäckel, P. (2006) "By Implication", Wilmott.
+ * This is refined by a small number of third order Householder steps.
+ * Below the inflection point the logarithm of the price is used as objective, as the price decays exponentially.
+ * If the refinement does not converge, the single option solver of the model is used instead.
+ * <p>
+ * The options are split into fixed size chunks which are solved in parallel.
+ */
+public final class BulkImpliedVolatilitySolver {
+
+  /**
+   * The standard normal distribution.
+   */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  /**
+   * The standard normal density at zero.
+   */
+  private static final double ONE_OVER_ROOT_TWO_PI = 1d / Math.sqrt(2d * Math.PI);
+  /**
+   * The number of options solved by a single task.
+   */
+  private static final int CHUNK_SIZE = 1024;
+  /**
+   * The maximal number of Householder steps.
+   */
+  private static final int MAX_STEPS = 6;
+  /**
+   * The relative size of the Householder step at which the volatility is deemed converged.
+   */
+  private static final double RELATIVE_TOLERANCE = 1e-11;
+  /**
+   * The relative amount by which a price may fall below the intrinsic value due to rounding.
+   */
+  private static final double INTRINSIC_TOLERANCE = 1e-12;
+  /**
+   * The volatility guess for the single option Black solver.
+   */
+  private static final double BLACK_VOL_GUESS = 0.3;
+
+  // restricted constructor
+  private BulkImpliedVolatilitySolver() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatilities.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal (Black) implied volatilities
+   * @throws IllegalArgumentException if the inputs are invalid
+   */
+  public static double[] blackImpliedVolatilities(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall) {
+
+    return shiftedBlackImpliedVolatilities(prices, forwards, strikes, timesToExpiry, isCall, 0d);
+  }
+
+  /**
+   * Computes the shifted log-normal (Black) implied volatilities.
+   * <p>
+   * The shift is applied to both the forward and the strike.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param shift  the shift
+   * @return the shifted log-normal (Black) implied volatilities
+   * @throws IllegalArgumentException if the inputs are invalid
+   */
+  public static double[] shiftedBlackImpliedVolatilities(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall,
+      double shift) {
+
+    validate(prices, forwards, strikes, timesToExpiry, isCall);
+    return solve(prices.length, i -> blackImpliedVolatility(
+        prices[i], forwards[i] + shift, strikes[i] + shift, timesToExpiry[i], isCall[i]));
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities.
+   *
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @return the normal implied volatilities
+   * @throws IllegalArgumentException if the inputs are invalid
+   */
+  public static double[] normalImpliedVolatilities(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall) {
+
+    validate(prices, forwards, strikes, timesToExpiry, isCall);
+    return solve(prices.length, i -> normalImpliedVolatility(
+        prices[i], forwards[i], strikes[i], timesToExpiry[i], isCall[i]));
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the arrays are consistent
+  private static void validate(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall) {
+
+    ArgChecker.notNull(prices, "prices");
+    ArgChecker.notNull(forwards, "forwards");
+    ArgChecker.notNull(strikes, "strikes");
+    ArgChecker.notNull(timesToExpiry, "timesToExpiry");
+    ArgChecker.notNull(isCall, "isCall");
+    int size = prices.length;
+    ArgChecker.isTrue(forwards.length == size, "forwards must have the same size as prices");
+    ArgChecker.isTrue(strikes.length == size, "strikes must have the same size as prices");
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry must have the same size as prices");
+    ArgChecker.isTrue(isCall.length == size, "isCall must have the same size as prices");
+  }
+
+  // solves each chunk of options in turn, in parallel if there is more than one chunk
+  private static double[] solve(int size, IntToDoubleFunction solver) {
+    double[] result = new double[size];
+    int nbChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    IntStream chunks = IntStream.range(0, nbChunks);
+    if (nbChunks > 1) {
+      chunks = chunks.parallel();
+    }
+    chunks.forEach(chunk -> {
+      int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+      for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+        result[i] = solver.applyAsDouble(i);
+      }
+    });
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // the Black implied volatility of a single option
+  private static double blackImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    double intrinsicPrice = Math.max(0d, (isCall ? 1 : -1) * (forward - strike));
+    double otmPrice = price - intrinsicPrice;
+    ArgChecker.isTrue(otmPrice >= -INTRINSIC_TOLERANCE * intrinsicPrice,
+        "price of {} below intrinsic value of {}", price, intrinsicPrice);
+    if (otmPrice <= 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(otmPrice < Math.min(forward, strike), "otmPrice of {} exceeded upper bound of {}", otmPrice,
+        Math.min(forward, strike));
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a price with time value");
+
+    double x = -Math.abs(Math.log(forward / strike));
+    double beta = otmPrice / Math.sqrt(forward * strike);
+    double sigmaRootT = normalizedBlackImpliedVolatility(beta, x);
+    if (Double.isNaN(sigmaRootT)) {
+      return BlackFormulaRepository.impliedVolatility(otmPrice, forward, strike, timeToExpiry, BLACK_VOL_GUESS);
+    }
+    return sigmaRootT / Math.sqrt(timeToExpiry);
+  }
+
+  // the normalized volatility, sigma * sqrt(T), of an out-of-the-money normalized Black price, NaN if not converged
+  private static double normalizedBlackImpliedVolatility(double beta, double x) {
+    if (x == 0d) {
+      return 2d * NORMAL.getInverseCDF(0.5 * (beta + 1d));
+    }
+    double sigmaInflection = Math.sqrt(-2d * x);
+    double betaInflection = normalizedBlackPrice(x, sigmaInflection);
+    boolean lowerBranch = beta < betaInflection;
+    double sigma;
+    if (lowerBranch) {
+      sigma = Math.sqrt(2d * x * x / (-x - 4d * Math.log(beta / betaInflection)));
+    } else {
+      double betaMax = Math.exp(0.5 * x);
+      sigma = -2d * NORMAL.getInverseCDF(
+          (betaMax - beta) / (betaMax - betaInflection) * NORMAL.getCDF(-Math.sqrt(-0.5 * x)));
+    }
+    double x2 = x * x;
+    for (int step = 0; step < MAX_STEPS; step++) {
+      double sigma2 = sigma * sigma;
+      double price = normalizedBlackPrice(x, sigma);
+      double vega = ONE_OVER_ROOT_TWO_PI * Math.exp(-0.5 * (x2 / sigma2 + 0.25 * sigma2));
+      double ratio2 = x2 / (sigma2 * sigma) - 0.25 * sigma;
+      double ratio3 = ratio2 * ratio2 - 3d * x2 / (sigma2 * sigma2) - 0.25;
+      double change = lowerBranch ?
+          householderStepLog(price, beta, vega, ratio2, ratio3) :
+          householderStep(price - beta, vega, ratio2, ratio3);
+      sigma += change;
+      if (!(sigma > 0d) || Double.isInfinite(sigma)) {
+        return Double.NaN;
+      }
+      if (Math.abs(change) <= RELATIVE_TOLERANCE * sigma) {
+        return sigma;
+      }
+    }
+    return Double.NaN;
+  }
+
+  // the normalized Black price of an out-of-the-money option, x <= 0
+  private static double normalizedBlackPrice(double x, double sigma) {
+    double halfX = 0.5 * x;
+    double xOverSigma = x / sigma;
+    double halfSigma = 0.5 * sigma;
+    return Math.exp(halfX) * NORMAL.getCDF(xOverSigma + halfSigma) -
+        Math.exp(-halfX) * NORMAL.getCDF(xOverSigma - halfSigma);
+  }
+
+  //-------------------------------------------------------------------------
+  // the normal implied volatility of a single option
+  private static double normalImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    double intrinsicPrice = Math.max(0d, (isCall ? 1 : -1) * (forward - strike));
+    double otmPrice = price - intrinsicPrice;
+    ArgChecker.isTrue(otmPrice >= -INTRINSIC_TOLERANCE * intrinsicPrice,
+        "price of {} below intrinsic value of {}", price, intrinsicPrice);
+    if (otmPrice <= 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(timeToExpiry > 0d, "timeToExpiry must be positive for a price with time value");
+
+    double x = -Math.abs(forward - strike);
+    double sigmaRootT = normalizedNormalImpliedVolatility(otmPrice, x);
+    if (Double.isNaN(sigmaRootT)) {
+      return NormalFormulaRepository.impliedVolatility(
+          price, forward, strike, timeToExpiry, 0d, 1d, isCall ? PutCall.CALL : PutCall.PUT);
+    }
+    return sigmaRootT / Math.sqrt(timeToExpiry);
+  }
+
+  // the normalized volatility, sigma * sqrt(T), of an out-of-the-money normal price, NaN if not converged
+  private static double normalizedNormalImpliedVolatility(double price, double x) {
+    if (x == 0d) {
+      return price / ONE_OVER_ROOT_TWO_PI;
+    }
+    double sigmaInflection = -x;
+    double priceInflection = normalizedNormalPrice(x, sigmaInflection);
+    boolean lowerBranch = price < priceInflection;
+    double sigma;
+    if (lowerBranch) {
+      // asymptotic expansion for small volatilities, price ~ sigma^3 / x^2 * pdf(x / sigma)
+      sigma = -x / Math.sqrt(-2d * Math.log(price / -x));
+      double logPdf = Math.log(price * x * x / (sigma * sigma * sigma * ONE_OVER_ROOT_TWO_PI));
+      if (logPdf < 0d) {
+        sigma = -x / Math.sqrt(-2d * logPdf);
+      }
+    } else {
+      // the price is convex in the volatility, both the asymptote and the tangent at the inflection are below it
+      double asymptote = (price - 0.5 * x) / ONE_OVER_ROOT_TWO_PI;
+      double tangent = sigmaInflection + (price - priceInflection) / NORMAL.getPDF(-1d);
+      sigma = Math.min(asymptote, tangent);
+    }
+    double x2 = x * x;
+    for (int step = 0; step < MAX_STEPS; step++) {
+      double sigma2 = sigma * sigma;
+      double modelPrice = normalizedNormalPrice(x, sigma);
+      double vega = NORMAL.getPDF(x / sigma);
+      double ratio2 = x2 / (sigma2 * sigma);
+      double ratio3 = ratio2 * ratio2 - 3d * x2 / (sigma2 * sigma2);
+      double change = lowerBranch ?
+          householderStepLog(modelPrice, price, vega, ratio2, ratio3) :
+          householderStep(modelPrice - price, vega, ratio2, ratio3);
+      sigma += change;
+      if (!(sigma > 0d) || Double.isInfinite(sigma)) {
+        return Double.NaN;
+      }
+      if (Math.abs(change) <= RELATIVE_TOLERANCE * sigma) {
+        return sigma;
+      }
+    }
+    return Double.NaN;
+  }
+
+  // the normalized normal price of an out-of-the-money option, x <= 0
+  private static double normalizedNormalPrice(double x, double sigma) {
+    double xOverSigma = x / sigma;
+    return x * NORMAL.getCDF(xOverSigma) + sigma * NORMAL.getPDF(xOverSigma);
+  }
+
+  //-------------------------------------------------------------------------
+  // the third order Householder step for f, given f' and the ratios f''/f' and f'''/f'
+  private static double householderStep(double value, double firstDerivative, double ratio2, double ratio3) {
+    double newton = -value / firstDerivative;
+    return newton * (1d + 0.5 * ratio2 * newton) / (1d + newton * (ratio2 + ratio3 * newton / 6d));
+  }
+
+  // the third order Householder step for log(price / target), given the derivatives of the price
+  private static double householderStepLog(
+      double price,
+      double target,
+      double firstDerivative,
+      double ratio2,
+      double ratio3) {
+
+    double logRatio = firstDerivative / price;
+    return householderStep(
+        Math.log(price / target),
+        logRatio,
+        ratio2 - logRatio,
+        ratio3 - 3d * logRatio * ratio2 + 2d * logRatio * logRatio);
+  }
+
+}
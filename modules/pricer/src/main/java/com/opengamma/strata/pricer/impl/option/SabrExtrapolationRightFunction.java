@@ -6,7 +6,7 @@
 package com.opengamma.strata.pricer.impl.option;
 
 import java.util.Arrays;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
@@ -380,12 +380,12 @@ public final class SabrExtrapolationRightFunction {
       // Implementation note: If value and its derivatives is too small, then parameters are such that the extrapolated price is "very small".
       return new double[] {-100.0, 0, 0};
     }
-    Function<Double, Double> toSolveC = getCFunction(priceK, cutOffStrike, mu);
+    DoubleUnaryOperator toSolveC = getCFunction(priceK, cutOffStrike, mu);
     BracketRoot bracketer = new BracketRoot();
     double accuracy = 1.0E-5;
     RidderSingleRootFinder rootFinder = new RidderSingleRootFinder(accuracy);
-    double[] range = bracketer.getBracketedPoints(toSolveC, -1.0, 1.0);
-    param[2] = rootFinder.getRoot(toSolveC, range[0], range[1]);
+    double[] range = bracketer.getBracketedPointsPrimitive(toSolveC, -1.0, 1.0);
+    param[2] = rootFinder.getRootPrimitive(toSolveC, range[0], range[1]);
     param[1] = -2 * param[2] / cutOffStrike - (priceK[1] / priceK[0] * cutOffStrike + mu) * cutOffStrike;
     param[0] = Math.log(priceK[0] / Math.pow(cutOffStrike, -mu)) - param[1] / cutOffStrike - param[2] /
         (cutOffStrike * cutOffStrike);
@@ -564,11 +564,11 @@ public final class SabrExtrapolationRightFunction {
   }
 
   // The c parameter as a function of price, cutoff and mu.
-  private Function<Double, Double> getCFunction(double[] price, double cutOffStrike, double mu) {
+  private DoubleUnaryOperator getCFunction(double[] price, double cutOffStrike, double mu) {
     double[] cPrice = Arrays.copyOf(price, price.length);
-    return new Function<Double, Double>() {
+    return new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double c) {
+      public double applyAsDouble(double c) {
         double b = -2 * c / cutOffStrike - (cPrice[1] / cPrice[0] * cutOffStrike + mu) * cutOffStrike;
         double k2 = cutOffStrike * cutOffStrike;
         double res = -cPrice[2] / cPrice[0] * k2 + mu * (mu + 1) + 2 * b * (mu + 1) / cutOffStrike +
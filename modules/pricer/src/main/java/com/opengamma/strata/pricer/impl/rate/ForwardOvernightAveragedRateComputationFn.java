@@ -6,12 +6,15 @@
 package com.opengamma.strata.pricer.impl.rate;
 
 import java.time.LocalDate;
+import java.util.OptionalDouble;
 
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.OvernightCompoundedFixings;
 import com.opengamma.strata.pricer.rate.OvernightIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -22,6 +25,8 @@ import com.opengamma.strata.product.rate.OvernightAveragedRateComputation;
 * <p>
 * The rate computation retrieves the rate at each fixing date in the period 
 * from the {@link RatesProvider} and average them.
+* If the provider has {@linkplain OvernightCompoundedFixings compounded fixings}, the fixings published
+* before the valuation date are summed using them, rather than by walking the time series.
 */
 public class ForwardOvernightAveragedRateComputationFn
     implements RateComputationFn<OvernightAveragedRateComputation> {
@@ -66,6 +71,20 @@ public class ForwardOvernightAveragedRateComputationFn
     double forwardRateCutOff = rates.rate(lastIndexObs);
     accumulatedInterest += cutoffAccrualFactor * forwardRateCutOff;
     LocalDate currentFixingNonCutoff = computation.getStartDate();
+    // Fixings published before the valuation date are summed at once if compounded fixings are available.
+    OvernightCompoundedFixings compoundedFixings = compoundedFixings(computation, provider);
+    if (compoundedFixings != null) {
+      LocalDate endFixing = endPublishedFixing(computation, rates.getValuationDate(), lastNonCutoffFixing);
+      if (endFixing.isAfter(currentFixingNonCutoff)) {
+        // if a fixing is missing, the loop below reports it
+        OptionalDouble pastInterest = compoundedFixings.accruedInterest(currentFixingNonCutoff, endFixing);
+        if (pastInterest.isPresent()) {
+          accumulatedInterest += pastInterest.getAsDouble();
+          accrualFactorTotal += compoundedFixings.accrualFactor(currentFixingNonCutoff, endFixing).getAsDouble();
+          currentFixingNonCutoff = endFixing;
+        }
+      }
+    }
     while (currentFixingNonCutoff.isBefore(lastNonCutoffFixing)) {
       // All dates involved in the period are computed. Potentially slow.
       // The fixing periods are added as long as their start date is (strictly) before the no cutoff period end-date.
@@ -107,6 +126,18 @@ public class ForwardOvernightAveragedRateComputationFn
         .multipliedBy(cutoffAccrualFactor);
 
     LocalDate currentFixingNonCutoff = computation.getStartDate();
+    // Fixings published before the valuation date have no sensitivity, only the accrual factor is needed.
+    OvernightCompoundedFixings compoundedFixings = compoundedFixings(computation, provider);
+    if (compoundedFixings != null) {
+      LocalDate endFixing = endPublishedFixing(computation, rates.getValuationDate(), lastNonCutoffFixing);
+      if (endFixing.isAfter(currentFixingNonCutoff)) {
+        OptionalDouble pastAccrualFactor = compoundedFixings.accrualFactor(currentFixingNonCutoff, endFixing);
+        if (pastAccrualFactor.isPresent()) {
+          accrualFactorTotal += pastAccrualFactor.getAsDouble();
+          currentFixingNonCutoff = endFixing;
+        }
+      }
+    }
     while (currentFixingNonCutoff.isBefore(lastNonCutoffFixing)) {
       // All dates involved in the period are computed. Potentially slow.
       // The fixing periods are added as long as their start date is (strictly) before the no cutoff period end-date.
@@ -133,4 +164,27 @@ public class ForwardOvernightAveragedRateComputationFn
     return rate;
   }
 
+  //-------------------------------------------------------------------------
+  // finds the compounded fixings, null if not available or not using the same calendar
+  private static OvernightCompoundedFixings compoundedFixings(
+      OvernightAveragedRateComputation computation,
+      RatesProvider provider) {
+
+    return provider.overnightCompoundedFixings(computation.getIndex())
+        .filter(fixings -> fixings.getFixingCalendar().getId().equals(computation.getFixingCalendar().getId()))
+        .orElse(null);
+  }
+
+  // finds the end of the fixings published before the valuation date, limited to the non-cutoff period
+  private static LocalDate endPublishedFixing(
+      OvernightAveragedRateComputation computation,
+      LocalDate valuationDate,
+      LocalDate lastNonCutoffFixing) {
+
+    HolidayCalendar fixingCalendar = computation.getFixingCalendar();
+    LocalDate firstUnpublished = fixingCalendar.shift(
+        fixingCalendar.nextOrSame(valuationDate), -computation.getIndex().getPublicationDateOffset());
+    return firstUnpublished.isBefore(lastNonCutoffFixing) ? firstUnpublished : lastNonCutoffFixing;
+  }
+
 }
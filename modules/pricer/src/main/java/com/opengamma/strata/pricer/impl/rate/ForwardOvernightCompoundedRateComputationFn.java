@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.util.OptionalDouble;
 
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -17,6 +18,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.PricingException;
+import com.opengamma.strata.pricer.rate.OvernightCompoundedFixings;
 import com.opengamma.strata.pricer.rate.OvernightIndexRates;
 import com.opengamma.strata.pricer.rate.RateComputationFn;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -26,6 +28,8 @@ import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
 * Rate computation implementation for a rate based on a single overnight index that is compounded.
 * <p>
 * Rates that are already fixed are retrieved from the time series of the {@link RatesProvider}.
+* If the provider has {@linkplain OvernightCompoundedFixings compounded fixings}, the published fixings
+* in the non cut-off period are compounded using them, rather than by walking the time series.
 * Rates that are in the future and not in the cut-off period are computed as unique forward rate in the full future period.
 * Rates that are in the cut-off period (already fixed or forward) are compounded.
 */
@@ -53,7 +57,7 @@ public class ForwardOvernightCompoundedRateComputationFn
       RatesProvider provider) {
 
     OvernightIndexRates rates = provider.overnightIndexRates(computation.getIndex());
-    ObservationDetails details = new ObservationDetails(computation, rates);
+    ObservationDetails details = new ObservationDetails(computation, rates, compoundedFixings(computation, provider));
     return details.calculateRate();
   }
 
@@ -65,7 +69,7 @@ public class ForwardOvernightCompoundedRateComputationFn
       RatesProvider provider) {
 
     OvernightIndexRates rates = provider.overnightIndexRates(computation.getIndex());
-    ObservationDetails details = new ObservationDetails(computation, rates);
+    ObservationDetails details = new ObservationDetails(computation, rates, compoundedFixings(computation, provider));
     return details.calculateRateSensitivity();
   }
 
@@ -82,6 +86,16 @@ public class ForwardOvernightCompoundedRateComputationFn
     return rate;
   }
 
+  // finds the compounded fixings, null if not available or not using the same calendar
+  private static OvernightCompoundedFixings compoundedFixings(
+      OvernightCompoundedRateComputation computation,
+      RatesProvider provider) {
+
+    return provider.overnightCompoundedFixings(computation.getIndex())
+        .filter(fixings -> fixings.getFixingCalendar().getId().equals(computation.getFixingCalendar().getId()))
+        .orElse(null);
+  }
+
   //-------------------------------------------------------------------------
   // Internal class. Observation details stored in a separate class to clarify the construction.
   private static final class ObservationDetails {
@@ -89,6 +103,7 @@ public class ForwardOvernightCompoundedRateComputationFn
     private final OvernightCompoundedRateComputation computation;
     private final OvernightIndexRates rates;
     private final LocalDateDoubleTimeSeries indexFixingDateSeries;
+    private final OvernightCompoundedFixings compoundedFixings; // The compounded fixings, null if not available
     private final DayCount dayCount;
     private final int cutoffOffset;
     private final LocalDate firstFixing; // The date of the first fixing
@@ -99,10 +114,15 @@ public class ForwardOvernightCompoundedRateComputationFn
     private final double[] accrualFactorCutoff; // Accrual factors for the sub-periods using the cutoff rate.
     private LocalDate nextFixing; // Running variable through the different methods: next fixing date to be analyzed
 
-    private ObservationDetails(OvernightCompoundedRateComputation computation, OvernightIndexRates rates) {
+    private ObservationDetails(
+        OvernightCompoundedRateComputation computation,
+        OvernightIndexRates rates,
+        OvernightCompoundedFixings compoundedFixings) {
+
       this.computation = computation;
       this.rates = rates;
       this.indexFixingDateSeries = rates.getFixings();
+      this.compoundedFixings = compoundedFixings;
       this.dayCount = computation.getIndex().getDayCount();
       // Details of the cutoff period
       this.firstFixing = computation.getStartDate();
@@ -127,6 +147,21 @@ public class ForwardOvernightCompoundedRateComputationFn
     private double pastCompositionFactor() {
       double compositionFactor = 1.0d;
       LocalDate currentFixing = firstFixing;
+      if (compoundedFixings != null) {
+        // the fixings in the non-cutoff period that are published before the valuation date are compounded at once
+        HolidayCalendar fixingCalendar = computation.getFixingCalendar();
+        LocalDate firstUnpublished = fixingCalendar.shift(
+            fixingCalendar.nextOrSame(rates.getValuationDate()), -computation.getIndex().getPublicationDateOffset());
+        LocalDate endFixing = firstUnpublished.isBefore(lastFixingNonCutoff) ? firstUnpublished : lastFixingNonCutoff;
+        if (endFixing.isAfter(firstFixing)) {
+          // if a fixing is missing, the loop below reports it
+          OptionalDouble pastFactor = compoundedFixings.compoundedFactor(firstFixing, endFixing);
+          if (pastFactor.isPresent()) {
+            compositionFactor = pastFactor.getAsDouble();
+            currentFixing = endFixing;
+          }
+        }
+      }
       LocalDate currentPublication = computation.calculatePublicationFromFixing(currentFixing);
       while ((currentFixing.isBefore(lastFixingNonCutoff)) && // fixing in the non-cutoff period
           rates.getValuationDate().isAfter(currentPublication)) { // publication before valuation
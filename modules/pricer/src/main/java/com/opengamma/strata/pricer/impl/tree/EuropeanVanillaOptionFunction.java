@@ -25,6 +25,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.product.common.PutCall;
 
 /**
@@ -85,6 +86,22 @@ public final class EuropeanVanillaOptionFunction
     return DoubleArray.ofUnsafe(values);
   }
 
+  @Override
+  public void computeNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      double[] result,
+      int i) {
+
+    int nNodes = 2 * i + 1;
+    for (int j = 0; j < nNodes; ++j) {
+      result[j] = discountFactor * (transitionProbability.get(j, 2) * value[j + 2] +
+          transitionProbability.get(j, 1) * value[j + 1] + transitionProbability.get(j, 0) * value[j]);
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
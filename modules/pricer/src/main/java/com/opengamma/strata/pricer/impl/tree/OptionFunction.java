@@ -131,4 +131,37 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, writing the result to an existing array.
+   * <p>
+   * This is equivalent to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}.
+   * The option values in the (i+1)-th layer are the first (2*i+3) elements of {@code value}, and
+   * the option values in the i-th layer are written to the first (2*i+1) elements of {@code result}.
+   * The two arrays must be distinct. Any other element of {@code result} is left unchanged.
+   * <p>
+   * This enables the option values to be rolled back through the tree without allocation.
+   * By default, this delegates to the {@code DoubleArray} form, so that an option with path-dependence
+   * is only required to override that method. Implementations should override this method to avoid allocation.
+   * An implementation may itself price with {@link TrinomialTree}, as a nested roll-back uses its own arrays.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param value  the option value in the (i+1)-th layer
+   * @param result  the array to which the option values in the i-th layer are written
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void computeNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      double[] result,
+      int i) {
+
+    DoubleArray next = getNextOptionValues(
+        discountFactor, transitionProbability, stateValue, DoubleArray.copyOf(value, 0, 2 * i + 3), i);
+    next.copyInto(result, 0);
+  }
+
 }
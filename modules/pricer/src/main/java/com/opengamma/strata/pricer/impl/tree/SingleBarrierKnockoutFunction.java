@@ -97,21 +97,33 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       DoubleArray values,
       int i) {
 
+    double[] res = new double[2 * i + 1];
+    computeNextOptionValues(discountFactor, transitionProbability, stateValue, values.toArrayUnsafe(), res, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void computeNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      double[] result,
+      int i) {
+
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
     for (int j = 0; j < nNodes; ++j) {
       if ((isDown && stateValue.get(j) <= barrierLevel) ||
           (!isDown && stateValue.get(j) >= barrierLevel)) {
-        res[j] = rebate;
+        result[j] = rebate;
       } else {
         double upProb = transitionProbability.get(j, 2);
         double middleProb = transitionProbability.get(j, 1);
         double downProb = transitionProbability.get(j, 0);
-        res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+        result[j] = discountFactor * (upProb * values[j + 2] + middleProb * values[j + 1] + downProb * values[j]);
       }
     }
     // modification if barrier lies between two consecutive nodes 
@@ -121,12 +133,11 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       double ub = stateValue.get(index + 1) - barrierLevel;
       double ud = stateValue.get(index + 1) - stateValue.get(index);
       if (isDown) {
-        res[index + 1] = 0.5 * res[index + 1] + 0.5 * (bd * rebate + ub * res[index + 1]) / ud;
+        result[index + 1] = 0.5 * result[index + 1] + 0.5 * (bd * rebate + ub * result[index + 1]) / ud;
       } else {
-        res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
+        result[index] = 0.5 * result[index] + 0.5 * (ub * rebate + bd * result[index]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
   //-------------------------------------------------------------------------
@@ -17,9 +17,20 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * In this case, the option values are rolled back through the tree without allocating memory at each time step,
+ * as the option values are stored in arrays reused by each thread.
+ * The arrays are taken by a roll-back for its duration, thus a roll-back nested within an option function
+ * on the same thread allocates its own arrays.
  */
 public class TrinomialTree {
 
+  /**
+   * The option values of two consecutive layers, reused by the backward induction in each thread.
+   * The slices are removed while in use, so that a nested backward induction obtains fresh slices.
+   */
+  private static final ThreadLocal<double[][]> SLICES =
+      ThreadLocal.withInitial(() -> new double[][] {new double[0], new double[0]});
+
   /**
    * Price an option under the specified trinomial lattice.
    * <p>
@@ -76,14 +87,7 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    return rollBack(function, data)[0];
   }
 
   /**
@@ -100,21 +104,76 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    double[] result = rollBack(function, data);
+    return ValueDerivatives.of(result[0], DoubleArray.of(result[1]));
+  }
+
+  /**
+   * Compute option price, delta and gamma under the specified trinomial tree gird.
+   * <p>
+   * The delta and gamma are the first and second derivatives of the price with respect to spot, 
+   * and approximated by the data embedded in the trinomial tree.
+   * The price, delta and gamma are computed in a single backward induction.
+   * 
+   * @param function  the option
+   * @param data  the trinomial tree data
+   * @return the option price, and the spot delta and gamma in this order
+   */
+  public ValueDerivatives optionPriceDeltaGamma(
+      OptionFunction function,
+      RecombiningTrinomialTreeData data) {
+
+    double[] result = rollBack(function, data);
+    return ValueDerivatives.of(result[0], DoubleArray.of(result[1], result[2]));
+  }
+
+  //-------------------------------------------------------------------------
+  // backward induction through the tree, returning the price, delta and gamma
+  // the option values are stored in the two slices of the current thread, which are swapped at each step
+  // the slices are returned to the current thread once the roll-back completes
+  private static double[] rollBack(
+      OptionFunction function,
+      RecombiningTrinomialTreeData data) {
+
     int nSteps = data.getNumberOfSteps();
     ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+    DoubleArray payoff = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
+    double[][] slices = takeSlices(payoff.size());
+    try {
+      double[] values = slices[0];
+      double[] next = slices[1];
+      payoff.copyInto(values, 0);
+      double delta = 0d;
+      double gamma = 0d;
+      for (int i = nSteps - 1; i > -1; --i) {
+        function.computeNextOptionValues(
+            data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, next, i);
+        double[] tmp = values;
+        values = next;
+        next = tmp;
+        if (i == 1) {
+          DoubleArray stateValue = data.getStateValueAtLayer(1);
+          double d1 = (values[2] - values[1]) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (values[1] - values[0]) / (stateValue.get(1) - stateValue.get(0));
+          delta = 0.5 * (d1 + d2);
+          gamma = 2d * (d1 - d2) / (stateValue.get(2) - stateValue.get(0));
+        }
       }
+      return new double[] {values[0], delta, gamma};
+    } finally {
+      SLICES.set(slices);
+    }
+  }
+
+  // takes the slices of the current thread, expanding them if too small
+  // the slices are removed until returned, thus a nested roll-back on the same thread obtains new slices
+  private static double[][] takeSlices(int size) {
+    double[][] slices = SLICES.get();
+    SLICES.remove();
+    if (slices[0].length < size) {
+      slices = new double[][] {new double[size], new double[size]};
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
+    return slices;
   }
 
 }
@@ -124,8 +124,23 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
    * @return the calibration results
    */
   public LeastSquareResultsWithTransform solve(DoubleArray start, BitSet fixed) {
+    return solve(start, fixed, true);
+  }
+
+  /**
+   * Solve using the default NonLinearParameterTransforms for the concrete implementation with some parameters fixed 
+   * to their initial values (indicated by fixed), optionally skipping the sensitivity to the data.
+   * <p>
+   * If the sensitivity is not computed, the sensitivity of the parameters to the data is not available in the result.
+   * 
+   * @param start  the first guess at the parameter values
+   * @param fixed  the parameters are fixed
+   * @param computeSensitivity  true to compute the sensitivity of the parameters to the data
+   * @return the calibration results
+   */
+  public LeastSquareResultsWithTransform solve(DoubleArray start, BitSet fixed, boolean computeSensitivity) {
     NonLinearParameterTransforms transform = getTransform(start, fixed);
-    return solve(start, transform);
+    return solve(start, transform, computeSensitivity);
   }
 
   /**
@@ -138,9 +153,19 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
    * @return the calibration results
    */
   public LeastSquareResultsWithTransform solve(DoubleArray start, NonLinearParameterTransforms transform) {
+    return solve(start, transform, true);
+  }
+
+  // solves, computing the sensitivity to the data if requested
+  private LeastSquareResultsWithTransform solve(
+      DoubleArray start,
+      NonLinearParameterTransforms transform,
+      boolean computeSensitivity) {
+
     NonLinearTransformFunction transFunc = new NonLinearTransformFunction(volFunc, volAdjointFunc, transform);
     LeastSquareResults solRes = SOLVER.solve(marketValues, errors, transFunc.getFittingFunction(),
-        transFunc.getFittingJacobian(), transform.transform(start), getConstraintFunction(transform), getMaximumStep());
+        transFunc.getFittingJacobian(), transform.transform(start), getConstraintFunction(transform), getMaximumStep(),
+        computeSensitivity);
     return new LeastSquareResultsWithTransform(solRes, transform);
   }
 
@@ -97,6 +97,13 @@ public final class ImmutableRatesProvider
    */
   @PropertyDefinition(validate = "notNull")
   private final ImmutableMap<Index, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The compounded fixings of overnight indices, defaulted to an empty map.
+   * These are derived from the time-series, allowing the compounding of fixings to be done once.
+   * They are only used when built from the same time-series instance as held by this provider.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<OvernightIndex, OvernightCompoundedFixings> overnightCompoundedFixings;
 
   //-------------------------------------------------------------------------
   @ImmutableDefaults
@@ -146,7 +153,8 @@ public final class ImmutableRatesProvider
         .fxRateProvider(fxRateProvider)
         .discountCurves(discountCurves)
         .indexCurves(indexCurves)
-        .timeSeries(timeSeries);
+        .timeSeries(timeSeries)
+        .overnightCompoundedFixings(overnightCompoundedFixings.values());
   }
 
   //-------------------------------------------------------------------------
@@ -259,6 +267,15 @@ public final class ImmutableRatesProvider
     return OvernightIndexRates.of(index, valuationDate, curve, fixings);
   }
 
+  @Override
+  public Optional<OvernightCompoundedFixings> overnightCompoundedFixings(OvernightIndex index) {
+    OvernightCompoundedFixings compounded = overnightCompoundedFixings.get(index);
+    if (compounded == null || compounded.getFixings() != timeSeries.get(index)) {
+      return Optional.empty();
+    }
+    return Optional.of(compounded);
+  }
+
   @Override
   public PriceIndexValues priceIndexValues(PriceIndex index) {
     LocalDateDoubleTimeSeries fixings = timeSeries(index);
@@ -304,6 +321,7 @@ public final class ImmutableRatesProvider
           "conflict on time series, index '{}' appears twice in the providers", entry.getKey());
       merged.timeSeries(entry.getKey(), entry.getValue());
     }
+    merged.overnightCompoundedFixings(overnightCompoundedFixings.values());
     merged.fxRateProvider(fxProvider);
     return merged.build();
   }
@@ -335,23 +353,27 @@ public final class ImmutableRatesProvider
    * @param discountCurves  the value of the property, not null
    * @param indexCurves  the value of the property, not null
    * @param timeSeries  the value of the property, not null
+   * @param overnightCompoundedFixings  the value of the property, not null
    */
   ImmutableRatesProvider(
       LocalDate valuationDate,
       FxRateProvider fxRateProvider,
       Map<Currency, Curve> discountCurves,
       Map<Index, Curve> indexCurves,
-      Map<Index, LocalDateDoubleTimeSeries> timeSeries) {
+      Map<Index, LocalDateDoubleTimeSeries> timeSeries,
+      Map<OvernightIndex, OvernightCompoundedFixings> overnightCompoundedFixings) {
     JodaBeanUtils.notNull(valuationDate, "valuationDate");
     JodaBeanUtils.notNull(fxRateProvider, "fxRateProvider");
     JodaBeanUtils.notNull(discountCurves, "discountCurves");
     JodaBeanUtils.notNull(indexCurves, "indexCurves");
     JodaBeanUtils.notNull(timeSeries, "timeSeries");
+    JodaBeanUtils.notNull(overnightCompoundedFixings, "overnightCompoundedFixings");
     this.valuationDate = valuationDate;
     this.fxRateProvider = fxRateProvider;
     this.discountCurves = ImmutableMap.copyOf(discountCurves);
     this.indexCurves = ImmutableMap.copyOf(indexCurves);
     this.timeSeries = ImmutableMap.copyOf(timeSeries);
+    this.overnightCompoundedFixings = ImmutableMap.copyOf(overnightCompoundedFixings);
   }
 
   @Override
@@ -421,6 +443,17 @@ public final class ImmutableRatesProvider
     return timeSeries;
   }
 
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the compounded fixings of overnight indices, defaulted to an empty map.
+   * These are derived from the time-series, allowing the compounding of fixings to be done once.
+   * They are only used when built from the same time-series instance as held by this provider.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<OvernightIndex, OvernightCompoundedFixings> getOvernightCompoundedFixings() {
+    return overnightCompoundedFixings;
+  }
+
   //-----------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
@@ -433,7 +466,8 @@ public final class ImmutableRatesProvider
           JodaBeanUtils.equal(fxRateProvider, other.fxRateProvider) &&
           JodaBeanUtils.equal(discountCurves, other.discountCurves) &&
           JodaBeanUtils.equal(indexCurves, other.indexCurves) &&
-          JodaBeanUtils.equal(timeSeries, other.timeSeries);
+          JodaBeanUtils.equal(timeSeries, other.timeSeries) &&
+          JodaBeanUtils.equal(overnightCompoundedFixings, other.overnightCompoundedFixings);
     }
     return false;
   }
@@ -446,18 +480,20 @@ public final class ImmutableRatesProvider
     hash = hash * 31 + JodaBeanUtils.hashCode(discountCurves);
     hash = hash * 31 + JodaBeanUtils.hashCode(indexCurves);
     hash = hash * 31 + JodaBeanUtils.hashCode(timeSeries);
+    hash = hash * 31 + JodaBeanUtils.hashCode(overnightCompoundedFixings);
     return hash;
   }
 
   @Override
   public String toString() {
-    StringBuilder buf = new StringBuilder(192);
+    StringBuilder buf = new StringBuilder(224);
     buf.append("ImmutableRatesProvider{");
     buf.append("valuationDate").append('=').append(valuationDate).append(',').append(' ');
     buf.append("fxRateProvider").append('=').append(fxRateProvider).append(',').append(' ');
     buf.append("discountCurves").append('=').append(discountCurves).append(',').append(' ');
     buf.append("indexCurves").append('=').append(indexCurves).append(',').append(' ');
-    buf.append("timeSeries").append('=').append(JodaBeanUtils.toString(timeSeries));
+    buf.append("timeSeries").append('=').append(timeSeries).append(',').append(' ');
+    buf.append("overnightCompoundedFixings").append('=').append(JodaBeanUtils.toString(overnightCompoundedFixings));
     buf.append('}');
     return buf.toString();
   }
@@ -500,6 +536,12 @@ public final class ImmutableRatesProvider
     @SuppressWarnings({"unchecked", "rawtypes" })
     private final MetaProperty<ImmutableMap<Index, LocalDateDoubleTimeSeries>> timeSeries = DirectMetaProperty.ofImmutable(
         this, "timeSeries", ImmutableRatesProvider.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-property for the {@code overnightCompoundedFixings} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<OvernightIndex, OvernightCompoundedFixings>> overnightCompoundedFixings = DirectMetaProperty.ofImmutable(
+        this, "overnightCompoundedFixings", ImmutableRatesProvider.class, (Class) ImmutableMap.class);
     /**
      * The meta-properties.
      */
@@ -509,7 +551,8 @@ public final class ImmutableRatesProvider
         "fxRateProvider",
         "discountCurves",
         "indexCurves",
-        "timeSeries");
+        "timeSeries",
+        "overnightCompoundedFixings");
 
     /**
      * Restricted constructor.
@@ -530,6 +573,8 @@ public final class ImmutableRatesProvider
           return indexCurves;
         case 779431844:  // timeSeries
           return timeSeries;
+        case -1814731752:  // overnightCompoundedFixings
+          return overnightCompoundedFixings;
       }
       return super.metaPropertyGet(propertyName);
     }
@@ -590,6 +635,14 @@ public final class ImmutableRatesProvider
       return timeSeries;
     }
 
+    /**
+     * The meta-property for the {@code overnightCompoundedFixings} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<OvernightIndex, OvernightCompoundedFixings>> overnightCompoundedFixings() {
+      return overnightCompoundedFixings;
+    }
+
     //-----------------------------------------------------------------------
     @Override
     protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
@@ -604,6 +657,8 @@ public final class ImmutableRatesProvider
           return ((ImmutableRatesProvider) bean).getIndexCurves();
         case 779431844:  // timeSeries
           return ((ImmutableRatesProvider) bean).getTimeSeries();
+        case -1814731752:  // overnightCompoundedFixings
+          return ((ImmutableRatesProvider) bean).getOvernightCompoundedFixings();
       }
       return super.propertyGet(bean, propertyName, quiet);
     }
@@ -630,6 +685,7 @@ public final class ImmutableRatesProvider
     private Map<Currency, Curve> discountCurves = ImmutableMap.of();
     private Map<Index, Curve> indexCurves = ImmutableMap.of();
     private Map<Index, LocalDateDoubleTimeSeries> timeSeries = ImmutableMap.of();
+    private Map<OvernightIndex, OvernightCompoundedFixings> overnightCompoundedFixings = ImmutableMap.of();
 
     /**
      * Restricted constructor.
@@ -653,6 +709,8 @@ public final class ImmutableRatesProvider
           return indexCurves;
         case 779431844:  // timeSeries
           return timeSeries;
+        case -1814731752:  // overnightCompoundedFixings
+          return overnightCompoundedFixings;
         default:
           throw new NoSuchElementException("Unknown property: " + propertyName);
       }
@@ -677,6 +735,9 @@ public final class ImmutableRatesProvider
         case 779431844:  // timeSeries
           this.timeSeries = (Map<Index, LocalDateDoubleTimeSeries>) newValue;
           break;
+        case -1814731752:  // overnightCompoundedFixings
+          this.overnightCompoundedFixings = (Map<OvernightIndex, OvernightCompoundedFixings>) newValue;
+          break;
         default:
           throw new NoSuchElementException("Unknown property: " + propertyName);
       }
@@ -690,19 +751,21 @@ public final class ImmutableRatesProvider
           fxRateProvider,
           discountCurves,
           indexCurves,
-          timeSeries);
+          timeSeries,
+          overnightCompoundedFixings);
     }
 
     //-----------------------------------------------------------------------
     @Override
     public String toString() {
-      StringBuilder buf = new StringBuilder(192);
+      StringBuilder buf = new StringBuilder(224);
       buf.append("ImmutableRatesProvider.Builder{");
       buf.append("valuationDate").append('=').append(JodaBeanUtils.toString(valuationDate)).append(',').append(' ');
       buf.append("fxRateProvider").append('=').append(JodaBeanUtils.toString(fxRateProvider)).append(',').append(' ');
       buf.append("discountCurves").append('=').append(JodaBeanUtils.toString(discountCurves)).append(',').append(' ');
       buf.append("indexCurves").append('=').append(JodaBeanUtils.toString(indexCurves)).append(',').append(' ');
-      buf.append("timeSeries").append('=').append(JodaBeanUtils.toString(timeSeries));
+      buf.append("timeSeries").append('=').append(JodaBeanUtils.toString(timeSeries)).append(',').append(' ');
+      buf.append("overnightCompoundedFixings").append('=').append(JodaBeanUtils.toString(overnightCompoundedFixings));
       buf.append('}');
       return buf.toString();
     }
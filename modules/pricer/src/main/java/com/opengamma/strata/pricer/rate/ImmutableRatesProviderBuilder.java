@@ -6,10 +6,12 @@
 package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxMatrix;
 import com.opengamma.strata.basics.currency.FxRateProvider;
@@ -54,6 +56,11 @@ public final class ImmutableRatesProviderBuilder {
    * The historic data associated with each index.
    */
   private final Map<Index, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+  /**
+   * The compounded fixings of overnight indices, defaulted to an empty map.
+   * These are derived from the time-series.
+   */
+  private final Map<OvernightIndex, OvernightCompoundedFixings> overnightCompoundedFixings = new HashMap<>();
 
   //-------------------------------------------------------------------------
   /**
@@ -361,6 +368,48 @@ public final class ImmutableRatesProviderBuilder {
     return this;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Adds compounded fixings to the provider.
+   * <p>
+   * This adds the specified compounded fixings to the provider.
+   * They are only used if built from the same time-series instance as held by the provider.
+   * This operates using {@link Map#put(Object, Object)} semantics using the index as the key.
+   * 
+   * @param compoundedFixings  the compounded fixings
+   * @return this, for chaining
+   */
+  public ImmutableRatesProviderBuilder overnightCompoundedFixings(
+      Collection<OvernightCompoundedFixings> compoundedFixings) {
+
+    ArgChecker.noNulls(compoundedFixings, "compoundedFixings");
+    for (OvernightCompoundedFixings compounded : compoundedFixings) {
+      this.overnightCompoundedFixings.put(compounded.getIndex(), compounded);
+    }
+    return this;
+  }
+
+  /**
+   * Adds compounded fixings to the provider for each overnight index time-series.
+   * <p>
+   * This creates compounded fixings from each overnight index time-series currently in the builder,
+   * allowing compounded and averaged overnight rates to avoid walking the time-series.
+   * If the time-series is changed later, the compounded fixings of the index will not be used.
+   * 
+   * @param refData  the reference data, used to resolve the fixing calendars
+   * @return this, for chaining
+   */
+  public ImmutableRatesProviderBuilder overnightCompoundedFixings(ReferenceData refData) {
+    ArgChecker.notNull(refData, "refData");
+    for (Entry<Index, LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+      if (entry.getKey() instanceof OvernightIndex) {
+        OvernightIndex index = (OvernightIndex) entry.getKey();
+        this.overnightCompoundedFixings.put(index, OvernightCompoundedFixings.of(index, entry.getValue(), refData));
+      }
+    }
+    return this;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Completes the builder, returning the provider.
@@ -373,7 +422,8 @@ public final class ImmutableRatesProviderBuilder {
         fxRateProvider,
         discountCurves,
         indexCurves,
-        timeSeries);
+        timeSeries,
+        overnightCompoundedFixings);
   }
 
 }
@@ -0,0 +1,537 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * The fixings of an overnight index, indexed by cumulative compounding factor.
+ * <p>
+ * When an overnight rate is compounded or averaged, every published fixing in the
+ * accrual period is looked up in the time-series. This class is built once from the
+ * time-series, holding the cumulative compounding factor, accrual factor and accrued interest
+ * from the first fixing. The compounded factor of any period of consecutive fixings is then
+ * the ratio of two cumulative factors, obtained without walking the fixings day by day.
+ * <p>
+ * Each fixing accrues from its effective date to its maturity date, as defined by the index.
+ * Fixings on dates that are not business days of the fixing calendar are ignored.
+ * A period can only be obtained if the time-series has a fixing for every business day in the period.
+ * <p>
+ * An instance is typically held by {@link ImmutableRatesProvider}, and used by the overnight
+ * rate computation functions when present.
+ */
+@BeanDefinition(builderScope = "private")
+public final class OvernightCompoundedFixings
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The overnight index.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final OvernightIndex index;
+  /**
+   * The resolved calendar that the index uses.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final HolidayCalendar fixingCalendar;
+  /**
+   * The time-series of fixings.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final LocalDateDoubleTimeSeries fixings;
+  /**
+   * The epoch-day of each fixing that is a business day.
+   */
+  private final transient int[] epochDays;  // derived, not a property
+  /**
+   * The number of breaks in the business days before each fixing.
+   * Two fixings are consecutive if the next business day of the first is the second.
+   */
+  private final transient int[] breaks;  // derived, not a property
+  /**
+   * The cumulative compounding factor before each fixing, one element longer than the fixings.
+   */
+  private final transient double[] cumulativeFactors;  // derived, not a property
+  /**
+   * The cumulative accrual factor before each fixing, one element longer than the fixings.
+   */
+  private final transient double[] cumulativeAccrualFactors;  // derived, not a property
+  /**
+   * The cumulative accrued interest before each fixing, one element longer than the fixings.
+   * The accrued interest of a fixing is the accrual factor multiplied by the rate.
+   */
+  private final transient double[] cumulativeInterest;  // derived, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the time-series of fixings.
+   *
+   * @param index  the overnight index
+   * @param fixings  the time-series of fixings
+   * @param refData  the reference data, used to resolve the fixing calendar
+   * @return the compounded fixings
+   */
+  public static OvernightCompoundedFixings of(
+      OvernightIndex index,
+      LocalDateDoubleTimeSeries fixings,
+      ReferenceData refData) {
+
+    return new OvernightCompoundedFixings(index, index.getFixingCalendar().resolve(refData), fixings);
+  }
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  @ImmutableConstructor
+  private OvernightCompoundedFixings(
+      OvernightIndex index,
+      HolidayCalendar fixingCalendar,
+      LocalDateDoubleTimeSeries fixings) {
+
+    JodaBeanUtils.notNull(index, "index");
+    JodaBeanUtils.notNull(fixingCalendar, "fixingCalendar");
+    JodaBeanUtils.notNull(fixings, "fixings");
+    this.index = index;
+    this.fixingCalendar = fixingCalendar;
+    this.fixings = fixings;
+    // derived data, matching the observation of each fixing
+    DayCount dayCount = index.getDayCount();
+    int effectiveDateOffset = index.getEffectiveDateOffset();
+    LocalDate[] dates = fixings.dates().toArray(LocalDate[]::new);
+    double[] values = fixings.values().toArray();
+    int[] epochDays = new int[dates.length];
+    int[] breaks = new int[dates.length];
+    double[] cumulativeFactors = new double[dates.length + 1];
+    double[] cumulativeAccrualFactors = new double[dates.length + 1];
+    double[] cumulativeInterest = new double[dates.length + 1];
+    cumulativeFactors[0] = 1d;
+    int size = 0;
+    int breakCount = 0;
+    LocalDate previous = null;
+    for (int i = 0; i < dates.length; i++) {
+      LocalDate date = dates[i];
+      if (!fixingCalendar.isBusinessDay(date)) {
+        continue;
+      }
+      if (previous != null && !fixingCalendar.next(previous).equals(date)) {
+        breakCount++;
+      }
+      LocalDate effectiveDate = fixingCalendar.shift(fixingCalendar.nextOrSame(date), effectiveDateOffset);
+      LocalDate maturityDate = fixingCalendar.shift(fixingCalendar.nextOrSame(effectiveDate), 1);
+      double accrualFactor = dayCount.yearFraction(effectiveDate, maturityDate);
+      epochDays[size] = Math.toIntExact(date.toEpochDay());
+      breaks[size] = breakCount;
+      cumulativeFactors[size + 1] = cumulativeFactors[size] * (1d + accrualFactor * values[i]);
+      cumulativeAccrualFactors[size + 1] = cumulativeAccrualFactors[size] + accrualFactor;
+      cumulativeInterest[size + 1] = cumulativeInterest[size] + accrualFactor * values[i];
+      previous = date;
+      size++;
+    }
+    this.epochDays = Arrays.copyOf(epochDays, size);
+    this.breaks = Arrays.copyOf(breaks, size);
+    this.cumulativeFactors = Arrays.copyOf(cumulativeFactors, size + 1);
+    this.cumulativeAccrualFactors = Arrays.copyOf(cumulativeAccrualFactors, size + 1);
+    this.cumulativeInterest = Arrays.copyOf(cumulativeInterest, size + 1);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new OvernightCompoundedFixings(index, fixingCalendar, fixings);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the compounded factor of the fixings in a period.
+   * <p>
+   * This is the product of {@code (1 + accrualFactor * rate)} for each fixing from the first
+   * fixing date inclusive to the end fixing date exclusive.
+   * The result is 1 if the end fixing date is not after the first fixing date.
+   *
+   * @param firstFixingDate  the first fixing date, inclusive
+   * @param endFixingDate  the end fixing date, exclusive
+   * @return the compounded factor, empty if a fixing in the period is missing
+   */
+  public OptionalDouble compoundedFactor(LocalDate firstFixingDate, LocalDate endFixingDate) {
+    int[] range = range(firstFixingDate, endFixingDate);
+    if (range == null) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(cumulativeFactors[range[1]] / cumulativeFactors[range[0]]);
+  }
+
+  /**
+   * Calculates the sum of the accrual factors of the fixings in a period.
+   * <p>
+   * The period is from the first fixing date inclusive to the end fixing date exclusive.
+   * The result is zero if the end fixing date is not after the first fixing date.
+   *
+   * @param firstFixingDate  the first fixing date, inclusive
+   * @param endFixingDate  the end fixing date, exclusive
+   * @return the accrual factor, empty if a fixing in the period is missing
+   */
+  public OptionalDouble accrualFactor(LocalDate firstFixingDate, LocalDate endFixingDate) {
+    int[] range = range(firstFixingDate, endFixingDate);
+    if (range == null) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(cumulativeAccrualFactors[range[1]] - cumulativeAccrualFactors[range[0]]);
+  }
+
+  /**
+   * Calculates the sum of the accrued interest of the fixings in a period.
+   * <p>
+   * This is the sum of {@code accrualFactor * rate} for each fixing from the first
+   * fixing date inclusive to the end fixing date exclusive.
+   * The result is zero if the end fixing date is not after the first fixing date.
+   *
+   * @param firstFixingDate  the first fixing date, inclusive
+   * @param endFixingDate  the end fixing date, exclusive
+   * @return the accrued interest, empty if a fixing in the period is missing
+   */
+  public OptionalDouble accruedInterest(LocalDate firstFixingDate, LocalDate endFixingDate) {
+    int[] range = range(firstFixingDate, endFixingDate);
+    if (range == null) {
+      return OptionalDouble.empty();
+    }
+    return OptionalDouble.of(cumulativeInterest[range[1]] - cumulativeInterest[range[0]]);
+  }
+
+  // finds the start and end positions of the fixings in the cumulative arrays, null if a fixing is missing
+  private int[] range(LocalDate firstFixingDate, LocalDate endFixingDate) {
+    if (!endFixingDate.isAfter(firstFixingDate)) {
+      return new int[] {0, 0};
+    }
+    int first = Arrays.binarySearch(epochDays, Math.toIntExact(firstFixingDate.toEpochDay()));
+    if (first < 0) {
+      return null;
+    }
+    int endSearch = Arrays.binarySearch(epochDays, Math.toIntExact(endFixingDate.toEpochDay()));
+    int end = endSearch >= 0 ? endSearch : -endSearch - 1;
+    int last = end - 1;
+    if (breaks[last] != breaks[first]) {
+      return null;
+    }
+    LocalDate nextFixingDate = fixingCalendar.next(LocalDate.ofEpochDay(epochDays[last]));
+    if (nextFixingDate.isBefore(endFixingDate)) {
+      return null;
+    }
+    return new int[] {first, end};
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code OvernightCompoundedFixings}.
+   * @return the meta-bean, not null
+   */
+  public static OvernightCompoundedFixings.Meta meta() {
+    return OvernightCompoundedFixings.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(OvernightCompoundedFixings.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public OvernightCompoundedFixings.Meta metaBean() {
+    return OvernightCompoundedFixings.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the overnight index.
+   * @return the value of the property, not null
+   */
+  public OvernightIndex getIndex() {
+    return index;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the resolved calendar that the index uses.
+   * @return the value of the property, not null
+   */
+  public HolidayCalendar getFixingCalendar() {
+    return fixingCalendar;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time-series of fixings.
+   * @return the value of the property, not null
+   */
+  public LocalDateDoubleTimeSeries getFixings() {
+    return fixings;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      OvernightCompoundedFixings other = (OvernightCompoundedFixings) obj;
+      return JodaBeanUtils.equal(index, other.index) &&
+          JodaBeanUtils.equal(fixingCalendar, other.fixingCalendar) &&
+          JodaBeanUtils.equal(fixings, other.fixings);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(index);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fixingCalendar);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fixings);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("OvernightCompoundedFixings{");
+    buf.append("index").append('=').append(index).append(',').append(' ');
+    buf.append("fixingCalendar").append('=').append(fixingCalendar).append(',').append(' ');
+    buf.append("fixings").append('=').append(JodaBeanUtils.toString(fixings));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code OvernightCompoundedFixings}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code index} property.
+     */
+    private final MetaProperty<OvernightIndex> index = DirectMetaProperty.ofImmutable(
+        this, "index", OvernightCompoundedFixings.class, OvernightIndex.class);
+    /**
+     * The meta-property for the {@code fixingCalendar} property.
+     */
+    private final MetaProperty<HolidayCalendar> fixingCalendar = DirectMetaProperty.ofImmutable(
+        this, "fixingCalendar", OvernightCompoundedFixings.class, HolidayCalendar.class);
+    /**
+     * The meta-property for the {@code fixings} property.
+     */
+    private final MetaProperty<LocalDateDoubleTimeSeries> fixings = DirectMetaProperty.ofImmutable(
+        this, "fixings", OvernightCompoundedFixings.class, LocalDateDoubleTimeSeries.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "index",
+        "fixingCalendar",
+        "fixings");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 100346066:  // index
+          return index;
+        case 394230283:  // fixingCalendar
+          return fixingCalendar;
+        case -843784602:  // fixings
+          return fixings;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends OvernightCompoundedFixings> builder() {
+      return new OvernightCompoundedFixings.Builder();
+    }
+
+    @Override
+    public Class<? extends OvernightCompoundedFixings> beanType() {
+      return OvernightCompoundedFixings.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code index} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<OvernightIndex> index() {
+      return index;
+    }
+
+    /**
+     * The meta-property for the {@code fixingCalendar} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<HolidayCalendar> fixingCalendar() {
+      return fixingCalendar;
+    }
+
+    /**
+     * The meta-property for the {@code fixings} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<LocalDateDoubleTimeSeries> fixings() {
+      return fixings;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 100346066:  // index
+          return ((OvernightCompoundedFixings) bean).getIndex();
+        case 394230283:  // fixingCalendar
+          return ((OvernightCompoundedFixings) bean).getFixingCalendar();
+        case -843784602:  // fixings
+          return ((OvernightCompoundedFixings) bean).getFixings();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code OvernightCompoundedFixings}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<OvernightCompoundedFixings> {
+
+    private OvernightIndex index;
+    private HolidayCalendar fixingCalendar;
+    private LocalDateDoubleTimeSeries fixings;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 100346066:  // index
+          return index;
+        case 394230283:  // fixingCalendar
+          return fixingCalendar;
+        case -843784602:  // fixings
+          return fixings;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 100346066:  // index
+          this.index = (OvernightIndex) newValue;
+          break;
+        case 394230283:  // fixingCalendar
+          this.fixingCalendar = (HolidayCalendar) newValue;
+          break;
+        case -843784602:  // fixings
+          this.fixings = (LocalDateDoubleTimeSeries) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public OvernightCompoundedFixings build() {
+      return new OvernightCompoundedFixings(
+          index,
+          fixingCalendar,
+          fixings);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(128);
+      buf.append("OvernightCompoundedFixings.Builder{");
+      buf.append("index").append('=').append(JodaBeanUtils.toString(index)).append(',').append(' ');
+      buf.append("fixingCalendar").append('=').append(JodaBeanUtils.toString(fixingCalendar)).append(',').append(' ');
+      buf.append("fixings").append('=').append(JodaBeanUtils.toString(fixings));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
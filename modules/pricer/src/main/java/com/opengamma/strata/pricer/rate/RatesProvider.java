@@ -118,6 +118,22 @@ public interface RatesProvider
    */
   public abstract OvernightIndexRates overnightIndexRates(OvernightIndex index);
 
+  /**
+   * Finds the compounded fixings for an Overnight index.
+   * <p>
+   * This returns the fixings of the index, indexed by cumulative compounding factor.
+   * If present, they match the fixings of {@link #overnightIndexRates(OvernightIndex)}, allowing
+   * compounded and averaged rates to use the published fixings without walking the time-series.
+   * <p>
+   * By default, empty is returned.
+   *
+   * @param index  the index to find compounded fixings for
+   * @return the compounded fixings, empty if not available
+   */
+  public default Optional<OvernightCompoundedFixings> overnightCompoundedFixings(OvernightIndex index) {
+    return Optional.empty();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the values for an Price index.
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.IntStream;
 
 import com.google.common.primitives.Doubles;
@@ -49,12 +50,24 @@ public final class CurveGammaCalculator {
   /**
    * Default implementation. Finite difference is forward and the shift is one basis point (0.0001).
    */
-  public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1e-4);
+  public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1e-4, false);
 
   /**
    * The first order finite difference calculator.
    */
   private final VectorFieldFirstOrderDifferentiator fd;
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * Whether the curve parameters are bumped in parallel.
+   */
+  private final boolean parallel;
 
   //-------------------------------------------------------------------------
   /**
@@ -64,7 +77,7 @@ public final class CurveGammaCalculator {
    * @return the calculator
    */
   public static CurveGammaCalculator ofForwardDifference(double shift) {
-    return new CurveGammaCalculator(FiniteDifferenceType.FORWARD, shift);
+    return new CurveGammaCalculator(FiniteDifferenceType.FORWARD, shift, false);
   }
 
   /**
@@ -74,7 +87,7 @@ public final class CurveGammaCalculator {
    * @return the calculator
    */
   public static CurveGammaCalculator ofCentralDifference(double shift) {
-    return new CurveGammaCalculator(FiniteDifferenceType.CENTRAL, shift);
+    return new CurveGammaCalculator(FiniteDifferenceType.CENTRAL, shift, false);
   }
 
   /**
@@ -84,7 +97,7 @@ public final class CurveGammaCalculator {
    * @return the calculator
    */
   public static CurveGammaCalculator ofBackwardDifference(double shift) {
-    return new CurveGammaCalculator(FiniteDifferenceType.BACKWARD, shift);
+    return new CurveGammaCalculator(FiniteDifferenceType.BACKWARD, shift, false);
   }
 
   //-------------------------------------------------------------------------
@@ -93,9 +106,26 @@ public final class CurveGammaCalculator {
    * 
    * @param fdType  the finite difference type
    * @param shift  the shift to be applied to the curves
+   * @param parallel  whether the curve parameters are bumped in parallel
    */
-  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, boolean parallel) {
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
+    this.fdType = fdType;
+    this.shift = shift;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calculator that bumps the curve parameters in parallel.
+   * <p>
+   * When computing cross gamma, the bumped rates providers of each curve are created and passed
+   * to the sensitivity function using multiple threads. The sensitivity function must therefore be thread-safe.
+   * The results are identical to those of this calculator.
+   * 
+   * @return the parallel calculator
+   */
+  public CurveGammaCalculator parallel() {
+    return new CurveGammaCalculator(fdType, shift, true);
   }
 
   //-------------------------------------------------------------------------
@@ -119,30 +149,11 @@ public final class CurveGammaCalculator {
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits
     CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    // discount curve
-    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-      Currency currency = entry.getKey();
-      Curve curve = entry.getValue();
-      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-        NodalCurve nodalCurve = getNodalCurve(curve);
-        CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-            nodalCurve, currency, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-        result = result.combinedWith(gammaSingle);
-      }
-    }
-    // forward curve
-    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-      Index index = entry.getKey();
-      if (index instanceof RateIndex || index instanceof PriceIndex) {
-        Currency currency = getCurrency(index);
-        Curve curve = entry.getValue();
-        if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          NodalCurve nodalCurve = getNodalCurve(curve);
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              nodalCurve, currency, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-          result = result.combinedWith(gammaSingle);
-        }
-      }
+    for (BumpedCurve bumped : bumpCurves(immProv, baseDelta, sensitivitiesFn)) {
+      NodalCurve nodalCurve = bumped.curve;
+      DoubleMatrix sensi = bumped.gamma(nodalCurve.getName(), bumped.currency);
+      result = result.combinedWith(
+          CrossGammaParameterSensitivity.of(nodalCurve.getName(), bumped.parameterMetadata(), bumped.currency, sensi));
     }
     return result;
   }
@@ -167,40 +178,61 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
+    // the deltas of each bumped curve are computed once, and used for every target sensitivity
+    List<BumpedCurve> bumpedCurves = bumpCurves(immProv, baseDelta, sensitivitiesFn);
     CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
     for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
       CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
-      // discount curve
-      for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-        Currency currency = entry.getKey();
+      for (BumpedCurve bumped : bumpedCurves) {
+        DoubleMatrix sensi = bumped.gamma(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency());
+        CrossGammaParameterSensitivity gammaSingle = CrossGammaParameterSensitivity.of(
+            baseDeltaSingle.getMarketDataName(),
+            baseDeltaSingle.getParameterMetadata(),
+            bumped.curve.getName(),
+            bumped.parameterMetadata(),
+            baseDeltaSingle.getCurrency(),
+            sensi);
+        resultInner = resultInner.combinedWith(gammaSingle);
+      }
+      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // bumps each parameter of the discount and forward curves with a delta, in the order of the provider
+  private List<BumpedCurve> bumpCurves(
+      ImmutableRatesProvider immProv,
+      CurrencyParameterSensitivities baseDelta,
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+
+    List<BumpedCurve> bumpedCurves = new ArrayList<>();
+    // discount curve
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      Curve curve = entry.getValue();
+      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+        NodalCurve nodalCurve = getNodalCurve(curve);
+        bumpedCurves.add(bumpCurve(
+            nodalCurve, currency, baseDelta, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn));
+      }
+    }
+    // forward curve
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      if (index instanceof RateIndex || index instanceof PriceIndex) {
+        Currency currency = getCurrency(index);
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
           NodalCurve nodalCurve = getNodalCurve(curve);
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, nodalCurve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-          resultInner = resultInner.combinedWith(gammaSingle);
+          bumpedCurves.add(bumpCurve(
+              nodalCurve, currency, baseDelta, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn));
         }
       }
-      // forward curve
-      for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-        Index index = entry.getKey();
-        if (index instanceof RateIndex || index instanceof PriceIndex) {
-          Currency currency = getCurrency(index);
-          Curve curve = entry.getValue();
-          if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-            NodalCurve nodalCurve = getNodalCurve(curve);
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, nodalCurve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-            resultInner = resultInner.combinedWith(gammaSingle);
-          }
-        }
-      }
-      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
     }
-    return result;
+    return bumpedCurves;
   }
 
-  //-------------------------------------------------------------------------
   private NodalCurve getNodalCurve(Curve curve) {
     ArgChecker.isTrue(curve instanceof NodalCurve, "underlying curve must be NodalCurve");
     return (NodalCurve) curve;
@@ -215,56 +247,40 @@ public final class CurveGammaCalculator {
     throw new IllegalArgumentException("unsupported index");
   }
 
-  // compute the second order sensitivity to nodalCurve
-  CrossGammaParameterSensitivity computeGammaForCurve(
+  // computes the delta with each parameter of nodalCurve bumped up and/or down, in parallel if enabled
+  private BumpedCurve bumpCurve(
       NodalCurve nodalCurve,
-      Currency sensitivityCurrency,
+      Currency currency,
+      CurrencyParameterSensitivities baseDelta,
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
       Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        NodalCurve newCurve = nodalCurve.withYValues(t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(newCurve.getName(), sensitivityCurrency).getSensitivity();
-      }
-    };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
-    List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
-        .mapToObj(i -> nodalCurve.getParameterMetadata(i))
-        .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(nodalCurve.getName(), metadata, sensitivityCurrency, sensi);
+    int paramCount = nodalCurve.getParameterCount();
+    CurrencyParameterSensitivities[] up = null;
+    CurrencyParameterSensitivities[] down = null;
+    if (fdType != FiniteDifferenceType.BACKWARD) {
+      up = bumpedDeltas(paramCount, i -> ratesProviderFn.apply(
+          nodalCurve.withParameter(i, nodalCurve.getParameter(i) + shift)), sensitivitiesFn);
+    }
+    if (fdType != FiniteDifferenceType.FORWARD) {
+      down = bumpedDeltas(paramCount, i -> ratesProviderFn.apply(
+          nodalCurve.withParameter(i, nodalCurve.getParameter(i) - shift)), sensitivitiesFn);
+    }
+    return new BumpedCurve(nodalCurve, currency, baseDelta, up, down);
   }
 
-  // computes the sensitivity of baseDeltaSingle to nodalCurve
-  CrossGammaParameterSensitivity computeGammaForCurve(
-      CurrencyParameterSensitivity baseDeltaSingle,
-      NodalCurve nodalCurve,
-      Function<Curve, ImmutableRatesProvider> ratesProviderFn,
+  private CurrencyParameterSensitivities[] bumpedDeltas(
+      int paramCount,
+      IntFunction<ImmutableRatesProvider> bumpedProviderFn,
       Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
 
-    Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
-      @Override
-      public DoubleArray apply(DoubleArray t) {
-        NodalCurve newCurve = nodalCurve.withYValues(t);
-        ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
-        CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
-      }
-    };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
-    List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
-        .mapToObj(i -> nodalCurve.getParameterMetadata(i))
-        .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(
-        baseDeltaSingle.getMarketDataName(),
-        baseDeltaSingle.getParameterMetadata(),
-        nodalCurve.getName(),
-        metadata,
-        baseDeltaSingle.getCurrency(),
-        sensi);
+    IntStream indices = IntStream.range(0, paramCount);
+    if (parallel) {
+      indices = indices.parallel();
+    }
+    return indices
+        .mapToObj(i -> sensitivitiesFn.apply(bumpedProviderFn.apply(i)))
+        .toArray(CurrencyParameterSensitivities[]::new);
   }
 
   private CrossGammaParameterSensitivity combineSensitivities(
@@ -315,6 +331,54 @@ public final class CurveGammaCalculator {
     return curve.createParameterSensitivity(curveCurrency, gamma);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Inner class holding the deltas computed with each parameter of a curve bumped.
+   */
+  private final class BumpedCurve {
+    private final NodalCurve curve;
+    private final Currency currency;
+    private final CurrencyParameterSensitivities baseDelta;
+    private final CurrencyParameterSensitivities[] up;
+    private final CurrencyParameterSensitivities[] down;
+
+    private BumpedCurve(
+        NodalCurve curve,
+        Currency currency,
+        CurrencyParameterSensitivities baseDelta,
+        CurrencyParameterSensitivities[] up,
+        CurrencyParameterSensitivities[] down) {
+
+      this.curve = curve;
+      this.currency = currency;
+      this.baseDelta = baseDelta;
+      this.up = up;
+      this.down = down;
+    }
+
+    private List<ParameterMetadata> parameterMetadata() {
+      return IntStream.range(0, curve.getParameterCount())
+          .mapToObj(i -> curve.getParameterMetadata(i))
+          .collect(toImmutableList());
+    }
+
+    // the finite difference of the target delta, one row per target parameter and one column per bumped parameter
+    private DoubleMatrix gamma(MarketDataName<?> name, Currency sensitivityCurrency) {
+      DoubleArray base = baseDelta.getSensitivity(name, sensitivityCurrency).getSensitivity();
+      int paramCount = curve.getParameterCount();
+      double width = up != null && down != null ? 2d * shift : shift;
+      double[][] res = new double[base.size()][paramCount];
+      for (int j = 0; j < paramCount; j++) {
+        DoubleArray deltaUp = up != null ? up[j].getSensitivity(name, sensitivityCurrency).getSensitivity() : base;
+        DoubleArray deltaDown = down != null ? down[j].getSensitivity(name, sensitivityCurrency).getSensitivity() : base;
+        for (int i = 0; i < base.size(); i++) {
+          res[i][j] = (deltaUp.get(i) - deltaDown.get(i)) / width;
+        }
+      }
+      return DoubleMatrix.ofUnsafe(res);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Inner class to compute the delta for a given parallel shift of the curve.
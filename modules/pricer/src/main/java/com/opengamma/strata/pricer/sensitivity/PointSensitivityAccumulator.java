@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.rate.IborRateSensitivity;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Mutable accumulator of point sensitivities, optimized for the risk of large portfolios.
+ * <p>
+ * Zero rate and Ibor rate sensitivities are the bulk of the point sensitivities of a rates portfolio.
+ * Rather than holding a list of {@link PointSensitivity} objects that is later normalized,
+ * this accumulator merges them as they are added into primitive open-addressing tables.
+ * Zero rate sensitivities are keyed by curve currency, sensitivity currency and year fraction.
+ * Ibor rate sensitivities are keyed by index, sensitivity currency and fixing date.
+ * Other point sensitivities are held in a {@link MutablePointSensitivities}.
+ * <p>
+ * Pricers can add to the accumulator using the primitive methods, such as
+ * {@link #addZeroRate(Currency, double, Currency, double)}, without creating point sensitivity objects.
+ * The merged sensitivities are converted to parameter sensitivities using
+ * {@link #parameterSensitivity(RatesProvider)}, with one conversion per distinct point.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * When computing in parallel, use one accumulator per thread and merge them using {@link #addAll(PointSensitivityAccumulator)}.
+ * An accumulator can be reused after calling {@link #clear()}, which retains the allocated tables.
+ */
+public final class PointSensitivityAccumulator {
+
+  /**
+   * The zero rate sensitivities, grouped by curve currency and sensitivity currency.
+   */
+  private final List<Group> zeroRateGroups = new ArrayList<>();
+  /**
+   * The Ibor rate sensitivities, grouped by index and sensitivity currency.
+   */
+  private final List<Group> iborRateGroups = new ArrayList<>();
+  /**
+   * The other point sensitivities.
+   */
+  private MutablePointSensitivities others = new MutablePointSensitivities();
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a sensitivity to the zero rate of a discount curve.
+   * <p>
+   * This is equivalent to adding {@link ZeroRateSensitivity#of(Currency, double, Currency, double)}.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param yearFraction  the time that was queried, expressed as a year fraction
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return this, for chaining
+   */
+  public PointSensitivityAccumulator addZeroRate(
+      Currency curveCurrency,
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    // normalize negative zero, so that the keys match those of the normal form
+    double time = yearFraction == 0d ? 0d : yearFraction;
+    group(zeroRateGroups, curveCurrency, sensitivityCurrency).add(Double.doubleToLongBits(time), null, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a sensitivity to an Ibor index rate.
+   * <p>
+   * This is equivalent to adding {@link IborRateSensitivity#of(IborIndexObservation, Currency, double)}.
+   *
+   * @param observation  the rate observation, including the fixing date
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return this, for chaining
+   */
+  public PointSensitivityAccumulator addIborRate(
+      IborIndexObservation observation,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    group(iborRateGroups, observation.getIndex(), sensitivityCurrency)
+        .add(observation.getFixingDate().toEpochDay(), observation, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a point sensitivity multiplied by a factor.
+   * <p>
+   * Zero rate and Ibor rate sensitivities are merged without creating any objects.
+   * Other point sensitivities are multiplied and retained.
+   *
+   * @param point  the point sensitivity to add
+   * @param factor  the multiplicative factor
+   * @return this, for chaining
+   */
+  public PointSensitivityAccumulator addPoint(PointSensitivity point, double factor) {
+    if (point instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+      return addZeroRate(pt.getCurveCurrency(), pt.getYearFraction(), pt.getCurrency(), pt.getSensitivity() * factor);
+    }
+    if (point instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) point;
+      return addIborRate(pt.getObservation(), pt.getCurrency(), pt.getSensitivity() * factor);
+    }
+    others.add(point.withSensitivity(point.getSensitivity() * factor));
+    return this;
+  }
+
+  /**
+   * Adds a point sensitivity builder multiplied by a factor.
+   * <p>
+   * Single zero rate and Ibor rate sensitivities, which are returned by the curves, are merged directly.
+   * Other builders are built first.
+   *
+   * @param builder  the point sensitivity builder to add
+   * @param factor  the multiplicative factor
+   * @return this, for chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivityBuilder builder, double factor) {
+    if (builder instanceof PointSensitivity) {
+      return addPoint((PointSensitivity) builder, factor);
+    }
+    if (builder == PointSensitivityBuilder.none()) {
+      return this;
+    }
+    for (PointSensitivity point : builder.build().getSensitivities()) {
+      addPoint(point, factor);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a point sensitivity builder.
+   *
+   * @param builder  the point sensitivity builder to add
+   * @return this, for chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivityBuilder builder) {
+    return add(builder, 1d);
+  }
+
+  /**
+   * Adds all the sensitivities of another accumulator.
+   * <p>
+   * This is used to merge the accumulators of different threads.
+   *
+   * @param other  the other accumulator
+   * @return this, for chaining
+   */
+  public PointSensitivityAccumulator addAll(PointSensitivityAccumulator other) {
+    ArgChecker.isFalse(other == this, "Accumulator cannot be added to itself");
+    for (Group otherGroup : other.zeroRateGroups) {
+      group(zeroRateGroups, otherGroup.key, otherGroup.currency).addAll(otherGroup);
+    }
+    for (Group otherGroup : other.iborRateGroups) {
+      group(iborRateGroups, otherGroup.key, otherGroup.currency).addAll(otherGroup);
+    }
+    others.addAll(other.others);
+    return this;
+  }
+
+  /**
+   * Removes all sensitivities, retaining the allocated tables for reuse.
+   */
+  public void clear() {
+    for (Group group : zeroRateGroups) {
+      group.clear();
+    }
+    for (Group group : iborRateGroups) {
+      group.clear();
+    }
+    others = new MutablePointSensitivities();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the merged point sensitivities.
+   * <p>
+   * One point sensitivity is created for each distinct point.
+   *
+   * @return the point sensitivities
+   */
+  public PointSensitivities build() {
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (Group group : zeroRateGroups) {
+      for (int i = 0; i < group.keys.length; i++) {
+        if (group.used[i]) {
+          result.add(zeroRateSensitivity(group, i));
+        }
+      }
+    }
+    for (Group group : iborRateGroups) {
+      for (int i = 0; i < group.keys.length; i++) {
+        if (group.used[i]) {
+          result.add(iborRateSensitivity(group, i));
+        }
+      }
+    }
+    result.addAll(others);
+    return result.build();
+  }
+
+  /**
+   * Computes the parameter sensitivities of the accumulated point sensitivities.
+   * <p>
+   * This is equivalent to {@link RatesProvider#parameterSensitivity(PointSensitivities)} of the built
+   * sensitivities. The parameter sensitivities of the distinct points are summed into primitive arrays.
+   *
+   * @param provider  the rates provider
+   * @return the parameter sensitivities
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(RatesProvider provider) {
+    Map<Pair<MarketDataName<?>, Currency>, CurrencyParameterSensitivity> templates = new LinkedHashMap<>();
+    Map<Pair<MarketDataName<?>, Currency>, double[]> sums = new LinkedHashMap<>();
+    for (Group group : zeroRateGroups) {
+      for (int i = 0; i < group.keys.length; i++) {
+        if (group.used[i]) {
+          ZeroRateSensitivity point = zeroRateSensitivity(group, i);
+          sum(templates, sums, provider.discountFactors(point.getCurveCurrency()).parameterSensitivity(point));
+        }
+      }
+    }
+    for (Group group : iborRateGroups) {
+      for (int i = 0; i < group.keys.length; i++) {
+        if (group.used[i]) {
+          IborRateSensitivity point = iborRateSensitivity(group, i);
+          sum(templates, sums, provider.iborIndexRates(point.getIndex()).parameterSensitivity(point));
+        }
+      }
+    }
+    List<CurrencyParameterSensitivity> result = new ArrayList<>();
+    for (Map.Entry<Pair<MarketDataName<?>, Currency>, CurrencyParameterSensitivity> entry : templates.entrySet()) {
+      result.add(entry.getValue().withSensitivity(DoubleArray.ofUnsafe(sums.get(entry.getKey()))));
+    }
+    CurrencyParameterSensitivities sensitivities = CurrencyParameterSensitivities.of(result);
+    if (others.size() > 0) {
+      sensitivities = sensitivities.combinedWith(provider.parameterSensitivity(others.build()));
+    }
+    return sensitivities;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds or creates the group
+  private static Group group(List<Group> groups, Object key, Currency currency) {
+    for (Group group : groups) {
+      if (group.key.equals(key) && group.currency.equals(currency)) {
+        return group;
+      }
+    }
+    Group group = new Group(key, currency);
+    groups.add(group);
+    return group;
+  }
+
+  // creates the zero rate sensitivity of an entry
+  private static ZeroRateSensitivity zeroRateSensitivity(Group group, int slot) {
+    double yearFraction = Double.longBitsToDouble(group.keys[slot]);
+    return ZeroRateSensitivity.of((Currency) group.key, yearFraction, group.currency, group.values[slot]);
+  }
+
+  // creates the Ibor rate sensitivity of an entry
+  private static IborRateSensitivity iborRateSensitivity(Group group, int slot) {
+    return IborRateSensitivity.of((IborIndexObservation) group.payloads[slot], group.currency, group.values[slot]);
+  }
+
+  // sums the parameter sensitivities into the arrays
+  private static void sum(
+      Map<Pair<MarketDataName<?>, Currency>, CurrencyParameterSensitivity> templates,
+      Map<Pair<MarketDataName<?>, Currency>, double[]> sums,
+      CurrencyParameterSensitivities sensitivities) {
+
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      Pair<MarketDataName<?>, Currency> key = Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency());
+      templates.putIfAbsent(key, sensitivity);
+      double[] sum = sums.computeIfAbsent(key, k -> new double[sensitivity.getParameterCount()]);
+      DoubleArray values = sensitivity.getSensitivity();
+      for (int i = 0; i < sum.length; i++) {
+        sum[i] += values.get(i);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The sensitivities to one curve in one currency, in an open-addressing table keyed by a primitive.
+   * <p>
+   * The key is the year fraction bits for zero rates and the fixing date epoch day for Ibor rates.
+   */
+  private static final class Group {
+    // the curve currency or the index
+    private final Object key;
+    // the sensitivity currency
+    private final Currency currency;
+    // the table, with a power of two length
+    private long[] keys = new long[16];
+    private double[] values = new double[16];
+    private Object[] payloads = new Object[16];
+    private boolean[] used = new boolean[16];
+    private int size;
+
+    private Group(Object key, Currency currency) {
+      this.key = key;
+      this.currency = currency;
+    }
+
+    // adds a value to the entry, creating it if necessary
+    private void add(long entryKey, Object payload, double value) {
+      int mask = keys.length - 1;
+      int slot = hash(entryKey) & mask;
+      while (used[slot]) {
+        if (keys[slot] == entryKey) {
+          values[slot] += value;
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      used[slot] = true;
+      keys[slot] = entryKey;
+      values[slot] = value;
+      payloads[slot] = payload;
+      size++;
+      if (size * 2 > keys.length) {
+        resize();
+      }
+    }
+
+    // adds all the entries of the other group
+    private void addAll(Group other) {
+      for (int i = 0; i < other.keys.length; i++) {
+        if (other.used[i]) {
+          add(other.keys[i], other.payloads[i], other.values[i]);
+        }
+      }
+    }
+
+    // removes all entries
+    private void clear() {
+      Arrays.fill(used, false);
+      Arrays.fill(payloads, null);
+      size = 0;
+    }
+
+    // doubles the size of the table
+    private void resize() {
+      long[] oldKeys = keys;
+      double[] oldValues = values;
+      Object[] oldPayloads = payloads;
+      boolean[] oldUsed = used;
+      int length = oldKeys.length * 2;
+      keys = new long[length];
+      values = new double[length];
+      payloads = new Object[length];
+      used = new boolean[length];
+      size = 0;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldUsed[i]) {
+          add(oldKeys[i], oldPayloads[i], oldValues[i]);
+        }
+      }
+    }
+
+    // spreads the bits of the key, as the low bits of year fractions are often similar
+    private static int hash(long entryKey) {
+      long mixed = entryKey * 0x9E3779B97F4A7C15L;
+      return (int) (mixed ^ (mixed >>> 32));
+    }
+  }
+
+}
@@ -5,14 +5,22 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import org.joda.beans.MetaProperty;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
@@ -52,6 +60,10 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * Whether the parameters of each curve are bumped in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Create an instance of the finite difference calculator.
@@ -59,7 +71,26 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, false);
+  }
+
+  // creates an instance
+  private RatesFiniteDifferenceSensitivityCalculator(double shift, boolean parallel) {
     this.shift = shift;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calculator that bumps the curve parameters in parallel.
+   * <p>
+   * The bumped providers of each curve are created and passed to the value function
+   * using multiple threads. The value function must therefore be thread-safe.
+   * The results are identical to those of this calculator.
+   * 
+   * @return the parallel calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator parallel() {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, true);
   }
 
   //-------------------------------------------------------------------------
@@ -77,42 +108,67 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       RatesProvider provider,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
 
+    return sensitivity(provider, ImmutableList.of(valueFn)).get(0);
+  }
+
+  /**
+   * Computes the first order sensitivities of several functions of a RatesProvider to a double by finite difference.
+   * <p>
+   * Each bumped provider is created once, and all the functions are applied to it.
+   * This is typically used to compute the sensitivities of many trades with a single set of bumps.
+   * <p>
+   * The finite difference is computed by forward type.
+   * Each function should return a value in the same currency for any rate provider.
+   * 
+   * @param provider  the rates provider
+   * @param valueFns  the functions from a rate provider to a currency amount for which the sensitivity should be computed
+   * @return the curve sensitivity of each function, in the order of the functions
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      RatesProvider provider,
+      List<? extends Function<ImmutableRatesProvider, CurrencyAmount>> valueFns) {
+
     ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
-    CurrencyAmount valueInit = valueFn.apply(immProv);
-    CurrencyParameterSensitivities discounting = sensitivity(
-        immProv,
+    List<CurrencyAmount> valuesInit = valueFns.stream()
+        .map(valueFn -> valueFn.apply(immProv))
+        .collect(toImmutableList());
+    List<CurrencyParameterSensitivities> discounting = sensitivity(
         immProv.getDiscountCurves(),
-        (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurrencyParameterSensitivities forward = sensitivity(
-        immProv,
+        (currency, bumped) -> immProv.toBuilder().discountCurve(currency, bumped).build(),
+        valueFns,
+        valuesInit);
+    List<CurrencyParameterSensitivities> forward = sensitivity(
         immProv.getIndexCurves(),
-        (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    return discounting.combinedWith(forward);
+        (index, bumped) -> immProv.toBuilder().indexCurve(index, bumped).build(),
+        valueFns,
+        valuesInit);
+    return IntStream.range(0, valueFns.size())
+        .mapToObj(i -> discounting.get(i).combinedWith(forward.get(i)))
+        .collect(toImmutableList());
   }
 
   // computes the sensitivity with respect to the curves
-  private <T> CurrencyParameterSensitivities sensitivity(
-      ImmutableRatesProvider provider,
+  // the unbumped curve instances are reused, but the provider builder copies the maps of curves for each bump
+  private <T> List<CurrencyParameterSensitivities> sensitivity(
       Map<T, Curve> baseCurves,
-      BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
+      BiFunction<T, Curve, ImmutableRatesProvider> storeBumpedFn,
+      List<? extends Function<ImmutableRatesProvider, CurrencyAmount>> valueFns,
+      List<CurrencyAmount> valuesInit) {
 
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    List<CurrencyParameterSensitivities> result =
+        new ArrayList<>(Collections.nCopies(valueFns.size(), CurrencyParameterSensitivities.empty()));
     for (Entry<T, Curve> entry : baseCurves.entrySet()) {
       Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
+      double[][] sensitivities = bumpedDifferences(
+          curve.getParameterCount(),
+          i -> storeBumpedFn.apply(entry.getKey(), curve.withParameter(i, curve.getParameter(i) + shift)),
+          valueFns,
+          valuesInit);
+      for (int j = 0; j < valueFns.size(); j++) {
+        CurrencyAmount valueInit = valuesInit.get(j);
+        result.set(j, result.get(j).combinedWith(
+            curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.ofUnsafe(sensitivities[j]))));
+      }
     }
     return result;
   }
@@ -152,17 +208,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
     for (Pair<T, Currency> key : baseCurves.keySet()) {
       DiscountFactors discountFactors = baseCurves.get(key);
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      double[] sensitivity = bumpedDifferences(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
-        ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
+        return provider.toBuilder().set(metaProperty, mapBumped).build();
+      }, ImmutableList.of(valueFn), ImmutableList.of(valueInit))[0];
       result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.ofUnsafe(sensitivity)));
     }
     return result;
   }
@@ -203,17 +256,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = baseCurves.get(key);
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      double[] sensitivity = bumpedDifferences(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
+        return provider.toBuilder().set(metaProperty, mapBumped).build();
+      }, ImmutableList.of(valueFn), ImmutableList.of(valueInit))[0];
       result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.ofUnsafe(sensitivity)));
     }
     return result;
   }
@@ -231,19 +281,39 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       CreditDiscountFactors creditDiscountFactors = credit.getSurvivalProbabilities();
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
-      int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      double[] sensitivity = bumpedDifferences(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
             credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
-        ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
+        return provider.toBuilder().set(metaProperty, mapBumped).build();
+      }, ImmutableList.of(valueFn), ImmutableList.of(valueInit))[0];
       result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.ofUnsafe(sensitivity)));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // computes the finite difference of each value for each bumped parameter, in parallel if enabled
+  // the result has one row per value function and one column per parameter
+  private <P> double[][] bumpedDifferences(
+      int paramCount,
+      IntFunction<P> bumpedProviderFn,
+      List<? extends Function<P, CurrencyAmount>> valueFns,
+      List<CurrencyAmount> valuesInit) {
+
+    double[][] result = new double[valueFns.size()][paramCount];
+    IntStream indices = IntStream.range(0, paramCount);
+    if (parallel) {
+      indices = indices.parallel();
     }
+    indices.forEach(i -> {
+      P bumpedProvider = bumpedProviderFn.apply(i);
+      for (int j = 0; j < valueFns.size(); j++) {
+        result[j][i] = (valueFns.get(j).apply(bumpedProvider).getAmount() - valuesInit.get(j).getAmount()) / shift;
+      }
+    });
     return result;
   }
 
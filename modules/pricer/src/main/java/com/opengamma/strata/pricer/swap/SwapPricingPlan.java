@@ -0,0 +1,490 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.MapMaker;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.DiscountIborIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * A swap compiled for repeated pricing on a valuation date.
+ * <p>
+ * The {@link DiscountingSwapProductPricer} walks the payment periods of each leg on every call,
+ * dispatching to the pricer of each period and rate computation, and converting each date to a time.
+ * A plan walks the swap once, flattening the legs into primitive arrays of terms using {@link SwapTerms}.
+ * Each term is a notional, an accrual factor, an optional Ibor observation and a payment date.
+ * The payment dates and the observation dates are converted to times using the valuation date
+ * and the day count of the curves. Pricing is then a loop over the arrays,
+ * with the discount factors of each curve obtained in one batch using {@link DiscountFactors#discountFactors(DoubleArray)}.
+ * <p>
+ * The plan must only be used with curves that have the valuation date and day count of the plan.
+ * This is checked when pricing. Forward rates are computed from the times if the Ibor index rates
+ * are based on discount factors, otherwise the {@link IborIndexRates} are queried for each observation.
+ * <p>
+ * Only the common swap features are supported: fixed and Ibor rates without compounding or FX reset,
+ * known amounts and notional exchanges. The results match those of {@link DiscountingSwapProductPricer#DEFAULT}.
+ * The par rate is only supported if each period of the fixed leg has a single accrual period.
+ * <p>
+ * Plans can be cached for each swap using {@link #cached(ResolvedSwap, LocalDate, DayCount)}.
+ */
+public final class SwapPricingPlan {
+
+  /**
+   * The cache of plans, keyed by the identity of the swap.
+   * The plans do not refer to the swap, so the entries can be garbage collected with the swap.
+   */
+  private static final ConcurrentMap<ResolvedSwap, Optional<SwapPricingPlan>> CACHE = new MapMaker().weakKeys().makeMap();
+
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The day count used to convert dates to times.
+   */
+  private final DayCount dayCount;
+  /**
+   * The cash flows of the swap, flattened into terms.
+   */
+  private final SwapTerms terms;
+  /**
+   * The index of the latest payment date in each currency.
+   */
+  private final int[] currencyLastDates;
+  /**
+   * The time of each payment date.
+   */
+  private final double[] dateTimes;
+  /**
+   * The indices of the payment dates of each currency, sorted by date.
+   */
+  private final int[][] currencyDates;
+  /**
+   * The times of the payment dates of each currency, sorted, used for batch curve evaluation.
+   */
+  private final DoubleArray[] currencyDateTimes;
+  /**
+   * The index of the observation with the latest maturity for each Ibor index.
+   */
+  private final int[] indexLastObservations;
+  /**
+   * The time of the effective date of each observation.
+   */
+  private final double[] observationStartTimes;
+  /**
+   * The time of the maturity date of each observation.
+   */
+  private final double[] observationEndTimes;
+  /**
+   * The distinct times of the effective and maturity dates of the forward observations of each index, sorted.
+   * An observation is forward if its fixing date is after the valuation date.
+   */
+  private final DoubleArray[] indexForwardTimes;
+  /**
+   * The index into {@code indexForwardTimes} of the effective date of each observation, -1 if not forward.
+   */
+  private final int[] observationStartSlots;
+  /**
+   * The index into {@code indexForwardTimes} of the maturity date of each observation, -1 if not forward.
+   */
+  private final int[] observationEndSlots;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the plan for a swap, using the cache.
+   * <p>
+   * The cache holds the latest plan compiled for each swap instance.
+   * If the valuation date or the day count are different, the plan is compiled again.
+   *
+   * @param swap  the swap
+   * @param valuationDate  the valuation date
+   * @param dayCount  the day count of the curves
+   * @return the plan, empty if the swap has a feature that is not supported
+   */
+  public static Optional<SwapPricingPlan> cached(ResolvedSwap swap, LocalDate valuationDate, DayCount dayCount) {
+    Optional<SwapPricingPlan> cached = CACHE.get(swap);
+    if (cached != null &&
+        (!cached.isPresent() ||
+            (cached.get().valuationDate.equals(valuationDate) && cached.get().dayCount.equals(dayCount)))) {
+      return cached;
+    }
+    Optional<SwapPricingPlan> plan = of(swap, valuationDate, dayCount);
+    CACHE.put(swap, plan);
+    return plan;
+  }
+
+  /**
+   * Compiles the plan for a swap.
+   *
+   * @param swap  the swap
+   * @param valuationDate  the valuation date
+   * @param dayCount  the day count of the curves
+   * @return the plan, empty if the swap has a feature that is not supported
+   */
+  public static Optional<SwapPricingPlan> of(ResolvedSwap swap, LocalDate valuationDate, DayCount dayCount) {
+    ArgChecker.notNull(swap, "swap");
+    ArgChecker.notNull(valuationDate, "valuationDate");
+    ArgChecker.notNull(dayCount, "dayCount");
+    return SwapTerms.of(swap).map(terms -> new SwapPricingPlan(terms, valuationDate, dayCount));
+  }
+
+  // restricted constructor
+  private SwapPricingPlan(SwapTerms terms, LocalDate valuationDate, DayCount dayCount) {
+    this.valuationDate = valuationDate;
+    this.dayCount = dayCount;
+    this.terms = terms;
+    // payment dates
+    int currencyCount = terms.getCurrencyCount();
+    int dateCount = terms.getDateCount();
+    this.dateTimes = new double[dateCount];
+    this.currencyLastDates = new int[currencyCount];
+    for (int i = 0; i < dateCount; i++) {
+      dateTimes[i] = dayCount.relativeYearFraction(valuationDate, terms.getDate(i));
+      int currency = terms.getDateCurrency(i);
+      if (terms.getDate(i).isAfter(terms.getDate(currencyLastDates[currency]))) {
+        currencyLastDates[currency] = i;
+      }
+    }
+    this.currencyDates = new int[currencyCount][];
+    this.currencyDateTimes = new DoubleArray[currencyCount];
+    for (int i = 0; i < currencyCount; i++) {
+      int currency = i;
+      int[] sorted = IntStream.range(0, dateCount)
+          .filter(date -> terms.getDateCurrency(date) == currency)
+          .boxed()
+          .sorted(Comparator.comparing(terms::getDate))
+          .mapToInt(Integer::intValue)
+          .toArray();
+      currencyDates[i] = sorted;
+      currencyDateTimes[i] = DoubleArray.of(sorted.length, j -> dateTimes[sorted[j]]);
+    }
+    // observations
+    int observationCount = terms.getObservationCount();
+    this.observationStartTimes = new double[observationCount];
+    this.observationEndTimes = new double[observationCount];
+    this.indexLastObservations = new int[terms.getIndexCount()];
+    for (int i = 0; i < observationCount; i++) {
+      IborIndexObservation observation = terms.getObservation(i);
+      int index = terms.getObservationIndex(i);
+      observationStartTimes[i] = dayCount.relativeYearFraction(valuationDate, observation.getEffectiveDate());
+      observationEndTimes[i] = dayCount.relativeYearFraction(valuationDate, observation.getMaturityDate());
+      if (observation.getMaturityDate().isAfter(terms.getObservation(indexLastObservations[index]).getMaturityDate())) {
+        indexLastObservations[index] = i;
+      }
+    }
+    this.indexForwardTimes = new DoubleArray[terms.getIndexCount()];
+    this.observationStartSlots = new int[observationCount];
+    this.observationEndSlots = new int[observationCount];
+    Arrays.fill(observationStartSlots, -1);
+    Arrays.fill(observationEndSlots, -1);
+    for (int index = 0; index < terms.getIndexCount(); index++) {
+      int[] forwards = forwardObservations(index);
+      double[] times = IntStream.of(forwards)
+          .mapToObj(i -> DoubleStream.of(observationStartTimes[i], observationEndTimes[i]))
+          .flatMapToDouble(pair -> pair)
+          .sorted()
+          .distinct()
+          .toArray();
+      indexForwardTimes[index] = DoubleArray.ofUnsafe(times);
+      for (int i : forwards) {
+        observationStartSlots[i] = Arrays.binarySearch(times, observationStartTimes[i]);
+        observationEndSlots[i] = Arrays.binarySearch(times, observationEndTimes[i]);
+      }
+    }
+  }
+
+  // finds the observations of the index whose fixing date is after the valuation date
+  private int[] forwardObservations(int index) {
+    return IntStream.range(0, terms.getObservationCount())
+        .filter(i -> terms.getObservationIndex(i) == index)
+        .filter(i -> terms.getObservation(i).getFixingDate().isAfter(valuationDate))
+        .toArray();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the valuation date of the plan.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Gets the day count used to convert dates to times.
+   *
+   * @return the day count
+   */
+  public DayCount getDayCount() {
+    return dayCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap.
+   * <p>
+   * The result is expressed using the payment currency of each leg.
+   * This matches {@link DiscountingSwapProductPricer#presentValue(ResolvedSwap, RatesProvider)}.
+   *
+   * @param provider  the rates provider
+   * @return the present value of the swap
+   */
+  public MultiCurrencyAmount presentValue(RatesProvider provider) {
+    double[] legValues = legPresentValues(new Values(provider));
+    if (terms.isCrossCurrency()) {
+      MultiCurrencyAmount total = MultiCurrencyAmount.empty();
+      for (int leg = 0; leg < legValues.length; leg++) {
+        total = total.plus(terms.getLegCurrency(leg), legValues[leg]);
+      }
+      return total;
+    }
+    double total = 0d;
+    for (double legValue : legValues) {
+      total += legValue;
+    }
+    return MultiCurrencyAmount.of(terms.getLegCurrency(0), total);
+  }
+
+  /**
+   * Calculates the par rate of the swap.
+   * <p>
+   * This matches {@link DiscountingSwapProductPricer#parRate(ResolvedSwap, RatesProvider)}
+   * for swaps whose fixed leg periods have a single accrual period.
+   *
+   * @param provider  the rates provider
+   * @return the par rate
+   * @throws IllegalArgumentException if the swap does not have a fixed leg,
+   *  or if a fixed leg period has more than one accrual period
+   */
+  public double parRate(RatesProvider provider) {
+    int fixedLeg = terms.getFixedLeg();
+    ArgChecker.isTrue(fixedLeg >= 0, "Swap must contain a fixed leg");
+    ArgChecker.isTrue(terms.isPvbpSupported(), "Only one accrued period supported on the fixed leg");
+    Values values = new Values(provider);
+    double[] discountFactors = values.allDiscountFactors;
+    double[] rates = values.rates;
+    // other payments (not fixed leg coupons) converted in fixed leg currency
+    double[] otherPvs = new double[terms.getLegCount()];
+    double pvbp = 0d;
+    for (int i = 0; i < terms.getTermCount(); i++) {
+      int date = terms.getTermDate(i);
+      double termPvbp = terms.getTermPvbp(i);
+      if (termPvbp != 0d) {
+        // the PVBP includes past periods
+        pvbp += termPvbp * discountFactors[date];
+      } else if (values.discountFactors[date] != 0d) {
+        otherPvs[terms.getTermLeg(i)] += terms.termValue(i, rates) * values.discountFactors[date];
+      }
+    }
+    double otherPv = 0d;
+    Currency fixedCurrency = terms.getLegCurrency(fixedLeg);
+    for (int leg = 0; leg < otherPvs.length; leg++) {
+      otherPv += otherPvs[leg] * (leg == fixedLeg ? 1d : provider.fxRate(terms.getLegCurrency(leg), fixedCurrency));
+    }
+    return -otherPv / pvbp;
+  }
+
+  /**
+   * Calculates the present value sensitivity of the swap.
+   * <p>
+   * This matches {@link DiscountingSwapProductPricer#presentValueSensitivity(ResolvedSwap, RatesProvider)}
+   * once normalized.
+   *
+   * @param provider  the rates provider
+   * @return the present value curve sensitivity of the swap
+   */
+  public PointSensitivityBuilder presentValueSensitivity(RatesProvider provider) {
+    Values values = new Values(provider);
+    double[][] pointValues = sensitivityValues(values);
+    MutablePointSensitivities sensitivities = new MutablePointSensitivities();
+    for (int i = 0; i < terms.getDateCount(); i++) {
+      if (values.discountFactors[i] != 0d) {
+        DiscountFactors curve = values.curves[terms.getDateCurrency(i)];
+        sensitivities.add(curve.zeroRatePointSensitivity(dateTimes[i]).multipliedBy(pointValues[0][i]));
+      }
+    }
+    for (int i = 0; i < terms.getObservationCount(); i++) {
+      if (pointValues[1][i] != 0d) {
+        IborIndexRates rates = values.indexRates[terms.getObservationIndex(i)];
+        rates.ratePointSensitivity(terms.getObservation(i)).multipliedBy(pointValues[1][i]).buildInto(sensitivities);
+      }
+    }
+    return sensitivities;
+  }
+
+  /**
+   * Calculates the present value sensitivity of the swap, adding it to an accumulator.
+   * <p>
+   * This is equivalent to {@link #presentValueSensitivity(RatesProvider)}, but the sensitivities
+   * are added to the accumulator as primitives, without creating any point sensitivity objects.
+   * This is intended for the risk of large portfolios.
+   *
+   * @param provider  the rates provider
+   * @param accumulator  the accumulator to add the sensitivity to
+   */
+  public void presentValueSensitivity(RatesProvider provider, PointSensitivityAccumulator accumulator) {
+    Values values = new Values(provider);
+    double[][] pointValues = sensitivityValues(values);
+    for (int i = 0; i < terms.getDateCount(); i++) {
+      double discountFactor = values.discountFactors[i];
+      if (discountFactor != 0d) {
+        // the sensitivity of a discount factor to the zero rate, as in DiscountFactors.zeroRatePointSensitivity()
+        Currency currency = terms.getCurrency(terms.getDateCurrency(i));
+        double sensitivity = -discountFactor * dateTimes[i] * pointValues[0][i];
+        accumulator.addZeroRate(currency, dateTimes[i], currency, sensitivity);
+      }
+    }
+    for (int i = 0; i < terms.getObservationCount(); i++) {
+      if (pointValues[1][i] != 0d && values.isForward(i)) {
+        IborIndexObservation observation = terms.getObservation(i);
+        accumulator.addIborRate(observation, observation.getIndex().getCurrency(), pointValues[1][i]);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the present value of each leg, in the currency of the leg
+  private double[] legPresentValues(Values values) {
+    double[] legValues = new double[terms.getLegCount()];
+    for (int i = 0; i < terms.getTermCount(); i++) {
+      double discountFactor = values.discountFactors[terms.getTermDate(i)];
+      if (discountFactor != 0d) {
+        legValues[terms.getTermLeg(i)] += terms.termValue(i, values.rates) * discountFactor;
+      }
+    }
+    return legValues;
+  }
+
+  // calculates the value of each live payment date and the sensitivity to the rate of each observation
+  private double[][] sensitivityValues(Values values) {
+    double[] dateValues = new double[terms.getDateCount()];
+    double[] observationSensitivities = new double[terms.getObservationCount()];
+    for (int i = 0; i < terms.getTermCount(); i++) {
+      int date = terms.getTermDate(i);
+      double discountFactor = values.discountFactors[date];
+      if (discountFactor != 0d) {
+        dateValues[date] += terms.termValue(i, values.rates);
+        int observation = terms.getTermObservation(i);
+        if (observation >= 0) {
+          observationSensitivities[observation] += terms.termRateSensitivity(i) * discountFactor;
+        }
+      }
+    }
+    return new double[][] {dateValues, observationSensitivities};
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The curves, discount factors and rates for one call.
+   */
+  private final class Values {
+    // the discount curves, null if not needed
+    private final DiscountFactors[] curves = new DiscountFactors[terms.getCurrencyCount()];
+    // the index rates, null if not needed
+    private final IborIndexRates[] indexRates = new IborIndexRates[terms.getIndexCount()];
+    // the discount factors of all payment dates
+    private final double[] allDiscountFactors = new double[terms.getDateCount()];
+    // the discount factors of the payment dates, zero for past payment dates
+    private final double[] discountFactors = new double[terms.getDateCount()];
+    // the rates of the observations, only set if needed
+    private final double[] rates = new double[terms.getObservationCount()];
+
+    private Values(RatesProvider provider) {
+      ArgChecker.isTrue(
+          provider.getValuationDate().equals(valuationDate),
+          "Pricing plan valuation date {} does not match the rates provider valuation date {}",
+          valuationDate,
+          provider.getValuationDate());
+      for (int i = 0; i < curves.length; i++) {
+        curves[i] = provider.discountFactors(terms.getCurrency(i));
+        checkDayCount(curves[i], currencyLastDates[i]);
+      }
+      for (int i = 0; i < curves.length; i++) {
+        DoubleArray currencyDiscountFactors = curves[i].discountFactors(currencyDateTimes[i]);
+        for (int j = 0; j < currencyDates[i].length; j++) {
+          allDiscountFactors[currencyDates[i][j]] = currencyDiscountFactors.get(j);
+        }
+      }
+      for (int i = 0; i < discountFactors.length; i++) {
+        discountFactors[i] = terms.getDate(i).isBefore(valuationDate) ? 0d : allDiscountFactors[i];
+      }
+      // forward curves are only looked up if needed, as the standard pricer does not need them for past payments
+      // the discount factors of the forward curve are evaluated in one batch for each index
+      DoubleArray[] forwardDiscountFactors = new DoubleArray[indexRates.length];
+      for (int i = 0; i < rates.length; i++) {
+        if (!terms.getObservationLastDate(i).isBefore(valuationDate)) {
+          int index = terms.getObservationIndex(i);
+          if (indexRates[index] == null) {
+            indexRates[index] = provider.iborIndexRates(terms.getIndex(index));
+            if (isTimeBased(indexRates[index], indexLastObservations[index])) {
+              DiscountFactors forwardCurve = ((DiscountIborIndexRates) indexRates[index]).getDiscountFactors();
+              forwardDiscountFactors[index] = forwardCurve.discountFactors(indexForwardTimes[index]);
+            }
+          }
+          IborIndexObservation observation = terms.getObservation(i);
+          if (forwardDiscountFactors[index] != null && observationStartSlots[i] >= 0) {
+            // simply compounded forward rate from discount factors, as in DiscountIborIndexRates
+            double dfStart = forwardDiscountFactors[index].get(observationStartSlots[i]);
+            double dfEnd = forwardDiscountFactors[index].get(observationEndSlots[i]);
+            rates[i] = (dfStart / dfEnd - 1) / observation.getYearFraction();
+          } else {
+            rates[i] = indexRates[index].rate(observation);
+          }
+        }
+      }
+    }
+
+    // checks that the curve has the day count of the plan, using the latest date
+    private void checkDayCount(DiscountFactors curve, int date) {
+      if (curve.relativeYearFraction(terms.getDate(date)) != dateTimes[date]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Pricing plan day count {} does not match the discount curve for {}", dayCount, curve.getCurrency()));
+      }
+    }
+
+    // checks if the rate of the observation comes from the forward curve rather than the fixings,
+    // as in IborIndexRates.ratePointSensitivity()
+    private boolean isForward(int observation) {
+      LocalDate fixingDate = terms.getObservation(observation).getFixingDate();
+      return fixingDate.isAfter(valuationDate) ||
+          (fixingDate.equals(valuationDate) &&
+              !indexRates[terms.getObservationIndex(observation)].getFixings().containsDate(fixingDate));
+    }
+
+    // checks if the forward rates can be computed from the times
+    private boolean isTimeBased(IborIndexRates rates, int observation) {
+      if (!(rates instanceof DiscountIborIndexRates)) {
+        return false;
+      }
+      LocalDate maturityDate = terms.getObservation(observation).getMaturityDate();
+      DiscountFactors forwardCurve = ((DiscountIborIndexRates) rates).getDiscountFactors();
+      return forwardCurve.relativeYearFraction(maturityDate) == observationEndTimes[observation];
+    }
+  }
+
+}
@@ -0,0 +1,537 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.CompoundingMethod;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * The cash flows of a swap, flattened into terms.
+ * <p>
+ * The legs of the swap are walked once, reducing each payment to one or more terms.
+ * Each term is a notional, an accrual factor, an optional Ibor observation and a payment date.
+ * The value of a term before discounting is {@code notional * (constant + coefficient * rate)},
+ * floored at zero if the negative rate method is {@link NegativeRateMethod#NOT_NEGATIVE}.
+ * <p>
+ * The payment dates are distinct for each payment currency, and the observations are distinct.
+ * The terms refer to them by index, so that each discount factor and rate only has to be found once.
+ * <p>
+ * Only the common swap features are supported: fixed and Ibor rates without compounding or FX reset,
+ * known amounts and notional exchanges.
+ * This is used by {@link SwapPricingPlan} and by the pricing of a swap in many scenarios.
+ */
+public final class SwapTerms {
+
+  /**
+   * Whether the legs have different currencies.
+   */
+  private final boolean crossCurrency;
+  /**
+   * The currency of each leg.
+   */
+  private final Currency[] legCurrencies;
+  /**
+   * The index of the first fixed leg, -1 if there is no fixed leg.
+   */
+  private final int fixedLeg;
+  /**
+   * Whether each period of the fixed leg has a single accrual period, so that the PVBP of the terms is valid.
+   */
+  private final boolean pvbpSupported;
+  /**
+   * The currencies of the payments.
+   */
+  private final Currency[] currencies;
+  /**
+   * The payment dates, distinct for each currency.
+   */
+  private final LocalDate[] dates;
+  /**
+   * The index into {@code currencies} of each payment date.
+   */
+  private final int[] dateCurrencies;
+  /**
+   * The Ibor indices.
+   */
+  private final IborIndex[] indices;
+  /**
+   * The Ibor observations, distinct.
+   */
+  private final IborIndexObservation[] observations;
+  /**
+   * The index into {@code indices} of each observation.
+   */
+  private final int[] observationIndices;
+  /**
+   * The latest payment date that depends on each observation.
+   */
+  private final LocalDate[] observationLastDates;
+  /**
+   * The index of the leg of each term.
+   */
+  private final int[] termLegs;
+  /**
+   * The index into {@code dates} of each term.
+   */
+  private final int[] termDates;
+  /**
+   * The index into {@code observations} of each term, -1 if the term does not depend on a rate.
+   */
+  private final int[] termObservations;
+  /**
+   * The unit notional value of each term per unit of rate, the gearing multiplied by the year fraction.
+   */
+  private final double[] termCoefficients;
+  /**
+   * The unit notional value of each term that does not depend on the rate.
+   */
+  private final double[] termConstants;
+  /**
+   * The notional of each term.
+   */
+  private final double[] termNotionals;
+  /**
+   * Whether the unit notional value of each term is floored at zero.
+   */
+  private final boolean[] termFloors;
+  /**
+   * The present value of a basis point of each term, before discounting.
+   * This is the notional multiplied by the year fraction for the periods of the fixed leg, and zero otherwise.
+   */
+  private final double[] termPvbps;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Flattens the cash flows of a swap into terms, if the swap is supported.
+   *
+   * @param swap  the swap
+   * @return the terms, empty if the swap has a feature that is not supported
+   */
+  public static Optional<SwapTerms> of(ResolvedSwap swap) {
+    ArgChecker.notNull(swap, "swap");
+    List<ResolvedSwapLeg> fixedLegs = swap.getLegs(SwapLegType.FIXED);
+    int fixedLeg = fixedLegs.isEmpty() ? -1 : swap.getLegs().indexOf(fixedLegs.get(0));
+    Builder builder = new Builder();
+    for (int leg = 0; leg < swap.getLegs().size(); leg++) {
+      ResolvedSwapLeg swapLeg = swap.getLegs().get(leg);
+      for (SwapPaymentPeriod period : swapLeg.getPaymentPeriods()) {
+        if (!builder.addPeriod(leg, period, leg == fixedLeg)) {
+          return Optional.empty();
+        }
+      }
+      for (SwapPaymentEvent event : swapLeg.getPaymentEvents()) {
+        if (!(event instanceof NotionalExchange)) {
+          return Optional.empty();
+        }
+        Payment payment = ((NotionalExchange) event).getPayment();
+        builder.addTerm(leg, payment.getCurrency(), payment.getDate(), null, 0d, 1d, payment.getAmount(), false, 0d);
+      }
+    }
+    Currency[] legCurrencies = swap.getLegs().stream().map(ResolvedSwapLeg::getCurrency).toArray(Currency[]::new);
+    return Optional.of(new SwapTerms(builder, swap.isCrossCurrency(), legCurrencies, fixedLeg));
+  }
+
+  // restricted constructor
+  private SwapTerms(Builder builder, boolean crossCurrency, Currency[] legCurrencies, int fixedLeg) {
+    this.crossCurrency = crossCurrency;
+    this.legCurrencies = legCurrencies;
+    this.fixedLeg = fixedLeg;
+    this.pvbpSupported = builder.pvbpSupported;
+    this.currencies = builder.currencies.toArray(new Currency[0]);
+    this.dates = builder.dates.keySet().stream().map(Pair::getSecond).toArray(LocalDate[]::new);
+    this.dateCurrencies = builder.dates.keySet().stream()
+        .mapToInt(pair -> builder.currencies.indexOf(pair.getFirst()))
+        .toArray();
+    this.indices = builder.indices.toArray(new IborIndex[0]);
+    this.observations = builder.observations.keySet().toArray(new IborIndexObservation[0]);
+    this.observationIndices = builder.observations.keySet().stream()
+        .mapToInt(obs -> builder.indices.indexOf(obs.getIndex()))
+        .toArray();
+    this.observationLastDates = builder.observationLastDates.toArray(new LocalDate[0]);
+    int size = builder.termLegs.size();
+    this.termLegs = builder.termLegs.stream().mapToInt(Integer::intValue).toArray();
+    this.termDates = builder.termDates.stream().mapToInt(Integer::intValue).toArray();
+    this.termObservations = builder.termObservations.stream().mapToInt(Integer::intValue).toArray();
+    this.termCoefficients = Arrays.copyOf(builder.termCoefficients, size);
+    this.termConstants = Arrays.copyOf(builder.termConstants, size);
+    this.termNotionals = Arrays.copyOf(builder.termNotionals, size);
+    this.termFloors = Arrays.copyOf(builder.termFloors, size);
+    this.termPvbps = Arrays.copyOf(builder.termPvbps, size);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the legs of the swap have different currencies.
+   *
+   * @return true if the swap is cross currency
+   */
+  public boolean isCrossCurrency() {
+    return crossCurrency;
+  }
+
+  /**
+   * Gets the number of legs.
+   *
+   * @return the number of legs
+   */
+  public int getLegCount() {
+    return legCurrencies.length;
+  }
+
+  /**
+   * Gets the currency of a leg.
+   *
+   * @param leg  the index of the leg
+   * @return the currency of the leg
+   */
+  public Currency getLegCurrency(int leg) {
+    return legCurrencies[leg];
+  }
+
+  /**
+   * Gets the index of the first fixed leg.
+   *
+   * @return the index of the fixed leg, -1 if there is no fixed leg
+   */
+  public int getFixedLeg() {
+    return fixedLeg;
+  }
+
+  /**
+   * Checks if the PVBP of the terms is valid.
+   * <p>
+   * This is false if a period of the fixed leg has more than one accrual period.
+   *
+   * @return true if the PVBP is supported
+   */
+  public boolean isPvbpSupported() {
+    return pvbpSupported;
+  }
+
+  /**
+   * Gets the number of payment currencies.
+   *
+   * @return the number of currencies
+   */
+  public int getCurrencyCount() {
+    return currencies.length;
+  }
+
+  /**
+   * Gets a payment currency.
+   *
+   * @param currency  the index of the currency
+   * @return the currency
+   */
+  public Currency getCurrency(int currency) {
+    return currencies[currency];
+  }
+
+  /**
+   * Gets the number of payment dates, which are distinct for each currency.
+   *
+   * @return the number of payment dates
+   */
+  public int getDateCount() {
+    return dates.length;
+  }
+
+  /**
+   * Gets a payment date.
+   *
+   * @param date  the index of the payment date
+   * @return the payment date
+   */
+  public LocalDate getDate(int date) {
+    return dates[date];
+  }
+
+  /**
+   * Gets the index of the currency of a payment date.
+   *
+   * @param date  the index of the payment date
+   * @return the index of the currency
+   */
+  public int getDateCurrency(int date) {
+    return dateCurrencies[date];
+  }
+
+  /**
+   * Gets the number of Ibor indices.
+   *
+   * @return the number of indices
+   */
+  public int getIndexCount() {
+    return indices.length;
+  }
+
+  /**
+   * Gets an Ibor index.
+   *
+   * @param index  the index of the Ibor index
+   * @return the Ibor index
+   */
+  public IborIndex getIndex(int index) {
+    return indices[index];
+  }
+
+  /**
+   * Gets the number of distinct Ibor observations.
+   *
+   * @return the number of observations
+   */
+  public int getObservationCount() {
+    return observations.length;
+  }
+
+  /**
+   * Gets an Ibor observation.
+   *
+   * @param observation  the index of the observation
+   * @return the observation
+   */
+  public IborIndexObservation getObservation(int observation) {
+    return observations[observation];
+  }
+
+  /**
+   * Gets the index of the Ibor index of an observation.
+   *
+   * @param observation  the index of the observation
+   * @return the index of the Ibor index
+   */
+  public int getObservationIndex(int observation) {
+    return observationIndices[observation];
+  }
+
+  /**
+   * Gets the latest payment date that depends on an observation.
+   * <p>
+   * The rate of the observation is not needed if this is before the valuation date.
+   *
+   * @param observation  the index of the observation
+   * @return the latest payment date
+   */
+  public LocalDate getObservationLastDate(int observation) {
+    return observationLastDates[observation];
+  }
+
+  /**
+   * Gets the number of terms.
+   *
+   * @return the number of terms
+   */
+  public int getTermCount() {
+    return termLegs.length;
+  }
+
+  /**
+   * Gets the index of the leg of a term.
+   *
+   * @param term  the index of the term
+   * @return the index of the leg
+   */
+  public int getTermLeg(int term) {
+    return termLegs[term];
+  }
+
+  /**
+   * Gets the index of the payment date of a term.
+   *
+   * @param term  the index of the term
+   * @return the index of the payment date
+   */
+  public int getTermDate(int term) {
+    return termDates[term];
+  }
+
+  /**
+   * Gets the index of the observation of a term.
+   *
+   * @param term  the index of the term
+   * @return the index of the observation, -1 if the term does not depend on a rate
+   */
+  public int getTermObservation(int term) {
+    return termObservations[term];
+  }
+
+  /**
+   * Gets the present value of a basis point of a term, before discounting.
+   * <p>
+   * This is the notional multiplied by the year fraction for the periods of the fixed leg, and zero otherwise.
+   *
+   * @param term  the index of the term
+   * @return the PVBP of the term
+   */
+  public double getTermPvbp(int term) {
+    return termPvbps[term];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the value of a term, before discounting.
+   *
+   * @param term  the index of the term
+   * @param rates  the rates of the observations, indexed as the observations
+   * @return the value of the term
+   */
+  public double termValue(int term, double[] rates) {
+    int observation = termObservations[term];
+    double unitValue = termConstants[term] + (observation < 0 ? 0d : termCoefficients[term] * rates[observation]);
+    if (termFloors[term]) {
+      unitValue = Math.max(unitValue, 0d);
+    }
+    return unitValue * termNotionals[term];
+  }
+
+  /**
+   * Calculates the sensitivity of the value of a term to the rate of its observation, before discounting.
+   * <p>
+   * The negative rate method is not applied to the sensitivity, as in the standard pricer.
+   *
+   * @param term  the index of the term
+   * @return the sensitivity of the term to the rate, zero if the term does not depend on a rate
+   */
+  public double termRateSensitivity(int term) {
+    return termObservations[term] < 0 ? 0d : termNotionals[term] * termCoefficients[term];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Mutable builder for the terms.
+   */
+  private static final class Builder {
+    private boolean pvbpSupported = true;
+    private final List<Currency> currencies = new ArrayList<>();
+    private final Map<Pair<Currency, LocalDate>, Integer> dates = new LinkedHashMap<>();
+    private final List<IborIndex> indices = new ArrayList<>();
+    private final Map<IborIndexObservation, Integer> observations = new LinkedHashMap<>();
+    private final List<LocalDate> observationLastDates = new ArrayList<>();
+    private final List<Integer> termLegs = new ArrayList<>();
+    private final List<Integer> termDates = new ArrayList<>();
+    private final List<Integer> termObservations = new ArrayList<>();
+    private double[] termCoefficients = new double[16];
+    private double[] termConstants = new double[16];
+    private double[] termNotionals = new double[16];
+    private boolean[] termFloors = new boolean[16];
+    private double[] termPvbps = new double[16];
+
+    // adds a payment period, returning false if not supported
+    private boolean addPeriod(int leg, SwapPaymentPeriod period, boolean fixedLeg) {
+      if (period instanceof KnownAmountSwapPaymentPeriod) {
+        Payment payment = ((KnownAmountSwapPaymentPeriod) period).getPayment();
+        addTerm(leg, payment.getCurrency(), payment.getDate(), null, 0d, 1d, payment.getAmount(), false, 0d);
+        return true;
+      }
+      if (!(period instanceof RatePaymentPeriod)) {
+        return false;
+      }
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+      List<RateAccrualPeriod> accruals = ratePeriod.getAccrualPeriods();
+      if (ratePeriod.getFxReset().isPresent() ||
+          (accruals.size() > 1 && ratePeriod.getCompoundingMethod() != CompoundingMethod.NONE)) {
+        return false;
+      }
+      if (fixedLeg && accruals.size() > 1) {
+        pvbpSupported = false;
+      }
+      for (RateAccrualPeriod accrual : accruals) {
+        // value = notional * adjust((rate * gearing + spread) * yearFraction)
+        RateComputation computation = accrual.getRateComputation();
+        double coefficient = accrual.getGearing() * accrual.getYearFraction();
+        double constant = accrual.getSpread() * accrual.getYearFraction();
+        double notional = ratePeriod.getNotional();
+        boolean floor = accrual.getNegativeRateMethod() == NegativeRateMethod.NOT_NEGATIVE;
+        double pvbp = fixedLeg ? notional * accrual.getYearFraction() : 0d;
+        Currency currency = ratePeriod.getCurrency();
+        LocalDate paymentDate = ratePeriod.getPaymentDate();
+        if (computation instanceof FixedRateComputation) {
+          double rate = ((FixedRateComputation) computation).getRate();
+          addTerm(leg, currency, paymentDate, null, 0d, constant + coefficient * rate, notional, floor, pvbp);
+        } else if (computation instanceof IborRateComputation) {
+          IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+          addTerm(leg, currency, paymentDate, observation, coefficient, constant, notional, floor, pvbp);
+        } else {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // adds a term
+    private void addTerm(
+        int leg,
+        Currency currency,
+        LocalDate paymentDate,
+        IborIndexObservation observation,
+        double coefficient,
+        double constant,
+        double notional,
+        boolean floor,
+        double pvbp) {
+
+      if (!currencies.contains(currency)) {
+        currencies.add(currency);
+      }
+      Integer date = dates.computeIfAbsent(Pair.of(currency, paymentDate), key -> dates.size());
+      int obs = -1;
+      if (observation != null) {
+        obs = observations.computeIfAbsent(observation, key -> observations.size());
+        if (obs == observationLastDates.size()) {
+          observationLastDates.add(paymentDate);
+          if (!indices.contains(observation.getIndex())) {
+            indices.add(observation.getIndex());
+          }
+        } else if (paymentDate.isAfter(observationLastDates.get(obs))) {
+          observationLastDates.set(obs, paymentDate);
+        }
+      }
+      int size = termLegs.size();
+      if (size == termCoefficients.length) {
+        termCoefficients = Arrays.copyOf(termCoefficients, size * 2);
+        termConstants = Arrays.copyOf(termConstants, size * 2);
+        termNotionals = Arrays.copyOf(termNotionals, size * 2);
+        termFloors = Arrays.copyOf(termFloors, size * 2);
+        termPvbps = Arrays.copyOf(termPvbps, size * 2);
+      }
+      termLegs.add(leg);
+      termDates.add(date);
+      termObservations.add(obs);
+      termCoefficients[size] = coefficient;
+      termConstants[size] = constant;
+      termNotionals[size] = notional;
+      termFloors[size] = floor;
+      termPvbps[size] = pvbp;
+    }
+  }
+
+}
@@ -5,10 +5,13 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.TreeMap;
@@ -35,6 +38,7 @@ import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.BulkImpliedVolatilitySolver;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrModelFitter;
 import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
@@ -68,6 +72,13 @@ public final class SabrSwaptionCalibrator {
    */
   private final ReferenceData refData;
 
+  /**
+   * The maximum chi-square per data point for a warm started fit to be retained.
+   * The residuals are weighted by an error of 1.0E-4, thus this corresponds to a root mean square
+   * error of 1% in shifted Black volatility.
+   */
+  private static final double WARM_START_MAX_CHI_SQUARE_PER_DATA = 1.0E+4;
+
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
 
@@ -178,7 +189,6 @@ public final class SabrSwaptionCalibrator {
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,80 +198,209 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
-    SwaptionVolatilitiesName name = definition.getName();
+    List<SabrPointCalibration> points = new ArrayList<>();
+    for (Tenor tenor : data.getTenors()) {
+      points.addAll(calibrationTenor(definition, calibrationDateTime, data, tenor, ratesProvider, betaSurface,
+          shiftSurface, null, false, true, stopOnMathException));
+    }
+    return volatilities(definition, calibrationDateTime, points, betaSurface, shiftSurface, true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, calibrating the tenors in parallel.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The expiries of each tenor are calibrated in order, each one starting from the parameters of the previous one.
+   * The standard starting points are used for the first expiry, and when the warm started fit fails,
+   * has a large chi-square or has a larger chi-square per data point than the previous expiry.
+   * In that case the best of all the fits is retained.
+   * The chi-square of each fit is reported, so that points with a poor fit can be identified.
+   * <p>
+   * If a MathException is thrown by a calibration for a specific expiry/tenor, an exception is thrown by the method.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param computeSensitivities  flag indicating if the sensitivities of the parameters to the raw data are computed
+   * @return the SABR volatility object and the calibration report of each expiry/tenor
+   */
+  public SabrSwaptionCubeCalibrationResult calibrateCubeWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean computeSensitivities) {
+
+    return calibrationCube(
+        definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface, null, computeSensitivities);
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, starting from previously calibrated parameters.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * This is intended for the recalibration of a cube, for example from one day to the next or in scenarios.
+   * Each expiry/tenor starts from the previous parameters at the same expiry and tenor.
+   * The standard starting points are only used if the warm started fit fails or has a large chi-square,
+   * in which case the best of all the fits is retained.
+   * The tenors are calibrated in parallel.
+   * <p>
+   * If a MathException is thrown by a calibration for a specific expiry/tenor, an exception is thrown by the method.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param previous  the previously calibrated SABR volatilities, used as starting point
+   * @param computeSensitivities  flag indicating if the sensitivities of the parameters to the raw data are computed
+   * @return the SABR volatility object and the calibration report of each expiry/tenor
+   */
+  public SabrSwaptionCubeCalibrationResult calibrateCubeWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      SabrParametersSwaptionVolatilities previous,
+      boolean computeSensitivities) {
+
+    ArgChecker.notNull(previous, "previous");
+    return calibrationCube(
+        definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface, previous, computeSensitivities);
+  }
+
+  // calibrates the tenors in parallel, the previous parameters may be null
+  private SabrSwaptionCubeCalibrationResult calibrationCube(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      SabrParametersSwaptionVolatilities previous,
+      boolean computeSensitivities) {
+
+    List<SabrPointCalibration> points = data.getTenors().parallelStream()
+        .flatMap(tenor -> calibrationTenor(definition, calibrationDateTime, data, tenor, ratesProvider, betaSurface,
+            shiftSurface, previous, true, computeSensitivities, true).stream())
+        .collect(toImmutableList());
+    SabrParametersSwaptionVolatilities volatilities =
+        volatilities(definition, calibrationDateTime, points, betaSurface, shiftSurface, computeSensitivities);
+    List<SabrSwaptionCubeCalibrationPoint> reports = points.stream()
+        .map(point -> point.report)
+        .collect(toImmutableList());
+    return SabrSwaptionCubeCalibrationResult.of(volatilities, reports);
+  }
+
+  // calibrates the expiries of a tenor in order
+  // the starting point is the previous parameters if not null, otherwise the previous expiry if warm starting
+  private List<SabrPointCalibration> calibrationTenor(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      Tenor tenor,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      SabrParametersSwaptionVolatilities previous,
+      boolean warmStart,
+      boolean computeSensitivities,
+      boolean stopOnMathException) {
+
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
-    SurfaceInterpolator interpolator = definition.getInterpolator();
 
     BitSet fixed = new BitSet();
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
-    for (Tenor tenor : data.getTenors()) {
-      RawOptionData tenorData = data.getData(tenor);
-      double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
-        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
-          continue;
-        }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+    List<SabrPointCalibration> points = new ArrayList<>();
+    RawOptionData tenorData = data.getData(tenor);
+    double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
+    List<Period> expiries = tenorData.getExpiries();
+    int nbExpiries = expiries.size();
+    SabrFormulaData lastPoint = null;
+    double lastChiSquarePerData = Double.NaN;
+    for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
+      Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+      if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
+        continue;
+      }
+      LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
+      LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+      double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+      double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+      double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+      LocalDate endDate = effectiveDate.plus(tenor);
+      SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+      double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+      DoubleArray startParameters = null;
+      double previousChiSquarePerData = Double.NaN;
+      if (previous != null) {
+        SabrInterestRateParameters previousParameters = previous.getParameters();
+        startParameters = DoubleArray.of(
+            previousParameters.alpha(timeToExpiry, timeTenor),
+            beta,
+            previousParameters.rho(timeToExpiry, timeTenor),
+            previousParameters.nu(timeToExpiry, timeTenor));
+      } else if (warmStart && lastPoint != null) {
+        startParameters = DoubleArray.of(lastPoint.getAlpha(), beta, lastPoint.getRho(), lastPoint.getNu());
+        previousChiSquarePerData = lastChiSquarePerData;
+      }
+      try {
+        SabrFit fit = calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+            availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData,
+            startParameters, previousChiSquarePerData, computeSensitivities);
+        ParameterMetadata parameterMetadata = SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            expiries.get(loopexpiry).toString() + "x" + tenor.toString());
+        SabrSwaptionCubeCalibrationPoint report = SabrSwaptionCubeCalibrationPoint.of(
+            expiries.get(loopexpiry), tenor, fit.iterations, fit.chiSquare, fit.warmStarted);
+        points.add(new SabrPointCalibration(timeToExpiry, timeTenor, parameterMetadata, fit, report));
+        lastPoint = fit.parameters;
+        lastChiSquarePerData = fit.chiSquare / availableSmile.getFirst().size();
+      } catch (MathException e) {
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
+              expiries.get(loopexpiry), tenor);
+          throw new MathException(message, e);
         }
       }
     }
+    return points;
+  }
+
+  // creates the volatilities from the calibrated points
+  private SabrParametersSwaptionVolatilities volatilities(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      List<SabrPointCalibration> points,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean withSensitivities) {
+
+    SwaptionVolatilitiesName name = definition.getName();
+    DayCount dayCount = definition.getDayCount();
+    SurfaceInterpolator interpolator = definition.getInterpolator();
+    // Sorted map to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, SabrPointCalibration>> pointsTmp = new TreeMap<>();
+    for (SabrPointCalibration point : points) {
+      pointsTmp.computeIfAbsent(point.timeToExpiry, t -> new TreeMap<>()).put(point.timeTenor, point);
+    }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
     DoubleArray alphaArray = DoubleArray.EMPTY;
@@ -271,20 +410,19 @@ public final class SabrSwaptionCalibrator {
     List<DoubleArray> dataSensitivityAlpha = new ArrayList<>(); // Sensitivity to the calibrating data
     List<DoubleArray> dataSensitivityRho = new ArrayList<>();
     List<DoubleArray> dataSensitivityNu = new ArrayList<>();
-    for (Double timeToExpiry : parameterMetadataTmp.keySet()) {
-      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-      for (Double timeTenor : parameterMetadataExpiryMap.keySet()) {
-        parameterMetadata.add(parameterMetadataExpiryMap.get(timeTenor));
-        dataSensitivityAlpha.add(dataSensitivityAlphaExpiryMap.get(timeTenor));
-        dataSensitivityRho.add(dataSensitivityRhoExpiryMap.get(timeTenor));
-        dataSensitivityNu.add(dataSensitivityNuExpiryMap.get(timeTenor));
+    for (Double timeToExpiry : pointsTmp.keySet()) {
+      TreeMap<Double, SabrPointCalibration> pointsExpiryMap = pointsTmp.get(timeToExpiry);
+      for (Double timeTenor : pointsExpiryMap.keySet()) {
+        SabrPointCalibration point = pointsExpiryMap.get(timeTenor);
+        parameterMetadata.add(point.parameterMetadata);
+        if (withSensitivities) {
+          dataSensitivityAlpha.add(point.fit.sensitivity.row(0));
+          dataSensitivityRho.add(point.fit.sensitivity.row(2));
+          dataSensitivityNu.add(point.fit.sensitivity.row(3));
+        }
         timeToExpiryArray = timeToExpiryArray.concat(timeToExpiry);
         timeTenorArray = timeTenorArray.concat(timeTenor);
-        SabrFormulaData sabrPt = sabrPointExpiryMap.get(timeTenor);
+        SabrFormulaData sabrPt = point.fit.parameters;
         alphaArray = alphaArray.concat(sabrPt.getAlpha());
         rhoArray = rhoArray.concat(sabrPt.getRho());
         nuArray = nuArray.concat(sabrPt.getNu());
@@ -307,19 +445,26 @@ public final class SabrSwaptionCalibrator {
         .of(metadataNu, timeToExpiryArray, timeTenorArray, nuArray, interpolator);
     SabrInterestRateParameters params = SabrInterestRateParameters.of(
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
-    return SabrParametersSwaptionVolatilities.builder()
+    SabrParametersSwaptionVolatilities.Builder builder = SabrParametersSwaptionVolatilities.builder()
         .name(name)
-        .convention(convention)
+        .convention(definition.getConvention())
         .valuationDateTime(calibrationDateTime)
-        .parameters(params)
-        .dataSensitivityAlpha(dataSensitivityAlpha)
-        .dataSensitivityRho(dataSensitivityRho)
-        .dataSensitivityNu(dataSensitivityNu).build();
+        .parameters(params);
+    if (withSensitivities) {
+      builder
+          .dataSensitivityAlpha(dataSensitivityAlpha)
+          .dataSensitivityRho(dataSensitivityRho)
+          .dataSensitivityNu(dataSensitivityNu);
+    }
+    return builder.build();
   }
 
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // If warm start parameters are provided, they are tried first. The warm started fit is retained if its chi^2
+  // per data point is below a limit and not worse than that of the fit the warm start comes from, if known.
+  // Otherwise the 4 starting points are also tried, and the best result of all is returned.
+  private SabrFit calibration(
       double forward,
       double shift,
       double beta,
@@ -330,52 +475,57 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
-
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
+      RawOptionData rawData,
+      DoubleArray warmStartParameters,
+      double previousChiSquarePerData,
+      boolean computeSensitivities) {
+
     double chi2 = 1.0E+12; // Large number 
+    int iterations = 0;
+    boolean warmStarted = false;
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
+    if (warmStartParameters != null) {
+      try {
+        sabrCalibrationResult = calibrationLs(forward, shift, fixed, bda, calibrationDateTime, dayCount,
+            strike, data, expiry, rawData, warmStartParameters, computeSensitivities);
+        iterations += sabrCalibrationResult.getFirst().getIterations();
+        chi2 = sabrCalibrationResult.getFirst().getChiSq();
+        warmStarted = true;
+      } catch (MathException | IllegalArgumentException e) {
+        // the warm start is not usable, for example outside the parameter limits; use the standard starting points
       }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
+    }
+    if (!warmStarted || !isWarmStartRetained(chi2 / strike.size(), previousChiSquarePerData)) {
+      double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+      // Correlation is usually positive for normal and negative for log-normal;.
+      double[] alphaStart = new double[4];
+      alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+      alphaStart[1] = alphaStart[0];
+      alphaStart[2] = 4 * alphaStart[0]; // High vol
+      alphaStart[3] = alphaStart[2];
+      double[] nuStart = new double[4];
+      nuStart[0] = 0.10; // Low vol of vol
+      nuStart[1] = 0.50; // High vol of vol
+      nuStart[2] = 0.10;
+      nuStart[3] = 0.50;
+      for (int i = 0; i < 4; i++) { // Try different starting points and take the best
+        DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationLs(forward, shift, fixed, bda,
+            calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters, computeSensitivities);
+        iterations += r.getFirst().getIterations();
+        if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+          sabrCalibrationResult = r;
+          chi2 = r.getFirst().getChiSq();
+          warmStarted = false;
+        }
       }
     }
     @SuppressWarnings("null")
     SabrFormulaData sabrParameters =
         SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
+    if (!computeSensitivities) {
+      return new SabrFit(sabrParameters, null, iterations, chi2, warmStarted);
+    }
     DoubleMatrix parameterSensitivityToBlackShifted =
         sabrCalibrationResult.getFirst().getModelParameterSensitivityToData();
     DoubleArray blackVolSensitivitytoRawData = sabrCalibrationResult.getSecond();
@@ -388,7 +538,48 @@ public final class SabrSwaptionCalibrator {
       }
     }
     DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    return new SabrFit(sabrParameters, parameterSensitivityToData, iterations, chi2, warmStarted);
+  }
+
+  // Checks if a warm started fit is good enough to skip the standard starting points
+  // the previous chi^2 per data point is NaN if not known
+  static boolean isWarmStartRetained(double chiSquarePerData, double previousChiSquarePerData) {
+    return chiSquarePerData <= WARM_START_MAX_CHI_SQUARE_PER_DATA &&
+        (Double.isNaN(previousChiSquarePerData) || chiSquarePerData <= previousChiSquarePerData);
+  }
+
+  // Calibrates from one starting point, depending on the type of raw data
+  // the sensitivity to the data is only computed by the least square solver if requested
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationLs(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters,
+      boolean computeSensitivities) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift, computeSensitivities);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift, computeSensitivities);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift, computeSensitivities);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -539,6 +730,27 @@ public final class SabrSwaptionCalibrator {
       BitSet fixedParameters,
       double shiftOutput) {
 
+    return calibrateLsShiftedFromBlackVolatilities(
+        bda, calibrationDateTime, dayCount, periodToExpiry, forward, strikesLike, strikeType,
+        blackVolatilitiesInput, shiftInput, startParameters, fixedParameters, shiftOutput, true);
+  }
+
+  // calibrates, computing the sensitivity to the data if requested
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrateLsShiftedFromBlackVolatilities(
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      Period periodToExpiry,
+      double forward,
+      DoubleArray strikesLike,
+      ValueType strikeType,
+      DoubleArray blackVolatilitiesInput,
+      double shiftInput,
+      DoubleArray startParameters,
+      BitSet fixedParameters,
+      double shiftOutput,
+      boolean computeSensitivities) {
+
     int nbStrikes = strikesLike.size();
     ArgChecker.isTrue(nbStrikes == blackVolatilitiesInput.size(), "size of strikes must be the same as size of volatilities");
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
@@ -557,7 +769,7 @@ public final class SabrSwaptionCalibrator {
         blackVolatilitiesTransformed,
         errors,
         sabrVolatilityFormula);
-    LeastSquareResultsWithTransform result = fitter.solve(startParameters, fixedParameters);
+    LeastSquareResultsWithTransform result = fitter.solve(startParameters, fixedParameters, computeSensitivities);
     return Pair.of(result, volAndDerivatives.getSecond());
   }
 
@@ -678,6 +890,26 @@ public final class SabrSwaptionCalibrator {
       BitSet fixedParameters,
       double shiftOutput) {
 
+    return calibrateLsShiftedFromPrices(
+        bda, calibrationDateTime, dayCount, periodToExpiry, forward, strikesLike, strikeType,
+        prices, startParameters, fixedParameters, shiftOutput, true);
+  }
+
+  // calibrates, computing the sensitivity to the data if requested
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrateLsShiftedFromPrices(
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      Period periodToExpiry,
+      double forward,
+      DoubleArray strikesLike,
+      ValueType strikeType,
+      DoubleArray prices,
+      DoubleArray startParameters,
+      BitSet fixedParameters,
+      double shiftOutput,
+      boolean computeSensitivities) {
+
     int nbStrikes = strikesLike.size();
     ArgChecker.isTrue(nbStrikes == prices.size(), "size of strikes must be the same as size of prices");
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
@@ -696,7 +928,7 @@ public final class SabrSwaptionCalibrator {
         blackVolatilitiesTransformed,
         errors,
         sabrVolatilityFormula);
-    return Pair.of(fitter.solve(startParameters, fixedParameters), volAndDerivatives.getSecond());
+    return Pair.of(fitter.solve(startParameters, fixedParameters, computeSensitivities), volAndDerivatives.getSecond());
   }
 
   //-------------------------------------------------------------------------
@@ -719,13 +951,19 @@ public final class SabrSwaptionCalibrator {
       DoubleArray prices) {
 
     int nbStrikes = strikes.size();
-    double[] impliedVolatility = new double[nbStrikes];
+    double[] forwards = new double[nbStrikes];
+    double[] timesToExpiry = new double[nbStrikes];
+    boolean[] isCall = new boolean[nbStrikes];
+    Arrays.fill(forwards, forward);
+    Arrays.fill(timesToExpiry, timeToExpiry);
+    Arrays.fill(isCall, true);
+    double[] impliedVolatility = BulkImpliedVolatilitySolver.shiftedBlackImpliedVolatilities(
+        prices.toArrayUnsafe(), forwards, strikes.toArrayUnsafe(), timesToExpiry, isCall, shiftOutput);
     double[] impliedVolatilityDerivatives = new double[nbStrikes];
     for (int i = 0; i < nbStrikes; i++) {
-      ValueDerivatives iv = BlackFormulaRepository.impliedVolatilityAdjoint(
-          prices.get(i), forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, true);
-      impliedVolatility[i] = iv.getValue();
-      impliedVolatilityDerivatives[i] = iv.getDerivative(0);
+      double vega = BlackFormulaRepository.vega(
+          forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, impliedVolatility[i]);
+      impliedVolatilityDerivatives[i] = 1d / vega;
     }
     return Pair.of(DoubleArray.ofUnsafe(impliedVolatility), DoubleArray.ofUnsafe(impliedVolatilityDerivatives));
   }
@@ -765,6 +1003,26 @@ public final class SabrSwaptionCalibrator {
       BitSet fixedParameters,
       double shiftOutput) {
 
+    return calibrateLsShiftedFromNormalVolatilities(
+        bda, calibrationDateTime, dayCount, periodToExpiry, forward, strikesLike, strikeType,
+        normalVolatilities, startParameters, fixedParameters, shiftOutput, true);
+  }
+
+  // calibrates, computing the sensitivity to the data if requested
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrateLsShiftedFromNormalVolatilities(
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      Period periodToExpiry,
+      double forward,
+      DoubleArray strikesLike,
+      ValueType strikeType,
+      DoubleArray normalVolatilities,
+      DoubleArray startParameters,
+      BitSet fixedParameters,
+      double shiftOutput,
+      boolean computeSensitivities) {
+
     int nbStrikes = strikesLike.size();
     ArgChecker.isTrue(nbStrikes == normalVolatilities.size(), "size of strikes must be the same as size of prices");
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
@@ -783,7 +1041,7 @@ public final class SabrSwaptionCalibrator {
         blackVolatilitiesTransformed,
         errors,
         sabrVolatilityFormula);
-    LeastSquareResultsWithTransform result = fitter.solve(startParameters, fixedParameters);
+    LeastSquareResultsWithTransform result = fitter.solve(startParameters, fixedParameters, computeSensitivities);
     return Pair.of(result, volAndDerivatives.getSecond());
   }
 
@@ -899,4 +1157,51 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // the fit of the SABR parameters at one expiry/tenor
+  private static final class SabrFit {
+    private final SabrFormulaData parameters;
+    private final DoubleMatrix sensitivity;  // null if not computed
+    private final int iterations;
+    private final double chiSquare;
+    private final boolean warmStarted;
+
+    private SabrFit(
+        SabrFormulaData parameters,
+        DoubleMatrix sensitivity,
+        int iterations,
+        double chiSquare,
+        boolean warmStarted) {
+
+      this.parameters = parameters;
+      this.sensitivity = sensitivity;
+      this.iterations = iterations;
+      this.chiSquare = chiSquare;
+      this.warmStarted = warmStarted;
+    }
+  }
+
+  // the calibrated point of the cube
+  private static final class SabrPointCalibration {
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final ParameterMetadata parameterMetadata;
+    private final SabrFit fit;
+    private final SabrSwaptionCubeCalibrationPoint report;
+
+    private SabrPointCalibration(
+        double timeToExpiry,
+        double timeTenor,
+        ParameterMetadata parameterMetadata,
+        SabrFit fit,
+        SabrSwaptionCubeCalibrationPoint report) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.parameterMetadata = parameterMetadata;
+      this.fit = fit;
+      this.report = report;
+    }
+  }
+
 }
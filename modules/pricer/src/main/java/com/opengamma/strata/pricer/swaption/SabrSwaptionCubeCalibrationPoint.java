@@ -0,0 +1,476 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.time.Period;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The calibration report of a single expiry/tenor point of a SABR swaption cube.
+ * <p>
+ * This is part of {@link SabrSwaptionCubeCalibrationResult}.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionCubeCalibrationPoint
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The expiry of the point.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Period expiry;
+  /**
+   * The tenor of the point.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Tenor tenor;
+  /**
+   * The number of least square iterations, over all starting points tried.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int iterations;
+  /**
+   * The chi-square of the retained fit.
+   * <p>
+   * The residuals are the differences in shifted Black volatility, each weighted by an error of 1.0E-4.
+   */
+  @PropertyDefinition
+  private final double chiSquare;
+  /**
+   * Whether the retained fit was started from the warm start parameters.
+   * <p>
+   * The warm start parameters are either the previous parameters supplied to the calibration
+   * or the parameters of the previous expiry of the same tenor.
+   */
+  @PropertyDefinition
+  private final boolean warmStarted;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param expiry  the expiry of the point
+   * @param tenor  the tenor of the point
+   * @param iterations  the number of least square iterations, over all starting points tried
+   * @param chiSquare  the chi-square of the retained fit
+   * @param warmStarted  whether the retained fit was started from the warm start parameters
+   * @return the point report
+   */
+  public static SabrSwaptionCubeCalibrationPoint of(
+      Period expiry,
+      Tenor tenor,
+      int iterations,
+      double chiSquare,
+      boolean warmStarted) {
+
+    return new SabrSwaptionCubeCalibrationPoint(expiry, tenor, iterations, chiSquare, warmStarted);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionCubeCalibrationPoint}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionCubeCalibrationPoint.Meta meta() {
+    return SabrSwaptionCubeCalibrationPoint.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SabrSwaptionCubeCalibrationPoint.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCubeCalibrationPoint(
+      Period expiry,
+      Tenor tenor,
+      int iterations,
+      double chiSquare,
+      boolean warmStarted) {
+    JodaBeanUtils.notNull(expiry, "expiry");
+    JodaBeanUtils.notNull(tenor, "tenor");
+    ArgChecker.notNegative(iterations, "iterations");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.iterations = iterations;
+    this.chiSquare = chiSquare;
+    this.warmStarted = warmStarted;
+  }
+
+  @Override
+  public SabrSwaptionCubeCalibrationPoint.Meta metaBean() {
+    return SabrSwaptionCubeCalibrationPoint.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expiry of the point.
+   * @return the value of the property, not null
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the point.
+   * @return the value of the property, not null
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of least square iterations, over all starting points tried.
+   * @return the value of the property
+   */
+  public int getIterations() {
+    return iterations;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square of the retained fit.
+   * <p>
+   * The residuals are the differences in shifted Black volatility, each weighted by an error of 1.0E-4.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the retained fit was started from the warm start parameters.
+   * <p>
+   * The warm start parameters are either the previous parameters supplied to the calibration
+   * or the parameters of the previous expiry of the same tenor.
+   * @return the value of the property
+   */
+  public boolean isWarmStarted() {
+    return warmStarted;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCubeCalibrationPoint other = (SabrSwaptionCubeCalibrationPoint) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          (iterations == other.iterations) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          (warmStarted == other.warmStarted);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(iterations);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStarted);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("SabrSwaptionCubeCalibrationPoint{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("iterations").append('=').append(iterations).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("warmStarted").append('=').append(JodaBeanUtils.toString(warmStarted));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCubeCalibrationPoint}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code expiry} property.
+     */
+    private final MetaProperty<Period> expiry = DirectMetaProperty.ofImmutable(
+        this, "expiry", SabrSwaptionCubeCalibrationPoint.class, Period.class);
+    /**
+     * The meta-property for the {@code tenor} property.
+     */
+    private final MetaProperty<Tenor> tenor = DirectMetaProperty.ofImmutable(
+        this, "tenor", SabrSwaptionCubeCalibrationPoint.class, Tenor.class);
+    /**
+     * The meta-property for the {@code iterations} property.
+     */
+    private final MetaProperty<Integer> iterations = DirectMetaProperty.ofImmutable(
+        this, "iterations", SabrSwaptionCubeCalibrationPoint.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     */
+    private final MetaProperty<Double> chiSquare = DirectMetaProperty.ofImmutable(
+        this, "chiSquare", SabrSwaptionCubeCalibrationPoint.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code warmStarted} property.
+     */
+    private final MetaProperty<Boolean> warmStarted = DirectMetaProperty.ofImmutable(
+        this, "warmStarted", SabrSwaptionCubeCalibrationPoint.class, Boolean.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "expiry",
+        "tenor",
+        "iterations",
+        "chiSquare",
+        "warmStarted");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -1751585482:  // iterations
+          return iterations;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -106932676:  // warmStarted
+          return warmStarted;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionCubeCalibrationPoint> builder() {
+      return new SabrSwaptionCubeCalibrationPoint.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionCubeCalibrationPoint> beanType() {
+      return SabrSwaptionCubeCalibrationPoint.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code expiry} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Period> expiry() {
+      return expiry;
+    }
+
+    /**
+     * The meta-property for the {@code tenor} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Tenor> tenor() {
+      return tenor;
+    }
+
+    /**
+     * The meta-property for the {@code iterations} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> iterations() {
+      return iterations;
+    }
+
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> chiSquare() {
+      return chiSquare;
+    }
+
+    /**
+     * The meta-property for the {@code warmStarted} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> warmStarted() {
+      return warmStarted;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return ((SabrSwaptionCubeCalibrationPoint) bean).getExpiry();
+        case 110246592:  // tenor
+          return ((SabrSwaptionCubeCalibrationPoint) bean).getTenor();
+        case -1751585482:  // iterations
+          return ((SabrSwaptionCubeCalibrationPoint) bean).getIterations();
+        case -797918495:  // chiSquare
+          return ((SabrSwaptionCubeCalibrationPoint) bean).getChiSquare();
+        case -106932676:  // warmStarted
+          return ((SabrSwaptionCubeCalibrationPoint) bean).isWarmStarted();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionCubeCalibrationPoint}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SabrSwaptionCubeCalibrationPoint> {
+
+    private Period expiry;
+    private Tenor tenor;
+    private int iterations;
+    private double chiSquare;
+    private boolean warmStarted;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -1751585482:  // iterations
+          return iterations;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -106932676:  // warmStarted
+          return warmStarted;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          this.expiry = (Period) newValue;
+          break;
+        case 110246592:  // tenor
+          this.tenor = (Tenor) newValue;
+          break;
+        case -1751585482:  // iterations
+          this.iterations = (Integer) newValue;
+          break;
+        case -797918495:  // chiSquare
+          this.chiSquare = (Double) newValue;
+          break;
+        case -106932676:  // warmStarted
+          this.warmStarted = (Boolean) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionCubeCalibrationPoint build() {
+      return new SabrSwaptionCubeCalibrationPoint(
+          expiry,
+          tenor,
+          iterations,
+          chiSquare,
+          warmStarted);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(192);
+      buf.append("SabrSwaptionCubeCalibrationPoint.Builder{");
+      buf.append("expiry").append('=').append(JodaBeanUtils.toString(expiry)).append(',').append(' ');
+      buf.append("tenor").append('=').append(JodaBeanUtils.toString(tenor)).append(',').append(' ');
+      buf.append("iterations").append('=').append(JodaBeanUtils.toString(iterations)).append(',').append(' ');
+      buf.append("chiSquare").append('=').append(JodaBeanUtils.toString(chiSquare)).append(',').append(' ');
+      buf.append("warmStarted").append('=').append(JodaBeanUtils.toString(warmStarted));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
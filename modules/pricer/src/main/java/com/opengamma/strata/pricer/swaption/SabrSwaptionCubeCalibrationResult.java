@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The result of the calibration of a SABR swaption cube.
+ * <p>
+ * This contains the calibrated volatilities and a report of the fit at each expiry/tenor point.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionCubeCalibrationResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The calibrated volatilities.
+   * <p>
+   * The sensitivities to the raw data are only present if they were requested.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final SabrParametersSwaptionVolatilities volatilities;
+  /**
+   * The calibration report for each point, in tenor then expiry order of the raw data.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<SabrSwaptionCubeCalibrationPoint> points;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the volatilities and the point reports.
+   *
+   * @param volatilities  the calibrated volatilities
+   * @param points  the calibration report for each point
+   * @return the result
+   */
+  public static SabrSwaptionCubeCalibrationResult of(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionCubeCalibrationPoint> points) {
+
+    return new SabrSwaptionCubeCalibrationResult(volatilities, points);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total number of least square iterations over all points.
+   *
+   * @return the number of iterations
+   */
+  public int getTotalIterations() {
+    return points.stream().mapToInt(SabrSwaptionCubeCalibrationPoint::getIterations).sum();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SabrSwaptionCubeCalibrationResult}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionCubeCalibrationResult.Meta meta() {
+    return SabrSwaptionCubeCalibrationResult.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(SabrSwaptionCubeCalibrationResult.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCubeCalibrationResult(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionCubeCalibrationPoint> points) {
+    JodaBeanUtils.notNull(volatilities, "volatilities");
+    JodaBeanUtils.notNull(points, "points");
+    this.volatilities = volatilities;
+    this.points = ImmutableList.copyOf(points);
+  }
+
+  @Override
+  public SabrSwaptionCubeCalibrationResult.Meta metaBean() {
+    return SabrSwaptionCubeCalibrationResult.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated volatilities.
+   * <p>
+   * The sensitivities to the raw data are only present if they were requested.
+   * @return the value of the property, not null
+   */
+  public SabrParametersSwaptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibration report for each point, in tenor then expiry order of the raw data.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<SabrSwaptionCubeCalibrationPoint> getPoints() {
+    return points;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCubeCalibrationResult other = (SabrSwaptionCubeCalibrationResult) obj;
+      return JodaBeanUtils.equal(volatilities, other.volatilities) &&
+          JodaBeanUtils.equal(points, other.points);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(volatilities);
+    hash = hash * 31 + JodaBeanUtils.hashCode(points);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("SabrSwaptionCubeCalibrationResult{");
+    buf.append("volatilities").append('=').append(volatilities).append(',').append(' ');
+    buf.append("points").append('=').append(JodaBeanUtils.toString(points));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCubeCalibrationResult}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code volatilities} property.
+     */
+    private final MetaProperty<SabrParametersSwaptionVolatilities> volatilities = DirectMetaProperty.ofImmutable(
+        this, "volatilities", SabrSwaptionCubeCalibrationResult.class, SabrParametersSwaptionVolatilities.class);
+    /**
+     * The meta-property for the {@code points} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<SabrSwaptionCubeCalibrationPoint>> points = DirectMetaProperty.ofImmutable(
+        this, "points", SabrSwaptionCubeCalibrationResult.class, (Class) ImmutableList.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "volatilities",
+        "points");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return volatilities;
+        case -982754077:  // points
+          return points;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionCubeCalibrationResult> builder() {
+      return new SabrSwaptionCubeCalibrationResult.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionCubeCalibrationResult> beanType() {
+      return SabrSwaptionCubeCalibrationResult.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code volatilities} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<SabrParametersSwaptionVolatilities> volatilities() {
+      return volatilities;
+    }
+
+    /**
+     * The meta-property for the {@code points} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<SabrSwaptionCubeCalibrationPoint>> points() {
+      return points;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return ((SabrSwaptionCubeCalibrationResult) bean).getVolatilities();
+        case -982754077:  // points
+          return ((SabrSwaptionCubeCalibrationResult) bean).getPoints();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionCubeCalibrationResult}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SabrSwaptionCubeCalibrationResult> {
+
+    private SabrParametersSwaptionVolatilities volatilities;
+    private List<SabrSwaptionCubeCalibrationPoint> points = ImmutableList.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return volatilities;
+        case -982754077:  // points
+          return points;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          this.volatilities = (SabrParametersSwaptionVolatilities) newValue;
+          break;
+        case -982754077:  // points
+          this.points = (List<SabrSwaptionCubeCalibrationPoint>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionCubeCalibrationResult build() {
+      return new SabrSwaptionCubeCalibrationResult(
+          volatilities,
+          points);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("SabrSwaptionCubeCalibrationResult.Builder{");
+      buf.append("volatilities").append('=').append(JodaBeanUtils.toString(volatilities)).append(',').append(' ');
+      buf.append("points").append('=').append(JodaBeanUtils.toString(points));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
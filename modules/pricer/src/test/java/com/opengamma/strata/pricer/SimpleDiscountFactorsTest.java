@@ -94,6 +94,12 @@ public class SimpleDiscountFactorsTest {
     double expected = CURVE.yValue(relativeYearFraction);
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
+  public void test_discountFactors() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    DoubleArray yearFractions = DoubleArray.of(0d, 0.5d, 1d, 2.5d, 1.5d, 10d);
+    assertEquals(test.discountFactors(yearFractions), yearFractions.map(test::discountFactor));
+  }
+
   
   public void test_discountFactorTimeDerivative() {
     DiscountFactors test = DiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -14,9 +14,11 @@ import static java.time.temporal.ChronoUnit.DAYS;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
@@ -86,6 +88,21 @@ public class DiscountingFixedCouponBondPaymentPeriodPricerTest {
     assertEquals(computed, expected);
   }
 
+  public void test_presentValue_list() {
+    FixedCouponBondPaymentPeriod nextPeriod = PAYMENT_PERIOD.toBuilder()
+        .startDate(END_ADJUSTED)
+        .unadjustedStartDate(END)
+        .endDate(date(2016, 2, 2))
+        .unadjustedEndDate(date(2016, 2, 2))
+        .build();
+    List<FixedCouponBondPaymentPeriod> periods = ImmutableList.of(PAYMENT_PERIOD, nextPeriod);
+    double computed = PRICER.presentValue(periods, ISSUER_CURVE);
+    double expected = PRICER.presentValue(PAYMENT_PERIOD, ISSUER_CURVE) + PRICER.presentValue(nextPeriod, ISSUER_CURVE);
+    assertEquals(computed, expected, NOTIONAL * TOL);
+    double computedAfter = PRICER.presentValue(periods, ISSUER_CURVE_AFTER);
+    assertEquals(computedAfter, PRICER.presentValue(nextPeriod, ISSUER_CURVE_AFTER), NOTIONAL * TOL);
+  }
+
   public void test_presentValueWithSpread() {
     double computed = PRICER.presentValueWithSpread(
         PAYMENT_PERIOD, ISSUER_CURVE, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR);
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveDefinition;
+import com.opengamma.strata.market.curve.node.CdsIsdaCreditCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.product.credit.type.CdsConvention;
+import com.opengamma.strata.product.credit.type.CdsTemplate;
+import com.opengamma.strata.product.credit.type.DatesCdsTemplate;
+import com.opengamma.strata.product.credit.type.ImmutableCdsConvention;
+
+/**
+ * Test {@link BulkCreditCurveCalibrator}.
+ */
+@Test
+public class BulkCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalibratorBase {
+
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2013, 2, 27);
+  private static final DoubleArray YC_TIME = DoubleArray.of(
+      0.09041095890410959, 0.26301369863013696, 0.5123287671232877, 1.010958904109589, 2.008219178082192,
+      3.008219178082192, 5.008219178082192, 7.013698630136987, 10.01095890410959, 15.016438356164384, 30.027397260273972);
+  private static final DoubleArray YC_RATE = DoubleArray.of(
+      0.0020651105531615476, 0.0028872269869485313, 0.004599628230463427, 0.0075703969168129295, 0.003965128877560435,
+      0.005059104202201957, 0.009361825469323602, 0.014311922779901886, 0.020289623737560873, 0.026399509889410745,
+      0.03110021763406523);
+  private static final IsdaCreditDiscountFactors YC =
+      IsdaCreditDiscountFactors.of(EUR, VALUATION_DATE, CurveName.of("yc_eur"), YC_TIME, YC_RATE, ACT_365F);
+  private static final CdsConvention CONVENTION =
+      ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+  private static final LocalDate START_DATE = LocalDate.of(2012, 12, 20);
+  private static final LocalDate[] PILLAR_DATES = new LocalDate[] {
+      LocalDate.of(2013, 9, 20), LocalDate.of(2014, 3, 20), LocalDate.of(2015, 3, 20), LocalDate.of(2016, 3, 20),
+      LocalDate.of(2018, 3, 20), LocalDate.of(2020, 3, 20), LocalDate.of(2023, 3, 20)};
+  private static final double[] QUOTES = new double[] {
+      0.006485, 0.008163, 0.011763, 0.015136, 0.021905, 0.025211, 0.027549};
+  private static final double COUPON = 0.01;
+  private static final int N_ENTITIES = 40;
+
+  private static final FastCreditCurveCalibrator CALIBRATOR_MARKIT =
+      new FastCreditCurveCalibrator(AccrualOnDefaultFormula.MARKIT_FIX);
+
+  //-------------------------------------------------------------------------
+  public void test_consistency() {
+    ImmutableMarketDataBuilder marketDataBuilder = ImmutableMarketData.builder(VALUATION_DATE);
+    Map<StandardId, RecoveryRates> recoveryRates = new HashMap<>();
+    List<IsdaCreditCurveDefinition> definitions = new ArrayList<>();
+    for (int i = 0; i < N_ENTITIES; i++) {
+      StandardId legalEntityId = StandardId.of("OG", "ENTITY" + i);
+      recoveryRates.put(legalEntityId, ConstantRecoveryRates.of(legalEntityId, VALUATION_DATE, 0.2 + 0.01 * i));
+      // a mix of quote conventions, and of schedules for the entities using par spreads
+      int type = i % 3;
+      int nPillars = type == 2 ? PILLAR_DATES.length - 1 : PILLAR_DATES.length;
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>(nPillars);
+      for (int j = 0; j < nPillars; j++) {
+        CdsTemplate template = DatesCdsTemplate.of(START_DATE, PILLAR_DATES[j], CONVENTION);
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntityId.getValue() + "_" + PILLAR_DATES[j]));
+        double quote = QUOTES[j] * (1d + 0.02 * i);
+        if (type == 1) {
+          nodes.add(CdsIsdaCreditCurveNode.ofQuotedSpread(template, id, legalEntityId, COUPON));
+        } else {
+          nodes.add(CdsIsdaCreditCurveNode.ofParSpread(template, id, legalEntityId));
+        }
+        marketDataBuilder.addValue(id, quote);
+      }
+      definitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("cc" + i), EUR, VALUATION_DATE, ACT_365F, nodes, i % 2 == 0, i % 4 == 0));
+    }
+    ImmutableMarketData marketData = marketDataBuilder.build();
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .discountCurves(ImmutableMap.of(EUR, YC))
+        .recoveryRateCurves(recoveryRates)
+        .creditCurves(ImmutableMap.of())
+        .build();
+
+    List<LegalEntitySurvivalProbabilities> computed =
+        BulkCreditCurveCalibrator.standard().calibrate(definitions, marketData, ratesProvider, REF_DATA);
+    List<LegalEntitySurvivalProbabilities> computedMarkit = new BulkCreditCurveCalibrator(CALIBRATOR_MARKIT)
+        .calibrate(definitions, marketData, ratesProvider, REF_DATA);
+    assertEquals(computed.size(), N_ENTITIES);
+    for (int i = 0; i < N_ENTITIES; i++) {
+      assertEquals(computed.get(i),
+          FastCreditCurveCalibrator.standard().calibrate(definitions.get(i), marketData, ratesProvider, REF_DATA));
+      assertEquals(computedMarkit.get(i),
+          CALIBRATOR_MARKIT.calibrate(definitions.get(i), marketData, ratesProvider, REF_DATA));
+    }
+  }
+
+  public void test_invalid() {
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .discountCurves(ImmutableMap.of(EUR, YC))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, VALUATION_DATE, 0.4)))
+        .creditCurves(ImmutableMap.of())
+        .build();
+    CdsTemplate template = DatesCdsTemplate.of(START_DATE, PILLAR_DATES[0], CONVENTION);
+    QuoteId id = QuoteId.of(StandardId.of("OG", "Q"));
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VALUATION_DATE).addValue(id, 0.01).build();
+    List<CdsIsdaCreditCurveNode> nodes = ImmutableList.of(
+        CdsIsdaCreditCurveNode.ofParSpread(template, id, LEGAL_ENTITY),
+        CdsIsdaCreditCurveNode.ofParSpread(template, id, StandardId.of("OG", "OTHER")));
+    IsdaCreditCurveDefinition definition =
+        IsdaCreditCurveDefinition.of(CurveName.of("cc"), EUR, VALUATION_DATE, ACT_365F, nodes, false, false);
+    // legal entity not common
+    assertThrowsIllegalArg(() -> BulkCreditCurveCalibrator.standard()
+        .calibrate(ImmutableList.of(definition), marketData, ratesProvider, REF_DATA));
+    // day count different from discount curve
+    IsdaCreditCurveDefinition definitionDayCount = IsdaCreditCurveDefinition.of(
+        CurveName.of("cc"), EUR, VALUATION_DATE, ACT_360, nodes.subList(0, 1), false, false);
+    assertThrowsIllegalArg(() -> BulkCreditCurveCalibrator.standard()
+        .calibrate(ImmutableList.of(definitionDayCount), marketData, ratesProvider, REF_DATA));
+    // valuation date
+    IsdaCreditCurveDefinition definitionDate = IsdaCreditCurveDefinition.of(
+        CurveName.of("cc"), EUR, VALUATION_DATE.plusDays(1), ACT_365F, nodes.subList(0, 1), false, false);
+    assertThrowsIllegalArg(() -> BulkCreditCurveCalibrator.standard()
+        .calibrate(ImmutableList.of(definitionDate), marketData, ratesProvider, REF_DATA));
+  }
+
+}
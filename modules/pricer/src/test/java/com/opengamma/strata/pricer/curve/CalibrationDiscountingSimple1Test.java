@@ -22,6 +22,8 @@ import java.util.Set;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -30,12 +32,15 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
@@ -51,6 +56,7 @@ import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -209,6 +215,56 @@ public class CalibrationDiscountingSimple1Test {
     }
   }
 
+  public void calibration_startingParameters() {
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    Curve baseCurve = base.findData(ALL_CURVE_NAME).get();
+    DoubleArray baseParams = DoubleArray.of(baseCurve.getParameterCount(), baseCurve::getParameter);
+    // starting from the solution
+    ImmutableRatesProvider warm = CALIBRATOR.calibrate(
+        CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA, ImmutableMap.of(ALL_CURVE_NAME, baseParams));
+    Curve warmCurve = warm.findData(ALL_CURVE_NAME).get();
+    // starting parameters of the wrong size are ignored
+    ImmutableRatesProvider ignored = CALIBRATOR.calibrate(
+        CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA, ImmutableMap.of(ALL_CURVE_NAME, DoubleArray.of(0.01)));
+    Curve ignoredCurve = ignored.findData(ALL_CURVE_NAME).get();
+    for (int i = 0; i < baseCurve.getParameterCount(); i++) {
+      assertEquals(warmCurve.getParameter(i), baseCurve.getParameter(i), 1e-10);
+      assertEquals(ignoredCurve.getParameter(i), baseCurve.getParameter(i), 1e-10);
+    }
+  }
+
+  public void recalibrate() {
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    QuoteId changedId = QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[5]));
+    MarketData changedQuotes = ALL_QUOTES.withValue(changedId, FWD3_MARKET_QUOTES[5] + 0.0001);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, changedQuotes, REF_DATA);
+    ImmutableRatesProvider test =
+        CALIBRATOR.recalibrate(CURVE_GROUP_DEFN, base, changedQuotes, ImmutableSet.of(changedId), REF_DATA);
+    Curve expectedCurve = expected.findData(ALL_CURVE_NAME).get();
+    Curve testCurve = test.findData(ALL_CURVE_NAME).get();
+    for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+      assertEquals(testCurve.getParameter(i), expectedCurve.getParameter(i), 1e-8);
+    }
+    assertEquals(
+        testCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN).getJacobianMatrix().get(3, 3),
+        expectedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN).getJacobianMatrix().get(3, 3),
+        1e-6);
+  }
+
+  public void recalibrate_unaffected() {
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    // no node refers to the last quote
+    QuoteId changedId = QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[FWD3_NB_NODES - 1]));
+    MarketData changedQuotes = ALL_QUOTES.withValue(changedId, FWD3_MARKET_QUOTES[FWD3_NB_NODES - 1] + 0.0001);
+    ImmutableRatesProvider test =
+        CALIBRATOR.recalibrate(CURVE_GROUP_DEFN, base, changedQuotes, ImmutableSet.of(changedId), REF_DATA);
+    Curve baseCurve = base.findData(ALL_CURVE_NAME).get();
+    Curve testCurve = test.findData(ALL_CURVE_NAME).get();
+    for (int i = 0; i < baseCurve.getParameterCount(); i++) {
+      assertEquals(testCurve.getParameter(i), baseCurve.getParameter(i), 0d);
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test(enabled = false)
   void performance() {
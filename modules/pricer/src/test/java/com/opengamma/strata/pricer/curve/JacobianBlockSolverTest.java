@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.curve;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link JacobianBlockSolver}.
+ */
+@Test
+public class JacobianBlockSolverTest {
+
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  private static final List<CurveParameterSize> ORDER = ImmutableList.of(
+      CurveParameterSize.of(CurveName.of("A"), 2),
+      CurveParameterSize.of(CurveName.of("B"), 3),
+      CurveParameterSize.of(CurveName.of("C"), 1));
+  private static final double TOLERANCE = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_inverse_blockLowerTriangular() {
+    // curve A depends on itself, B depends on A and itself, C depends on A, B and itself
+    double[][] matrix = {
+        {2.0, 0.5, 0.0, 0.0, 0.0, 0.0},
+        {0.3, 1.5, 0.0, 0.0, 0.0, 0.0},
+        {0.1, 0.2, 3.0, 0.4, 0.0, 0.0},
+        {0.0, 0.3, 0.2, 2.5, 0.1, 0.0},
+        {0.2, 0.0, 0.0, 0.6, 1.8, 0.0},
+        {0.1, 0.1, 0.2, 0.3, 0.4, 1.2}};
+    assertInverse(matrix);
+  }
+
+  public void test_inverse_blockTriangularAfterReordering() {
+    // curve A depends on B, B depends on itself, C depends on A
+    double[][] matrix = {
+        {2.0, 0.5, 0.1, 0.0, 0.3, 0.0},
+        {0.3, 1.5, 0.0, 0.2, 0.0, 0.0},
+        {0.0, 0.0, 3.0, 0.4, 0.0, 0.0},
+        {0.0, 0.0, 0.2, 2.5, 0.1, 0.0},
+        {0.0, 0.0, 0.0, 0.6, 1.8, 0.0},
+        {0.1, 0.1, 0.0, 0.0, 0.0, 1.2}};
+    assertInverse(matrix);
+  }
+
+  public void test_inverse_dense() {
+    // curve A depends on B and B depends on A
+    double[][] matrix = {
+        {2.0, 0.5, 0.1, 0.0, 0.3, 0.0},
+        {0.3, 1.5, 0.0, 0.2, 0.0, 0.0},
+        {0.4, 0.0, 3.0, 0.4, 0.0, 0.0},
+        {0.0, 0.0, 0.2, 2.5, 0.1, 0.0},
+        {0.0, 0.0, 0.0, 0.6, 1.8, 0.0},
+        {0.1, 0.1, 0.0, 0.0, 0.0, 1.2}};
+    assertInverse(matrix);
+  }
+
+  private static void assertInverse(double[][] matrix) {
+    DoubleMatrix expected = MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(matrix));
+    DoubleMatrix test = JacobianBlockSolver.inverse(matrix, ORDER);
+    for (int i = 0; i < expected.rowCount(); i++) {
+      for (int j = 0; j < expected.columnCount(); j++) {
+        assertEquals(test.get(i, j), expected.get(i, j), TOLERANCE);
+      }
+    }
+  }
+
+}
@@ -7,7 +7,10 @@ package com.opengamma.strata.pricer.fxopt;
 
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_3M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -16,6 +19,7 @@ import java.time.ZonedDateTime;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
@@ -88,4 +92,54 @@ public class ImpliedTrinomialTreeFxOptionCalibratorTest {
     }
   }
 
+  public void test_cache() {
+    RecombiningTrinomialTreeData cached = CALIB.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertSame(cached, TREE_DATA);
+    double timeToExpiry = VOLS.relativeTime(EXPIRY_DATETIME);
+    RecombiningTrinomialTreeData uncached =
+        CALIB.calibrateUncached(timeToExpiry, FX_PRODUCT.getCurrencyPair(), RATE_PROVIDER, VOLS);
+    assertNotSame(uncached, TREE_DATA);
+    assertEquals(uncached, TREE_DATA);
+    ImpliedTrinomialTreeFxOptionCalibrator calib = new ImpliedTrinomialTreeFxOptionCalibrator(39);
+    RecombiningTrinomialTreeData first = calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT);
+    assertSame(calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT), first);
+    assertEquals(first, TREE_DATA_MRKT);
+    // different market data
+    RecombiningTrinomialTreeData other = calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertEquals(other, TREE_DATA);
+    assertSame(calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS), other);
+    assertSame(calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT), first);
+    assertEquals(calib.cacheSize(), 2);
+  }
+
+  public void test_cache_eviction() {
+    ImpliedTrinomialTreeFxOptionCalibrator calib = new ImpliedTrinomialTreeFxOptionCalibrator(39, 2);
+    RecombiningTrinomialTreeData first = calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT);
+    RecombiningTrinomialTreeData second = calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertEquals(calib.cacheSize(), 2);
+    // use the first tree, so that the second tree is the least recently used
+    assertSame(calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT), first);
+    ImmutableRatesProvider otherProvider = RatesProviderFxDataSets.createProviderEurUsdActActIsda(VAL_DATE);
+    RecombiningTrinomialTreeData third = calib.calibrateTrinomialTree(CALL, otherProvider, VOLS);
+    assertEquals(calib.cacheSize(), 2);
+    assertSame(calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS_MRKT), first);
+    assertSame(calib.calibrateTrinomialTree(CALL, otherProvider, VOLS), third);
+    // the second tree was evicted and is recalibrated
+    RecombiningTrinomialTreeData recalibrated = calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    assertNotSame(recalibrated, second);
+    assertEquals(recalibrated, second);
+    assertEquals(calib.cacheSize(), 2);
+  }
+
+  public void test_cache_keyIgnoresOtherMarketData() {
+    ImpliedTrinomialTreeFxOptionCalibrator calib = new ImpliedTrinomialTreeFxOptionCalibrator(39);
+    RecombiningTrinomialTreeData first = calib.calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    // a provider that differs only in data not read by the calibration shares the tree
+    ImmutableRatesProvider otherProvider = RATE_PROVIDER.toBuilder()
+        .timeSeries(EUR_EURIBOR_3M, LocalDateDoubleTimeSeries.of(VAL_DATE, 0.01))
+        .build();
+    assertSame(calib.calibrateTrinomialTree(CALL, otherProvider, VOLS), first);
+    assertEquals(calib.cacheSize(), 1);
+  }
+
 }
@@ -9,6 +9,7 @@ import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
@@ -20,7 +21,9 @@ import org.testng.annotations.Test;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -314,6 +317,37 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertTrue(computed.equalWithTolerance(expected, 1.0e-13));
   }
 
+  public void test_presentValueSensitivityModelParamsVolatility() {
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21);
+    CurrencyParameterSensitivities computed =
+        pricer.presentValueSensitivityModelParamsVolatility(CALL_UKI_C, RATE_PROVIDER, VOLS);
+    assertEquals(computed.size(), 1);
+    CurrencyParameterSensitivity sensitivity = computed.getSensitivity(VOLS.getName(), USD);
+    assertEquals(sensitivity.getParameterCount(), VOLS.getParameterCount());
+    assertEquals(sensitivity.getParameterMetadata(0), VOLS.getParameterMetadata(0));
+    assertFalse(DoubleArrayMath.fuzzyEqualsZero(sensitivity.getSensitivity().toArrayUnsafe(), 1.0e-10));
+    // the sum of the bucketed sensitivities is the sensitivity to a parallel shift of all the parameters
+    double shift = 1.0e-4;
+    BlackFxOptionVolatilities volsUp = VOLS;
+    BlackFxOptionVolatilities volsDown = VOLS;
+    for (int i = 0; i < VOLS.getParameterCount(); i++) {
+      volsUp = volsUp.withParameter(i, VOLS.getParameter(i) + shift);
+      volsDown = volsDown.withParameter(i, VOLS.getParameter(i) - shift);
+    }
+    double pvUp = pricer.presentValue(CALL_UKI_C, RATE_PROVIDER, volsUp).getAmount();
+    double pvDown = pricer.presentValue(CALL_UKI_C, RATE_PROVIDER, volsDown).getAmount();
+    double parallel = (pvUp - pvDown) / (2d * shift);
+    assertEquals(sensitivity.getSensitivity().sum(), parallel, Math.abs(parallel) * 1.0e-5);
+    ResolvedFxSingleBarrierOptionTrade trade = ResolvedFxSingleBarrierOptionTrade.builder()
+        .product(CALL_UKI_C)
+        .premium(Payment.of(EUR, 0, VAL_DATE))
+        .build();
+    ImpliedTrinomialTreeFxSingleBarrierOptionTradePricer tradePricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionTradePricer(pricer, DiscountingPaymentPricer.DEFAULT);
+    assertEquals(tradePricer.presentValueSensitivityModelParamsVolatility(trade, RATE_PROVIDER, VOLS), computed);
+  }
+
   //-------------------------------------------------------------------------
   public void test_withData() {
     ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
@@ -343,6 +377,8 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
   public void test_dataMismatch() {
     assertThrowsIllegalArg(() -> PRICER_70.presentValueSensitivityRates(
         CALL_DKO, RATE_PROVIDER, VOLS, DATA_39));
+    assertThrowsIllegalArg(() -> PRICER_70.presentValueSensitivityModelParamsVolatility(
+        CALL_DKO, RATE_PROVIDER, VOLS, DATA_39));
   }
 
   public void test_tradePricer() {
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link BulkImpliedVolatilitySolver}.
+ */
+@Test
+public class BulkImpliedVolatilitySolverTest {
+
+  private static final double[] EXPIRIES = {0.05, 0.5, 2d, 10d, 30d};
+  private static final double[] MONEYNESS = {0.2, 0.5, 0.8, 0.95, 1d, 1.05, 1.25, 2d, 5d};
+  private static final double[] BLACK_VOLS = {0.03, 0.1, 0.25, 0.6, 1.5};
+  private static final double[] NORMAL_VOLS = {0.0005, 0.002, 0.008, 0.02};
+  private static final double[] FORWARDS = {0.01, 0.035, 1d};
+  private static final double SHIFT = 0.02;
+  private static final double TOLERANCE_VOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  public void test_black() {
+    int size = EXPIRIES.length * MONEYNESS.length * BLACK_VOLS.length * FORWARDS.length * 2;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    boolean[] isCall = new boolean[size];
+    double[] vols = new double[size];
+    int i = 0;
+    for (double forward : FORWARDS) {
+      for (double expiry : EXPIRIES) {
+        for (double moneyness : MONEYNESS) {
+          for (double vol : BLACK_VOLS) {
+            for (boolean call : new boolean[] {true, false}) {
+              forwards[i] = forward;
+              strikes[i] = forward * moneyness;
+              expiries[i] = expiry;
+              isCall[i] = call;
+              vols[i] = vol;
+              prices[i] = BlackFormulaRepository.price(forward, strikes[i], expiry, vol, call);
+              i++;
+            }
+          }
+        }
+      }
+    }
+    double[] computed = BulkImpliedVolatilitySolver.blackImpliedVolatilities(prices, forwards, strikes, expiries, isCall);
+    for (int j = 0; j < size; j++) {
+      double vega = BlackFormulaRepository.vega(forwards[j], strikes[j], expiries[j], vols[j]);
+      // the volatility is recovered unless the price is insensitive to it
+      double tolerance = Math.max(TOLERANCE_VOL, 1e-15 * forwards[j] / vega);
+      assertEquals(computed[j], vols[j], tolerance);
+    }
+  }
+
+  public void test_black_consistent() {
+    double forward = 0.03;
+    double[] strikes = {0.01, 0.02, 0.03, 0.04, 0.06};
+    double[] prices = {0.02001, 0.0035, 0.002, 0.0012, 0.0001};
+    double[] forwards = {forward, forward, forward, forward, forward};
+    double[] expiries = {1d, 1d, 1d, 1d, 1d};
+    boolean[] isCall = {true, false, true, true, true};
+    double[] computed = BulkImpliedVolatilitySolver.blackImpliedVolatilities(prices, forwards, strikes, expiries, isCall);
+    for (int i = 0; i < strikes.length; i++) {
+      double expected = BlackFormulaRepository.impliedVolatility(prices[i], forward, strikes[i], 1d, isCall[i]);
+      assertEquals(computed[i], expected, 1e-7);
+    }
+  }
+
+  public void test_shiftedBlack() {
+    double forward = -0.002;
+    double[] strikes = {-0.005, -0.002, 0d, 0.01};
+    double[] forwards = {forward, forward, forward, forward};
+    double[] expiries = {0.5, 1d, 5d, 10d};
+    boolean[] isCall = {false, true, true, true};
+    double[] vols = {0.2, 0.3, 0.4, 0.5};
+    double[] prices = new double[strikes.length];
+    for (int i = 0; i < strikes.length; i++) {
+      prices[i] = BlackFormulaRepository.price(forward + SHIFT, strikes[i] + SHIFT, expiries[i], vols[i], isCall[i]);
+    }
+    double[] computed = BulkImpliedVolatilitySolver.shiftedBlackImpliedVolatilities(
+        prices, forwards, strikes, expiries, isCall, SHIFT);
+    for (int i = 0; i < strikes.length; i++) {
+      assertEquals(computed[i], vols[i], TOLERANCE_VOL);
+    }
+  }
+
+  public void test_normal() {
+    int size = EXPIRIES.length * MONEYNESS.length * NORMAL_VOLS.length * 2;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    boolean[] isCall = new boolean[size];
+    double[] vols = new double[size];
+    double forward = 0.02;
+    int i = 0;
+    for (double expiry : EXPIRIES) {
+      for (double moneyness : MONEYNESS) {
+        for (double vol : NORMAL_VOLS) {
+          for (boolean call : new boolean[] {true, false}) {
+            forwards[i] = forward;
+            strikes[i] = forward + (moneyness - 1d) * 0.02;
+            expiries[i] = expiry;
+            isCall[i] = call;
+            vols[i] = vol;
+            prices[i] = NormalFormulaRepository.price(forward, strikes[i], expiry, vol, call ? PutCall.CALL : PutCall.PUT);
+            i++;
+          }
+        }
+      }
+    }
+    double[] computed = BulkImpliedVolatilitySolver.normalImpliedVolatilities(prices, forwards, strikes, expiries, isCall);
+    for (int j = 0; j < size; j++) {
+      double vega = NormalFormulaRepository.vega(forwards[j], strikes[j], expiries[j], vols[j], PutCall.CALL);
+      double tolerance = Math.max(TOLERANCE_VOL * vols[j], 1e-17 / vega);
+      assertEquals(computed[j], vols[j], tolerance);
+    }
+  }
+
+  public void test_parallel() {
+    int size = 5000;
+    double[] prices = new double[size];
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] expiries = new double[size];
+    boolean[] isCall = new boolean[size];
+    double[] vols = new double[size];
+    for (int i = 0; i < size; i++) {
+      forwards[i] = 0.03;
+      strikes[i] = 0.02 + 0.000004 * i;
+      expiries[i] = 1d + i % 10;
+      isCall[i] = i % 2 == 0;
+      vols[i] = 0.2 + 0.0001 * i;
+      prices[i] = BlackFormulaRepository.price(forwards[i], strikes[i], expiries[i], vols[i], isCall[i]);
+    }
+    double[] computed = BulkImpliedVolatilitySolver.blackImpliedVolatilities(prices, forwards, strikes, expiries, isCall);
+    for (int i = 0; i < size; i++) {
+      assertEquals(computed[i], vols[i], TOLERANCE_VOL);
+    }
+  }
+
+  public void test_zeroTimeValue() {
+    double[] computed = BulkImpliedVolatilitySolver.blackImpliedVolatilities(
+        new double[] {1d, 0d, 0.0207}, new double[] {3d, 3d, 0.03}, new double[] {2d, 4d, 0.0093}, new double[] {1d, 1d, 1d},
+        new boolean[] {true, true, true});
+    assertEquals(computed[0], 0d);
+    assertEquals(computed[1], 0d);
+    // rounding below intrinsic value
+    assertEquals(computed[2], 0d);
+  }
+
+  public void test_invalid() {
+    double[] one = {1d};
+    boolean[] call = {true};
+    assertThrowsIllegalArg(() -> BulkImpliedVolatilitySolver.blackImpliedVolatilities(one, new double[2], one, one, call));
+    assertThrowsIllegalArg(() -> BulkImpliedVolatilitySolver.blackImpliedVolatilities(one, one, one, one, new boolean[0]));
+    // below intrinsic value
+    assertThrowsIllegalArg(() -> BulkImpliedVolatilitySolver.blackImpliedVolatilities(
+        new double[] {0.001}, new double[] {0.03}, new double[] {0.02}, one, call));
+    // above upper bound
+    assertThrowsIllegalArg(() -> BulkImpliedVolatilitySolver.blackImpliedVolatilities(
+        new double[] {0.05}, new double[] {0.03}, new double[] {0.02}, one, call));
+    assertThrowsIllegalArg(() -> BulkImpliedVolatilitySolver.normalImpliedVolatilities(
+        new double[] {0.001}, new double[] {0.03}, new double[] {0.02}, one, call));
+  }
+
+}
@@ -20,8 +20,11 @@ import java.time.LocalDate;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -35,6 +38,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.PricingException;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -1021,4 +1025,42 @@ public class ForwardOvernightCompoundedRateComputationFnTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /** Test that compounded fixings in the provider do not change the rate or sensitivity. */
+  public void rateCompoundedFixings() {
+    DoubleArray time = DoubleArray.of(0.0, 0.5, 1.0, 2.0, 5.0, 10.0);
+    DoubleArray rate = DoubleArray.of(0.0100, 0.0110, 0.0115, 0.0130, 0.0135, 0.0135);
+    Curve onCurve = InterpolatedNodalCurve.of(Curves.zeroRates("ON", ACT_ACT_ISDA), time, rate, INTERPOLATOR);
+    LocalDate[] valuationDates = {
+        date(2015, 1, 2), date(2015, 2, 2), date(2015, 2, 3), date(2015, 2, 27),
+        date(2015, 3, 3), date(2015, 3, 4), date(2015, 3, 5), date(2015, 3, 10)};
+    for (OvernightIndex index : ImmutableList.of(USD_FED_FUND, GBP_SONIA, CHF_TOIS)) {
+      HolidayCalendar calendar = REF_DATA.getValue(index.getFixingCalendar());
+      LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+      for (LocalDate fixing = date(2014, 12, 1); fixing.isBefore(date(2015, 4, 1)); fixing = calendar.next(fixing)) {
+        builder.put(fixing, 0.01 + fixing.getDayOfYear() * 1.0E-5);
+      }
+      LocalDateDoubleTimeSeries fixings = builder.build();
+      for (int cutoff : new int[] {0, 2}) {
+        OvernightCompoundedRateComputation ro = OvernightCompoundedRateComputation.of(index, date(2015, 1, 5), date(2015, 3, 5), cutoff, REF_DATA);
+        for (LocalDate valuationDate : valuationDates) {
+          ImmutableRatesProvider prov = ImmutableRatesProvider.builder(valuationDate)
+              .overnightIndexCurve(index, onCurve, fixings)
+              .build();
+          ImmutableRatesProvider provCompounded = prov.toBuilder().overnightCompoundedFixings(REF_DATA).build();
+          assertTrue(provCompounded.overnightCompoundedFixings(index).isPresent());
+          assertEquals(
+              OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, provCompounded),
+              OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, prov),
+              1.0E-12);
+          PointSensitivities sensitivityComputed = OBS_FWD_ONCMP
+              .rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, provCompounded).build().normalized();
+          PointSensitivities sensitivityExpected = OBS_FWD_ONCMP
+              .rateSensitivity(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, prov).build().normalized();
+          assertTrue(sensitivityComputed.equalWithTolerance(sensitivityExpected, 1.0E-12));
+        }
+      }
+    }
+  }
+
 }
@@ -17,6 +17,7 @@ import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
+import com.opengamma.strata.pricer.impl.option.BlackScholesFormulaRepository;
 import com.opengamma.strata.product.common.PutCall;
 
 /**
@@ -75,6 +76,11 @@ public class TrinomialTreeTest {
               double priceDw = TRINOMIAL_TREE.optionPrice(function, lattice, SPOT - fdEps, vol, interest, dividend);
               double fdDelta = 0.5 * (priceUp - priceDw) / fdEps;
               assertEquals(priceDeriv.getDerivative(0), fdDelta, 3.0e-2);
+              ValueDerivatives priceDeltaGamma = TRINOMIAL_TREE.optionPriceDeltaGamma(function, treeData);
+              assertEquals(priceDeltaGamma.getValue(), priceData);
+              assertEquals(priceDeltaGamma.getDerivative(0), priceDeriv.getDerivative(0));
+              double gamma = BlackScholesFormulaRepository.gamma(SPOT, strike, TIME, vol, interest, interest - dividend);
+              assertEquals(priceDeltaGamma.getDerivative(1), gamma, Math.max(gamma * 0.1, 1.0e-3));
             }
           }
         }
@@ -82,4 +88,67 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test that a roll-back nested within an option function does not overwrite the values of the outer roll-back.
+   */
+  public void test_nestedRollBack() {
+    int nSteps = 45;
+    double dt = TIME / nSteps;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    double[] params = lattice.getParametersTrinomial(VOLS[1], INTERESTS[2] - DIVIDENDS[1], dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-INTERESTS[2] * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    RecombiningTrinomialTreeData treeData =
+        RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+    OptionFunction call = EuropeanVanillaOptionFunction.of(STRIKES[2], TIME, PutCall.CALL, nSteps);
+    OptionFunction put = EuropeanVanillaOptionFunction.of(STRIKES[2], TIME, PutCall.PUT, nSteps);
+    OptionFunction nested = new OptionFunction() {
+      @Override
+      public double getTimeToExpiry() {
+        return call.getTimeToExpiry();
+      }
+
+      @Override
+      public int getNumberOfSteps() {
+        return call.getNumberOfSteps();
+      }
+
+      @Override
+      public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+        return call.getPayoffAtExpiryTrinomial(stateValue);
+      }
+
+      @Override
+      public void computeNextOptionValues(
+          double discountFactor,
+          DoubleMatrix transitionProbability,
+          DoubleArray stateValue,
+          double[] value,
+          double[] result,
+          int i) {
+
+        TRINOMIAL_TREE.optionPrice(put, treeData);
+        call.computeNextOptionValues(discountFactor, transitionProbability, stateValue, value, result, i);
+      }
+    };
+    double expected = TRINOMIAL_TREE.optionPrice(call, treeData);
+    assertEquals(TRINOMIAL_TREE.optionPrice(nested, treeData), expected);
+    ValueDerivatives expectedDeltaGamma = TRINOMIAL_TREE.optionPriceDeltaGamma(call, treeData);
+    ValueDerivatives computedDeltaGamma = TRINOMIAL_TREE.optionPriceDeltaGamma(nested, treeData);
+    assertEquals(computedDeltaGamma.getValue(), expectedDeltaGamma.getValue());
+    assertEquals(computedDeltaGamma.getDerivatives(), expectedDeltaGamma.getDerivatives());
+  }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curves;
+
+/**
+ * Test {@link OvernightCompoundedFixings}.
+ */
+@Test
+public class OvernightCompoundedFixingsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  // 2015-01-19 is a US holiday, 2015-01-17 is a Saturday
+  private static final LocalDateDoubleTimeSeries FIXINGS = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 14), 0.0010)
+      .put(date(2015, 1, 15), 0.0011)
+      .put(date(2015, 1, 16), 0.0012)
+      .put(date(2015, 1, 17), 0.0099)
+      .put(date(2015, 1, 20), 0.0013)
+      .put(date(2015, 1, 21), 0.0014)
+      .put(date(2015, 1, 23), 0.0016)
+      .build();
+  private static final OvernightCompoundedFixings TEST = OvernightCompoundedFixings.of(USD_FED_FUND, FIXINGS, REF_DATA);
+  private static final double TOLERANCE = 1.0E-14;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertEquals(TEST.getIndex(), USD_FED_FUND);
+    assertEquals(TEST.getFixingCalendar(), USD_FED_FUND.getFixingCalendar().resolve(REF_DATA));
+    assertEquals(TEST.getFixings(), FIXINGS);
+  }
+
+  public void test_compoundedFactor() {
+    LocalDate[] dates = {date(2015, 1, 14), date(2015, 1, 15), date(2015, 1, 16), date(2015, 1, 20)};
+    double expectedFactor = 1d;
+    double expectedAccrual = 0d;
+    double expectedInterest = 0d;
+    for (LocalDate date : dates) {
+      OvernightIndexObservation obs = OvernightIndexObservation.of(USD_FED_FUND, date, REF_DATA);
+      double rate = FIXINGS.get(date).getAsDouble();
+      expectedFactor *= 1d + obs.getYearFraction() * rate;
+      expectedAccrual += obs.getYearFraction();
+      expectedInterest += obs.getYearFraction() * rate;
+    }
+    LocalDate end = date(2015, 1, 21);
+    assertEquals(TEST.compoundedFactor(dates[0], end).getAsDouble(), expectedFactor, TOLERANCE);
+    assertEquals(TEST.accrualFactor(dates[0], end).getAsDouble(), expectedAccrual, TOLERANCE);
+    assertEquals(TEST.accruedInterest(dates[0], end).getAsDouble(), expectedInterest, TOLERANCE);
+    // the holiday does not break the period
+    OvernightIndexObservation obs = OvernightIndexObservation.of(USD_FED_FUND, date(2015, 1, 16), REF_DATA);
+    assertEquals(
+        TEST.compoundedFactor(date(2015, 1, 16), date(2015, 1, 20)).getAsDouble(),
+        1d + obs.getYearFraction() * 0.0012,
+        TOLERANCE);
+  }
+
+  public void test_compoundedFactor_emptyPeriod() {
+    assertEquals(TEST.compoundedFactor(date(2015, 1, 15), date(2015, 1, 15)), OptionalDouble.of(1d));
+    assertEquals(TEST.accrualFactor(date(2015, 1, 15), date(2015, 1, 14)), OptionalDouble.of(0d));
+    assertEquals(TEST.accruedInterest(date(2015, 1, 15), date(2015, 1, 14)), OptionalDouble.of(0d));
+    assertEquals(TEST.compoundedFactor(date(2014, 1, 15), date(2014, 1, 14)), OptionalDouble.of(1d));
+  }
+
+  public void test_compoundedFactor_missingFixing() {
+    // first fixing not present
+    assertFalse(TEST.compoundedFactor(date(2015, 1, 13), date(2015, 1, 15)).isPresent());
+    // 2015-01-22 is missing
+    assertFalse(TEST.compoundedFactor(date(2015, 1, 20), date(2015, 1, 26)).isPresent());
+    assertFalse(TEST.accrualFactor(date(2015, 1, 14), date(2015, 1, 26)).isPresent());
+    assertFalse(TEST.accruedInterest(date(2015, 1, 14), date(2015, 1, 23)).isPresent());
+    assertTrue(TEST.accruedInterest(date(2015, 1, 14), date(2015, 1, 22)).isPresent());
+    // end after the last fixing
+    assertFalse(TEST.compoundedFactor(date(2015, 1, 23), date(2015, 1, 28)).isPresent());
+    assertTrue(TEST.compoundedFactor(date(2015, 1, 23), date(2015, 1, 26)).isPresent());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ratesProvider() {
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder(date(2015, 1, 26))
+        .overnightIndexCurve(USD_FED_FUND, ConstantCurve.of(Curves.zeroRates("USD", USD_FED_FUND.getDayCount()), 0.01))
+        .timeSeries(USD_FED_FUND, FIXINGS)
+        .build();
+    assertFalse(base.overnightCompoundedFixings(USD_FED_FUND).isPresent());
+    ImmutableRatesProvider test = base.toBuilder().overnightCompoundedFixings(REF_DATA).build();
+    assertEquals(test.overnightCompoundedFixings(USD_FED_FUND).get(), TEST);
+    assertEquals(test.toBuilder().build(), test);
+    // not used once the time-series is changed
+    ImmutableRatesProvider changed = test.toBuilder().timeSeries(USD_FED_FUND, FIXINGS.mapValues(v -> v * 2)).build();
+    assertFalse(changed.overnightCompoundedFixings(USD_FED_FUND).isPresent());
+    // retained when combined
+    ImmutableRatesProvider other = ImmutableRatesProvider.builder(date(2015, 1, 26))
+        .discountCurve(Currency.GBP, ConstantCurve.of(Curves.zeroRates("GBP", GBP_SONIA.getDayCount()), 0.01))
+        .build();
+    ImmutableRatesProvider combined = test.combinedWith(other, other.getFxRateProvider());
+    assertEquals(combined.overnightCompoundedFixings(USD_FED_FUND).get(), TEST);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(TEST);
+    OvernightCompoundedFixings test2 =
+        OvernightCompoundedFixings.of(GBP_SONIA, LocalDateDoubleTimeSeries.of(date(2015, 1, 14), 0.02), REF_DATA);
+    coverBeanEquals(TEST, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(TEST);
+  }
+
+}
@@ -250,6 +250,18 @@ public class CurveGammaCalculatorCrossGammaTest {
     assertFalse(priceIndexSensi.isPresent());
   }
 
+  public void sensitivity_parallel() {
+    for (CurveGammaCalculator calculator : new CurveGammaCalculator[] {FORWARD, CENTRAL, BACKWARD}) {
+      CurveGammaCalculator parallel = calculator.parallel();
+      assertEquals(
+          parallel.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn),
+          calculator.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn));
+      assertEquals(
+          parallel.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiModFn),
+          calculator.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiModFn));
+    }
+  }
+
   // test diagonal part against finite difference approximation computed from pv
   public void swap_exampleTest() {
     LocalDate start = LocalDate.of(2014, 3, 10);
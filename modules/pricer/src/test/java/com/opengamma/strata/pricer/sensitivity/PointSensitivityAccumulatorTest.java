@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_2Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_USD;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Test {@link PointSensitivityAccumulator}.
+ */
+@Test
+public class PointSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+  private static final LocalDate VAL_DATE = MULTI_USD.getValuationDate();
+  private static final ImmutableList<ResolvedSwap> SWAPS = ImmutableList.of(
+      USD_FIXED_6M_LIBOR_3M.createTrade(VAL_DATE, TENOR_5Y, BUY, 1_000_000, 0.015, REF_DATA).getProduct().resolve(REF_DATA),
+      USD_FIXED_6M_LIBOR_3M.createTrade(VAL_DATE, TENOR_2Y, SELL, 2_000_000, 0.01, REF_DATA).getProduct().resolve(REF_DATA),
+      USD_FIXED_1Y_FED_FUND_OIS.createTrade(VAL_DATE, TENOR_2Y, BUY, 3_000_000, 0.01, REF_DATA)
+          .getProduct().resolve(REF_DATA));
+  private static final double TOLERANCE = 1e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_add_portfolio() {
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator();
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    for (ResolvedSwap swap : SWAPS) {
+      PointSensitivityBuilder builder = PRICER.presentValueSensitivity(swap, MULTI_USD);
+      accumulator.add(builder);
+      builder.buildInto(expected);
+    }
+    PointSensitivities expectedPoints = expected.build().normalized();
+    assertTrue(accumulator.build().normalized().equalWithTolerance(expectedPoints, TOLERANCE));
+    assertTrue(accumulator.build().size() < expected.size());
+    CurrencyParameterSensitivities computed = accumulator.parameterSensitivity(MULTI_USD);
+    assertTrue(computed.equalWithTolerance(MULTI_USD.parameterSensitivity(expectedPoints), TOLERANCE));
+  }
+
+  public void test_addZeroRate_merged() {
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator()
+        .addZeroRate(USD, 1.5, USD, 10d)
+        .addZeroRate(USD, 1.5, USD, 5d)
+        .addZeroRate(USD, 1.5, EUR, 2d)
+        .addZeroRate(USD, -0d, USD, 1d)
+        .addZeroRate(USD, 0d, USD, 1d);
+    PointSensitivities expected = PointSensitivities.of(
+        ZeroRateSensitivity.of(USD, 1.5, USD, 15d),
+        ZeroRateSensitivity.of(USD, 1.5, EUR, 2d),
+        ZeroRateSensitivity.of(USD, 0d, USD, 2d));
+    assertTrue(accumulator.build().normalized().equalWithTolerance(expected.normalized(), 0d));
+  }
+
+  public void test_addZeroRate_resize() {
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator();
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    for (int loop = 0; loop < 3; loop++) {
+      for (int i = 0; i < 1000; i++) {
+        double time = i / 365d;
+        accumulator.addZeroRate(USD, time, USD, i);
+        expected.add(ZeroRateSensitivity.of(USD, time, i));
+      }
+    }
+    assertEquals(accumulator.build().size(), 1000);
+    assertTrue(accumulator.build().normalized().equalWithTolerance(expected.build().normalized(), TOLERANCE));
+  }
+
+  public void test_addAll_clear() {
+    PointSensitivityAccumulator first = new PointSensitivityAccumulator();
+    PointSensitivityAccumulator second = new PointSensitivityAccumulator();
+    MutablePointSensitivities expected = new MutablePointSensitivities();
+    for (int i = 0; i < SWAPS.size(); i++) {
+      PointSensitivityBuilder builder = PRICER.presentValueSensitivity(SWAPS.get(i), MULTI_USD);
+      (i % 2 == 0 ? first : second).add(builder, 2d);
+      builder.multipliedBy(2d).buildInto(expected);
+    }
+    first.addAll(second);
+    assertTrue(first.build().normalized().equalWithTolerance(expected.build().normalized(), TOLERANCE));
+    assertThrowsIllegalArg(() -> first.addAll(first));
+    first.clear();
+    assertEquals(first.build().size(), 0);
+    assertEquals(first.parameterSensitivity(MULTI_USD), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_add_none() {
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator().add(PointSensitivityBuilder.none());
+    assertEquals(accumulator.build().size(), 0);
+  }
+
+}
@@ -5,15 +5,18 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -94,6 +97,35 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_multipleFunctions() {
+    List<Function<ImmutableRatesProvider, CurrencyAmount>> fns = ImmutableList.of(
+        this::fn,
+        p -> CurrencyAmount.of(EUR, fn(p).getAmount() * 3d),
+        p -> CurrencyAmount.of(USD, fn(p).getAmount() * fn(p).getAmount()));
+    List<CurrencyParameterSensitivities> computed = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, fns);
+    assertEquals(computed.size(), fns.size());
+    for (int i = 0; i < fns.size(); i++) {
+      assertEquals(computed.get(i), FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, fns.get(i)));
+    }
+    assertEquals(computed.get(1).getSensitivities().get(0).getCurrency(), EUR);
+  }
+
+  @Test
+  public void sensitivity_parallel() {
+    RatesFiniteDifferenceSensitivityCalculator parallel = FD_CALCULATOR.parallel();
+    assertEquals(
+        parallel.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn),
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn));
+    assertEquals(
+        parallel.sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn),
+        FD_CALCULATOR.sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn));
+    CreditRatesProvider rates = CreditRatesProviderDataSets.createCreditRatesProvider(LocalDate.of(2014, 1, 3));
+    assertEquals(
+        parallel.sensitivity(rates, this::creditFunction),
+        FD_CALCULATOR.sensitivity(rates, this::creditFunction));
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_2Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_USD;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.sensitivity.PointSensitivityAccumulator;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * Test {@link SwapPricingPlan}.
+ */
+@Test
+public class SwapPricingPlanTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+  private static final LocalDate VAL_DATE = MULTI_USD.getValuationDate();
+  private static final double NOTIONAL = 100_000_000;
+  private static final ResolvedSwap SWAP = USD_FIXED_6M_LIBOR_3M
+      .createTrade(VAL_DATE, TENOR_5Y, BUY, NOTIONAL, 0.015, REF_DATA)
+      .getProduct().resolve(REF_DATA);
+  private static final ResolvedSwap SWAP_SEASONED = USD_FIXED_6M_LIBOR_3M
+      .createTrade(date(2013, 5, 14), TENOR_2Y, BUY, NOTIONAL, 0.015, REF_DATA)
+      .getProduct().resolve(REF_DATA);
+  private static final ResolvedSwap SWAP_IBOR = ResolvedSwap.of(SWAP.getLegs(SwapLegType.IBOR).get(0));
+  private static final double TOLERANCE_PV = 1e-6;
+  private static final double TOLERANCE_RATE = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    assertPresentValue(SWAP, MULTI_USD);
+    assertPresentValue(SWAP_IBOR, MULTI_USD);
+    assertPresentValue(SWAP_SEASONED, seasonedProvider());
+  }
+
+  public void test_parRate() {
+    SwapPricingPlan plan = SwapPricingPlan.of(SWAP, VAL_DATE, ACT_360).get();
+    assertEquals(plan.parRate(MULTI_USD), PRICER.parRate(SWAP, MULTI_USD), TOLERANCE_RATE);
+    ImmutableRatesProvider provider = seasonedProvider();
+    SwapPricingPlan planSeasoned = SwapPricingPlan.of(SWAP_SEASONED, VAL_DATE, ACT_360).get();
+    assertEquals(planSeasoned.parRate(provider), PRICER.parRate(SWAP_SEASONED, provider), TOLERANCE_RATE);
+    SwapPricingPlan planIbor = SwapPricingPlan.of(SWAP_IBOR, VAL_DATE, ACT_360).get();
+    assertThrowsIllegalArg(() -> planIbor.parRate(MULTI_USD));
+  }
+
+  public void test_presentValueSensitivity() {
+    assertPresentValueSensitivity(SWAP, MULTI_USD);
+    assertPresentValueSensitivity(SWAP_IBOR, MULTI_USD);
+    assertPresentValueSensitivity(SWAP_SEASONED, seasonedProvider());
+  }
+
+  public void test_presentValueSensitivity_accumulatorCreatesNoPoints() {
+    ImmutableRatesProvider base = seasonedProvider();
+    DiscountFactors discountFactors = mock(DiscountFactors.class, delegatesTo(base.discountFactors(USD)));
+    IborIndexRates iborRates = mock(IborIndexRates.class, delegatesTo(base.iborIndexRates(USD_LIBOR_3M)));
+    RatesProvider provider = mock(RatesProvider.class, delegatesTo(base));
+    doReturn(discountFactors).when(provider).discountFactors(USD);
+    doReturn(iborRates).when(provider).iborIndexRates(USD_LIBOR_3M);
+    SwapPricingPlan plan = SwapPricingPlan.of(SWAP_SEASONED, VAL_DATE, ACT_360).get();
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator();
+    plan.presentValueSensitivity(provider, accumulator);
+    verify(discountFactors, never()).zeroRatePointSensitivity(anyDouble());
+    verify(discountFactors, never()).zeroRatePointSensitivity(anyDouble(), any(Currency.class));
+    verify(iborRates, never()).ratePointSensitivity(any(IborIndexObservation.class));
+    CurrencyParameterSensitivities expected = base.parameterSensitivity(
+        PRICER.presentValueSensitivity(SWAP_SEASONED, base).build());
+    assertTrue(accumulator.parameterSensitivity(base).equalWithTolerance(expected, NOTIONAL * 1e-12));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of_notSupported() {
+    ResolvedSwap swapOis = USD_FIXED_1Y_FED_FUND_OIS
+        .createTrade(VAL_DATE, TENOR_2Y, BUY, NOTIONAL, 0.01, REF_DATA)
+        .getProduct().resolve(REF_DATA);
+    assertFalse(SwapPricingPlan.of(swapOis, VAL_DATE, ACT_360).isPresent());
+    assertFalse(SwapPricingPlan.cached(swapOis, VAL_DATE, ACT_360).isPresent());
+    // the spread leg is compounded
+    ResolvedSwap swapBasis = USD_LIBOR_3M_LIBOR_6M
+        .createTrade(VAL_DATE, TENOR_5Y, BUY, NOTIONAL, 0.001, REF_DATA)
+        .getProduct().resolve(REF_DATA);
+    assertFalse(SwapPricingPlan.of(swapBasis, VAL_DATE, ACT_360).isPresent());
+  }
+
+  public void test_cached() {
+    SwapPricingPlan plan = SwapPricingPlan.cached(SWAP, VAL_DATE, ACT_360).get();
+    assertSame(SwapPricingPlan.cached(SWAP, VAL_DATE, ACT_360).get(), plan);
+    SwapPricingPlan planNextDay = SwapPricingPlan.cached(SWAP, VAL_DATE.plusDays(1), ACT_360).get();
+    assertNotSame(planNextDay, plan);
+    assertEquals(planNextDay.getValuationDate(), VAL_DATE.plusDays(1));
+    assertEquals(planNextDay.getDayCount(), ACT_360);
+  }
+
+  public void test_mismatch() {
+    SwapPricingPlan planDayCount = SwapPricingPlan.of(SWAP, VAL_DATE, ACT_365F).get();
+    assertThrowsIllegalArg(() -> planDayCount.presentValue(MULTI_USD));
+    SwapPricingPlan planDate = SwapPricingPlan.of(SWAP, VAL_DATE.plusDays(1), ACT_360).get();
+    assertThrowsIllegalArg(() -> planDate.presentValue(MULTI_USD));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertPresentValue(ResolvedSwap swap, ImmutableRatesProvider provider) {
+    SwapPricingPlan plan = SwapPricingPlan.of(swap, provider.getValuationDate(), ACT_360).get();
+    MultiCurrencyAmount computed = plan.presentValue(provider);
+    MultiCurrencyAmount expected = PRICER.presentValue(swap, provider);
+    assertEquals(computed.getCurrencies(), expected.getCurrencies());
+    for (Currency currency : expected.getCurrencies()) {
+      assertEquals(computed.getAmount(currency).getAmount(), expected.getAmount(currency).getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  private static void assertPresentValueSensitivity(ResolvedSwap swap, ImmutableRatesProvider provider) {
+    SwapPricingPlan plan = SwapPricingPlan.of(swap, provider.getValuationDate(), ACT_360).get();
+    CurrencyParameterSensitivities computed = provider.parameterSensitivity(plan.presentValueSensitivity(provider).build());
+    CurrencyParameterSensitivities expected = provider.parameterSensitivity(
+        PRICER.presentValueSensitivity(swap, provider).build());
+    assertTrue(computed.equalWithTolerance(expected, NOTIONAL * 1e-12));
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator();
+    plan.presentValueSensitivity(provider, accumulator);
+    assertTrue(accumulator.parameterSensitivity(provider).equalWithTolerance(expected, NOTIONAL * 1e-12));
+  }
+
+  // provider with the fixings of the seasoned swap
+  private static ImmutableRatesProvider seasonedProvider() {
+    ResolvedSwapLeg iborLeg = SWAP_SEASONED.getLegs(SwapLegType.IBOR).get(0);
+    LocalDateDoubleTimeSeriesBuilder fixings = LocalDateDoubleTimeSeries.builder();
+    for (SwapPaymentPeriod period : iborLeg.getPaymentPeriods()) {
+      IborRateComputation computation =
+          (IborRateComputation) ((RatePaymentPeriod) period).getAccrualPeriods().get(0).getRateComputation();
+      if (!computation.getFixingDate().isAfter(VAL_DATE)) {
+        fixings.put(computation.getFixingDate(), 0.0025);
+      }
+    }
+    return MULTI_USD.toBuilder().timeSeries(USD_LIBOR_3M, fixings.build()).build();
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_2Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_USD;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.product.common.PayReceive;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+
+/**
+ * Test {@link SwapTerms}.
+ */
+@Test
+public class SwapTermsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = MULTI_USD.getValuationDate();
+  private static final double NOTIONAL = 100_000_000;
+  private static final double FIXED_RATE = 0.015;
+  private static final ResolvedSwap SWAP = USD_FIXED_6M_LIBOR_3M
+      .createTrade(VAL_DATE, TENOR_5Y, BUY, NOTIONAL, FIXED_RATE, REF_DATA)
+      .getProduct().resolve(REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    SwapTerms test = SwapTerms.of(SWAP).get();
+    assertFalse(test.isCrossCurrency());
+    assertEquals(test.getLegCount(), 2);
+    assertEquals(test.getLegCurrency(0), USD);
+    assertEquals(test.getFixedLeg(), SWAP.getLegs().indexOf(SWAP.getLegs(SwapLegType.FIXED).get(0)));
+    assertTrue(test.isPvbpSupported());
+    assertEquals(test.getCurrencyCount(), 1);
+    assertEquals(test.getCurrency(0), USD);
+    assertEquals(test.getIndexCount(), 1);
+    assertEquals(test.getIndex(0), USD_LIBOR_3M);
+    // 10 fixed periods and 20 Ibor periods
+    assertEquals(test.getTermCount(), 30);
+    assertEquals(test.getObservationCount(), 20);
+    for (int i = 0; i < test.getObservationCount(); i++) {
+      assertEquals(test.getObservationIndex(i), 0);
+      assertTrue(test.getObservationLastDate(i).isAfter(test.getObservation(i).getFixingDate()));
+    }
+    for (int i = 0; i < test.getTermCount(); i++) {
+      int date = test.getTermDate(i);
+      assertEquals(test.getDateCurrency(date), 0);
+      assertTrue(test.getDate(date).isAfter(VAL_DATE));
+      assertEquals(test.getTermObservation(i) >= 0, test.getTermLeg(i) != test.getFixedLeg());
+      assertEquals(test.getTermPvbp(i) != 0d, test.getTermLeg(i) == test.getFixedLeg());
+    }
+  }
+
+  public void test_termValue() {
+    SwapTerms test = SwapTerms.of(SWAP).get();
+    ResolvedSwapLeg fixedLeg = SWAP.getLegs(SwapLegType.FIXED).get(0);
+    RatePaymentPeriod fixedPeriod = (RatePaymentPeriod) fixedLeg.getPaymentPeriods().get(0);
+    double yearFraction = fixedPeriod.getAccrualPeriods().get(0).getYearFraction();
+    double[] rates = new double[test.getObservationCount()];
+    for (int i = 0; i < rates.length; i++) {
+      rates[i] = 0.01 + i * 0.001;
+    }
+    for (int i = 0; i < test.getTermCount(); i++) {
+      int observation = test.getTermObservation(i);
+      if (observation < 0) {
+        assertEquals(test.termRateSensitivity(i), 0d);
+        if (test.getDate(test.getTermDate(i)).equals(fixedPeriod.getPaymentDate())) {
+          assertEquals(test.termValue(i, rates), -NOTIONAL * FIXED_RATE * yearFraction, 1e-6);
+          assertEquals(test.getTermPvbp(i), -NOTIONAL * yearFraction, 1e-6);
+        }
+      } else {
+        assertEquals(test.termValue(i, rates), test.termRateSensitivity(i) * rates[observation], 1e-6);
+      }
+    }
+  }
+
+  public void test_of_notSupported() {
+    ResolvedSwap swapOis = USD_FIXED_1Y_FED_FUND_OIS
+        .createTrade(VAL_DATE, TENOR_2Y, BUY, NOTIONAL, 0.01, REF_DATA)
+        .getProduct().resolve(REF_DATA);
+    assertFalse(SwapTerms.of(swapOis).isPresent());
+  }
+
+  public void test_of_fixedLegMultipleAccrualPeriods() {
+    RateAccrualPeriod accrual1 = RateAccrualPeriod.builder()
+        .startDate(date(2015, 1, 15))
+        .endDate(date(2015, 7, 15))
+        .yearFraction(0.5)
+        .rateComputation(FixedRateComputation.of(FIXED_RATE))
+        .build();
+    RateAccrualPeriod accrual2 = RateAccrualPeriod.builder()
+        .startDate(date(2015, 7, 15))
+        .endDate(date(2016, 1, 15))
+        .yearFraction(0.5)
+        .rateComputation(FixedRateComputation.of(FIXED_RATE))
+        .build();
+    RatePaymentPeriod period = RatePaymentPeriod.builder()
+        .paymentDate(date(2016, 1, 15))
+        .accrualPeriods(accrual1, accrual2)
+        .dayCount(ACT_360)
+        .currency(USD)
+        .notional(NOTIONAL)
+        .build();
+    ResolvedSwapLeg fixedLeg = ResolvedSwapLeg.builder()
+        .type(SwapLegType.FIXED)
+        .payReceive(PayReceive.RECEIVE)
+        .paymentPeriods(period)
+        .build();
+    ResolvedSwap swap = ResolvedSwap.of(fixedLeg);
+    SwapTerms test = SwapTerms.of(swap).get();
+    assertFalse(test.isPvbpSupported());
+    assertEquals(test.getTermCount(), 2);
+    assertEquals(test.getDateCount(), 1);
+    SwapPricingPlan plan = SwapPricingPlan.of(swap, VAL_DATE, ACT_360).get();
+    assertThrowsIllegalArg(() -> plan.parRate(MULTI_USD));
+  }
+
+}
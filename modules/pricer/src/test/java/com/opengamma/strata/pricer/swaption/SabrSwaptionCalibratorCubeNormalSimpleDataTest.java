@@ -19,6 +19,7 @@ import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.MONEYNESS;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.TENORS_SIMPLE;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
@@ -126,7 +127,81 @@ public class SabrSwaptionCalibratorCubeNormalSimpleDataTest {
             .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
     SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
         DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface);
+    checkCalibration(calibrated, shift);
+  }
+
+  @Test
+  public void normal_cube_parallel() {
+    double beta = 0.50;
+    Surface betaSurface = ConstantSurface.of("Beta", beta)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    double shift = 0.0300;
+    Surface shiftSurface = ConstantSurface.of("Shift", shift)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrSwaptionCubeCalibrationResult result = SABR_CALIBRATION.calibrateCubeWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, true);
+    SabrParametersSwaptionVolatilities calibrated = result.getVolatilities();
+    checkCalibration(calibrated, shift);
+    int nbPoints = calibrated.getParameters().getAlphaSurface().getParameterCount();
+    assertEquals(result.getPoints().size(), nbPoints);
+    assertEquals(calibrated.getDataSensitivityAlpha().get().size(), nbPoints);
+    assertEquals(calibrated.getDataSensitivityRho().get().size(), nbPoints);
+    assertEquals(calibrated.getDataSensitivityNu().get().size(), nbPoints);
+    for (SabrSwaptionCubeCalibrationPoint point : result.getPoints()) {
+      assertTrue(point.getIterations() > 0);
+      assertTrue(point.getChiSquare() >= 0d);
+      assertTrue(TENORS_SIMPLE.contains(point.getTenor()));
+      assertTrue(EXPIRIES_SIMPLE.contains(point.getExpiry()));
+    }
+    // no sensitivities
+    SabrSwaptionCubeCalibrationResult resultNoSensi = SABR_CALIBRATION.calibrateCubeWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, false);
+    assertEquals(resultNoSensi.getVolatilities().getParameters(), calibrated.getParameters());
+    assertFalse(resultNoSensi.getVolatilities().getDataSensitivityAlpha().isPresent());
+    assertFalse(resultNoSensi.getVolatilities().getDataSensitivityRho().isPresent());
+    assertFalse(resultNoSensi.getVolatilities().getDataSensitivityNu().isPresent());
+    assertEquals(resultNoSensi.getTotalIterations(), result.getTotalIterations());
+  }
+
+  @Test
+  public void normal_cube_previous() {
+    double beta = 0.50;
+    Surface betaSurface = ConstantSurface.of("Beta", beta)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    double shift = 0.0300;
+    Surface shiftSurface = ConstantSurface.of("Shift", shift)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities previous = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface);
+    SabrSwaptionCubeCalibrationResult first = SABR_CALIBRATION.calibrateCubeWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, false);
+    SabrSwaptionCubeCalibrationResult result = SABR_CALIBRATION.calibrateCubeWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, previous, false);
+    checkCalibration(result.getVolatilities(), shift);
+    assertTrue(result.getTotalIterations() < first.getTotalIterations());
+    for (SabrSwaptionCubeCalibrationPoint point : result.getPoints()) {
+      assertTrue(point.isWarmStarted());
+    }
+  }
+
+  @Test
+  public void warm_start_retained() {
+    // retained if the chi-square per data point is within the limit and not worse than the previous fit, if known
+    assertTrue(SabrSwaptionCalibrator.isWarmStartRetained(500d, Double.NaN));
+    assertTrue(SabrSwaptionCalibrator.isWarmStartRetained(500d, 600d));
+    assertFalse(SabrSwaptionCalibrator.isWarmStartRetained(700d, 600d));
+    assertFalse(SabrSwaptionCalibrator.isWarmStartRetained(2.0E+4, Double.NaN));
+    assertFalse(SabrSwaptionCalibrator.isWarmStartRetained(2.0E+4, 3.0E+4));
+  }
 
+  // checks the calibrated prices against the normal prices
+  private void checkCalibration(SabrParametersSwaptionVolatilities calibrated, double shift) {
     for (int looptenor = 0; looptenor < TENORS_SIMPLE.size(); looptenor++) {
       double tenor = TENORS_SIMPLE.get(looptenor).get(ChronoUnit.YEARS);
       for (int loopexpiry = 0; loopexpiry < EXPIRIES_SIMPLE.size(); loopexpiry++) {
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.date.Tenor.TENOR_10Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SabrSwaptionCubeCalibrationPoint}.
+ */
+@Test
+public class SabrSwaptionCubeCalibrationPointTest {
+
+  public void test_of() {
+    SabrSwaptionCubeCalibrationPoint test =
+        SabrSwaptionCubeCalibrationPoint.of(Period.ofYears(1), TENOR_5Y, 4, 12.5, true);
+    assertEquals(test.getExpiry(), Period.ofYears(1));
+    assertEquals(test.getTenor(), TENOR_5Y);
+    assertEquals(test.getIterations(), 4);
+    assertEquals(test.getChiSquare(), 12.5);
+    assertTrue(test.isWarmStarted());
+  }
+
+  public void test_of_negativeIterations() {
+    assertThrowsIllegalArg(() -> SabrSwaptionCubeCalibrationPoint.of(Period.ofYears(1), TENOR_5Y, -1, 12.5, true));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionCubeCalibrationPoint test1 =
+        SabrSwaptionCubeCalibrationPoint.of(Period.ofYears(1), TENOR_5Y, 4, 12.5, true);
+    coverImmutableBean(test1);
+    SabrSwaptionCubeCalibrationPoint test2 =
+        SabrSwaptionCubeCalibrationPoint.of(Period.ofMonths(6), TENOR_10Y, 30, 7.5, false);
+    coverBeanEquals(test1, test2);
+  }
+
+  public void test_serialization() {
+    SabrSwaptionCubeCalibrationPoint test =
+        SabrSwaptionCubeCalibrationPoint.of(Period.ofYears(1), TENOR_5Y, 4, 12.5, true);
+    assertSerialization(test);
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.date.Tenor.TENOR_10Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link SabrSwaptionCubeCalibrationResult}.
+ */
+@Test
+public class SabrSwaptionCubeCalibrationResultTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 3);
+  private static final SabrParametersSwaptionVolatilities VOLS =
+      SwaptionSabrRateVolatilityDataSet.getVolatilitiesUsd(VAL_DATE, true);
+  private static final SabrSwaptionCubeCalibrationPoint POINT1 =
+      SabrSwaptionCubeCalibrationPoint.of(Period.ofYears(1), TENOR_5Y, 4, 12.5, true);
+  private static final SabrSwaptionCubeCalibrationPoint POINT2 =
+      SabrSwaptionCubeCalibrationPoint.of(Period.ofYears(2), TENOR_5Y, 31, 10.5, false);
+
+  public void test_of() {
+    SabrSwaptionCubeCalibrationResult test =
+        SabrSwaptionCubeCalibrationResult.of(VOLS, ImmutableList.of(POINT1, POINT2));
+    assertEquals(test.getVolatilities(), VOLS);
+    assertEquals(test.getPoints(), ImmutableList.of(POINT1, POINT2));
+    assertEquals(test.getTotalIterations(), 35);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionCubeCalibrationResult test1 =
+        SabrSwaptionCubeCalibrationResult.of(VOLS, ImmutableList.of(POINT1, POINT2));
+    coverImmutableBean(test1);
+    SabrSwaptionCubeCalibrationResult test2 = SabrSwaptionCubeCalibrationResult.of(
+        SwaptionSabrRateVolatilityDataSet.getVolatilitiesEur(VAL_DATE, false),
+        ImmutableList.of(SabrSwaptionCubeCalibrationPoint.of(Period.ofMonths(6), TENOR_10Y, 30, 7.5, false)));
+    coverBeanEquals(test1, test2);
+  }
+
+  public void test_serialization() {
+    SabrSwaptionCubeCalibrationResult test = SabrSwaptionCubeCalibrationResult.of(VOLS, ImmutableList.of(POINT1));
+    assertSerialization(test);
+  }
+
+}